@@ -15,26 +15,45 @@
  */
 package com.arpnetworking.metrics.generator;
 
+import com.arpnetworking.metrics.generator.client.NetworkProtocol;
+import com.arpnetworking.metrics.generator.client.NetworkSink;
+import com.arpnetworking.metrics.generator.client.OutputEncoding;
+import com.arpnetworking.metrics.generator.client.RotationPolicy;
+import com.arpnetworking.metrics.generator.config.WorkloadSpecification;
 import com.arpnetworking.metrics.generator.metric.GaussianMetricGenerator;
 import com.arpnetworking.metrics.generator.metric.MetricGenerator;
 import com.arpnetworking.metrics.generator.name.SingleNameGenerator;
 import com.arpnetworking.metrics.generator.schedule.ConstantTimeScheduler;
 import com.arpnetworking.metrics.generator.uow.UnitOfWorkGenerator;
 import com.arpnetworking.metrics.generator.uow.UnitOfWorkSchedule;
+import com.arpnetworking.metrics.generator.util.Coordinator;
+import com.arpnetworking.metrics.generator.util.DistributedWorker;
+import com.arpnetworking.metrics.generator.util.IntervalExecutor;
 import com.arpnetworking.metrics.generator.util.RealTimeExecutor;
+import com.arpnetworking.metrics.generator.util.ReplayExecutor;
+import com.arpnetworking.metrics.generator.util.StepLoadRunner;
 import com.arpnetworking.metrics.generator.util.TestFileGenerator;
+import com.arpnetworking.metrics.generator.util.Xoshiro256PlusPlus;
 import com.arpnetworking.steno.Logger;
 import com.arpnetworking.steno.LoggerFactory;
 import com.google.common.collect.Lists;
-import org.apache.commons.math3.random.MersenneTwister;
-import org.apache.commons.math3.random.RandomGenerator;
+import com.google.common.net.HostAndPort;
 
 import java.io.IOException;
+import java.net.InetSocketAddress;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.time.Duration;
+import java.time.Instant;
 import java.time.ZonedDateTime;
+import java.util.Arrays;
 import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import javax.annotation.Nullable;
 
 /**
  * Main class for the metrics generator.
@@ -48,26 +67,202 @@ public final class Generator {
      * @param args Command line arguments.
      */
     public static void main(final String[] args) {
+        if (Arrays.asList(args).contains("--workers")) {
+            runDistributed(args);
+            return;
+        }
         boolean continuous = false;
-        if (args.length > 0 && args[0].equals("--continuous")) {
-            continuous = true;
+        int threads = 1;
+        Path configuration = null;
+        Path replay = null;
+        Double rate = null;
+        InetSocketAddress target = null;
+        Long rotateSize = null;
+        Duration rotateInterval = null;
+        NetworkProtocol protocol = null;
+        OutputEncoding encoding = OutputEncoding.JSON;
+        for (int i = 0; i < args.length; ++i) {
+            if (args[i].equals("--continuous")) {
+                continuous = true;
+            } else if (args[i].equals("--threads") && i + 1 < args.length) {
+                threads = Integer.parseInt(args[i + 1]);
+            } else if (args[i].equals("--config") && i + 1 < args.length) {
+                configuration = Paths.get(args[i + 1]);
+            } else if (args[i].equals("--encoding") && i + 1 < args.length) {
+                encoding = OutputEncoding.valueOf(args[i + 1].toUpperCase(Locale.ROOT));
+            } else if (args[i].equals("--rotate-size") && i + 1 < args.length) {
+                rotateSize = Long.parseLong(args[i + 1]);
+            } else if (args[i].equals("--rotate-interval") && i + 1 < args.length) {
+                rotateInterval = Duration.parse(args[i + 1]);
+            } else if (args[i].equals("--replay") && i + 1 < args.length) {
+                replay = Paths.get(args[i + 1]);
+            } else if (args[i].equals("--rate") && i + 1 < args.length) {
+                rate = Double.parseDouble(args[i + 1]);
+            } else if (args[i].equals("--protocol") && i + 1 < args.length) {
+                protocol = NetworkProtocol.valueOf(args[i + 1].toUpperCase(Locale.ROOT));
+            } else if (args[i].equals("--target") && i + 1 < args.length) {
+                target = parseAddress(args[i + 1]);
+            }
+        }
+
+        if (replay != null) {
+            replay(replay, rate, target);
+            return;
+        }
+        new Generator(
+                continuous,
+                parseStepLoad(args),
+                threads,
+                encoding,
+                createRotationPolicy(rotateSize, rotateInterval),
+                protocol == null || target == null
+                        ? null
+                        : new NetworkSink.Builder().setAddress(target).setProtocol(protocol).setEncoding(encoding),
+                configuration)
+                .run();
+    }
+
+    @Nullable
+    private static StepLoadRunner.Builder parseStepLoad(final String[] args) {
+        if (!Arrays.asList(args).contains("--step-load")) {
+            return null;
+        }
+        final StepLoadRunner.Builder builder = new StepLoadRunner.Builder()
+                .setInitialRate(DEFAULT_STEP_INITIAL_RATE)
+                .setMaxSteps(DEFAULT_STEP_COUNT);
+        for (int i = 0; i < args.length - 1; ++i) {
+            if (args[i].equals("--step-initial-rate")) {
+                builder.setInitialRate(Double.parseDouble(args[i + 1]));
+            } else if (args[i].equals("--step-multiplier")) {
+                builder.setRateMultiplier(Double.parseDouble(args[i + 1]));
+            } else if (args[i].equals("--step-duration")) {
+                builder.setStepDuration(Duration.parse(args[i + 1]));
+            } else if (args[i].equals("--step-count")) {
+                builder.setMaxSteps(Integer.parseInt(args[i + 1]));
+            } else if (args[i].equals("--step-lag-threshold")) {
+                builder.setLagThreshold(Duration.parse(args[i + 1]));
+            }
         }
+        return builder;
+    }
+
+    @Nullable
+    private static RotationPolicy createRotationPolicy(@Nullable final Long rotateSize, @Nullable final Duration rotateInterval) {
+        return rotateSize == null && rotateInterval == null
+                ? null
+                : new RotationPolicy.Builder().setMaxBytes(rotateSize).setInterval(rotateInterval).build();
+    }
 
-        final Generator generator = new Generator(continuous);
-        generator.run();
+    private static void runDistributed(final String[] args) {
+        Integer worker = null;
+        int workers = 1;
+        Path configuration = null;
+        Instant start = null;
+        Duration duration = null;
+        for (int i = 0; i < args.length - 1; ++i) {
+            if (args[i].equals("--worker")) {
+                worker = Integer.parseInt(args[i + 1]);
+            } else if (args[i].equals("--workers")) {
+                workers = Integer.parseInt(args[i + 1]);
+            } else if (args[i].equals("--config")) {
+                configuration = Paths.get(args[i + 1]);
+            } else if (args[i].equals("--start")) {
+                start = Instant.parse(args[i + 1]);
+            } else if (args[i].equals("--duration")) {
+                duration = Duration.parse(args[i + 1]);
+            }
+        }
+        if (configuration == null || duration == null) {
+            throw new IllegalArgumentException("--workers requires --config and --duration");
+        }
+        try {
+            final WorkloadSpecification specification = WorkloadSpecification.read(configuration);
+            if (specification.getIntervalStart() != null) {
+                throw new IllegalArgumentException("Only a real-time workload can be distributed");
+            }
+            if (worker == null) {
+                new Coordinator.Builder()
+                        .setCommand(getWorkerCommand())
+                        .setConfiguration(configuration)
+                        .setWorkerCount(workers)
+                        .setDuration(duration)
+                        .build()
+                        .execute();
+            } else {
+                final Path outputPath = specification.getOutputPath();
+                new DistributedWorker.Builder()
+                        .setExecutor(createRealTimeExecutor(
+                                specification,
+                                specification.createSchedules(worker, workers),
+                                outputPath == null ? null : RealTimeExecutor.getWorkerPath(outputPath, worker)))
+                        .setWorker(worker)
+                        .setStartTime(start == null ? Instant.now() : start)
+                        .setDuration(duration)
+                        .setReportStream(System.out)
+                        .build()
+                        .execute();
+            }
+        } catch (final IOException e) {
+            LOGGER.error()
+                .setMessage("Error generating distributed workload")
+                .setThrowable(e)
+                .log();
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
     }
 
-    private Generator(final boolean continuous) {
+    private static List<String> getWorkerCommand() {
+        return Lists.newArrayList(
+                Paths.get(System.getProperty("java.home"), "bin", "java").toString(),
+                "-cp",
+                System.getProperty("java.class.path"),
+                Generator.class.getName());
+    }
+
+    private static InetSocketAddress parseAddress(final String address) {
+        final HostAndPort hostAndPort = HostAndPort.fromString(address);
+        return new InetSocketAddress(hostAndPort.getHost(), hostAndPort.getPort());
+    }
+
+    private static void replay(final Path input, @Nullable final Double rate, @Nullable final InetSocketAddress target) {
+        new ReplayExecutor.Builder()
+                .setInputPath(input)
+                .setOutputPath(target == null ? Paths.get("logs", "replayed-" + input.getFileName()) : null)
+                .setOutputAddress(target)
+                .setRate(rate)
+                .build()
+                .execute();
+    }
+
+    private Generator(
+            final boolean continuous,
+            @Nullable final StepLoadRunner.Builder stepLoad,
+            final int threads,
+            final OutputEncoding encoding,
+            @Nullable final RotationPolicy rotationPolicy,
+            @Nullable final NetworkSink.Builder networkSink,
+            @Nullable final Path configuration) {
         _continuous = continuous;
+        _stepLoad = stepLoad;
+        _threads = threads;
+        _encoding = encoding;
+        _rotationPolicy = rotationPolicy;
+        _networkSink = networkSink;
+        _configuration = configuration;
     }
 
     private void run() {
-        final MersenneTwister mersenneTwister = new MersenneTwister(88);
+        final Xoshiro256PlusPlus random = new Xoshiro256PlusPlus(88);
         try {
-            if (_continuous) {
-                generateContinuous(mersenneTwister);
+            if (_configuration != null) {
+                generateFromSpecification(WorkloadSpecification.read(_configuration));
+            } else if (_stepLoad != null) {
+                generateStepLoad(random);
+            } else if (_continuous) {
+                generateContinuous(random);
             } else {
-                generateTestFiles(mersenneTwister);
+                generateTestFiles(random);
             }
         } catch (final IOException e) {
             LOGGER.error()
@@ -77,7 +272,7 @@ public final class Generator {
         }
     }
 
-    private void generateTestFiles(final RandomGenerator mersenneTwister) throws IOException {
+    private void generateTestFiles(final Xoshiro256PlusPlus random) throws IOException {
         //TODO(barp): Set these parameters from command line args [ISSUE-1]
         final List<Integer> metricSamplesPerUOW = Lists.newArrayList(1, 5, 25);
         final List<Integer> uowPerInterval = Lists.newArrayList(10000, 50000, 250000);
@@ -91,49 +286,153 @@ public final class Generator {
                 .withSecond(0)
                 .withNano(0);
         final ZonedDateTime stop = start.plusMinutes(10);
-        for (final Integer uowCount : uowPerInterval) {
-            for (final Integer namesCount : metricNamesPerUOW) {
-                for (final Integer samplesCount : metricSamplesPerUOW) {
-                    final Path fileName = Paths.get(
-                            String.format("logs/r_%08d_m_%03d_s_%03d", uowCount, namesCount, samplesCount));
-
-                    final TestFileGenerator testFileGenerator = new TestFileGenerator.Builder()
-                            .setRandom(mersenneTwister)
-                            .setUnitOfWorkCount(uowCount)
-                            .setNamesCount(namesCount)
-                            .setSamplesCount(samplesCount)
-                            .setStartTime(start)
-                            .setEndTime(stop)
-                            .setFileName(fileName)
-                            .setClusterName(clusterName)
-                            .setServiceName(serviceName)
-                            .build();
-                    testFileGenerator.generate();
+        final int parallelism = Runtime.getRuntime().availableProcessors();
+        final ExecutorService executor = Executors.newFixedThreadPool(parallelism);
+        // The shards of all files share one pool so at most one thread per processor generates
+        final List<CompletableFuture<Void>> futures = Lists.newArrayList();
+        try {
+            for (final Integer uowCount : uowPerInterval) {
+                for (final Integer namesCount : metricNamesPerUOW) {
+                    for (final Integer samplesCount : metricSamplesPerUOW) {
+                        final Path fileName = Paths.get(
+                                String.format("logs/r_%08d_m_%03d_s_%03d", uowCount, namesCount, samplesCount)
+                                        + _encoding.getExtension());
+
+                        // Randoms are split in a fixed order so each file is reproducible
+                        // regardless of the order in which the files complete
+                        final TestFileGenerator testFileGenerator = new TestFileGenerator.Builder()
+                                .setRandom(random.split())
+                                .setUnitOfWorkCount(uowCount)
+                                .setNamesCount(namesCount)
+                                .setSamplesCount(samplesCount)
+                                .setStartTime(start)
+                                .setEndTime(stop)
+                                .setFileName(fileName)
+                                .setOutputEncoding(_encoding)
+                                .setClusterName(clusterName)
+                                .setServiceName(serviceName)
+                                .setShardCount(Math.max(1, uowCount / UOW_PER_SHARD))
+                                .setAggregatePeriod(Duration.ofMinutes(1))
+                                .build();
+                        futures.add(testFileGenerator.generate(executor));
+                    }
                 }
             }
+            CompletableFuture.allOf(futures.toArray(new CompletableFuture<?>[0])).get();
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException(e);
+        } catch (final ExecutionException e) {
+            throw new IOException(e.getCause());
+        } finally {
+            executor.shutdownNow();
         }
     }
 
 
-    private void generateContinuous(final RandomGenerator mersenneTwister) {
-        final List<MetricGenerator> metricGenerators = Lists.newArrayList();
-        for (int x = 0; x < 5; x++) {
-            metricGenerators.add(new GaussianMetricGenerator(50d, 8d, new SingleNameGenerator(mersenneTwister), mersenneTwister));
-        }
-        final UnitOfWorkGenerator uowGenerator = new UnitOfWorkGenerator(metricGenerators);
-
+    private void generateContinuous(final Xoshiro256PlusPlus random) {
         final List<UnitOfWorkSchedule> schedules = Lists.newArrayList();
-        schedules.add(new UnitOfWorkSchedule(uowGenerator, new ConstantTimeScheduler(Duration.ofMillis(500))));
+        for (final UnitOfWorkGenerator uowGenerator : createThreadGenerators(random)) {
+            schedules.add(new UnitOfWorkSchedule(uowGenerator, new ConstantTimeScheduler(Duration.ofMillis(500))));
+        }
 
         //TODO(barp): The file name should come from command line args [ISSUE-1]
-        final RealTimeExecutor executor = new RealTimeExecutor(
-                schedules,
-                Paths.get("logs/generated-query"),
-                "MyPerformanceTestedCluster",
-                "MyPerformanceTestedService");
+        final RealTimeExecutor executor = new RealTimeExecutor.Builder()
+                .setSchedules(schedules)
+                .setOutputPath(_networkSink == null ? Paths.get("logs/generated-query" + _encoding.getExtension()) : null)
+                .setNetworkSink(_networkSink)
+                .setOutputEncoding(_encoding)
+                .setRotationPolicy(_rotationPolicy)
+                .setClusterName("MyPerformanceTestedCluster")
+                .setServiceName("MyPerformanceTestedService")
+                .setThreadCount(_threads)
+                .build();
         executor.execute();
     }
 
+    private void generateFromSpecification(final WorkloadSpecification specification) {
+        final ZonedDateTime start = specification.getIntervalStart();
+        final Duration duration = specification.getIntervalDuration();
+        if (start != null && duration != null) {
+            new IntervalExecutor.Builder()
+                    .setStart(start)
+                    .setEnd(start.plus(duration))
+                    .setSchedules(specification.createSchedules())
+                    .setOutputPath(specification.getOutputPath())
+                    .setOutputEncoding(specification.getOutputEncoding())
+                    .setRotationPolicy(specification.getRotationPolicy())
+                    .setHistogramSink(specification.getHistogramSink())
+                    .setClusterName(specification.getClusterName())
+                    .setServiceName(specification.getServiceName())
+                    .build()
+                    .execute();
+        } else {
+            createRealTimeExecutor(specification, specification.createSchedules(), specification.getOutputPath())
+                    .build()
+                    .execute();
+        }
+    }
+
+    private static RealTimeExecutor.Builder createRealTimeExecutor(
+            final WorkloadSpecification specification,
+            final List<UnitOfWorkSchedule> schedules,
+            @Nullable final Path outputPath) {
+        return new RealTimeExecutor.Builder()
+                .setSchedules(schedules)
+                .setOutputPath(outputPath)
+                .setNetworkSink(specification.getNetworkSink())
+                .setAsyncSink(specification.getAsyncSink())
+                .setHistogramSink(specification.getHistogramSink())
+                .setOutputEncoding(specification.getOutputEncoding())
+                .setRotationPolicy(specification.getRotationPolicy())
+                .setClusterName(specification.getClusterName())
+                .setServiceName(specification.getServiceName())
+                .setThreadCount(specification.getThreads())
+                .setThreadPerSchedule(specification.isThreadPerSchedule())
+                .setCatchUpPolicy(specification.getCatchUpPolicy());
+    }
+
+    private void generateStepLoad(final Xoshiro256PlusPlus random) {
+        final StepLoadRunner runner = _stepLoad
+                .setGenerators(createThreadGenerators(random))
+                .setOutputPath(Paths.get("logs/generated-query" + _encoding.getExtension()))
+                .setOutputEncoding(_encoding)
+                .setClusterName("MyPerformanceTestedCluster")
+                .setServiceName("MyPerformanceTestedService")
+                .setThreadCount(_threads)
+                .build();
+        runner.run();
+    }
+
+    private List<UnitOfWorkGenerator> createThreadGenerators(final Xoshiro256PlusPlus random) {
+        // Each thread executes its own generator and each metric and name has its own random stream
+        final List<UnitOfWorkGenerator> generators = Lists.newArrayList();
+        for (int thread = 0; thread < _threads; ++thread) {
+            final Xoshiro256PlusPlus threadRandom = random.split();
+            final List<MetricGenerator> metricGenerators = Lists.newArrayList();
+            for (int x = 0; x < 5; x++) {
+                final SingleNameGenerator name = new SingleNameGenerator(threadRandom.split());
+                metricGenerators.add(new GaussianMetricGenerator(50d, 8d, name, threadRandom.split()));
+            }
+            generators.add(new UnitOfWorkGenerator(metricGenerators));
+        }
+        return generators;
+    }
+
     private final boolean _continuous;
+    @Nullable
+    private final StepLoadRunner.Builder _stepLoad;
+    private final int _threads;
+    private final OutputEncoding _encoding;
+    @Nullable
+    private final RotationPolicy _rotationPolicy;
+    @Nullable
+    private final NetworkSink.Builder _networkSink;
+    @Nullable
+    private final Path _configuration;
+
+    private static final int UOW_PER_SHARD = 10000;
+    private static final double DEFAULT_STEP_INITIAL_RATE = 100;
+    private static final int DEFAULT_STEP_COUNT = 12;
     private static final Logger LOGGER = LoggerFactory.getLogger(Generator.class);
 }
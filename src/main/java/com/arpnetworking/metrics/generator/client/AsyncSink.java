@@ -0,0 +1,393 @@
+/*
+ * Copyright 2026 Inscope Metrics
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.arpnetworking.metrics.generator.client;
+
+import com.arpnetworking.commons.builder.OvalBuilder;
+import com.arpnetworking.metrics.Event;
+import com.arpnetworking.steno.Logger;
+import com.arpnetworking.steno.LoggerFactory;
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+import net.sf.oval.constraint.Max;
+import net.sf.oval.constraint.Min;
+import net.sf.oval.constraint.NotNull;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import javax.annotation.Nullable;
+
+/**
+ * Decouples generating events from writing them. Events are queued with
+ * their emission time in a bounded {@link EventRingBuffer} and written to
+ * the wrapped sink in batches by a dedicated writer thread, so a slow write
+ * delays the writer and not the schedule. What happens to events when the
+ * queue is full is set by the {@link OverflowPolicy}.
+ *
+ * The writer flushes the wrapped sink whenever the queue is empty, so
+ * {@link #flush()} does nothing. The samples and bytes written are those of
+ * the wrapped sink as of the last batch. Closing the sink writes the queued
+ * events and closes the wrapped sink on the closing thread.
+ *
+ * The time set with {@link #setTime(long)} applies to events recorded with
+ * {@link #record(Event)}, so those must come from a single thread. Any number
+ * of threads can record events with {@link #record(Event, long)} or through
+ * their own view from {@link #createProducer()}.
+ *
+ * @author Brandon Arp (brandon dot arp at inscopemetrics dot io)
+ */
+public final class AsyncSink implements TimeReplacingSink {
+
+    private AsyncSink(final Builder builder) {
+        _sink = builder._sink;
+        _overflowPolicy = builder._overflowPolicy;
+        _batchSize = builder._batchSize;
+        _buffer = new EventRingBuffer(builder._capacity);
+        _writer = new Thread(this::write, "async-sink-writer");
+        _writer.setDaemon(true);
+        _writer.setUncaughtExceptionHandler(this::writerFailed);
+        _writer.start();
+    }
+
+    @Override
+    @SuppressFBWarnings(value = "AT_NONATOMIC_64BIT_PRIMITIVE", justification = "only accessed by the recording thread")
+    public void setTime(final long epochNanos) {
+        _epochNanos = epochNanos;
+    }
+
+    @Override
+    public void record(final Event event) {
+        record(event, _epochNanos);
+    }
+
+    /**
+     * Records an event with its emission time. Thread safe.
+     *
+     * @param event The event.
+     * @param epochNanos The emission time in nanoseconds since the epoch.
+     */
+    public void record(final Event event, final long epochNanos) {
+        checkFailure();
+        if (!_buffer.offer(event, epochNanos)) {
+            overflow(event, epochNanos);
+        }
+        if (_writerParked) {
+            LockSupport.unpark(_writer);
+        }
+    }
+
+    /**
+     * Creates a view of this sink for one recording thread. The view has
+     * its own time and counts the samples recorded through it; it does not
+     * know the bytes written. Flushing and closing the view do nothing.
+     *
+     * @return The view.
+     */
+    public TimeReplacingSink createProducer() {
+        return new Producer();
+    }
+
+    @Override
+    public long getSamplesWritten() {
+        return _samplesWritten;
+    }
+
+    @Override
+    public long getBytesWritten() {
+        return _bytesWritten;
+    }
+
+    /**
+     * Gets the number of events discarded because the queue was full.
+     *
+     * @return The number of events.
+     */
+    public long getEventsDropped() {
+        return _eventsDropped.get();
+    }
+
+    /**
+     * Gets the number of samples of the events discarded because the queue
+     * was full. Only counted with {@link OverflowPolicy#COUNT}.
+     *
+     * @return The number of samples.
+     */
+    public long getSamplesDropped() {
+        return _samplesDropped.get();
+    }
+
+    /**
+     * Gets the time spent waiting for room in the queue. Only accrues with
+     * {@link OverflowPolicy#BLOCK}.
+     *
+     * @return The time in nanoseconds.
+     */
+    public long getBackpressureNanos() {
+        return _backpressureNanos.get();
+    }
+
+    @Override
+    public void flush() {
+        // The writer flushes whenever it runs out of events
+    }
+
+    @Override
+    public void close() {
+        _closed = true;
+        LockSupport.unpark(_writer);
+        final boolean interrupted = Thread.interrupted();
+        try {
+            joinWriter();
+            _sink.close();
+        } finally {
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+            LOGGER.info()
+                    .setMessage("Async sink closed")
+                    .addData("overflowPolicy", _overflowPolicy)
+                    .addData("eventsDropped", getEventsDropped())
+                    .addData("samplesDropped", getSamplesDropped())
+                    .addData("backpressureMillis", TimeUnit.NANOSECONDS.toMillis(getBackpressureNanos()))
+                    .log();
+        }
+        checkFailure();
+    }
+
+    private void overflow(final Event event, final long epochNanos) {
+        switch (_overflowPolicy) {
+            case BLOCK:
+                block(event, epochNanos);
+                break;
+            case DROP_OLDEST:
+                while (!_buffer.offer(event, epochNanos)) {
+                    if (_buffer.discardOldest()) {
+                        _eventsDropped.incrementAndGet();
+                    }
+                }
+                break;
+            case COUNT:
+                _samplesDropped.addAndGet(GeneratorSink.countSamples(event));
+                _eventsDropped.incrementAndGet();
+                break;
+            default:
+                _eventsDropped.incrementAndGet();
+                break;
+        }
+    }
+
+    private void block(final Event event, final long epochNanos) {
+        final long start = System.nanoTime();
+        while (!_buffer.offer(event, epochNanos)) {
+            checkFailure();
+            if (Thread.currentThread().isInterrupted()) {
+                // Shutting down; do not wait on a writer that may never catch up
+                _eventsDropped.incrementAndGet();
+                break;
+            }
+            LockSupport.unpark(_writer);
+            LockSupport.parkNanos(this, BLOCK_PARK_NANOS);
+        }
+        _backpressureNanos.addAndGet(System.nanoTime() - start);
+    }
+
+    private void joinWriter() {
+        while (_writer.isAlive()) {
+            try {
+                _writer.join();
+            } catch (final InterruptedException e) {
+                // Finish writing the queued events; the interrupt is restored by close
+            }
+        }
+    }
+
+    private void checkFailure() {
+        final Throwable failure = _failure;
+        if (failure != null) {
+            throw new IllegalStateException("Async sink writer failed", failure);
+        }
+    }
+
+    private void write() {
+        boolean unflushed = false;
+        while (true) {
+            // Read before draining so that events recorded before closing are written
+            final boolean closed = _closed;
+            if (_buffer.drain(_eventWriter, _batchSize) > 0) {
+                unflushed = true;
+            } else if (unflushed) {
+                _sink.flush();
+                unflushed = false;
+            } else if (closed) {
+                break;
+            } else {
+                _writerParked = true;
+                if (_buffer.isEmpty() && !_closed) {
+                    LockSupport.parkNanos(this, WRITER_PARK_NANOS);
+                }
+                _writerParked = false;
+            }
+            _samplesWritten = _sink.getSamplesWritten();
+            _bytesWritten = _sink.getBytesWritten();
+        }
+    }
+
+    private void writerFailed(final Thread thread, final Throwable throwable) {
+        _failure = throwable;
+        LOGGER.error()
+                .setMessage("Async sink writer failed")
+                .addData("thread", thread.getName())
+                .setThrowable(throwable)
+                .log();
+    }
+
+    private void writeEvent(final Event event, final long epochNanos) {
+        _sink.setTime(epochNanos);
+        _sink.record(event);
+    }
+
+    private final TimeReplacingSink _sink;
+    private final OverflowPolicy _overflowPolicy;
+    private final int _batchSize;
+    private final EventRingBuffer _buffer;
+    private final Thread _writer;
+    private final EventRingBuffer.Handler _eventWriter = this::writeEvent;
+    private volatile boolean _closed;
+    private volatile boolean _writerParked;
+    @Nullable
+    private volatile Throwable _failure;
+    // Written by the writer thread
+    private volatile long _samplesWritten;
+    private volatile long _bytesWritten;
+    private final AtomicLong _eventsDropped = new AtomicLong();
+    private final AtomicLong _samplesDropped = new AtomicLong();
+    private final AtomicLong _backpressureNanos = new AtomicLong();
+    // Only accessed by the thread recording with record(Event)
+    private long _epochNanos;
+
+    private static final long BLOCK_PARK_NANOS = TimeUnit.MICROSECONDS.toNanos(10);
+    private static final long WRITER_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+    private static final Logger LOGGER = LoggerFactory.getLogger(AsyncSink.class);
+
+    private final class Producer implements TimeReplacingSink {
+
+        @Override
+        public void setTime(final long epochNanos) {
+            _producerEpochNanos = epochNanos;
+        }
+
+        @Override
+        public void record(final Event event) {
+            _producerSamples += GeneratorSink.countSamples(event);
+            AsyncSink.this.record(event, _producerEpochNanos);
+        }
+
+        @Override
+        public long getSamplesWritten() {
+            return _producerSamples;
+        }
+
+        @Override
+        public long getBytesWritten() {
+            return 0;
+        }
+
+        @Override
+        public void flush() {
+            // The writer flushes whenever it runs out of events
+        }
+
+        @Override
+        public void close() {
+            // The shared sink is closed by its owner
+        }
+
+        private long _producerEpochNanos;
+        private long _producerSamples;
+    }
+
+    /**
+     * Builder for an {@link AsyncSink}. The builder can build several sinks
+     * by setting a new wrapped sink for each.
+     */
+    public static final class Builder extends OvalBuilder<AsyncSink> {
+        /**
+         * Public constructor.
+         */
+        public Builder() {
+            super((Builder builder) -> new AsyncSink(builder));
+        }
+
+        /**
+         * Sets the sink to write the events to.
+         *
+         * @param sink The wrapped sink.
+         * @return This builder.
+         */
+        @SuppressFBWarnings(value = "EI_EXPOSE_REP2", justification = "the events are written to the wrapped sink")
+        public Builder setSink(final TimeReplacingSink sink) {
+            _sink = sink;
+            return this;
+        }
+
+        /**
+         * Sets the number of events the queue holds. Rounded up to a power
+         * of two. Optional. Defaults to 65536.
+         *
+         * @param capacity The capacity of the queue.
+         * @return This builder.
+         */
+        public Builder setCapacity(final Integer capacity) {
+            _capacity = capacity;
+            return this;
+        }
+
+        /**
+         * Sets the most events the writer takes from the queue at once.
+         * Optional. Defaults to 1024.
+         *
+         * @param batchSize The batch size.
+         * @return This builder.
+         */
+        public Builder setBatchSize(final Integer batchSize) {
+            _batchSize = batchSize;
+            return this;
+        }
+
+        /**
+         * Sets what happens to events when the queue is full. Optional.
+         * Defaults to {@link OverflowPolicy#BLOCK}.
+         *
+         * @param overflowPolicy The overflow policy.
+         * @return This builder.
+         */
+        public Builder setOverflowPolicy(final OverflowPolicy overflowPolicy) {
+            _overflowPolicy = overflowPolicy;
+            return this;
+        }
+
+        @NotNull
+        private TimeReplacingSink _sink;
+        @NotNull
+        @Min(2)
+        @Max(1 << 30)
+        private Integer _capacity = 65536;
+        @NotNull
+        @Min(1)
+        private Integer _batchSize = 1024;
+        @NotNull
+        private OverflowPolicy _overflowPolicy = OverflowPolicy.BLOCK;
+    }
+}
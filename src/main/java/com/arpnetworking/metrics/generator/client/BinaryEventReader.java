@@ -0,0 +1,229 @@
+/*
+ * Copyright 2026 Inscope Metrics
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.arpnetworking.metrics.generator.client;
+
+import com.arpnetworking.metrics.AggregatedData;
+import com.arpnetworking.metrics.Event;
+import com.arpnetworking.metrics.Quantity;
+import com.arpnetworking.metrics.impl.AugmentedHistogram;
+import com.arpnetworking.metrics.impl.TsdEvent;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import javax.annotation.Nullable;
+
+/**
+ * Reads events written with {@link OutputEncoding#BINARY}. The events are
+ * read from a buffer, typically a mapped file, from its position to its
+ * limit without changing the position of the buffer. The {@code _start}
+ * and {@code _end} annotations of the events read are set to the time they
+ * were written with, as in the JSON encoding.
+ *
+ * @author Brandon Arp (brandon dot arp at inscopemetrics dot io)
+ */
+public final class BinaryEventReader {
+    /**
+     * Public constructor.
+     *
+     * @param buffer The buffer to read; it must start with a segment header.
+     */
+    @SuppressFBWarnings(value = "EI_EXPOSE_BUF2", justification = "the events are read from the buffer without copying it")
+    public BinaryEventReader(final ByteBuffer buffer) {
+        _buffer = buffer.duplicate();
+        if (!_buffer.hasRemaining() || _buffer.get() != 0) {
+            throw new IllegalArgumentException("Not a binary event stream");
+        }
+        readHeader();
+    }
+
+    /**
+     * Reads the next event.
+     *
+     * @return The event or null at the end of the buffer.
+     */
+    @Nullable
+    public Event next() {
+        try {
+            while (_buffer.hasRemaining()) {
+                final long length = readVarint();
+                if (length == 0) {
+                    readHeader();
+                    continue;
+                }
+                final long end = _buffer.position() + length;
+                final Event event = readRecord();
+                if (_buffer.position() != end) {
+                    throw new IllegalArgumentException("Malformed record ending at " + end);
+                }
+                return event;
+            }
+            return null;
+        } catch (final BufferUnderflowException e) {
+            throw new IllegalArgumentException("Truncated record at " + _buffer.position(), e);
+        }
+    }
+
+    /**
+     * Gets the time the last event read was written with.
+     *
+     * @return The time in milliseconds since the epoch.
+     */
+    public long getTime() {
+        return _timeMillis;
+    }
+
+    private void readHeader() {
+        final byte[] magic = new byte[BinaryFormat.MAGIC.length];
+        _buffer.get(magic);
+        final int version = _buffer.get();
+        if (!Arrays.equals(BinaryFormat.MAGIC, magic) || version != BinaryFormat.VERSION) {
+            throw new IllegalArgumentException("Unsupported binary event stream; version=" + version);
+        }
+        _stringCount = 0;
+    }
+
+    private Event readRecord() {
+        _timeMillis = readVarint();
+        _timestamp.setTime(TimeUnit.MILLISECONDS.toNanos(_timeMillis));
+        final String time = _timestamp.toString();
+
+        final int annotationCount = readCount();
+        final Map<String, String> annotations = Maps.newLinkedHashMapWithExpectedSize(annotationCount + 2);
+        for (int i = 0; i < annotationCount; ++i) {
+            final String key = readString();
+            annotations.put(key, readString());
+        }
+        annotations.put(GeneratorSink.START_KEY, time);
+        annotations.put(GeneratorSink.END_KEY, time);
+
+        final Map<String, List<Quantity>> counters = readSamples();
+        final Map<String, List<Quantity>> gauges = readSamples();
+        final Map<String, List<Quantity>> timers = readSamples();
+        final Map<String, AggregatedData> histograms = readHistograms();
+        return new TsdEvent(annotations, timers, counters, gauges, histograms);
+    }
+
+    private Map<String, AggregatedData> readHistograms() {
+        final int metricCount = readCount();
+        final Map<String, AggregatedData> histograms = Maps.newLinkedHashMapWithExpectedSize(metricCount);
+        for (int i = 0; i < metricCount; ++i) {
+            final String name = readString();
+            final AugmentedHistogram.Builder builder = new AugmentedHistogram.Builder()
+                    .setPrecision((int) readVarint())
+                    .setMinimum(_buffer.getDouble())
+                    .setMaximum(_buffer.getDouble())
+                    .setSum(_buffer.getDouble());
+            final int bucketCount = readCount();
+            final Map<Double, Long> buckets = Maps.newLinkedHashMapWithExpectedSize(bucketCount);
+            for (int j = 0; j < bucketCount; ++j) {
+                final double bucket = _buffer.getDouble();
+                buckets.put(bucket, readVarint());
+            }
+            final AggregatedData histogram = builder.setHistogram(buckets).build();
+            if (histogram == null) {
+                throw new IllegalArgumentException("Malformed histogram " + name);
+            }
+            histograms.put(name, histogram);
+        }
+        return histograms;
+    }
+
+    private Map<String, List<Quantity>> readSamples() {
+        final int metricCount = readCount();
+        final Map<String, List<Quantity>> samples = Maps.newLinkedHashMapWithExpectedSize(metricCount);
+        for (int i = 0; i < metricCount; ++i) {
+            final String name = readString();
+            final int kind = _buffer.get();
+            final int sampleCount = readCount();
+            final List<Quantity> quantities = Lists.newArrayListWithCapacity(sampleCount);
+            for (int j = 0; j < sampleCount; ++j) {
+                final Number value;
+                if (kind == BinaryFormat.KIND_LONG) {
+                    final long encoded = readVarint();
+                    value = (encoded >>> 1) ^ -(encoded & 1);
+                } else if (kind == BinaryFormat.KIND_DOUBLE) {
+                    value = _buffer.getDouble();
+                } else {
+                    throw new IllegalArgumentException("Unknown sample kind " + kind);
+                }
+                quantities.add(() -> value);
+            }
+            samples.put(name, quantities);
+        }
+        return samples;
+    }
+
+    private String readString() {
+        final long reference = readVarint();
+        if ((reference & 1) == 1) {
+            final long index = reference >>> 1;
+            if (index >= _stringCount) {
+                throw new IllegalArgumentException("Unknown string " + index);
+            }
+            return _strings[(int) index];
+        }
+        final int length = checkCount(reference >>> 1);
+        final byte[] bytes = new byte[length];
+        _buffer.get(bytes);
+        final String value = StandardCharsets.UTF_8.decode(ByteBuffer.wrap(bytes)).toString();
+        if (_stringCount < BinaryFormat.MAX_STRINGS) {
+            if (_stringCount == _strings.length) {
+                _strings = Arrays.copyOf(_strings, _strings.length * 2);
+            }
+            _strings[_stringCount++] = value;
+        }
+        return value;
+    }
+
+    private int readCount() {
+        return checkCount(readVarint());
+    }
+
+    private int checkCount(final long count) {
+        if (count > _buffer.remaining()) {
+            throw new IllegalArgumentException("Malformed count " + count + " at " + _buffer.position());
+        }
+        return (int) count;
+    }
+
+    private long readVarint() {
+        long value = 0;
+        for (int shift = 0; shift < Long.SIZE; shift += 7) {
+            final byte b = _buffer.get();
+            value |= (long) (b & 0x7F) << shift;
+            if (b >= 0) {
+                return value;
+            }
+        }
+        throw new IllegalArgumentException("Malformed varint at " + _buffer.position());
+    }
+
+    private long _timeMillis;
+    private String[] _strings = new String[INITIAL_STRINGS];
+    private int _stringCount;
+    private final IsoTimestampFormatter _timestamp = new IsoTimestampFormatter();
+    private final ByteBuffer _buffer;
+
+    private static final int INITIAL_STRINGS = 256;
+}
@@ -0,0 +1,204 @@
+/*
+ * Copyright 2026 Inscope Metrics
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.arpnetworking.metrics.generator.client;
+
+import com.arpnetworking.metrics.AggregatedData;
+import com.arpnetworking.metrics.Event;
+import com.arpnetworking.metrics.Quantity;
+import com.arpnetworking.metrics.impl.AugmentedHistogram;
+import com.google.common.collect.Maps;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Writes events in the {@link BinaryFormat}. Each record is assembled in a
+ * reused array and written with its length prefix in one call.
+ *
+ * @author Brandon Arp (brandon dot arp at inscopemetrics dot io)
+ */
+/* package private */ final class BinaryEventWriter implements EventWriter {
+
+    /* package private */ BinaryEventWriter(final OutputStream outputStream) throws IOException {
+        _outputStream = outputStream;
+        _outputStream.write(0);
+        _outputStream.write(BinaryFormat.MAGIC);
+        _outputStream.write(BinaryFormat.VERSION);
+    }
+
+    @Override
+    public void setTime(final long epochNanos) {
+        _timeMillis = Math.floorDiv(epochNanos, NANOS_PER_MILLI);
+    }
+
+    @Override
+    public void write(final Event event) throws IOException {
+        _length = 0;
+        writeVarint(_timeMillis);
+        writeAnnotations(event.getAnnotations());
+        writeSamples(event.getCounterSamples());
+        writeSamples(event.getGaugeSamples());
+        writeSamples(event.getTimerSamples());
+        writeHistograms(event.getAggregatedData());
+
+        final int recordLength = _length;
+        writeVarint(recordLength);
+        _outputStream.write(_buffer, recordLength, _length - recordLength);
+        _outputStream.write(_buffer, 0, recordLength);
+    }
+
+    @Override
+    public long getBuffered() {
+        return 0;
+    }
+
+    @Override
+    public void flush() throws IOException {
+        _outputStream.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        _outputStream.close();
+    }
+
+    private void writeAnnotations(final Map<String, String> annotations) {
+        int count = 0;
+        for (final String key : annotations.keySet()) {
+            if (!isTimeKey(key)) {
+                ++count;
+            }
+        }
+        writeVarint(count);
+        for (final Map.Entry<String, String> annotation : annotations.entrySet()) {
+            if (!isTimeKey(annotation.getKey())) {
+                writeString(annotation.getKey());
+                writeString(annotation.getValue());
+            }
+        }
+    }
+
+    private void writeSamples(final Map<String, List<Quantity>> samples) {
+        writeVarint(samples.size());
+        for (final Map.Entry<String, List<Quantity>> entry : samples.entrySet()) {
+            final List<Quantity> quantities = entry.getValue();
+            boolean integral = true;
+            for (final Quantity quantity : quantities) {
+                integral &= isIntegral(quantity.getValue());
+            }
+            writeString(entry.getKey());
+            ensureCapacity(1);
+            _buffer[_length++] = (byte) (integral ? BinaryFormat.KIND_LONG : BinaryFormat.KIND_DOUBLE);
+            writeVarint(quantities.size());
+            for (final Quantity quantity : quantities) {
+                if (integral) {
+                    final long value = quantity.getValue().longValue();
+                    writeVarint((value << 1) ^ (value >> 63));
+                } else {
+                    writeDouble(quantity.getValue().doubleValue());
+                }
+            }
+        }
+    }
+
+    private void writeHistograms(final Map<String, AggregatedData> aggregatedData) {
+        int count = 0;
+        for (final AggregatedData data : aggregatedData.values()) {
+            if (data instanceof AugmentedHistogram) {
+                ++count;
+            }
+        }
+        writeVarint(count);
+        for (final Map.Entry<String, AggregatedData> entry : aggregatedData.entrySet()) {
+            if (entry.getValue() instanceof AugmentedHistogram) {
+                final AugmentedHistogram histogram = (AugmentedHistogram) entry.getValue();
+                writeString(entry.getKey());
+                writeVarint(histogram.getPrecision());
+                writeDouble(histogram.getMin());
+                writeDouble(histogram.getMax());
+                writeDouble(histogram.getSum());
+                writeVarint(histogram.getHistogram().size());
+                for (final Map.Entry<Double, Long> bucket : histogram.getHistogram().entrySet()) {
+                    writeDouble(bucket.getKey());
+                    writeVarint(bucket.getValue());
+                }
+            }
+        }
+    }
+
+    private void writeString(final String value) {
+        final Integer index = _strings.get(value);
+        if (index != null) {
+            writeVarint(((long) index << 1) | 1);
+            return;
+        }
+        if (_strings.size() < BinaryFormat.MAX_STRINGS) {
+            _strings.put(value, _strings.size());
+        }
+        final byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        writeVarint((long) bytes.length << 1);
+        ensureCapacity(bytes.length);
+        System.arraycopy(bytes, 0, _buffer, _length, bytes.length);
+        _length += bytes.length;
+    }
+
+    private void writeVarint(final long value) {
+        ensureCapacity(MAX_VARINT_LENGTH);
+        long remaining = value;
+        while ((remaining & ~0x7FL) != 0) {
+            _buffer[_length++] = (byte) ((remaining & 0x7F) | 0x80);
+            remaining >>>= 7;
+        }
+        _buffer[_length++] = (byte) remaining;
+    }
+
+    private void writeDouble(final double value) {
+        ensureCapacity(Long.BYTES);
+        final long bits = Double.doubleToRawLongBits(value);
+        for (int shift = Long.SIZE - Byte.SIZE; shift >= 0; shift -= Byte.SIZE) {
+            _buffer[_length++] = (byte) (bits >>> shift);
+        }
+    }
+
+    private void ensureCapacity(final int additional) {
+        if (_length + additional > _buffer.length) {
+            _buffer = Arrays.copyOf(_buffer, Math.max(_length + additional, _buffer.length * 2));
+        }
+    }
+
+    private static boolean isTimeKey(final String key) {
+        return GeneratorSink.START_KEY.equals(key) || GeneratorSink.END_KEY.equals(key);
+    }
+
+    private static boolean isIntegral(final Number value) {
+        return value instanceof Long || value instanceof Integer || value instanceof Short || value instanceof Byte;
+    }
+
+    private long _timeMillis;
+    private byte[] _buffer = new byte[INITIAL_BUFFER_SIZE];
+    private int _length;
+    private final Map<String, Integer> _strings = Maps.newHashMap();
+    private final OutputStream _outputStream;
+
+    private static final long NANOS_PER_MILLI = TimeUnit.MILLISECONDS.toNanos(1);
+    private static final int MAX_VARINT_LENGTH = 10;
+    private static final int INITIAL_BUFFER_SIZE = 4096;
+}
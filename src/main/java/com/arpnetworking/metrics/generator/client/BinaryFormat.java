@@ -0,0 +1,52 @@
+/*
+ * Copyright 2026 Inscope Metrics
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.arpnetworking.metrics.generator.client;
+
+/**
+ * Constants of the {@link OutputEncoding#BINARY} format. A stream is a
+ * sequence of segments, each a header followed by records:
+ *
+ * <pre>
+ * segment     := 0x00 "MGEN" version(1 byte) record*
+ * record      := varint(length) time annotations counters gauges timers histograms
+ * time        := varint(epoch milliseconds)
+ * annotations := varint(count) (string(key) string(value))*
+ * samples     := varint(count) (string(name) kind(1 byte) varint(count) value*)*
+ * value       := zigzag varint if kind is 0, big-endian IEEE 754 double if kind is 1
+ * histograms  := varint(count) (string(name) varint(precision) double(min) double(max) double(sum)
+ *                varint(count) (double(bucket) varint(count))*)*
+ * string      := varint(length &lt;&lt; 1) UTF-8 bytes | varint(index &lt;&lt; 1 | 1)
+ * </pre>
+ *
+ * Varints are unsigned LEB128 as in protocol buffers. A record length is
+ * never zero, so a zero length introduces the next segment; the output of
+ * several writers can therefore be concatenated. The first
+ * {@link #MAX_STRINGS} distinct strings written as literals in a segment are
+ * numbered in order and repeated by index afterwards. The {@code _start} and
+ * {@code _end} annotations are replaced by the time.
+ *
+ * @author Brandon Arp (brandon dot arp at inscopemetrics dot io)
+ */
+/* package private */ final class BinaryFormat {
+
+    /* package private */ static final byte[] MAGIC = {'M', 'G', 'E', 'N'};
+    /* package private */ static final int VERSION = 1;
+    /* package private */ static final int KIND_LONG = 0;
+    /* package private */ static final int KIND_DOUBLE = 1;
+    /* package private */ static final int MAX_STRINGS = 1 << 16;
+
+    private BinaryFormat() { }
+}
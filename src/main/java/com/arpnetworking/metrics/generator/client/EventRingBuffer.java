@@ -0,0 +1,154 @@
+/*
+ * Copyright 2026 Inscope Metrics
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.arpnetworking.metrics.generator.client;
+
+import com.arpnetworking.metrics.Event;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Bounded lock-free queue of events and their emission times.
+ *
+ * Each slot carries a sequence number that says whether it is ready to be
+ * written or read at a position (D. Vyukov's bounded queue). Producers
+ * claim a position by compare and set of the head and consumers by compare
+ * and set of the tail, so any number of threads can offer events and a
+ * producer can discard the oldest event as if it were a consumer.
+ *
+ * @author Brandon Arp (brandon dot arp at inscopemetrics dot io)
+ */
+/* package private */ final class EventRingBuffer {
+
+    /* package private */ EventRingBuffer(final int capacity) {
+        final int size = Math.max(2, Integer.highestOneBit(capacity - 1) << 1);
+        _mask = size - 1;
+        _events = new Event[size];
+        _times = new long[size];
+        _sequences = new AtomicLongArray(size);
+        for (int i = 0; i < size; ++i) {
+            _sequences.set(i, i);
+        }
+    }
+
+    /**
+     * Adds an entry if there is room.
+     *
+     * @param event The event.
+     * @param time The emission time of the event.
+     * @return True if the entry was added.
+     */
+    /* package private */ boolean offer(final Event event, final long time) {
+        long head = _head.get();
+        while (true) {
+            final int slot = (int) head & _mask;
+            final long available = _sequences.get(slot) - head;
+            if (available == 0) {
+                if (_head.compareAndSet(head, head + 1)) {
+                    _events[slot] = event;
+                    _times[slot] = time;
+                    _sequences.lazySet(slot, head + 1);
+                    return true;
+                }
+                head = _head.get();
+            } else if (available < 0) {
+                // The slot still holds the entry from the previous lap
+                return false;
+            } else {
+                head = _head.get();
+            }
+        }
+    }
+
+    /**
+     * Discards the oldest entry.
+     *
+     * @return True if an entry was discarded, false if the queue was empty.
+     */
+    /* package private */ boolean discardOldest() {
+        return poll(DISCARD);
+    }
+
+    /**
+     * Removes entries and passes them to a handler.
+     *
+     * @param handler The handler of the entries.
+     * @param maxEntries The maximum number of entries to remove.
+     * @return The number of entries removed.
+     */
+    /* package private */ int drain(final Handler handler, final int maxEntries) {
+        int drained = 0;
+        while (drained < maxEntries && poll(handler)) {
+            ++drained;
+        }
+        return drained;
+    }
+
+    /* package private */ boolean isEmpty() {
+        final long tail = _tail.get();
+        return _sequences.get((int) tail & _mask) != tail + 1;
+    }
+
+    /* package private */ int capacity() {
+        return _mask + 1;
+    }
+
+    private boolean poll(final Handler handler) {
+        long tail = _tail.get();
+        while (true) {
+            final int slot = (int) tail & _mask;
+            final long available = _sequences.get(slot) - (tail + 1);
+            if (available == 0) {
+                if (_tail.compareAndSet(tail, tail + 1)) {
+                    final Event event = _events[slot];
+                    final long time = _times[slot];
+                    _events[slot] = null;
+                    _sequences.lazySet(slot, tail + _mask + 1);
+                    handler.accept(event, time);
+                    return true;
+                }
+                tail = _tail.get();
+            } else if (available < 0) {
+                // Empty, or the entry is not yet published
+                return false;
+            } else {
+                tail = _tail.get();
+            }
+        }
+    }
+
+    private final int _mask;
+    private final Event[] _events;
+    private final long[] _times;
+    private final AtomicLongArray _sequences;
+    private final AtomicLong _head = new AtomicLong();
+    private final AtomicLong _tail = new AtomicLong();
+
+    private static final Handler DISCARD = (event, time) -> { };
+
+    /**
+     * Receives the removed entries.
+     */
+    /* package private */ interface Handler {
+        /**
+         * Handles an entry.
+         *
+         * @param event The event.
+         * @param time The emission time of the event.
+         */
+        void accept(Event event, long time);
+    }
+}
@@ -0,0 +1,58 @@
+/*
+ * Copyright 2026 Inscope Metrics
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.arpnetworking.metrics.generator.client;
+
+import com.arpnetworking.metrics.Event;
+
+import java.io.Closeable;
+import java.io.IOException;
+
+/**
+ * Serializes events in one of the {@link OutputEncoding} formats with the
+ * current replacement time.
+ *
+ * @author Brandon Arp (brandon dot arp at inscopemetrics dot io)
+ */
+/* package private */ interface EventWriter extends Closeable {
+    /**
+     * Sets the time to write with subsequent events.
+     *
+     * @param epochNanos The time in nanoseconds since the epoch.
+     */
+    void setTime(long epochNanos);
+
+    /**
+     * Writes an event.
+     *
+     * @param event The event to write.
+     * @throws IOException If the event cannot be written.
+     */
+    void write(Event event) throws IOException;
+
+    /**
+     * Gets the number of bytes written but held by the writer itself.
+     *
+     * @return The number of bytes.
+     */
+    long getBuffered();
+
+    /**
+     * Flushes the writer and the underlying stream.
+     *
+     * @throws IOException If the data cannot be written.
+     */
+    void flush() throws IOException;
+}
@@ -15,150 +15,298 @@
  */
 package com.arpnetworking.metrics.generator.client;
 
-// CHECKSTYLE.OFF: ImportOrder - The inline comments mess with import order.
 import com.arpnetworking.metrics.AggregatedData;
 import com.arpnetworking.metrics.Event;
 import com.arpnetworking.metrics.Quantity;
-import com.arpnetworking.metrics.Sink;
-// CHECKSTYLE.OFF: RegexpSingleline - These are included here for generation.
-import com.arpnetworking.metrics.filesinkextra.shaded.ch.qos.logback.classic.LoggerContext;
-import com.arpnetworking.metrics.filesinkextra.shaded.ch.qos.logback.classic.spi.ILoggingEvent;
-import com.arpnetworking.metrics.filesinkextra.shaded.ch.qos.logback.core.FileAppender;
-import com.arpnetworking.metrics.filesinkextra.shaded.com.arpnetworking.logback.StenoEncoder;
-// CHECKSTYLE.ON: RegexpSingleline
-import com.arpnetworking.metrics.impl.FileSink;
-import com.google.common.collect.Maps;
-import com.google.common.io.Files;
-import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
-// CHECKSTYLE.ON: ImportOrder
-
-import java.lang.reflect.Field;
+import com.arpnetworking.metrics.impl.AugmentedHistogram;
+import com.google.common.io.CountingOutputStream;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
 import java.nio.file.Path;
-import java.time.ZoneOffset;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
 import java.time.ZonedDateTime;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import javax.annotation.Nullable;
 
 /**
- * Wraps a sink to allow modification of the timestamps.
+ * Writes events with replaced timestamps in an {@link OutputEncoding},
+ * query log (version 2f) lines by default.
+ *
+ * Each event is serialized directly into a buffered stream. The output is
+ * only flushed when {@link #flush()} is called, typically at the end of an
+ * interval, or when the buffer fills. A file output can be rotated according
+ * to a {@link RotationPolicy}; rotation happens between events and starts a
+ * complete stream of the encoding in the new file.
  *
  * @author Brandon Arp (barp at groupon dot com)
  */
-public final class GeneratorSink implements Sink {
+public final class GeneratorSink implements TimeReplacingSink {
     /**
      * Public constructor.
      *
      * @param outputPath The file to write to.
      * @param initialTime The time to use in the replacement.
      */
-    @SuppressFBWarnings("NP_NULL_ON_SOME_PATH_FROM_RETURN_VALUE") // getParent() may return null
     public GeneratorSink(final Path outputPath, final ZonedDateTime initialTime) {
-        _time = initialTime;
-        final Path file = outputPath.toAbsolutePath().normalize();
-        _wrapped = new FileSink.Builder()
-                .setDirectory(file.getParent().toFile())
-                .setName(Files.getNameWithoutExtension(file.toString()))
-                .setExtension("." + Files.getFileExtension(file.toString()))
-                .setImmediateFlush(true)
-                .setAsync(false)
-                .build();
-        replaceFileAppender(_wrapped, outputPath);
+        this(outputPath, initialTime, OutputEncoding.JSON);
+    }
+
+    /**
+     * Public constructor.
+     *
+     * @param outputPath The file to write to.
+     * @param initialTime The time to use in the replacement.
+     * @param encoding The encoding to write events in.
+     */
+    public GeneratorSink(final Path outputPath, final ZonedDateTime initialTime, final OutputEncoding encoding) {
+        this(outputPath, initialTime, encoding, null);
+    }
+
+    /**
+     * Public constructor.
+     *
+     * @param outputPath The file to write to.
+     * @param initialTime The time to use in the replacement.
+     * @param encoding The encoding to write events in.
+     * @param rotationPolicy The policy to rotate the file with or null to never rotate it.
+     */
+    public GeneratorSink(
+            final Path outputPath,
+            final ZonedDateTime initialTime,
+            final OutputEncoding encoding,
+            @Nullable final RotationPolicy rotationPolicy) {
+        this(rotationPolicy == null ? null : openRotating(outputPath, rotationPolicy, initialTime), outputPath, initialTime, encoding);
     }
 
+    /**
+     * Public constructor.
+     *
+     * @param outputStream The stream to write to. It is buffered by the sink
+     * and closed when the sink is closed.
+     * @param initialTime The time to use in the replacement.
+     */
+    public GeneratorSink(final OutputStream outputStream, final ZonedDateTime initialTime) {
+        this(outputStream, initialTime, OutputEncoding.JSON);
+    }
+
+    /**
+     * Public constructor.
+     *
+     * @param outputStream The stream to write to. It is buffered by the sink
+     * and closed when the sink is closed.
+     * @param initialTime The time to use in the replacement.
+     * @param encoding The encoding to write events in.
+     */
+    public GeneratorSink(final OutputStream outputStream, final ZonedDateTime initialTime, final OutputEncoding encoding) {
+        this(outputStream, null, initialTime, encoding);
+    }
+
+    private GeneratorSink(
+            @Nullable final RotatingFileOutput rotation,
+            final Path outputPath,
+            final ZonedDateTime initialTime,
+            final OutputEncoding encoding) {
+        this(rotation == null ? openFile(outputPath) : rotation.getStream(), rotation, initialTime, encoding);
+    }
+
+    private GeneratorSink(
+            final OutputStream outputStream,
+            @Nullable final RotatingFileOutput rotation,
+            final ZonedDateTime initialTime,
+            final OutputEncoding encoding) {
+        _rotation = rotation;
+        _encoding = encoding;
+        openWriter(outputStream);
+        setTime(initialTime);
+    }
+
+    /**
+     * Sets the time to use in the replacement.
+     *
+     * @param time The time to use in the replacement.
+     */
     public void setTime(final ZonedDateTime time) {
-        _time = time;
+        final Instant instant = time.toInstant();
+        setTime(TimeUnit.SECONDS.toNanos(instant.getEpochSecond()) + instant.getNano());
+    }
+
+    /**
+     * Sets the time to use in the replacement. The time is written with
+     * millisecond precision.
+     *
+     * @param epochNanos The time in nanoseconds since the epoch.
+     */
+    @Override
+    public void setTime(final long epochNanos) {
+        _epochNanos = epochNanos;
+        _writer.setTime(epochNanos);
     }
 
     @Override
     public void record(final Event event) {
-        final HashMap<String, String> modified = Maps.newHashMap(event.getAnnotations());
-        modified.put("_start", _time.withZoneSameInstant(ZoneOffset.UTC).toString());
-        modified.put("_end", _time.withZoneSameInstant(ZoneOffset.UTC).toString());
-        _wrapped.record(new TimeWarpEvent(modified, event));
+        try {
+            if (_rotation != null && _rotation.checkRotation(getFileBytes(), _epochNanos)) {
+                rotate(_rotation);
+            }
+            _writer.write(event);
+        } catch (final IOException e) {
+            throw new RuntimeException(e);
+        }
+        _samplesWritten += countSamples(event);
+    }
+
+    /**
+     * Gets the number of samples written so far.
+     *
+     * @return The number of samples.
+     */
+    @Override
+    public long getSamplesWritten() {
+        return _samplesWritten;
+    }
+
+    /**
+     * Gets the number of bytes written so far. Bytes that are still
+     * buffered are included unless the encoding is compressed, in which case
+     * bytes are counted once they leave the compressor.
+     *
+     * @return The number of bytes.
+     */
+    @Override
+    public long getBytesWritten() {
+        return _previousFileBytes + getFileBytes();
     }
 
     /**
      * Flushes unwritten data to disk.
      */
+    @Override
     public void flush() {
-        // Do not call _appender.stop() and then _appender.start(), there is a bug
-        // where that doesn't flush the file.
-        _appender.getEncoder().stop();
-        _appender.getEncoder().start();
+        try {
+            _writer.flush();
+        } catch (final IOException e) {
+            throw new RuntimeException(e);
+        }
     }
 
-    private void replaceFileAppender(final Sink fileSink, final Path outputPath) {
+    /**
+     * Flushes unwritten data to disk and closes the file.
+     */
+    @Override
+    public void close() {
         try {
-            final Field queryLoggerField = fileSink.getClass().getSuperclass().getDeclaredField("_metricsLogger");
-            queryLoggerField.setAccessible(true);
-            final com.arpnetworking.metrics.filesinkextra.shaded.ch.qos.logback.classic.Logger queryLogger =
-                    (com.arpnetworking.metrics.filesinkextra.shaded.ch.qos.logback.classic.Logger) queryLoggerField.get(fileSink);
-
-            final Field contextField = fileSink.getClass().getSuperclass().getDeclaredField("_loggerContext");
-            contextField.setAccessible(true);
-            final LoggerContext loggerContext = (LoggerContext) contextField.get(fileSink);
-
-            final StenoEncoder encoder = new StenoEncoder();
-            encoder.setContext(loggerContext);
-
-            final FileAppender<ILoggingEvent> fileAppender = new FileAppender<>();
-            fileAppender.setAppend(false);
-            fileAppender.setFile(outputPath.toAbsolutePath().toString());
-            fileAppender.setName("hijacked-query-log");
-            fileAppender.setContext(loggerContext);
-            fileAppender.setEncoder(encoder);
-            fileAppender.setImmediateFlush(true);
-
-            encoder.start();
-            fileAppender.start();
-
-            _appender = fileAppender;
-
-            queryLogger.detachAppender("query-log-async");
-            queryLogger.addAppender(fileAppender);
-        } catch (final NoSuchFieldException | IllegalAccessException e) {
+            try {
+                _writer.close();
+            } finally {
+                if (_rotation != null) {
+                    _rotation.close();
+                }
+            }
+        } catch (final IOException e) {
             throw new RuntimeException(e);
         }
     }
 
-    private FileAppender<ILoggingEvent> _appender;
-    private ZonedDateTime _time;
-    private final Sink _wrapped;
+    private long getFileBytes() {
+        return _encoding.isCompressed() ? _countingStream.getCount() : _countingStream.getCount() + _writer.getBuffered();
+    }
 
-    private static final class TimeWarpEvent implements Event {
+    private void rotate(final RotatingFileOutput rotation) throws IOException {
+        // Closing the writer completes the encoding of the file but leaves the file open for the rotation
+        _writer.close();
+        _previousFileBytes += _countingStream.getCount();
+        rotation.rotate(_epochNanos);
+        openWriter(rotation.getStream());
+        _writer.setTime(_epochNanos);
+    }
 
-        private TimeWarpEvent(final HashMap<String, String> modified, final Event event) {
-            _modified = modified;
-            _event = event;
+    private void openWriter(final OutputStream outputStream) {
+        _countingStream = new CountingOutputStream(new BufferedOutputStream(outputStream, BUFFER_SIZE));
+        try {
+            _writer = _encoding.createWriter(_countingStream);
+        } catch (final IOException e) {
+            throw new RuntimeException(e);
         }
+    }
 
-        @Override
-        public Map<String, String> getAnnotations() {
-            return _modified;
+    private static RotatingFileOutput openRotating(
+            final Path outputPath,
+            final RotationPolicy rotationPolicy,
+            final ZonedDateTime initialTime) {
+        final Instant instant = initialTime.toInstant();
+        try {
+            return new RotatingFileOutput(
+                    outputPath,
+                    rotationPolicy,
+                    TimeUnit.SECONDS.toNanos(instant.getEpochSecond()) + instant.getNano());
+        } catch (final IOException e) {
+            throw new RuntimeException(e);
         }
+    }
 
-        @Override
-        public Map<String, List<Quantity>> getTimerSamples() {
-            return _event.getTimerSamples();
+    private static OutputStream openFile(final Path outputPath) {
+        try {
+            final Path file = outputPath.toAbsolutePath().normalize();
+            final Path directory = file.getParent();
+            if (directory != null) {
+                Files.createDirectories(directory);
+            }
+            return Files.newOutputStream(
+                    file,
+                    StandardOpenOption.CREATE,
+                    StandardOpenOption.WRITE,
+                    StandardOpenOption.TRUNCATE_EXISTING);
+        } catch (final IOException e) {
+            throw new RuntimeException(e);
         }
+    }
 
-        @Override
-        public Map<String, List<Quantity>> getCounterSamples() {
-            return _event.getCounterSamples();
+    /**
+     * Counts the counter, gauge and timer samples of an event, including the
+     * timer samples aggregated into histograms.
+     *
+     * @param event The event.
+     * @return The number of samples.
+     */
+    /* package private */ static long countSamples(final Event event) {
+        long count = countSamples(event.getCounterSamples())
+                + countSamples(event.getGaugeSamples())
+                + countSamples(event.getTimerSamples());
+        for (final AggregatedData data : event.getAggregatedData().values()) {
+            if (data instanceof AugmentedHistogram) {
+                for (final long bucketCount : ((AugmentedHistogram) data).getHistogram().values()) {
+                    count += bucketCount;
+                }
+            }
         }
+        return count;
+    }
 
-        @Override
-        public Map<String, List<Quantity>> getGaugeSamples() {
-            return _event.getGaugeSamples();
+    private static long countSamples(final Map<String, List<Quantity>> samples) {
+        long count = 0;
+        for (final List<Quantity> quantities : samples.values()) {
+            count += quantities.size();
         }
+        return count;
+    }
 
-        @Override
-        public Map<String, AggregatedData> getAggregatedData() {
-            return _event.getAggregatedData();
-        }
+    private long _samplesWritten;
+    private long _previousFileBytes;
+    private long _epochNanos;
+    private CountingOutputStream _countingStream;
+    private EventWriter _writer;
+    @Nullable
+    private final RotatingFileOutput _rotation;
+    private final OutputEncoding _encoding;
 
-        private final HashMap<String, String> _modified;
-        private final Event _event;
-    }
+    /* package private */ static final String START_KEY = "_start";
+    /* package private */ static final String END_KEY = "_end";
+
+    private static final int BUFFER_SIZE = 64 * 1024;
 }
@@ -0,0 +1,332 @@
+/*
+ * Copyright 2026 Inscope Metrics
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.arpnetworking.metrics.generator.client;
+
+import com.arpnetworking.commons.builder.OvalBuilder;
+import com.arpnetworking.metrics.AggregatedData;
+import com.arpnetworking.metrics.Event;
+import com.arpnetworking.metrics.Quantity;
+import com.arpnetworking.metrics.impl.AugmentedHistogram;
+import com.arpnetworking.metrics.impl.TsdEvent;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+import net.sf.oval.constraint.Max;
+import net.sf.oval.constraint.Min;
+import net.sf.oval.constraint.NotNull;
+import net.sf.oval.constraint.ValidateWithMethod;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import javax.annotation.Nullable;
+
+/**
+ * Aggregates the timer samples of events into histograms before writing
+ * them to the wrapped sink as {@link AugmentedHistogram} aggregated data,
+ * so a timer is written as a few buckets instead of every sample. The
+ * buckets are the sample values truncated to the configured number of
+ * mantissa bits, which bounds the relative error of a bucket to
+ * 2<sup>-precision</sup>. Counter and gauge samples are written as they are.
+ *
+ * By default each event is converted on its own, i.e. one histogram per
+ * timer and unit of work. With a bucket duration the events recorded in
+ * each time bucket are combined by their annotations, ignoring the unit of
+ * work identifier and times, and written at the start of the bucket once an
+ * event for a later bucket is recorded or the sink is closed. A combined
+ * event carries none of the unit of work identifiers it was made from.
+ *
+ * The samples written are counted when they are recorded, so they are
+ * attributed to the unit of work that produced them. Not thread safe.
+ *
+ * @author Brandon Arp (brandon dot arp at inscopemetrics dot io)
+ */
+public final class HistogramSink implements TimeReplacingSink {
+
+    private HistogramSink(final Builder builder) {
+        _sink = builder._sink;
+        _bucketNanos = builder._bucketDuration == null ? 0 : builder._bucketDuration.toNanos();
+        _precision = builder._precision;
+        _mask = -1L << (MANTISSA_BITS - _precision);
+    }
+
+    @Override
+    public void setTime(final long epochNanos) {
+        _epochNanos = epochNanos;
+        if (_bucketNanos == 0) {
+            _sink.setTime(epochNanos);
+        }
+    }
+
+    @Override
+    public void record(final Event event) {
+        _samplesWritten += GeneratorSink.countSamples(event);
+        if (_bucketNanos == 0) {
+            final Group group = new Group(event.getAnnotations());
+            group.add(event, _mask);
+            _sink.record(group.toEvent(_precision));
+            return;
+        }
+        final long bucket = Math.floorDiv(_epochNanos, _bucketNanos);
+        if (bucket > _bucket) {
+            writeBucket();
+            _bucket = bucket;
+        }
+        final Map<String, String> key = Maps.newHashMapWithExpectedSize(event.getAnnotations().size());
+        for (final Map.Entry<String, String> annotation : event.getAnnotations().entrySet()) {
+            if (!isUnitOfWorkKey(annotation.getKey())) {
+                key.put(annotation.getKey(), annotation.getValue());
+            }
+        }
+        Group group = _groups.get(key);
+        if (group == null) {
+            group = new Group(key);
+            _groups.put(key, group);
+        }
+        group.add(event, _mask);
+    }
+
+    @Override
+    public long getSamplesWritten() {
+        return _samplesWritten;
+    }
+
+    @Override
+    public long getBytesWritten() {
+        return _sink.getBytesWritten();
+    }
+
+    /**
+     * Flushes the wrapped sink. The histograms of the current time bucket
+     * are not written until the bucket is complete.
+     */
+    @Override
+    public void flush() {
+        _sink.flush();
+    }
+
+    /**
+     * Writes the histograms of the current time bucket and closes the
+     * wrapped sink.
+     */
+    @Override
+    public void close() {
+        try {
+            writeBucket();
+        } finally {
+            _sink.close();
+        }
+    }
+
+    private void writeBucket() {
+        if (_groups.isEmpty()) {
+            return;
+        }
+        _sink.setTime(_bucket * _bucketNanos);
+        for (final Group group : _groups.values()) {
+            _sink.record(group.toEvent(_precision));
+        }
+        _groups.clear();
+    }
+
+    private static boolean isUnitOfWorkKey(final String key) {
+        return GeneratorSink.START_KEY.equals(key) || GeneratorSink.END_KEY.equals(key) || ID_KEY.equals(key);
+    }
+
+    private long _epochNanos;
+    private long _bucket = Long.MIN_VALUE;
+    private long _samplesWritten;
+    private final Map<Map<String, String>, Group> _groups = Maps.newLinkedHashMap();
+    private final TimeReplacingSink _sink;
+    private final long _bucketNanos;
+    private final int _precision;
+    private final long _mask;
+
+    private static final int MANTISSA_BITS = 52;
+    private static final String ID_KEY = "_id";
+
+    /**
+     * The samples of one set of annotations.
+     */
+    private static final class Group {
+        private Group(final Map<String, String> annotations) {
+            _annotations = annotations;
+        }
+
+        private void add(final Event event, final long mask) {
+            addSamples(_counters, event.getCounterSamples());
+            addSamples(_gauges, event.getGaugeSamples());
+            for (final Map.Entry<String, List<Quantity>> entry : event.getTimerSamples().entrySet()) {
+                final Histogram histogram = getHistogram(entry.getKey());
+                for (final Quantity quantity : entry.getValue()) {
+                    histogram.addSample(quantity.getValue().doubleValue(), mask);
+                }
+            }
+            for (final Map.Entry<String, AggregatedData> entry : event.getAggregatedData().entrySet()) {
+                if (entry.getValue() instanceof AugmentedHistogram) {
+                    getHistogram(entry.getKey()).add((AugmentedHistogram) entry.getValue(), mask);
+                } else {
+                    _aggregatedData.put(entry.getKey(), entry.getValue());
+                }
+            }
+        }
+
+        private Event toEvent(final int precision) {
+            final Map<String, AggregatedData> aggregatedData =
+                    Maps.newLinkedHashMapWithExpectedSize(_aggregatedData.size() + _histograms.size());
+            aggregatedData.putAll(_aggregatedData);
+            for (final Map.Entry<String, Histogram> entry : _histograms.entrySet()) {
+                if (entry.getValue()._count > 0) {
+                    aggregatedData.put(entry.getKey(), entry.getValue().build(precision));
+                }
+            }
+            return new TsdEvent(_annotations, Collections.emptyMap(), _counters, _gauges, aggregatedData);
+        }
+
+        private Histogram getHistogram(final String name) {
+            Histogram histogram = _histograms.get(name);
+            if (histogram == null) {
+                histogram = new Histogram();
+                _histograms.put(name, histogram);
+            }
+            return histogram;
+        }
+
+        private static void addSamples(final Map<String, List<Quantity>> target, final Map<String, List<Quantity>> samples) {
+            for (final Map.Entry<String, List<Quantity>> entry : samples.entrySet()) {
+                final List<Quantity> quantities = target.get(entry.getKey());
+                if (quantities == null) {
+                    target.put(entry.getKey(), Lists.newArrayList(entry.getValue()));
+                } else {
+                    quantities.addAll(entry.getValue());
+                }
+            }
+        }
+
+        private final Map<String, String> _annotations;
+        private final Map<String, List<Quantity>> _counters = Maps.newLinkedHashMap();
+        private final Map<String, List<Quantity>> _gauges = Maps.newLinkedHashMap();
+        private final Map<String, Histogram> _histograms = Maps.newLinkedHashMap();
+        private final Map<String, AggregatedData> _aggregatedData = Maps.newLinkedHashMap();
+    }
+
+    /**
+     * The bucket counts, minimum, maximum and sum of one metric.
+     */
+    private static final class Histogram {
+        private void addBucket(final double value, final long count, final long mask) {
+            final double bucket = Double.longBitsToDouble(Double.doubleToRawLongBits(value) & mask);
+            _buckets.merge(bucket, count, Long::sum);
+            _count += count;
+        }
+
+        private void add(final AugmentedHistogram histogram, final long mask) {
+            for (final Map.Entry<Double, Long> bucket : histogram.getHistogram().entrySet()) {
+                addBucket(bucket.getKey(), bucket.getValue(), mask);
+            }
+            _min = Math.min(_min, histogram.getMin());
+            _max = Math.max(_max, histogram.getMax());
+            _sum += histogram.getSum();
+        }
+
+        private void addSample(final double value, final long mask) {
+            addBucket(value, 1, mask);
+            _min = Math.min(_min, value);
+            _max = Math.max(_max, value);
+            _sum += value;
+        }
+
+        private AggregatedData build(final int precision) {
+            return new AugmentedHistogram.Builder()
+                    .setHistogram(_buckets)
+                    .setPrecision(precision)
+                    .setMinimum(_min)
+                    .setMaximum(_max)
+                    .setSum(_sum)
+                    .build();
+        }
+
+        private long _count;
+        private double _min = Double.POSITIVE_INFINITY;
+        private double _max = Double.NEGATIVE_INFINITY;
+        private double _sum;
+        private final Map<Double, Long> _buckets = Maps.newHashMap();
+    }
+
+    /**
+     * Builder for a {@link HistogramSink}. The builder can build several
+     * sinks by setting a new wrapped sink for each.
+     */
+    public static final class Builder extends OvalBuilder<HistogramSink> {
+        /**
+         * Public constructor.
+         */
+        public Builder() {
+            super((Builder builder) -> new HistogramSink(builder));
+        }
+
+        /**
+         * Sets the sink to write the histograms to.
+         *
+         * @param sink The wrapped sink.
+         * @return This builder.
+         */
+        @SuppressFBWarnings(value = "EI_EXPOSE_REP2", justification = "the histograms are written to the wrapped sink")
+        public Builder setSink(final TimeReplacingSink sink) {
+            _sink = sink;
+            return this;
+        }
+
+        /**
+         * Sets the duration of the time buckets to combine the events of.
+         * Optional. Defaults to converting each event on its own.
+         *
+         * @param bucketDuration The bucket duration.
+         * @return This builder.
+         */
+        public Builder setBucketDuration(@Nullable final Duration bucketDuration) {
+            _bucketDuration = bucketDuration;
+            return this;
+        }
+
+        /**
+         * Sets the number of mantissa bits the bucket of a sample keeps.
+         * Optional. Defaults to 7, a relative error below 1%.
+         *
+         * @param precision The precision in bits.
+         * @return This builder.
+         */
+        public Builder setPrecision(final Integer precision) {
+            _precision = precision;
+            return this;
+        }
+
+        @SuppressFBWarnings(value = "UPM_UNCALLED_PRIVATE_METHOD", justification = "invoked by oval")
+        private boolean validateBucketDuration(final Duration bucketDuration) {
+            return !bucketDuration.isNegative() && !bucketDuration.isZero();
+        }
+
+        @NotNull
+        private TimeReplacingSink _sink;
+        @ValidateWithMethod(methodName = "validateBucketDuration", parameterType = Duration.class)
+        private Duration _bucketDuration;
+        @NotNull
+        @Min(0)
+        @Max(MANTISSA_BITS)
+        private Integer _precision = 7;
+    }
+}
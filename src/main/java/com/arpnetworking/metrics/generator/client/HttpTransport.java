@@ -0,0 +1,225 @@
+/*
+ * Copyright 2026 Inscope Metrics
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.arpnetworking.metrics.generator.client;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.StandardSocketOptions;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+
+/**
+ * Sends batches of records as the bodies of HTTP/1.1 POST requests over a
+ * keep-alive connection. Up to a maximum number of requests are pipelined;
+ * their responses are read whenever the transport is used. Responses must
+ * have a {@code Content-Length} or no body.
+ *
+ * @author Brandon Arp (brandon dot arp at inscopemetrics dot io)
+ */
+/* package private */ final class HttpTransport extends NetworkTransport {
+
+    /* package private */ HttpTransport(
+            final InetSocketAddress address,
+            final String path,
+            final int maxBatchBytes,
+            final int maxBufferedBytes,
+            final int maxInFlightRequests,
+            final boolean dropOnBackpressure) throws IOException {
+        this(SocketChannel.open(address), address, path, maxBatchBytes, maxBufferedBytes, maxInFlightRequests, dropOnBackpressure);
+    }
+
+    private HttpTransport(
+            final SocketChannel channel,
+            final InetSocketAddress address,
+            final String path,
+            final int maxBatchBytes,
+            final int maxBufferedBytes,
+            final int maxInFlightRequests,
+            final boolean dropOnBackpressure) throws IOException {
+        super(channel, dropOnBackpressure);
+        channel.setOption(StandardSocketOptions.TCP_NODELAY, true);
+        _channel = channel;
+        _requestLine = "POST " + path + " HTTP/1.1\r\nHost: " + address.getHostString() + ":" + address.getPort()
+                + "\r\nContent-Type: application/x-ndjson\r\nContent-Length: ";
+        _body = ByteBuffer.allocate(maxBatchBytes);
+        _output = ByteBuffer.allocateDirect(Math.max(maxBufferedBytes, maxBatchBytes + MAX_REQUEST_HEADER_BYTES));
+        _input = ByteBuffer.allocate(MAX_RESPONSE_HEADER_BYTES);
+        _maxInFlightRequests = maxInFlightRequests;
+    }
+
+    @Override
+    /* package private */ void offer(final byte[] bytes, final int offset, final int length) throws IOException {
+        if (length > _body.capacity()) {
+            recordDropped(1);
+            return;
+        }
+        if (_body.remaining() < length) {
+            send(true);
+        }
+        _body.put(bytes, offset, length);
+        ++_batchRecords;
+    }
+
+    @Override
+    /* package private */ void flush() throws IOException {
+        send(false);
+        drain();
+    }
+
+    /* package private */ long getResponses() {
+        return _responses;
+    }
+
+    /* package private */ long getFailedResponses() {
+        return _failedResponses;
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            send(true);
+            drain();
+            while ((_output.position() > 0 || _inFlightRequests > 0)
+                    && await(SelectionKey.OP_READ | (_output.position() > 0 ? SelectionKey.OP_WRITE : 0))) {
+                drain();
+            }
+        } finally {
+            super.close();
+        }
+    }
+
+    private void send(final boolean wait) throws IOException {
+        if (_batchRecords == 0) {
+            return;
+        }
+        final byte[] header = (_requestLine + _body.position() + "\r\n\r\n").getBytes(StandardCharsets.US_ASCII);
+        drain();
+        while (_inFlightRequests >= _maxInFlightRequests || _output.remaining() < header.length + _body.position()) {
+            if (!wait) {
+                return;
+            }
+            if (!awaitBackpressure(SelectionKey.OP_READ | SelectionKey.OP_WRITE)) {
+                recordDropped(_batchRecords);
+                _body.clear();
+                _batchRecords = 0;
+                return;
+            }
+            drain();
+        }
+        _output.put(header);
+        _body.flip();
+        _output.put(_body);
+        _body.clear();
+        _batchRecords = 0;
+        ++_inFlightRequests;
+        drain();
+    }
+
+    private void drain() throws IOException {
+        _output.flip();
+        try {
+            recordSent(_channel.write(_output));
+        } finally {
+            _output.compact();
+        }
+        if (_inFlightRequests > 0) {
+            readResponses();
+        }
+    }
+
+    private void readResponses() throws IOException {
+        if (_channel.read(_input) < 0) {
+            throw new IOException("Connection closed with " + _inFlightRequests + " requests in flight");
+        }
+        _input.flip();
+        while (_input.hasRemaining()) {
+            if (_bodyRemaining > 0) {
+                final int skipped = (int) Math.min(_bodyRemaining, _input.remaining());
+                _input.position(_input.position() + skipped);
+                _bodyRemaining -= skipped;
+                continue;
+            }
+            final int headerEnd = indexOfHeaderEnd();
+            if (headerEnd < 0) {
+                break;
+            }
+            final String header = StandardCharsets.US_ASCII.decode(
+                    _input.slice(_input.position(), headerEnd - _input.position())).toString();
+            _input.position(headerEnd + HEADER_END.length);
+            onResponse(header);
+        }
+        _input.compact();
+        if (!_input.hasRemaining()) {
+            throw new IOException("Response header exceeds " + _input.capacity() + " bytes");
+        }
+    }
+
+    private void onResponse(final String header) throws IOException {
+        final int statusStart = header.indexOf(' ') + 1;
+        if (statusStart == 0 || header.length() < statusStart + 3) {
+            throw new IOException("Malformed response: " + header);
+        }
+        final int status = Integer.parseInt(header.substring(statusStart, statusStart + 3));
+        if (status == CONTINUE) {
+            return;
+        }
+        ++_responses;
+        --_inFlightRequests;
+        if (status < SUCCESS || status >= REDIRECTION) {
+            ++_failedResponses;
+        }
+        for (final String line : header.split("\r\n")) {
+            if (line.toLowerCase(Locale.ROOT).startsWith(CONTENT_LENGTH)) {
+                _bodyRemaining = Long.parseLong(line.substring(CONTENT_LENGTH.length()).trim());
+            }
+        }
+    }
+
+    private int indexOfHeaderEnd() {
+        for (int i = _input.position(); i <= _input.limit() - HEADER_END.length; ++i) {
+            if (_input.get(i) == HEADER_END[0]
+                    && _input.get(i + 1) == HEADER_END[1]
+                    && _input.get(i + 2) == HEADER_END[2]
+                    && _input.get(i + 3) == HEADER_END[3]) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private int _batchRecords;
+    private int _inFlightRequests;
+    private long _bodyRemaining;
+    private long _responses;
+    private long _failedResponses;
+    private final SocketChannel _channel;
+    private final String _requestLine;
+    private final ByteBuffer _body;
+    private final ByteBuffer _output;
+    private final ByteBuffer _input;
+    private final int _maxInFlightRequests;
+
+    private static final byte[] HEADER_END = {'\r', '\n', '\r', '\n'};
+    private static final String CONTENT_LENGTH = "content-length:";
+    private static final int CONTINUE = 100;
+    private static final int SUCCESS = 200;
+    private static final int REDIRECTION = 300;
+    private static final int MAX_REQUEST_HEADER_BYTES = 1024;
+    private static final int MAX_RESPONSE_HEADER_BYTES = 16 * 1024;
+}
@@ -0,0 +1,136 @@
+/*
+ * Copyright 2026 Inscope Metrics
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.arpnetworking.metrics.generator.client;
+
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Renders an epoch nanosecond time with millisecond precision in the same
+ * form as {@code ZonedDateTime.toString()} in UTC (e.g. 2014-01-01T00:05Z or
+ * 2014-01-01T00:05:01.250Z) into a reusable character buffer. The buffer is
+ * only rendered again when the millisecond changes.
+ *
+ * This class is not thread safe.
+ *
+ * @author Brandon Arp (brandon dot arp at inscopemetrics dot io)
+ */
+/* package private */ final class IsoTimestampFormatter {
+
+    /**
+     * Sets the time to render.
+     *
+     * @param epochNanos The time in nanoseconds since the epoch.
+     */
+    /* package private */ void setTime(final long epochNanos) {
+        final long epochMillis = Math.floorDiv(epochNanos, NANOS_PER_MILLI);
+        if (epochMillis == _epochMillis && _length > 0) {
+            return;
+        }
+        _epochMillis = epochMillis;
+        final long epochSecond = Math.floorDiv(epochMillis, MILLIS_PER_SECOND);
+        if (!renderDate(Math.floorDiv(epochSecond, SECONDS_PER_DAY))) {
+            renderFallback(epochMillis);
+            return;
+        }
+        renderTime((int) Math.floorMod(epochSecond, SECONDS_PER_DAY), (int) Math.floorMod(epochMillis, MILLIS_PER_SECOND));
+    }
+
+    /* package private */ char[] getBuffer() {
+        return _buffer;
+    }
+
+    /* package private */ int getLength() {
+        return _length;
+    }
+
+    @Override
+    public String toString() {
+        return String.valueOf(_buffer, 0, _length);
+    }
+
+    private boolean renderDate(final long epochDay) {
+        // See: http://howardhinnant.github.io/date_algorithms.html#civil_from_days
+        final long z = epochDay + DAYS_0000_TO_1970;
+        final long era = Math.floorDiv(z, DAYS_PER_ERA);
+        final long dayOfEra = z - era * DAYS_PER_ERA;
+        final long yearOfEra = (dayOfEra - dayOfEra / 1460 + dayOfEra / 36524 - dayOfEra / 146096) / 365;
+        final long dayOfYear = dayOfEra - (365 * yearOfEra + yearOfEra / 4 - yearOfEra / 100);
+        final long monthIndex = (5 * dayOfYear + 2) / 153;
+        final int day = (int) (dayOfYear - (153 * monthIndex + 2) / 5 + 1);
+        final int month = (int) (monthIndex < 10 ? monthIndex + 3 : monthIndex - 9);
+        final long year = yearOfEra + era * 400 + (month <= 2 ? 1 : 0);
+        if (year < 0 || year > MAX_FOUR_DIGIT_YEAR) {
+            // Only four digit years are rendered here
+            return false;
+        }
+
+        writeDigits(0, (int) (year / 100));
+        writeDigits(2, (int) (year % 100));
+        _buffer[4] = '-';
+        writeDigits(5, month);
+        _buffer[7] = '-';
+        writeDigits(8, day);
+        _buffer[10] = 'T';
+        return true;
+    }
+
+    private void renderTime(final int secondOfDay, final int milliOfSecond) {
+        writeDigits(11, secondOfDay / 3600);
+        _buffer[13] = ':';
+        writeDigits(14, (secondOfDay / 60) % 60);
+        int position = 16;
+        final int second = secondOfDay % 60;
+        if (second > 0 || milliOfSecond > 0) {
+            _buffer[position] = ':';
+            writeDigits(position + 1, second);
+            position += 3;
+            if (milliOfSecond > 0) {
+                _buffer[position] = '.';
+                _buffer[position + 1] = (char) ('0' + milliOfSecond / 100);
+                writeDigits(position + 2, milliOfSecond % 100);
+                position += 4;
+            }
+        }
+        _buffer[position] = 'Z';
+        _length = position + 1;
+    }
+
+    private void renderFallback(final long epochMillis) {
+        final String rendered = ZonedDateTime.ofInstant(Instant.ofEpochMilli(epochMillis), ZoneOffset.UTC).toString();
+        rendered.getChars(0, rendered.length(), _buffer, 0);
+        _length = rendered.length();
+    }
+
+    private void writeDigits(final int position, final int value) {
+        _buffer[position] = (char) ('0' + value / 10);
+        _buffer[position + 1] = (char) ('0' + value % 10);
+    }
+
+    private long _epochMillis;
+    private int _length;
+    private final char[] _buffer = new char[BUFFER_SIZE];
+
+    private static final int BUFFER_SIZE = 64;
+    private static final long NANOS_PER_MILLI = TimeUnit.MILLISECONDS.toNanos(1);
+    private static final long MILLIS_PER_SECOND = TimeUnit.SECONDS.toMillis(1);
+    private static final long SECONDS_PER_DAY = TimeUnit.DAYS.toSeconds(1);
+    private static final long DAYS_0000_TO_1970 = 719468;
+    private static final long DAYS_PER_ERA = 146097;
+    private static final long MAX_FOUR_DIGIT_YEAR = 9999;
+}
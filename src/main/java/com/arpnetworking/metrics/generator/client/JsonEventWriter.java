@@ -0,0 +1,177 @@
+/*
+ * Copyright 2026 Inscope Metrics
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.arpnetworking.metrics.generator.client;
+
+import com.arpnetworking.metrics.AggregatedData;
+import com.arpnetworking.metrics.Event;
+import com.arpnetworking.metrics.Quantity;
+import com.arpnetworking.metrics.impl.AugmentedHistogram;
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Writes events as query log (version 2f) lines. Each event is serialized
+ * directly into the stream with a streaming Jackson generator. Histograms
+ * recorded as {@link AugmentedHistogram} aggregated data are written in an
+ * additional {@code histograms} object keyed by metric name.
+ *
+ * @author Brandon Arp (brandon dot arp at inscopemetrics dot io)
+ */
+/* package private */ final class JsonEventWriter implements EventWriter {
+
+    /* package private */ JsonEventWriter(final OutputStream outputStream) throws IOException {
+        _generator = JSON_FACTORY.createGenerator(outputStream, JsonEncoding.UTF8);
+        _generator.setRootValueSeparator(null);
+    }
+
+    @Override
+    public void setTime(final long epochNanos) {
+        _timestamp.setTime(epochNanos);
+    }
+
+    @Override
+    public void write(final Event event) throws IOException {
+        _generator.writeStartObject();
+        _generator.writeStringField("version", "2f");
+        writeAnnotations(event.getAnnotations());
+        writeSamples("counters", event.getCounterSamples());
+        writeSamples("gauges", event.getGaugeSamples());
+        writeSamples("timers", event.getTimerSamples());
+        writeHistograms(event.getAggregatedData());
+        _generator.writeEndObject();
+        _generator.writeRaw('\n');
+    }
+
+    @Override
+    public long getBuffered() {
+        return _generator.getOutputBuffered();
+    }
+
+    @Override
+    public void flush() throws IOException {
+        _generator.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        _generator.close();
+    }
+
+    private void writeAnnotations(final Map<String, String> annotations) throws IOException {
+        // The event's annotations are overlaid with the replacement time while
+        // writing rather than copied into a modified map
+        _generator.writeObjectFieldStart("annotations");
+        boolean hasStart = false;
+        boolean hasEnd = false;
+        for (final Map.Entry<String, String> annotation : annotations.entrySet()) {
+            final String key = annotation.getKey();
+            if (GeneratorSink.START_KEY.equals(key)) {
+                hasStart = true;
+                writeTimestampField(GeneratorSink.START_KEY);
+            } else if (GeneratorSink.END_KEY.equals(key)) {
+                hasEnd = true;
+                writeTimestampField(GeneratorSink.END_KEY);
+            } else {
+                _generator.writeStringField(key, annotation.getValue());
+            }
+        }
+        if (!hasStart) {
+            writeTimestampField(GeneratorSink.START_KEY);
+        }
+        if (!hasEnd) {
+            writeTimestampField(GeneratorSink.END_KEY);
+        }
+        _generator.writeEndObject();
+    }
+
+    private void writeTimestampField(final String key) throws IOException {
+        _generator.writeFieldName(key);
+        _generator.writeString(_timestamp.getBuffer(), 0, _timestamp.getLength());
+    }
+
+    private void writeSamples(final String field, final Map<String, List<Quantity>> samples) throws IOException {
+        if (samples.isEmpty()) {
+            return;
+        }
+        _generator.writeObjectFieldStart(field);
+        for (final Map.Entry<String, List<Quantity>> entry : samples.entrySet()) {
+            _generator.writeObjectFieldStart(entry.getKey());
+            _generator.writeArrayFieldStart("values");
+            for (final Quantity quantity : entry.getValue()) {
+                _generator.writeStartObject();
+                _generator.writeFieldName("value");
+                writeNumber(quantity.getValue());
+                _generator.writeEndObject();
+            }
+            _generator.writeEndArray();
+            _generator.writeEndObject();
+        }
+        _generator.writeEndObject();
+    }
+
+    private void writeHistograms(final Map<String, AggregatedData> aggregatedData) throws IOException {
+        boolean started = false;
+        for (final Map.Entry<String, AggregatedData> entry : aggregatedData.entrySet()) {
+            if (!(entry.getValue() instanceof AugmentedHistogram)) {
+                continue;
+            }
+            if (!started) {
+                _generator.writeObjectFieldStart("histograms");
+                started = true;
+            }
+            final AugmentedHistogram histogram = (AugmentedHistogram) entry.getValue();
+            _generator.writeObjectFieldStart(entry.getKey());
+            _generator.writeNumberField("precision", histogram.getPrecision());
+            _generator.writeNumberField("min", histogram.getMin());
+            _generator.writeNumberField("max", histogram.getMax());
+            _generator.writeNumberField("sum", histogram.getSum());
+            _generator.writeArrayFieldStart("buckets");
+            for (final Map.Entry<Double, Long> bucket : histogram.getHistogram().entrySet()) {
+                _generator.writeStartObject();
+                _generator.writeNumberField("bucket", bucket.getKey());
+                _generator.writeNumberField("count", bucket.getValue());
+                _generator.writeEndObject();
+            }
+            _generator.writeEndArray();
+            _generator.writeEndObject();
+        }
+        if (started) {
+            _generator.writeEndObject();
+        }
+    }
+
+    private void writeNumber(final Number value) throws IOException {
+        if (value instanceof Double || value instanceof Float) {
+            _generator.writeNumber(value.doubleValue());
+        } else if (value instanceof BigDecimal) {
+            _generator.writeNumber((BigDecimal) value);
+        } else {
+            _generator.writeNumber(value.longValue());
+        }
+    }
+
+    private final IsoTimestampFormatter _timestamp = new IsoTimestampFormatter();
+    private final JsonGenerator _generator;
+
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+}
@@ -0,0 +1,38 @@
+/*
+ * Copyright 2026 Inscope Metrics
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.arpnetworking.metrics.generator.client;
+
+/**
+ * The protocols a {@link NetworkSink} can send events with.
+ *
+ * @author Brandon Arp (brandon dot arp at inscopemetrics dot io)
+ */
+public enum NetworkProtocol {
+    /**
+     * A single stream of records over a TCP connection.
+     */
+    TCP,
+    /**
+     * Datagrams of as many whole records as fit, like statsd clients batch
+     * their metrics.
+     */
+    UDP,
+    /**
+     * Batches of records as the bodies of pipelined HTTP/1.1 POST requests
+     * over a keep-alive connection.
+     */
+    HTTP
+}
@@ -0,0 +1,378 @@
+/*
+ * Copyright 2026 Inscope Metrics
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.arpnetworking.metrics.generator.client;
+
+import com.arpnetworking.commons.builder.OvalBuilder;
+import com.arpnetworking.metrics.Event;
+import com.arpnetworking.steno.Logger;
+import com.arpnetworking.steno.LoggerFactory;
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+import net.sf.oval.constraint.Max;
+import net.sf.oval.constraint.Min;
+import net.sf.oval.constraint.NotEmpty;
+import net.sf.oval.constraint.NotNull;
+import net.sf.oval.constraint.ValidateWithMethod;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.time.Instant;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Sends events with replaced timestamps directly to a network endpoint over
+ * a non-blocking channel, instead of writing them to a file like
+ * {@link GeneratorSink}. Events are encoded as query log lines, or in the
+ * binary encoding over TCP, and sent with a {@link NetworkProtocol}.
+ *
+ * Encoded records are buffered up to a bound. When the endpoint does not
+ * keep up the sink either waits, accounting the time as backpressure, or
+ * drops records; both are reported by the sink and logged when it is
+ * closed. The connection is opened when the sink is built.
+ *
+ * This class is not thread safe.
+ *
+ * @author Brandon Arp (brandon dot arp at inscopemetrics dot io)
+ */
+public final class NetworkSink implements TimeReplacingSink {
+
+    private NetworkSink(final Builder builder) {
+        _address = builder._address;
+        _protocol = builder._protocol;
+        try {
+            _transport = createTransport(builder);
+            _writer = builder._encoding.createWriter(_record);
+        } catch (final IOException e) {
+            throw new RuntimeException(e);
+        }
+        final Instant now = Instant.now();
+        setTime(TimeUnit.SECONDS.toNanos(now.getEpochSecond()) + now.getNano());
+        // The binary encoding starts the stream with a header
+        send();
+    }
+
+    @Override
+    public void setTime(final long epochNanos) {
+        _writer.setTime(epochNanos);
+    }
+
+    @Override
+    public void record(final Event event) {
+        try {
+            _writer.write(event);
+            _writer.flush();
+        } catch (final IOException e) {
+            throw new RuntimeException(e);
+        }
+        _samplesWritten += GeneratorSink.countSamples(event);
+        ++_recordsWritten;
+        send();
+    }
+
+    @Override
+    public long getSamplesWritten() {
+        return _samplesWritten;
+    }
+
+    /**
+     * Gets the number of bytes of the records written so far, whether
+     * they were sent, are buffered or were dropped.
+     *
+     * @return The number of bytes.
+     */
+    @Override
+    public long getBytesWritten() {
+        return _bytesWritten;
+    }
+
+    /**
+     * Gets the number of records written so far.
+     *
+     * @return The number of records.
+     */
+    public long getRecordsWritten() {
+        return _recordsWritten;
+    }
+
+    /**
+     * Gets the number of bytes sent to the endpoint so far, including
+     * protocol overhead.
+     *
+     * @return The number of bytes.
+     */
+    public long getBytesSent() {
+        return _transport.getBytesSent();
+    }
+
+    /**
+     * Gets the number of records dropped because the endpoint did not keep
+     * up, or because they did not fit in a datagram or request.
+     *
+     * @return The number of records.
+     */
+    public long getRecordsDropped() {
+        return _transport.getRecordsDropped();
+    }
+
+    /**
+     * Gets the time spent waiting for the endpoint because the buffer was
+     * full.
+     *
+     * @return The time in nanoseconds.
+     */
+    public long getBackpressureNanos() {
+        return _transport.getBackpressureNanos();
+    }
+
+    /**
+     * Gets the number of HTTP responses with a status other than 2xx.
+     *
+     * @return The number of failed responses; zero for other protocols.
+     */
+    public long getFailedResponses() {
+        return _transport instanceof HttpTransport ? ((HttpTransport) _transport).getFailedResponses() : 0;
+    }
+
+    /**
+     * Sends as much buffered data as the endpoint accepts without waiting.
+     * Partial datagrams and requests are completed.
+     */
+    @Override
+    public void flush() {
+        try {
+            _transport.flush();
+        } catch (final IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    /**
+     * Sends the buffered data and closes the connection. Unless the calling
+     * thread is interrupted this waits until the data is sent and, for HTTP,
+     * all responses are received.
+     */
+    @Override
+    public void close() {
+        try {
+            _transport.close();
+        } catch (final IOException e) {
+            throw new RuntimeException(e);
+        } finally {
+            LOGGER.info()
+                    .setMessage("Network sink closed")
+                    .addData("address", _address)
+                    .addData("protocol", _protocol)
+                    .addData("records", _recordsWritten)
+                    .addData("bytesSent", getBytesSent())
+                    .addData("recordsDropped", getRecordsDropped())
+                    .addData("backpressureMillis", TimeUnit.NANOSECONDS.toMillis(getBackpressureNanos()))
+                    .addData("failedResponses", getFailedResponses())
+                    .log();
+        }
+    }
+
+    private void send() {
+        final int length = _record.size();
+        if (length == 0) {
+            return;
+        }
+        try {
+            _transport.offer(_record.getBytes(), 0, length);
+        } catch (final IOException e) {
+            throw new RuntimeException(e);
+        }
+        _bytesWritten += length;
+        _record.reset();
+    }
+
+    private static NetworkTransport createTransport(final Builder builder) throws IOException {
+        switch (builder._protocol) {
+            case UDP:
+                return new UdpTransport(builder._address, builder._maxDatagramBytes, builder._dropOnBackpressure);
+            case HTTP:
+                return new HttpTransport(
+                        builder._address,
+                        builder._httpPath,
+                        builder._maxBatchBytes,
+                        builder._maxBufferedBytes,
+                        builder._maxInFlightRequests,
+                        builder._dropOnBackpressure);
+            default:
+                return new TcpTransport(builder._address, builder._maxBufferedBytes, builder._dropOnBackpressure);
+        }
+    }
+
+    private long _samplesWritten;
+    private long _bytesWritten;
+    private long _recordsWritten;
+    private final RecordBuffer _record = new RecordBuffer();
+    private final InetSocketAddress _address;
+    private final NetworkProtocol _protocol;
+    private final NetworkTransport _transport;
+    private final EventWriter _writer;
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(NetworkSink.class);
+
+    /**
+     * Builder for a {@link NetworkSink}. A builder can build several sinks,
+     * each with its own connection.
+     */
+    public static final class Builder extends OvalBuilder<NetworkSink> {
+        /**
+         * Public constructor.
+         */
+        public Builder() {
+            super((Builder builder) -> new NetworkSink(builder));
+        }
+
+        /**
+         * Sets the address of the endpoint.
+         *
+         * @param address The address.
+         * @return This builder.
+         */
+        public Builder setAddress(final InetSocketAddress address) {
+            _address = address;
+            return this;
+        }
+
+        /**
+         * Sets the protocol. Optional. Defaults to {@link NetworkProtocol#TCP}.
+         *
+         * @param protocol The protocol.
+         * @return This builder.
+         */
+        public Builder setProtocol(final NetworkProtocol protocol) {
+            _protocol = protocol;
+            return this;
+        }
+
+        /**
+         * Sets the encoding of the records. Only {@link OutputEncoding#JSON}
+         * and, over TCP, {@link OutputEncoding#BINARY} are supported since
+         * datagrams and requests must each be decodable on their own.
+         * Optional. Defaults to {@link OutputEncoding#JSON}.
+         *
+         * @param encoding The encoding.
+         * @return This builder.
+         */
+        public Builder setEncoding(final OutputEncoding encoding) {
+            _encoding = encoding;
+            return this;
+        }
+
+        /**
+         * Sets the bound on bytes buffered for TCP and HTTP. Optional.
+         * Defaults to 1 MiB.
+         *
+         * @param maxBufferedBytes The maximum buffered bytes.
+         * @return This builder.
+         */
+        public Builder setMaxBufferedBytes(final Integer maxBufferedBytes) {
+            _maxBufferedBytes = maxBufferedBytes;
+            return this;
+        }
+
+        /**
+         * Sets the maximum size of a UDP datagram. Optional. Defaults to
+         * 1432 bytes, which fits a typical Ethernet MTU.
+         *
+         * @param maxDatagramBytes The maximum datagram size.
+         * @return This builder.
+         */
+        public Builder setMaxDatagramBytes(final Integer maxDatagramBytes) {
+            _maxDatagramBytes = maxDatagramBytes;
+            return this;
+        }
+
+        /**
+         * Sets the maximum size of an HTTP request body. Optional. Defaults
+         * to 64 KiB.
+         *
+         * @param maxBatchBytes The maximum request body size.
+         * @return This builder.
+         */
+        public Builder setMaxBatchBytes(final Integer maxBatchBytes) {
+            _maxBatchBytes = maxBatchBytes;
+            return this;
+        }
+
+        /**
+         * Sets the maximum number of pipelined HTTP requests awaiting a
+         * response. Optional. Defaults to 16.
+         *
+         * @param maxInFlightRequests The maximum in flight requests.
+         * @return This builder.
+         */
+        public Builder setMaxInFlightRequests(final Integer maxInFlightRequests) {
+            _maxInFlightRequests = maxInFlightRequests;
+            return this;
+        }
+
+        /**
+         * Sets the path to POST HTTP requests to. Optional. Defaults to /.
+         *
+         * @param httpPath The request path.
+         * @return This builder.
+         */
+        public Builder setHttpPath(final String httpPath) {
+            _httpPath = httpPath;
+            return this;
+        }
+
+        /**
+         * Sets whether to drop records instead of waiting when the buffer is
+         * full. Optional. Defaults to false.
+         *
+         * @param dropOnBackpressure Whether to drop records on backpressure.
+         * @return This builder.
+         */
+        public Builder setDropOnBackpressure(final Boolean dropOnBackpressure) {
+            _dropOnBackpressure = dropOnBackpressure;
+            return this;
+        }
+
+        @SuppressFBWarnings(value = "UPM_UNCALLED_PRIVATE_METHOD", justification = "invoked by oval")
+        private boolean validateEncoding(final OutputEncoding encoding) {
+            return encoding == OutputEncoding.JSON || encoding == OutputEncoding.BINARY && _protocol == NetworkProtocol.TCP;
+        }
+
+        @NotNull
+        private InetSocketAddress _address;
+        @NotNull
+        private NetworkProtocol _protocol = NetworkProtocol.TCP;
+        @NotNull
+        @ValidateWithMethod(methodName = "validateEncoding", parameterType = OutputEncoding.class)
+        private OutputEncoding _encoding = OutputEncoding.JSON;
+        @NotNull
+        @Min(1024)
+        private Integer _maxBufferedBytes = 1024 * 1024;
+        @NotNull
+        @Min(512)
+        @Max(65507)
+        private Integer _maxDatagramBytes = 1432;
+        @NotNull
+        @Min(1024)
+        private Integer _maxBatchBytes = 64 * 1024;
+        @NotNull
+        @Min(1)
+        private Integer _maxInFlightRequests = 16;
+        @NotNull
+        @NotEmpty
+        private String _httpPath = "/";
+        @NotNull
+        private Boolean _dropOnBackpressure = false;
+    }
+}
@@ -0,0 +1,136 @@
+/*
+ * Copyright 2026 Inscope Metrics
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.arpnetworking.metrics.generator.client;
+
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.channels.SelectableChannel;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+
+/**
+ * Sends encoded records over a non-blocking channel for a
+ * {@link NetworkSink}. Records are buffered up to a bound; when the bound is
+ * reached the transport either waits for the channel, accounting the time
+ * as backpressure, or drops records.
+ *
+ * Transports are not thread safe.
+ *
+ * @author Brandon Arp (brandon dot arp at inscopemetrics dot io)
+ */
+@SuppressFBWarnings(value = "CT_CONSTRUCTOR_THROW", justification = "package private and not serializable")
+/* package private */ abstract class NetworkTransport implements Closeable {
+
+    /* package private */ NetworkTransport(final SelectableChannel channel, final boolean dropOnBackpressure)
+            throws IOException {
+        _dropOnBackpressure = dropOnBackpressure;
+        _selector = Selector.open();
+        channel.configureBlocking(false);
+        _key = channel.register(_selector, 0);
+    }
+
+    /**
+     * Buffers or sends a record.
+     *
+     * @param bytes The array containing the record.
+     * @param offset The offset of the record.
+     * @param length The length of the record.
+     * @throws IOException If the channel fails.
+     */
+    /* package private */ abstract void offer(byte[] bytes, int offset, int length) throws IOException;
+
+    /**
+     * Sends as much buffered data as the channel accepts without waiting.
+     *
+     * @throws IOException If the channel fails.
+     */
+    /* package private */ abstract void flush() throws IOException;
+
+    /* package private */ long getBytesSent() {
+        return _bytesSent;
+    }
+
+    /* package private */ long getRecordsDropped() {
+        return _recordsDropped;
+    }
+
+    /* package private */ long getBackpressureNanos() {
+        return _backpressureNanos;
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            _key.channel().close();
+        } finally {
+            _selector.close();
+        }
+    }
+
+    /**
+     * Waits for the channel while records cannot be buffered.
+     *
+     * @param operations The {@link SelectionKey} operations to wait for.
+     * @return False if the records should be dropped instead.
+     * @throws IOException If the channel fails.
+     */
+    protected boolean awaitBackpressure(final int operations) throws IOException {
+        if (_dropOnBackpressure) {
+            return false;
+        }
+        final long start = System.nanoTime();
+        final boolean ready = await(operations);
+        _backpressureNanos += System.nanoTime() - start;
+        return ready;
+    }
+
+    /**
+     * Waits briefly for the channel to become ready.
+     *
+     * @param operations The {@link SelectionKey} operations to wait for.
+     * @return False if the calling thread was interrupted.
+     * @throws IOException If the channel fails.
+     */
+    protected boolean await(final int operations) throws IOException {
+        if (Thread.currentThread().isInterrupted()) {
+            return false;
+        }
+        _key.interestOps(operations);
+        _selector.select(SELECT_TIMEOUT_MILLIS);
+        _selector.selectedKeys().clear();
+        _key.interestOps(0);
+        return !Thread.currentThread().isInterrupted();
+    }
+
+    protected void recordSent(final int bytes) {
+        _bytesSent += bytes;
+    }
+
+    protected void recordDropped(final int records) {
+        _recordsDropped += records;
+    }
+
+    private long _bytesSent;
+    private long _recordsDropped;
+    private long _backpressureNanos;
+    private final boolean _dropOnBackpressure;
+    private final Selector _selector;
+    private final SelectionKey _key;
+
+    private static final long SELECT_TIMEOUT_MILLIS = 100;
+}
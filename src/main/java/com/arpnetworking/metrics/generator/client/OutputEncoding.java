@@ -0,0 +1,100 @@
+/*
+ * Copyright 2026 Inscope Metrics
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.arpnetworking.metrics.generator.client;
+
+import com.github.luben.zstd.ZstdOutputStream;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * The encodings the {@link GeneratorSink} can write events in.
+ *
+ * @author Brandon Arp (brandon dot arp at inscopemetrics dot io)
+ */
+public enum OutputEncoding {
+    /**
+     * Query log (version 2f) lines.
+     */
+    JSON("", false) {
+        @Override
+        /* package private */ EventWriter createWriter(final OutputStream outputStream) throws IOException {
+            return new JsonEventWriter(outputStream);
+        }
+    },
+    /**
+     * Query log lines compressed with gzip. Each flush ends a deflate block
+     * so that the data written so far can be decompressed.
+     */
+    GZIP(".gz", true) {
+        @Override
+        /* package private */ EventWriter createWriter(final OutputStream outputStream) throws IOException {
+            return new JsonEventWriter(new GZIPOutputStream(outputStream, COMPRESSION_BUFFER_SIZE, true));
+        }
+    },
+    /**
+     * Query log lines compressed with zstd at the default level. Each flush
+     * ends a zstd block so that the data written so far can be decompressed.
+     */
+    ZSTD(".zst", true) {
+        @Override
+        /* package private */ EventWriter createWriter(final OutputStream outputStream) throws IOException {
+            return new JsonEventWriter(new ZstdOutputStream(outputStream));
+        }
+    },
+    /**
+     * The length prefixed binary encoding of {@link BinaryFormat}, read with
+     * {@link BinaryEventReader}. Streams of this encoding can be concatenated.
+     */
+    BINARY(".bin", false) {
+        @Override
+        /* package private */ EventWriter createWriter(final OutputStream outputStream) throws IOException {
+            return new BinaryEventWriter(outputStream);
+        }
+    };
+
+    OutputEncoding(final String extension, final boolean compressed) {
+        _extension = extension;
+        _compressed = compressed;
+    }
+
+    /**
+     * Gets the conventional file name extension of the encoding.
+     *
+     * @return The extension including the dot or empty for JSON.
+     */
+    public String getExtension() {
+        return _extension;
+    }
+
+    /**
+     * Whether the bytes of the encoding are compressed; compressed bytes are
+     * only counted once they leave the compressor.
+     *
+     * @return True if the encoding is compressed.
+     */
+    public boolean isCompressed() {
+        return _compressed;
+    }
+
+    /* package private */ abstract EventWriter createWriter(OutputStream outputStream) throws IOException;
+
+    private final String _extension;
+    private final boolean _compressed;
+
+    private static final int COMPRESSION_BUFFER_SIZE = 64 * 1024;
+}
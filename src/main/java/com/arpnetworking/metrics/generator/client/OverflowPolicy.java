@@ -0,0 +1,44 @@
+/*
+ * Copyright 2026 Inscope Metrics
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.arpnetworking.metrics.generator.client;
+
+/**
+ * What an {@link AsyncSink} does with an event when its queue is full.
+ *
+ * @author Brandon Arp (brandon dot arp at inscopemetrics dot io)
+ */
+public enum OverflowPolicy {
+    /**
+     * Wait for the writer to make room. The time spent waiting is reported
+     * as backpressure; no events are lost.
+     */
+    BLOCK,
+    /**
+     * Discard the new event and count it as dropped.
+     */
+    DROP_NEWEST,
+    /**
+     * Discard the oldest queued event to make room for the new one and count
+     * it as dropped, so that the newest events are written.
+     */
+    DROP_OLDEST,
+    /**
+     * Discard the new event like {@link #DROP_NEWEST} but also count its
+     * samples, so that the load lost to the writer not keeping up can be
+     * reported in samples.
+     */
+    COUNT
+}
@@ -0,0 +1,63 @@
+/*
+ * Copyright 2026 Inscope Metrics
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.arpnetworking.metrics.generator.client;
+
+import java.io.OutputStream;
+import java.util.Arrays;
+
+/**
+ * A growable in-memory stream whose contents can be read without copying.
+ *
+ * @author Brandon Arp (brandon dot arp at inscopemetrics dot io)
+ */
+/* package private */ final class RecordBuffer extends OutputStream {
+
+    @Override
+    public void write(final int b) {
+        ensureCapacity(1);
+        _bytes[_size++] = (byte) b;
+    }
+
+    @Override
+    public void write(final byte[] bytes, final int offset, final int length) {
+        ensureCapacity(length);
+        System.arraycopy(bytes, offset, _bytes, _size, length);
+        _size += length;
+    }
+
+    /* package private */ byte[] getBytes() {
+        return _bytes;
+    }
+
+    /* package private */ int size() {
+        return _size;
+    }
+
+    /* package private */ void reset() {
+        _size = 0;
+    }
+
+    private void ensureCapacity(final int additional) {
+        if (_size + additional > _bytes.length) {
+            _bytes = Arrays.copyOf(_bytes, Math.max(_size + additional, _bytes.length * 2));
+        }
+    }
+
+    private byte[] _bytes = new byte[INITIAL_SIZE];
+    private int _size;
+
+    private static final int INITIAL_SIZE = 4096;
+}
@@ -0,0 +1,334 @@
+/*
+ * Copyright 2026 Inscope Metrics
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.arpnetworking.metrics.generator.client;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Copies the records of a file written with {@link OutputEncoding#JSON} or
+ * {@link OutputEncoding#BINARY} to an output stream one at a time, replacing
+ * the time of each record as {@link GeneratorSink} does. The encoding is
+ * detected from the first byte of the file. Files written with
+ * {@link OutputEncoding#GZIP} or {@link OutputEncoding#ZSTD} are rejected and
+ * must be decompressed first.
+ *
+ * The file is memory mapped in windows of up to 1 GiB so files larger than
+ * a single mapping can be replayed. Records are copied without being parsed:
+ * only the {@code _start} and {@code _end} values of a JSON line and the
+ * time and length of a binary record are rewritten. Binary segment headers
+ * are copied as well, so the string table of the output matches the input.
+ *
+ * This class is not thread safe.
+ *
+ * @author Brandon Arp (brandon dot arp at inscopemetrics dot io)
+ */
+public final class RecordReplayer implements Closeable {
+    /**
+     * Public constructor.
+     *
+     * @param file The file to replay.
+     * @param outputStream The stream to write records to; closed with the replayer.
+     * @throws IOException If the file cannot be mapped.
+     * @throws IllegalArgumentException If the file is compressed.
+     */
+    public RecordReplayer(final Path file, final OutputStream outputStream) throws IOException {
+        this(file, outputStream, MAX_WINDOW_SIZE);
+    }
+
+    /* package private */ RecordReplayer(final Path file, final OutputStream outputStream, final int windowSize)
+            throws IOException {
+        _outputStream = outputStream;
+        _windowSize = windowSize;
+        _channel = FileChannel.open(file, StandardOpenOption.READ);
+        _size = _channel.size();
+        map(0);
+        if (startsWith(GZIP_MAGIC) || startsWith(ZSTD_MAGIC)) {
+            close();
+            throw new IllegalArgumentException("Compressed files cannot be replayed, decompress the file first; file=" + file);
+        }
+        _binary = _size > 0 && _window.get(0) == 0;
+    }
+
+    /**
+     * Copies the next record with a replacement time.
+     *
+     * @param epochNanos The time in nanoseconds since the epoch.
+     * @return False if the end of the file was reached before a record.
+     * @throws IOException If the record cannot be written or the file cannot be mapped.
+     */
+    public boolean replay(final long epochNanos) throws IOException {
+        while (_windowOffset + _window.position() < _size) {
+            final int result = _binary ? replayBinary(epochNanos) : replayJson(epochNanos);
+            if (result == RECORD) {
+                ++_recordsWritten;
+                return true;
+            } else if (result == INCOMPLETE) {
+                remap();
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Flushes the output stream.
+     *
+     * @throws IOException If the stream cannot be flushed.
+     */
+    public void flush() throws IOException {
+        _outputStream.flush();
+    }
+
+    public long getRecordsWritten() {
+        return _recordsWritten;
+    }
+
+    public long getBytesWritten() {
+        return _bytesWritten;
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            _outputStream.close();
+        } finally {
+            _channel.close();
+        }
+    }
+
+    private int replayJson(final long epochNanos) throws IOException {
+        final int start = _window.position();
+        final int limit = _window.limit();
+        int end = start;
+        while (end < limit && _window.get(end) != '\n') {
+            ++end;
+        }
+        final boolean terminated = end < limit;
+        if (!terminated && !isLastWindow()) {
+            return INCOMPLETE;
+        }
+
+        final int length = end - start;
+        ensureCapacity(length + 1);
+        _window.get(start, _buffer, 0, length);
+        _buffer[length] = '\n';
+        _window.position(terminated ? end + 1 : end);
+
+        _timestamp.setTime(epochNanos);
+        final int startValue = indexOfValue(START_PATTERN, 0, length);
+        final int endValue = indexOfValue(END_PATTERN, 0, length);
+        if (startValue < 0 || endValue < 0) {
+            write(_buffer, 0, length + 1);
+            return RECORD;
+        }
+        final int first = Math.min(startValue, endValue);
+        final int second = Math.max(startValue, endValue);
+        final int firstEnd = indexOfQuote(first, length);
+        final int secondEnd = indexOfQuote(second, length);
+        write(_buffer, 0, first);
+        writeTimestamp();
+        write(_buffer, firstEnd, second - firstEnd);
+        writeTimestamp();
+        write(_buffer, secondEnd, length + 1 - secondEnd);
+        return RECORD;
+    }
+
+    private int replayBinary(final long epochNanos) throws IOException {
+        final int start = _window.position();
+        final int limit = _window.limit();
+        final int body = readVarint(start, limit);
+        if (body < 0) {
+            return checkComplete(INCOMPLETE, start);
+        }
+        final long length = _varint;
+        if (length == 0) {
+            if (start + SEGMENT_HEADER_LENGTH > limit) {
+                return checkComplete(INCOMPLETE, start);
+            }
+            copy(start, SEGMENT_HEADER_LENGTH);
+            _window.position(start + SEGMENT_HEADER_LENGTH);
+            return SEGMENT;
+        }
+        if (length > limit - body) {
+            return checkComplete(INCOMPLETE, start);
+        }
+        final int end = body + (int) length;
+        final int timeEnd = readVarint(body, end);
+        if (timeEnd < 0) {
+            throw new IllegalArgumentException("Malformed record at " + (_windowOffset + start));
+        }
+
+        int header = writeVarint(0, Math.floorDiv(epochNanos, NANOS_PER_MILLI));
+        final int timeLength = header;
+        header = writeVarint(header, length - (timeEnd - body) + timeLength);
+        // The length precedes the time in the record
+        write(_varintBuffer, timeLength, header - timeLength);
+        write(_varintBuffer, 0, timeLength);
+        copy(timeEnd, end - timeEnd);
+        _window.position(end);
+        return RECORD;
+    }
+
+    private int checkComplete(final int result, final int start) {
+        if (isLastWindow()) {
+            throw new IllegalArgumentException("Truncated record at " + (_windowOffset + start));
+        }
+        return result;
+    }
+
+    private void remap() throws IOException {
+        final long position = _windowOffset + _window.position();
+        if (position == _windowOffset) {
+            throw new IllegalArgumentException("Record at " + position + " exceeds " + _windowSize + " bytes");
+        }
+        map(position);
+    }
+
+    private void map(final long offset) throws IOException {
+        _windowOffset = offset;
+        _window = _channel.map(FileChannel.MapMode.READ_ONLY, offset, Math.min(_windowSize, _size - offset));
+    }
+
+    private boolean startsWith(final byte[] magic) {
+        if (_window.limit() < magic.length) {
+            return false;
+        }
+        for (int i = 0; i < magic.length; ++i) {
+            if (_window.get(i) != magic[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private boolean isLastWindow() {
+        return _windowOffset + _window.limit() >= _size;
+    }
+
+    private int indexOfValue(final byte[] pattern, final int from, final int to) {
+        for (int i = from; i <= to - pattern.length; ++i) {
+            int matched = 0;
+            while (matched < pattern.length && _buffer[i + matched] == pattern[matched]) {
+                ++matched;
+            }
+            if (matched == pattern.length) {
+                return i + pattern.length;
+            }
+        }
+        return -1;
+    }
+
+    private int indexOfQuote(final int from, final int to) {
+        for (int i = from; i < to; ++i) {
+            if (_buffer[i] == '"') {
+                return i;
+            }
+        }
+        throw new IllegalArgumentException("Unterminated time in line ending at " + (_windowOffset + _window.position()));
+    }
+
+    private int readVarint(final int from, final int limit) {
+        long value = 0;
+        int shift = 0;
+        for (int i = from; i < limit; ++i) {
+            final byte b = _window.get(i);
+            value |= (long) (b & 0x7F) << shift;
+            if (b >= 0) {
+                _varint = value;
+                return i + 1;
+            }
+            shift += 7;
+            if (shift >= Long.SIZE) {
+                throw new IllegalArgumentException("Malformed varint at " + (_windowOffset + from));
+            }
+        }
+        return -1;
+    }
+
+    private int writeVarint(final int offset, final long value) {
+        int position = offset;
+        long remaining = value;
+        while ((remaining & ~0x7FL) != 0) {
+            _varintBuffer[position++] = (byte) ((remaining & 0x7F) | 0x80);
+            remaining >>>= 7;
+        }
+        _varintBuffer[position++] = (byte) remaining;
+        return position;
+    }
+
+    private void writeTimestamp() throws IOException {
+        final char[] characters = _timestamp.getBuffer();
+        final int length = _timestamp.getLength();
+        for (int i = 0; i < length; ++i) {
+            _timestampBuffer[i] = (byte) characters[i];
+        }
+        write(_timestampBuffer, 0, length);
+    }
+
+    private void copy(final int from, final int length) throws IOException {
+        ensureCapacity(length);
+        _window.get(from, _buffer, 0, length);
+        write(_buffer, 0, length);
+    }
+
+    private void write(final byte[] bytes, final int offset, final int length) throws IOException {
+        _outputStream.write(bytes, offset, length);
+        _bytesWritten += length;
+    }
+
+    private void ensureCapacity(final int length) {
+        if (length > _buffer.length) {
+            _buffer = Arrays.copyOf(_buffer, Math.max(length, _buffer.length * 2));
+        }
+    }
+
+    private MappedByteBuffer _window;
+    private long _windowOffset;
+    private long _varint;
+    private long _recordsWritten;
+    private long _bytesWritten;
+    private byte[] _buffer = new byte[INITIAL_BUFFER_SIZE];
+    private final byte[] _varintBuffer = new byte[2 * MAX_VARINT_LENGTH];
+    private final byte[] _timestampBuffer = new byte[TIMESTAMP_BUFFER_SIZE];
+    private final IsoTimestampFormatter _timestamp = new IsoTimestampFormatter();
+    private final boolean _binary;
+    private final long _size;
+    private final int _windowSize;
+    private final FileChannel _channel;
+    private final OutputStream _outputStream;
+
+    private static final int RECORD = 0;
+    private static final int SEGMENT = 1;
+    private static final int INCOMPLETE = 2;
+    private static final int MAX_WINDOW_SIZE = 1 << 30;
+    private static final int INITIAL_BUFFER_SIZE = 4096;
+    private static final int MAX_VARINT_LENGTH = 10;
+    private static final int TIMESTAMP_BUFFER_SIZE = 64;
+    private static final int SEGMENT_HEADER_LENGTH = 1 + BinaryFormat.MAGIC.length + 1;
+    private static final long NANOS_PER_MILLI = TimeUnit.MILLISECONDS.toNanos(1);
+    private static final byte[] START_PATTERN = ("\"" + GeneratorSink.START_KEY + "\":\"").getBytes(StandardCharsets.UTF_8);
+    private static final byte[] END_PATTERN = ("\"" + GeneratorSink.END_KEY + "\":\"").getBytes(StandardCharsets.UTF_8);
+    private static final byte[] GZIP_MAGIC = {0x1f, (byte) 0x8b};
+    private static final byte[] ZSTD_MAGIC = {0x28, (byte) 0xb5, 0x2f, (byte) 0xfd};
+}
@@ -0,0 +1,225 @@
+/*
+ * Copyright 2026 Inscope Metrics
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.arpnetworking.metrics.generator.client;
+
+import com.arpnetworking.steno.Logger;
+import com.arpnetworking.steno.LoggerFactory;
+import com.google.common.util.concurrent.MoreExecutors;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.google.common.util.concurrent.Uninterruptibles;
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * The file of a {@link GeneratorSink} that rotates according to a
+ * {@link RotationPolicy}. Everything that could stall the writing thread is
+ * done on a background thread: the next file is created ahead of time under
+ * a hidden name, and written data is synced to disk periodically and when a
+ * file is rotated or closed. A rotation is therefore two renames.
+ *
+ * This class is not thread safe; only the background syncs run concurrently.
+ *
+ * @author Brandon Arp (brandon dot arp at inscopemetrics dot io)
+ */
+/* package private */ final class RotatingFileOutput implements Closeable {
+
+    /* package private */ RotatingFileOutput(final Path path, final RotationPolicy policy, final long epochNanos)
+            throws IOException {
+        _path = path.toAbsolutePath().normalize();
+        _fileName = String.valueOf(_path.getFileName());
+        final Path directory = _path.getParent();
+        if (directory == null) {
+            throw new IllegalArgumentException("Not a file: " + path);
+        }
+        _directory = directory;
+        Files.createDirectories(_directory);
+        _standbyPath = _directory.resolve("." + _fileName + ".next");
+        _policy = policy;
+        _periodStart = policy.getPeriodStart(epochNanos);
+        _active.set(open(_path));
+        _executor = Executors.newSingleThreadScheduledExecutor(
+                new ThreadFactoryBuilder().setNameFormat("rotating-file-sync-%d").setDaemon(true).build());
+        final long syncInterval = policy.getSyncInterval().toNanos();
+        if (syncInterval > 0) {
+            _executor.scheduleWithFixedDelay(this::syncActive, syncInterval, syncInterval, TimeUnit.NANOSECONDS);
+        }
+        _standby = _executor.submit(() -> open(_standbyPath));
+    }
+
+    /**
+     * Gets a stream that writes to the active file. Closing the stream does
+     * not close the file.
+     *
+     * @return The stream.
+     */
+    /* package private */ OutputStream getStream() {
+        return new ChannelOutputStream(_active.get());
+    }
+
+    /**
+     * Checks whether the active file should be rotated before writing an
+     * event. An empty file is not rotated but its period is advanced.
+     *
+     * @param fileBytes The bytes written to the active file.
+     * @param epochNanos The time of the event in nanoseconds since the epoch.
+     * @return True if the file should be rotated.
+     */
+    @SuppressFBWarnings(value = "AT_NONATOMIC_64BIT_PRIMITIVE", justification = "only accessed by the writing thread")
+    /* package private */ boolean checkRotation(final long fileBytes, final long epochNanos) {
+        if (!_policy.isRotationDue(fileBytes, _periodStart, epochNanos)) {
+            return false;
+        }
+        if (fileBytes == 0) {
+            _periodStart = _policy.getPeriodStart(epochNanos);
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Renames the active file and continues in a new file with its name.
+     * Streams of the previous file must not be used afterwards.
+     *
+     * @param epochNanos The time of the next event in nanoseconds since the epoch.
+     * @throws IOException If the files cannot be renamed.
+     */
+    @SuppressFBWarnings(value = "AT_NONATOMIC_64BIT_PRIMITIVE", justification = "only accessed by the writing thread")
+    /* package private */ void rotate(final long epochNanos) throws IOException {
+        final FileChannel next = awaitStandby();
+        final FileChannel previous = _active.get();
+        Files.move(_path, getRotatedPath());
+        Files.move(_standbyPath, _path);
+        _active.set(next);
+        _periodStart = _policy.getPeriodStart(epochNanos);
+        _executor.execute(() -> syncAndClose(previous));
+        _standby = _executor.submit(() -> open(_standbyPath));
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            awaitStandby().close();
+            Files.deleteIfExists(_standbyPath);
+        } finally {
+            final FileChannel active = _active.get();
+            _executor.execute(() -> syncAndClose(active));
+            _executor.shutdown();
+            if (!Uninterruptibles.awaitTerminationUninterruptibly(_executor, CLOSE_TIMEOUT)) {
+                MoreExecutors.shutdownAndAwaitTermination(_executor, CLOSE_TIMEOUT);
+            }
+        }
+    }
+
+    private Path getRotatedPath() {
+        int index = 0;
+        Path rotated = _directory.resolve(_policy.getRotatedFileName(_fileName, _periodStart, index));
+        while (Files.exists(rotated)) {
+            ++index;
+            rotated = _directory.resolve(_policy.getRotatedFileName(_fileName, _periodStart, index));
+        }
+        return rotated;
+    }
+
+    private FileChannel awaitStandby() throws IOException {
+        try {
+            return Uninterruptibles.getUninterruptibly(_standby);
+        } catch (final ExecutionException e) {
+            throw new IOException("Unable to create next file " + _standbyPath, e.getCause());
+        }
+    }
+
+    private void syncActive() {
+        try {
+            _active.get().force(false);
+        } catch (final IOException e) {
+            LOGGER.warn()
+                    .setMessage("Unable to sync file")
+                    .addData("file", _path)
+                    .setThrowable(e)
+                    .log();
+        }
+    }
+
+    private void syncAndClose(final FileChannel channel) {
+        try (FileChannel closing = channel) {
+            closing.force(false);
+        } catch (final IOException e) {
+            LOGGER.warn()
+                    .setMessage("Unable to sync and close file")
+                    .addData("file", _path)
+                    .setThrowable(e)
+                    .log();
+        }
+    }
+
+    private static FileChannel open(final Path path) throws IOException {
+        return FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+    }
+
+    private final AtomicReference<FileChannel> _active = new AtomicReference<>();
+    private Future<FileChannel> _standby;
+    private long _periodStart;
+    private final Path _path;
+    private final String _fileName;
+    private final Path _directory;
+    private final Path _standbyPath;
+    private final RotationPolicy _policy;
+    private final ScheduledExecutorService _executor;
+
+    private static final Duration CLOSE_TIMEOUT = Duration.ofMinutes(1);
+    private static final Logger LOGGER = LoggerFactory.getLogger(RotatingFileOutput.class);
+
+    private static final class ChannelOutputStream extends OutputStream {
+        private ChannelOutputStream(final FileChannel channel) {
+            _channel = channel;
+        }
+
+        @Override
+        public void write(final int b) throws IOException {
+            write(new byte[] {(byte) b}, 0, 1);
+        }
+
+        @Override
+        public void write(final byte[] bytes, final int offset, final int length) throws IOException {
+            final ByteBuffer buffer = ByteBuffer.wrap(bytes, offset, length);
+            while (buffer.hasRemaining()) {
+                _channel.write(buffer);
+            }
+        }
+
+        @Override
+        public void close() {
+            // The channel is synced and closed by the rotating file
+        }
+
+        private final FileChannel _channel;
+    }
+}
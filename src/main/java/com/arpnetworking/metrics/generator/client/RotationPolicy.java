@@ -0,0 +1,189 @@
+/*
+ * Copyright 2026 Inscope Metrics
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.arpnetworking.metrics.generator.client;
+
+import com.arpnetworking.commons.builder.OvalBuilder;
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+import net.sf.oval.constraint.Min;
+import net.sf.oval.constraint.NotEmpty;
+import net.sf.oval.constraint.NotNull;
+import net.sf.oval.constraint.ValidateWithMethod;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import javax.annotation.Nullable;
+
+/**
+ * When and how a {@link GeneratorSink} rolls its output file over, in the
+ * way services roll their query logs: the file is renamed once it reaches a
+ * size or the event time crosses an interval boundary, and writing continues
+ * in a new file with the original name.
+ *
+ * Rotated files are named with a pattern where {@code %d{format}} is
+ * replaced by the start of the period the file covers, formatted in UTC with
+ * a {@link DateTimeFormatter} pattern, and {@code %i} by an index that
+ * distinguishes files of the same period. If the pattern has no {@code %i}
+ * the index is appended when a file of the same name already exists. The
+ * default pattern is the name of the active file followed by
+ * {@code .%d{yyyy-MM-dd-HH-mm-ss}}.
+ *
+ * @author Brandon Arp (brandon dot arp at inscopemetrics dot io)
+ */
+public final class RotationPolicy {
+
+    private RotationPolicy(final Builder builder) {
+        _maxBytes = builder._maxBytes;
+        _intervalNanos = builder._interval == null ? 0 : builder._interval.toNanos();
+        _fileNamePattern = builder._fileNamePattern;
+        _syncInterval = builder._syncInterval;
+        if (_fileNamePattern != null) {
+            // Fail on an invalid date format when built rather than at the first rotation
+            getRotatedFileName("", 0, 0);
+        }
+    }
+
+    /* package private */ boolean isRotationDue(final long fileBytes, final long periodStart, final long epochNanos) {
+        return _maxBytes != null && fileBytes >= _maxBytes
+                || _intervalNanos > 0 && epochNanos - periodStart >= _intervalNanos;
+    }
+
+    /**
+     * Gets the start of the period containing a time: the interval boundary
+     * at or before the time or the time itself if rotation is only by size.
+     *
+     * @param epochNanos The time in nanoseconds since the epoch.
+     * @return The period start in nanoseconds since the epoch.
+     */
+    /* package private */ long getPeriodStart(final long epochNanos) {
+        return _intervalNanos > 0 ? Math.floorDiv(epochNanos, _intervalNanos) * _intervalNanos : epochNanos;
+    }
+
+    /* package private */ String getRotatedFileName(final String activeFileName, final long periodStart, final int index) {
+        final String pattern = _fileNamePattern == null ? activeFileName + DEFAULT_SUFFIX : _fileNamePattern;
+        final Instant start = Instant.ofEpochSecond(
+                Math.floorDiv(periodStart, NANOS_PER_SECOND),
+                Math.floorMod(periodStart, NANOS_PER_SECOND));
+        final Matcher matcher = DATE_PATTERN.matcher(pattern);
+        final StringBuilder name = new StringBuilder();
+        while (matcher.find()) {
+            final String date = DateTimeFormatter.ofPattern(matcher.group(1)).withZone(ZoneOffset.UTC).format(start);
+            matcher.appendReplacement(name, Matcher.quoteReplacement(date));
+        }
+        matcher.appendTail(name);
+        if (name.indexOf(INDEX_TOKEN) >= 0) {
+            return name.toString().replace(INDEX_TOKEN, String.valueOf(index));
+        }
+        return index == 0 ? name.toString() : name + "." + index;
+    }
+
+    /* package private */ Duration getSyncInterval() {
+        return _syncInterval;
+    }
+
+    @Nullable
+    private final Long _maxBytes;
+    private final long _intervalNanos;
+    @Nullable
+    private final String _fileNamePattern;
+    private final Duration _syncInterval;
+
+    private static final String DEFAULT_SUFFIX = ".%d{yyyy-MM-dd-HH-mm-ss}";
+    private static final String INDEX_TOKEN = "%i";
+    private static final Pattern DATE_PATTERN = Pattern.compile("%d\\{([^}]*)\\}");
+    private static final long NANOS_PER_SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    /**
+     * Builder for a {@link RotationPolicy}.
+     */
+    public static final class Builder extends OvalBuilder<RotationPolicy> {
+        /**
+         * Public constructor.
+         */
+        public Builder() {
+            super((Builder builder) -> new RotationPolicy(builder));
+        }
+
+        /**
+         * Sets the size at which the file is rotated. At least one of the
+         * size and the interval must be set.
+         *
+         * @param maxBytes The maximum file size in bytes.
+         * @return This builder.
+         */
+        public Builder setMaxBytes(@Nullable final Long maxBytes) {
+            _maxBytes = maxBytes;
+            return this;
+        }
+
+        /**
+         * Sets the period of the file, aligned to the epoch; for example one
+         * hour rotates at the start of every hour of event time. At least one
+         * of the size and the interval must be set.
+         *
+         * @param interval The rotation interval.
+         * @return This builder.
+         */
+        public Builder setInterval(@Nullable final Duration interval) {
+            _interval = interval;
+            return this;
+        }
+
+        /**
+         * Sets the pattern of rotated file names, resolved against the
+         * directory of the active file. Optional. Defaults to the active file
+         * name followed by {@code .%d{yyyy-MM-dd-HH-mm-ss}}.
+         *
+         * @param fileNamePattern The file name pattern.
+         * @return This builder.
+         */
+        public Builder setFileNamePattern(@Nullable final String fileNamePattern) {
+            _fileNamePattern = fileNamePattern;
+            return this;
+        }
+
+        /**
+         * Sets how often written data is synced to disk in the background.
+         * Optional. Defaults to one second. Zero only syncs files when they
+         * are rotated or closed.
+         *
+         * @param syncInterval The sync interval.
+         * @return This builder.
+         */
+        public Builder setSyncInterval(final Duration syncInterval) {
+            _syncInterval = syncInterval;
+            return this;
+        }
+
+        @SuppressFBWarnings(value = "UPM_UNCALLED_PRIVATE_METHOD", justification = "invoked by oval")
+        private boolean validateMaxBytes(@Nullable final Long maxBytes) {
+            return maxBytes != null || _interval != null && !_interval.isNegative() && !_interval.isZero();
+        }
+
+        @ValidateWithMethod(methodName = "validateMaxBytes", parameterType = Long.class, ignoreIfNull = false)
+        @Min(1)
+        private Long _maxBytes;
+        private Duration _interval;
+        @NotEmpty
+        private String _fileNamePattern;
+        @NotNull
+        private Duration _syncInterval = Duration.ofSeconds(1);
+    }
+}
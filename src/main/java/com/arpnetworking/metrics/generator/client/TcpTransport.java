@@ -0,0 +1,96 @@
+/*
+ * Copyright 2026 Inscope Metrics
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.arpnetworking.metrics.generator.client;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.StandardSocketOptions;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.SocketChannel;
+
+/**
+ * Streams records over a TCP connection through a bounded buffer.
+ *
+ * @author Brandon Arp (brandon dot arp at inscopemetrics dot io)
+ */
+/* package private */ final class TcpTransport extends NetworkTransport {
+
+    /* package private */ TcpTransport(
+            final InetSocketAddress address,
+            final int maxBufferedBytes,
+            final boolean dropOnBackpressure) throws IOException {
+        this(SocketChannel.open(address), maxBufferedBytes, dropOnBackpressure);
+    }
+
+    private TcpTransport(
+            final SocketChannel channel,
+            final int maxBufferedBytes,
+            final boolean dropOnBackpressure) throws IOException {
+        super(channel, dropOnBackpressure);
+        channel.setOption(StandardSocketOptions.TCP_NODELAY, true);
+        _channel = channel;
+        _buffer = ByteBuffer.allocateDirect(maxBufferedBytes);
+    }
+
+    @Override
+    /* package private */ void offer(final byte[] bytes, final int offset, final int length) throws IOException {
+        if (length > _buffer.capacity()) {
+            recordDropped(1);
+            return;
+        }
+        if (_buffer.remaining() < length) {
+            drain();
+            while (_buffer.remaining() < length) {
+                if (!awaitBackpressure(SelectionKey.OP_WRITE)) {
+                    recordDropped(1);
+                    return;
+                }
+                drain();
+            }
+        }
+        _buffer.put(bytes, offset, length);
+    }
+
+    @Override
+    /* package private */ void flush() throws IOException {
+        drain();
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            drain();
+            while (_buffer.position() > 0 && await(SelectionKey.OP_WRITE)) {
+                drain();
+            }
+        } finally {
+            super.close();
+        }
+    }
+
+    private void drain() throws IOException {
+        _buffer.flip();
+        try {
+            recordSent(_channel.write(_buffer));
+        } finally {
+            _buffer.compact();
+        }
+    }
+
+    private final SocketChannel _channel;
+    private final ByteBuffer _buffer;
+}
@@ -0,0 +1,58 @@
+/*
+ * Copyright 2026 Inscope Metrics
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.arpnetworking.metrics.generator.client;
+
+import com.arpnetworking.metrics.Sink;
+
+import java.io.Closeable;
+
+/**
+ * A sink that writes events with their {@code _start} and {@code _end}
+ * annotations replaced by a time set before recording them.
+ *
+ * @author Brandon Arp (brandon dot arp at inscopemetrics dot io)
+ */
+public interface TimeReplacingSink extends Sink, Closeable {
+    /**
+     * Sets the time to use in the replacement. The time is written with
+     * millisecond precision.
+     *
+     * @param epochNanos The time in nanoseconds since the epoch.
+     */
+    void setTime(long epochNanos);
+
+    /**
+     * Gets the number of samples written so far.
+     *
+     * @return The number of samples.
+     */
+    long getSamplesWritten();
+
+    /**
+     * Gets the number of bytes written so far.
+     *
+     * @return The number of bytes.
+     */
+    long getBytesWritten();
+
+    /**
+     * Writes out buffered data.
+     */
+    void flush();
+
+    @Override
+    void close();
+}
@@ -0,0 +1,110 @@
+/*
+ * Copyright 2026 Inscope Metrics
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.arpnetworking.metrics.generator.client;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.PortUnreachableException;
+import java.nio.ByteBuffer;
+import java.nio.channels.DatagramChannel;
+import java.nio.channels.SelectionKey;
+
+/**
+ * Sends records in datagrams of as many whole records as fit. Records
+ * larger than a datagram are dropped, as are datagrams the peer reported
+ * unreachable.
+ *
+ * @author Brandon Arp (brandon dot arp at inscopemetrics dot io)
+ */
+/* package private */ final class UdpTransport extends NetworkTransport {
+
+    /* package private */ UdpTransport(
+            final InetSocketAddress address,
+            final int maxDatagramBytes,
+            final boolean dropOnBackpressure) throws IOException {
+        this(DatagramChannel.open().connect(address), maxDatagramBytes, dropOnBackpressure);
+    }
+
+    private UdpTransport(
+            final DatagramChannel channel,
+            final int maxDatagramBytes,
+            final boolean dropOnBackpressure) throws IOException {
+        super(channel, dropOnBackpressure);
+        _channel = channel;
+        _datagram = ByteBuffer.allocateDirect(maxDatagramBytes);
+    }
+
+    @Override
+    /* package private */ void offer(final byte[] bytes, final int offset, final int length) throws IOException {
+        if (length > _datagram.capacity()) {
+            recordDropped(1);
+            return;
+        }
+        if (_datagram.remaining() < length) {
+            send(true);
+        }
+        _datagram.put(bytes, offset, length);
+        ++_datagramRecords;
+    }
+
+    @Override
+    /* package private */ void flush() throws IOException {
+        send(false);
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            send(true);
+        } finally {
+            super.close();
+        }
+    }
+
+    private void send(final boolean wait) throws IOException {
+        if (_datagramRecords == 0) {
+            return;
+        }
+        _datagram.flip();
+        int sent;
+        try {
+            // A datagram is either sent whole or not at all
+            sent = _channel.write(_datagram);
+            while (sent == 0 && wait && awaitBackpressure(SelectionKey.OP_WRITE)) {
+                sent = _channel.write(_datagram);
+            }
+        } catch (final PortUnreachableException e) {
+            sent = 0;
+        }
+        if (sent == 0 && !wait) {
+            // Keep the datagram to retry with the next record or flush
+            _datagram.position(_datagram.limit());
+            _datagram.limit(_datagram.capacity());
+            return;
+        }
+        if (sent > 0) {
+            recordSent(sent);
+        } else {
+            recordDropped(_datagramRecords);
+        }
+        _datagram.clear();
+        _datagramRecords = 0;
+    }
+
+    private int _datagramRecords;
+    private final DatagramChannel _channel;
+    private final ByteBuffer _datagram;
+}
@@ -0,0 +1,324 @@
+/*
+ * Copyright 2026 Inscope Metrics
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.arpnetworking.metrics.generator.config;
+
+import com.arpnetworking.metrics.generator.dimension.DimensionGenerator;
+import com.arpnetworking.metrics.generator.dimension.PooledDimensionGenerator;
+import com.arpnetworking.metrics.generator.metric.AlternateMetricGenerator;
+import com.arpnetworking.metrics.generator.metric.ConstantCountMetricGenerator;
+import com.arpnetworking.metrics.generator.metric.ConstantMetricGenerator;
+import com.arpnetworking.metrics.generator.metric.CounterMetricGenerator;
+import com.arpnetworking.metrics.generator.metric.GaussianCountMetricGenerator;
+import com.arpnetworking.metrics.generator.metric.GaussianMetricGenerator;
+import com.arpnetworking.metrics.generator.metric.MeanRevertingMetricGenerator;
+import com.arpnetworking.metrics.generator.metric.MetricGenerator;
+import com.arpnetworking.metrics.generator.metric.RandomWalkMetricGenerator;
+import com.arpnetworking.metrics.generator.metric.SeasonalMetricGenerator;
+import com.arpnetworking.metrics.generator.metric.UniformMetricGenerator;
+import com.arpnetworking.metrics.generator.name.NameGenerator;
+import com.arpnetworking.metrics.generator.name.NameSetGenerator;
+import com.arpnetworking.metrics.generator.name.SingleNameGenerator;
+import com.arpnetworking.metrics.generator.name.SpecifiedName;
+import com.arpnetworking.metrics.generator.name.ZipfNameGenerator;
+import com.arpnetworking.metrics.generator.schedule.ConstantTimeScheduler;
+import com.arpnetworking.metrics.generator.schedule.DiurnalScheduler;
+import com.arpnetworking.metrics.generator.schedule.OnOffScheduler;
+import com.arpnetworking.metrics.generator.schedule.PoissonScheduler;
+import com.arpnetworking.metrics.generator.schedule.RampScheduler;
+import com.arpnetworking.metrics.generator.schedule.Scheduler;
+import com.arpnetworking.metrics.generator.util.Xoshiro256PlusPlus;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import com.google.common.collect.Sets;
+
+import java.time.Duration;
+import java.time.format.DateTimeParseException;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.SortedMap;
+
+/**
+ * Creates the schedulers, metric, name and dimension generators described by
+ * the nodes of a workload specification. Every node has a {@code type} field
+ * that selects the component; the other fields are its parameters. Nested
+ * components are given their own random streams split from the random of
+ * their parent.
+ *
+ * @author Brandon Arp (brandon dot arp at inscopemetrics dot io)
+ */
+/* package private */ final class WorkloadComponents {
+
+    /**
+     * Creates a scheduler. The types are {@code constant} (period),
+     * {@code poisson} (rate), {@code onOff} (rate, on, off), {@code diurnal}
+     * (mean, amplitude, peak and optionally period) and {@code ramp} (profile
+     * of offset and rate pairs). Rates are per second and durations are ISO-8601.
+     *
+     * @param node The scheduler node.
+     * @param random Source for random
+     * @return The scheduler.
+     */
+    /* package private */ static Scheduler createScheduler(final JsonNode node, final Xoshiro256PlusPlus random) {
+        final String type = getText(node, "type");
+        switch (type) {
+            case "constant":
+                return new ConstantTimeScheduler(getDuration(node, "period"));
+            case "poisson":
+                return new PoissonScheduler(getDouble(node, "rate"), random);
+            case "onOff":
+                return new OnOffScheduler(getDouble(node, "rate"), getDuration(node, "on"), getDuration(node, "off"), random);
+            case "diurnal":
+                return new DiurnalScheduler(
+                        getDouble(node, "mean"),
+                        getDouble(node, "amplitude"),
+                        getDuration(node, "peak"),
+                        node.has("period") ? getDuration(node, "period") : Duration.ofDays(1),
+                        random);
+            case "ramp":
+                final SortedMap<Duration, Double> profile = Maps.newTreeMap();
+                for (final JsonNode point : getRequired(node, "profile")) {
+                    profile.put(getDuration(point, "offset"), getDouble(point, "rate"));
+                }
+                return new RampScheduler(profile, random);
+            default:
+                throw unknownType("scheduler", type);
+        }
+    }
+
+    /**
+     * Creates a metric generator. The types are {@code constant} (value),
+     * {@code gaussian} (mean, stddev), {@code uniform} (min, max) and
+     * {@code alternate} (high, low), each with a {@code name} generator, and
+     * {@code constantCount} (count) and {@code gaussianCount} (mean, stddev)
+     * which repeat a nested {@code metric}. These generate timers. The
+     * counter and gauge types treat each name as a time series, see
+     * {@link #createSeriesNames(JsonNode, Xoshiro256PlusPlus)}: {@code counter}
+     * (rate per second), {@code randomWalk} (initial, stddev per second and
+     * optionally min and max), {@code meanReverting} (mean, stddev,
+     * halfLife) and {@code seasonal} (mean, amplitude, peak and optionally
+     * period, which defaults to a day, and stddev, which defaults to 0).
+     *
+     * @param node The metric node.
+     * @param random Source for random
+     * @return The metric generator.
+     */
+    /* package private */ static MetricGenerator createMetricGenerator(final JsonNode node, final Xoshiro256PlusPlus random) {
+        final String type = getText(node, "type");
+        switch (type) {
+            case "constant":
+                return new ConstantMetricGenerator(getRequired(node, "value").asLong(), createName(node, random.split()));
+            case "gaussian":
+                return new GaussianMetricGenerator(
+                        getDouble(node, "mean"),
+                        getDouble(node, "stddev"),
+                        createName(node, random.split()),
+                        random);
+            case "uniform":
+                return new UniformMetricGenerator(getDouble(node, "min"), getDouble(node, "max"), createName(node, random.split()), random);
+            case "alternate":
+                return new AlternateMetricGenerator(getDouble(node, "high"), getDouble(node, "low"), createName(node, random.split()));
+            case "constantCount":
+                return new ConstantCountMetricGenerator(
+                        getRequired(node, "count").asInt(),
+                        createMetricGenerator(getRequired(node, "metric"), random.split()));
+            case "gaussianCount":
+                return new GaussianCountMetricGenerator(
+                        getDouble(node, "mean"),
+                        getDouble(node, "stddev"),
+                        createMetricGenerator(getRequired(node, "metric"), random.split()),
+                        random);
+            case "counter":
+                return new CounterMetricGenerator(getDouble(node, "rate"), createSeriesNames(node, random.split()), random);
+            case "randomWalk":
+                return new RandomWalkMetricGenerator(
+                        getDouble(node, "initial"),
+                        getDouble(node, "stddev"),
+                        node.has("min") ? getDouble(node, "min") : Double.NEGATIVE_INFINITY,
+                        node.has("max") ? getDouble(node, "max") : Double.POSITIVE_INFINITY,
+                        createSeriesNames(node, random.split()),
+                        random);
+            case "meanReverting":
+                return new MeanRevertingMetricGenerator(
+                        getDouble(node, "mean"),
+                        getDouble(node, "stddev"),
+                        getDuration(node, "halfLife"),
+                        createSeriesNames(node, random.split()),
+                        random);
+            case "seasonal":
+                return new SeasonalMetricGenerator(
+                        getDouble(node, "mean"),
+                        getDouble(node, "amplitude"),
+                        node.has("period") ? getDuration(node, "period") : Duration.ofDays(1),
+                        getDuration(node, "peak"),
+                        node.has("stddev") ? getDouble(node, "stddev") : 0,
+                        createSeriesNames(node, random.split()),
+                        random);
+            default:
+                throw unknownType("metric", type);
+        }
+    }
+
+    /**
+     * Creates a name generator. The types are {@code specified} (name),
+     * {@code single} (one random name), {@code set} (either a size of
+     * random names or a list of names to pick from uniformly) and
+     * {@code zipf} (cardinality random names picked with Zipfian popularity
+     * of an optional exponent which defaults to 1).
+     *
+     * @param node The name node.
+     * @param random Source for random
+     * @return The name generator.
+     */
+    /* package private */ static NameGenerator createNameGenerator(final JsonNode node, final Xoshiro256PlusPlus random) {
+        final String type = getText(node, "type");
+        switch (type) {
+            case "specified":
+                return new SpecifiedName(getText(node, "name"));
+            case "single":
+                return new SingleNameGenerator(random);
+            case "set":
+                if (node.has("names")) {
+                    final Set<String> names = Sets.newLinkedHashSet();
+                    for (final JsonNode name : node.get("names")) {
+                        names.add(name.asText());
+                    }
+                    return new NameSetGenerator(names, random);
+                }
+                return new NameSetGenerator(getRequired(node, "size").asInt(), random);
+            case "zipf":
+                return new ZipfNameGenerator(
+                        getRequired(node, "cardinality").asInt(),
+                        node.has("exponent") ? getDouble(node, "exponent") : 1.0,
+                        random);
+            default:
+                throw unknownType("name", type);
+        }
+    }
+
+    /**
+     * Creates a dimension generator. The types are {@code constant} (key,
+     * value) and {@code pool} (key and either a cardinality of generated
+     * values or a list of values, picked with Zipfian popularity of an
+     * optional exponent which defaults to 0, i.e. uniformly).
+     *
+     * @param node The dimension node.
+     * @param random Source for random
+     * @return The dimension generator.
+     */
+    /* package private */ static DimensionGenerator createDimensionGenerator(final JsonNode node, final Xoshiro256PlusPlus random) {
+        final String type = getText(node, "type");
+        switch (type) {
+            case "constant":
+                return new PooledDimensionGenerator(
+                        getText(node, "key"),
+                        Collections.singletonList(getText(node, "value")),
+                        0,
+                        random);
+            case "pool":
+                final double exponent = node.has("exponent") ? getDouble(node, "exponent") : 0;
+                if (node.has("values")) {
+                    final List<String> values = Lists.newArrayList();
+                    for (final JsonNode value : node.get("values")) {
+                        values.add(value.asText());
+                    }
+                    return new PooledDimensionGenerator(getText(node, "key"), values, exponent, random);
+                }
+                return new PooledDimensionGenerator(
+                        getText(node, "key"),
+                        getRequired(node, "cardinality").asInt(),
+                        exponent,
+                        random);
+            default:
+                throw unknownType("dimension", type);
+        }
+    }
+
+    /* package private */ static JsonNode getRequired(final JsonNode node, final String field) {
+        final JsonNode value = node.get(field);
+        if (value == null || value.isNull()) {
+            throw new IllegalArgumentException("Missing field '" + field + "' in " + node);
+        }
+        return value;
+    }
+
+    /* package private */ static String getText(final JsonNode node, final String field) {
+        return getRequired(node, field).asText();
+    }
+
+    /* package private */ static double getDouble(final JsonNode node, final String field) {
+        final JsonNode value = getRequired(node, field);
+        if (!value.isNumber()) {
+            throw new IllegalArgumentException("Field '" + field + "' must be a number in " + node);
+        }
+        return value.asDouble();
+    }
+
+    /* package private */ static Duration getDuration(final JsonNode node, final String field) {
+        final String value = getText(node, field);
+        try {
+            return Duration.parse(value);
+        } catch (final DateTimeParseException e) {
+            throw new IllegalArgumentException("Field '" + field + "' must be an ISO-8601 duration in " + node, e);
+        }
+    }
+
+    /**
+     * Creates the names of the series of a counter or gauge generator from
+     * its {@code name} node. The series are picked by index, so the name
+     * types map to a {@link ZipfNameGenerator}: {@code zipf} as is,
+     * {@code set} picked uniformly and {@code specified} and {@code single}
+     * as a single series.
+     *
+     * @param node The metric node.
+     * @param random Source for random
+     * @return The series names.
+     */
+    /* package private */ static ZipfNameGenerator createSeriesNames(final JsonNode node, final Xoshiro256PlusPlus random) {
+        final JsonNode name = getRequired(node, "name");
+        final String type = getText(name, "type");
+        switch (type) {
+            case "specified":
+                return new ZipfNameGenerator(Collections.singletonList(getText(name, "name")), 0, random);
+            case "single":
+                return new ZipfNameGenerator(1, 0, random);
+            case "set":
+                if (name.has("names")) {
+                    final Set<String> names = Sets.newLinkedHashSet();
+                    for (final JsonNode value : name.get("names")) {
+                        names.add(value.asText());
+                    }
+                    return new ZipfNameGenerator(Lists.newArrayList(names), 0, random);
+                }
+                return new ZipfNameGenerator(getRequired(name, "size").asInt(), 0, random);
+            case "zipf":
+                return (ZipfNameGenerator) createNameGenerator(name, random);
+            default:
+                throw unknownType("name", type);
+        }
+    }
+
+    private static NameGenerator createName(final JsonNode node, final Xoshiro256PlusPlus random) {
+        return createNameGenerator(getRequired(node, "name"), random);
+    }
+
+    private static IllegalArgumentException unknownType(final String component, final String type) {
+        return new IllegalArgumentException("Unknown " + component + " type '" + type + "'");
+    }
+
+    private WorkloadComponents() { }
+}
@@ -0,0 +1,439 @@
+/*
+ * Copyright 2026 Inscope Metrics
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.arpnetworking.metrics.generator.config;
+
+import com.arpnetworking.metrics.generator.client.AsyncSink;
+import com.arpnetworking.metrics.generator.client.HistogramSink;
+import com.arpnetworking.metrics.generator.client.NetworkProtocol;
+import com.arpnetworking.metrics.generator.client.NetworkSink;
+import com.arpnetworking.metrics.generator.client.OutputEncoding;
+import com.arpnetworking.metrics.generator.client.OverflowPolicy;
+import com.arpnetworking.metrics.generator.client.RotationPolicy;
+import com.arpnetworking.metrics.generator.dimension.DimensionGenerator;
+import com.arpnetworking.metrics.generator.metric.MetricGenerator;
+import com.arpnetworking.metrics.generator.uow.UnitOfWorkGenerator;
+import com.arpnetworking.metrics.generator.uow.UnitOfWorkSchedule;
+import com.arpnetworking.metrics.generator.util.CatchUpPolicy;
+import com.arpnetworking.metrics.generator.util.Xoshiro256PlusPlus;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.common.collect.Lists;
+import com.google.common.net.HostAndPort;
+import net.sf.oval.exception.ConstraintsViolatedException;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.List;
+import java.util.Locale;
+import javax.annotation.Nullable;
+
+/**
+ * A workload described by a JSON document instead of code. For example:
+ *
+ * <pre>{@code
+ * {
+ *   "cluster": "MyPerformanceTestedCluster",
+ *   "service": "MyPerformanceTestedService",
+ *   "seed": 88,
+ *   "threads": 2,
+ *   "sink": {
+ *     "type": "file",
+ *     "path": "logs/generated-query",
+ *     "encoding": "json",
+ *     "rotation": {"maxBytes": 104857600, "interval": "PT1H", "fileNamePattern": "generated-query.%d{yyyy-MM-dd-HH}.%i"}
+ *   },
+ *   "schedules": [
+ *     {
+ *       "count": 2,
+ *       "scheduler": {"type": "poisson", "rate": 1000},
+ *       "metrics": [
+ *         {"type": "gaussian", "mean": 50, "stddev": 8, "name": {"type": "set", "size": 100}}
+ *       ],
+ *       "dimensions": [
+ *         {"type": "pool", "key": "host", "cardinality": 500, "exponent": 1.1},
+ *         {"type": "pool", "key": "region", "values": ["us-east", "eu-west"]}
+ *       ]
+ *     }
+ *   ]
+ * }
+ * }</pre>
+ *
+ * Units of work are generated in real-time unless an {@code interval} with a
+ * {@code start} time and a {@code duration} is given. Each schedule is
+ * repeated {@code count} times (default 1) and every repetition, and every
+ * metric, name and dimension generator and scheduler of it, has its own
+ * random stream split from the workload seed (see {@link Xoshiro256PlusPlus}),
+ * so a workload is reproducible and generates the same units of work for
+ * every schedule regardless of the threads it is executed on. See
+ * {@code WorkloadComponents} for the scheduler, metric, name and dimension
+ * types and {@link RotationPolicy} for the optional rotation of the sink.
+ * With {@code "threadPerSchedule": true} a real-time workload runs every
+ * repetition of every schedule on its own (virtual) thread instead of on
+ * {@code threads} worker threads, e.g. to simulate thousands of service
+ * instances from one process.
+ *
+ * A real-time workload can also be partitioned across several processes,
+ * see {@link #createSchedules(int, int)}.
+ *
+ * Instead of a file, a real-time workload can be sent to a network endpoint
+ * with a sink of type {@code tcp}, {@code udp} or {@code http}, for example
+ * {@code {"type": "http", "address": "localhost:7090", "httpPath": "/metrics"}}.
+ * See {@link NetworkSink}. Either sink of a real-time workload can be
+ * written from a queue by a separate thread with an {@code async} object, for
+ * example {@code "async": {"capacity": 65536, "overflowPolicy": "drop_oldest"}}.
+ * See {@link AsyncSink}.
+ *
+ * The timer samples of either sink can be written as histograms with a
+ * {@code histograms} object, for example
+ * {@code "histograms": {"bucket": "PT1S", "precision": 7}}, which combines
+ * the units of work of each second; without a {@code bucket} each unit of
+ * work is written with its own histograms. See {@link HistogramSink}.
+ *
+ * @author Brandon Arp (brandon dot arp at inscopemetrics dot io)
+ */
+public final class WorkloadSpecification {
+
+    private WorkloadSpecification(final JsonNode root) {
+        _clusterName = WorkloadComponents.getText(root, "cluster");
+        _serviceName = WorkloadComponents.getText(root, "service");
+        _seed = root.has("seed") ? root.get("seed").asLong() : DEFAULT_SEED;
+        _threads = readThreads(root);
+        _threadPerSchedule = root.has("threadPerSchedule") && root.get("threadPerSchedule").asBoolean();
+        _catchUpPolicy = root.has("catchUpPolicy")
+                ? CatchUpPolicy.valueOf(root.get("catchUpPolicy").asText().toUpperCase(Locale.ROOT))
+                : CatchUpPolicy.BURST;
+
+        final JsonNode sink = WorkloadComponents.getRequired(root, "sink");
+        final String sinkType = WorkloadComponents.getText(sink, "type");
+        _outputEncoding = sink.has("encoding")
+                ? OutputEncoding.valueOf(sink.get("encoding").asText().toUpperCase(Locale.ROOT))
+                : OutputEncoding.JSON;
+        if ("file".equals(sinkType)) {
+            _outputPath = Paths.get(WorkloadComponents.getText(sink, "path"));
+            final JsonNode rotation = sink.get("rotation");
+            _rotationPolicy = rotation == null ? null : createRotationPolicy(rotation);
+            _networkSink = null;
+        } else if ("tcp".equals(sinkType) || "udp".equals(sinkType) || "http".equals(sinkType)) {
+            _outputPath = null;
+            _rotationPolicy = null;
+            _networkSink = createNetworkSink(sink, NetworkProtocol.valueOf(sinkType.toUpperCase(Locale.ROOT)), _outputEncoding);
+        } else {
+            throw new IllegalArgumentException("Unknown sink type '" + sinkType + "'");
+        }
+        _asyncSink = sink.has("async") ? createAsyncSink(sink.get("async")) : null;
+        _histogramSink = sink.has("histograms") ? createHistogramSink(sink.get("histograms")) : null;
+
+        final JsonNode interval = root.get("interval");
+        if (interval != null) {
+            try {
+                _intervalStart = ZonedDateTime.parse(WorkloadComponents.getText(interval, "start"));
+            } catch (final DateTimeParseException e) {
+                throw new IllegalArgumentException("Field 'start' must be an ISO-8601 time in " + interval, e);
+            }
+            _intervalDuration = WorkloadComponents.getDuration(interval, "duration");
+            if (_networkSink != null || _asyncSink != null || _threadPerSchedule) {
+                throw new IllegalArgumentException(
+                        "Network and async sinks and threads per schedule can only be used in real-time in " + root);
+            }
+        } else {
+            _intervalStart = null;
+            _intervalDuration = null;
+        }
+
+        _schedules = readSchedules(root);
+    }
+
+    /**
+     * Reads a workload specification from a file.
+     *
+     * @param file The file to read.
+     * @return The workload specification.
+     * @throws IOException If the file cannot be read or is not JSON.
+     */
+    public static WorkloadSpecification read(final Path file) throws IOException {
+        return parse(OBJECT_MAPPER.readTree(file.toFile()));
+    }
+
+    /**
+     * Parses a workload specification. The schedules are created once to
+     * validate them.
+     *
+     * @param root The root node of the specification.
+     * @return The workload specification.
+     */
+    public static WorkloadSpecification parse(final JsonNode root) {
+        final WorkloadSpecification specification = new WorkloadSpecification(root);
+        specification.createSchedules();
+        return specification;
+    }
+
+    /**
+     * Creates the unit of work schedules. Every call creates new schedules
+     * with the same sequence of random values.
+     *
+     * @return The unit of work schedules.
+     */
+    public List<UnitOfWorkSchedule> createSchedules() {
+        return createSchedules(0, 1);
+    }
+
+    /**
+     * Creates the partition of the unit of work schedules executed by one of
+     * several workers. The repetitions of the schedules are assigned to the
+     * workers round robin and keep the random sources they have when all
+     * schedules are created, so the partitions of all workers together
+     * generate the same workload as a single worker without any two workers
+     * sharing a random stream.
+     *
+     * @param worker The index of the worker.
+     * @param workerCount The number of workers.
+     * @return The unit of work schedules of the worker.
+     */
+    public List<UnitOfWorkSchedule> createSchedules(final int worker, final int workerCount) {
+        if (worker < 0 || worker >= workerCount) {
+            throw new IllegalArgumentException("Worker " + worker + " is not one of " + workerCount + " workers");
+        }
+        final Xoshiro256PlusPlus root = new Xoshiro256PlusPlus(_seed);
+        final List<UnitOfWorkSchedule> schedules = Lists.newArrayList();
+        int repetition = 0;
+        for (final JsonNode schedule : _schedules) {
+            final int count = schedule.has("count") ? schedule.get("count").asInt() : 1;
+            for (int i = 0; i < count; ++i) {
+                // Split the random of every repetition to keep the streams independent of the partition
+                final Xoshiro256PlusPlus random = root.split();
+                if (repetition++ % workerCount != worker) {
+                    continue;
+                }
+                final List<MetricGenerator> metricGenerators = Lists.newArrayList();
+                for (final JsonNode metric : WorkloadComponents.getRequired(schedule, "metrics")) {
+                    metricGenerators.add(WorkloadComponents.createMetricGenerator(metric, random.split()));
+                }
+                final List<DimensionGenerator> dimensionGenerators = Lists.newArrayList();
+                if (schedule.has("dimensions")) {
+                    for (final JsonNode dimension : schedule.get("dimensions")) {
+                        dimensionGenerators.add(WorkloadComponents.createDimensionGenerator(dimension, random.split()));
+                    }
+                }
+                schedules.add(new UnitOfWorkSchedule(
+                        new UnitOfWorkGenerator(metricGenerators, dimensionGenerators),
+                        WorkloadComponents.createScheduler(
+                                WorkloadComponents.getRequired(schedule, "scheduler"),
+                                random.split())));
+            }
+        }
+        return schedules;
+    }
+
+    public String getClusterName() {
+        return _clusterName;
+    }
+
+    public String getServiceName() {
+        return _serviceName;
+    }
+
+    public int getThreads() {
+        return _threads;
+    }
+
+    public boolean isThreadPerSchedule() {
+        return _threadPerSchedule;
+    }
+
+    /**
+     * Gets the file to write to, if the sink is a file.
+     *
+     * @return The output path or null for a network sink.
+     */
+    @Nullable
+    public Path getOutputPath() {
+        return _outputPath;
+    }
+
+    /**
+     * Gets the builder of the network sink to send to, if the sink is a
+     * network sink.
+     *
+     * @return The network sink builder or null for a file sink.
+     */
+    @Nullable
+    public NetworkSink.Builder getNetworkSink() {
+        return _networkSink;
+    }
+
+    /**
+     * Gets the builder of the queue to write the sink from, if the sink is
+     * written asynchronously.
+     *
+     * @return The async sink builder or null to write on the worker threads.
+     */
+    @Nullable
+    public AsyncSink.Builder getAsyncSink() {
+        return _asyncSink;
+    }
+
+    /**
+     * Gets the builder of the sink to aggregate timer samples into
+     * histograms with, if the samples are written as histograms.
+     *
+     * @return The histogram sink builder or null to write the samples.
+     */
+    @Nullable
+    public HistogramSink.Builder getHistogramSink() {
+        return _histogramSink;
+    }
+
+    public OutputEncoding getOutputEncoding() {
+        return _outputEncoding;
+    }
+
+    @Nullable
+    public RotationPolicy getRotationPolicy() {
+        return _rotationPolicy;
+    }
+
+    public CatchUpPolicy getCatchUpPolicy() {
+        return _catchUpPolicy;
+    }
+
+    /**
+     * Gets the start of the interval to generate, if this workload is not
+     * generated in real-time.
+     *
+     * @return The interval start or null for a real-time workload.
+     */
+    @Nullable
+    public ZonedDateTime getIntervalStart() {
+        return _intervalStart;
+    }
+
+    /**
+     * Gets the duration of the interval to generate, if this workload is
+     * not generated in real-time.
+     *
+     * @return The interval duration or null for a real-time workload.
+     */
+    @Nullable
+    public Duration getIntervalDuration() {
+        return _intervalDuration;
+    }
+
+    private static NetworkSink.Builder createNetworkSink(
+            final JsonNode node,
+            final NetworkProtocol protocol,
+            final OutputEncoding encoding) {
+        final HostAndPort address = HostAndPort.fromString(WorkloadComponents.getText(node, "address"));
+        final NetworkSink.Builder builder = new NetworkSink.Builder()
+                .setAddress(new InetSocketAddress(address.getHost(), address.getPort()))
+                .setProtocol(protocol)
+                .setEncoding(encoding);
+        if (node.has("httpPath")) {
+            builder.setHttpPath(WorkloadComponents.getText(node, "httpPath"));
+        }
+        if (node.has("dropOnBackpressure")) {
+            builder.setDropOnBackpressure(node.get("dropOnBackpressure").asBoolean());
+        }
+        return builder;
+    }
+
+    private static int readThreads(final JsonNode root) {
+        final int threads = root.has("threads") ? root.get("threads").asInt() : 1;
+        if (threads < 1) {
+            throw new IllegalArgumentException("Field 'threads' must be positive in " + root);
+        }
+        return threads;
+    }
+
+    private static JsonNode readSchedules(final JsonNode root) {
+        final JsonNode schedules = WorkloadComponents.getRequired(root, "schedules");
+        if (!schedules.isArray() || schedules.isEmpty()) {
+            throw new IllegalArgumentException("Field 'schedules' must be a non-empty array");
+        }
+        return schedules;
+    }
+
+    private static AsyncSink.Builder createAsyncSink(final JsonNode node) {
+        final AsyncSink.Builder builder = new AsyncSink.Builder();
+        if (node.has("capacity")) {
+            builder.setCapacity(node.get("capacity").asInt());
+        }
+        if (node.has("batchSize")) {
+            builder.setBatchSize(node.get("batchSize").asInt());
+        }
+        if (node.has("overflowPolicy")) {
+            builder.setOverflowPolicy(
+                    OverflowPolicy.valueOf(WorkloadComponents.getText(node, "overflowPolicy").toUpperCase(Locale.ROOT)));
+        }
+        return builder;
+    }
+
+    private static HistogramSink.Builder createHistogramSink(final JsonNode node) {
+        final HistogramSink.Builder builder = new HistogramSink.Builder();
+        if (node.has("bucket")) {
+            builder.setBucketDuration(WorkloadComponents.getDuration(node, "bucket"));
+        }
+        if (node.has("precision")) {
+            builder.setPrecision(node.get("precision").asInt());
+        }
+        return builder;
+    }
+
+    private static RotationPolicy createRotationPolicy(final JsonNode node) {
+        final RotationPolicy.Builder builder = new RotationPolicy.Builder()
+                .setMaxBytes(node.has("maxBytes") ? node.get("maxBytes").asLong() : null)
+                .setInterval(node.has("interval") ? WorkloadComponents.getDuration(node, "interval") : null)
+                .setFileNamePattern(node.has("fileNamePattern") ? WorkloadComponents.getText(node, "fileNamePattern") : null);
+        if (node.has("syncInterval")) {
+            builder.setSyncInterval(WorkloadComponents.getDuration(node, "syncInterval"));
+        }
+        try {
+            return builder.build();
+        } catch (final ConstraintsViolatedException e) {
+            throw new IllegalArgumentException("Invalid rotation " + node, e);
+        }
+    }
+
+    private final String _clusterName;
+    private final String _serviceName;
+    private final long _seed;
+    private final int _threads;
+    private final boolean _threadPerSchedule;
+    private final CatchUpPolicy _catchUpPolicy;
+    @Nullable
+    private final Path _outputPath;
+    @Nullable
+    private final NetworkSink.Builder _networkSink;
+    @Nullable
+    private final AsyncSink.Builder _asyncSink;
+    @Nullable
+    private final HistogramSink.Builder _histogramSink;
+    private final OutputEncoding _outputEncoding;
+    @Nullable
+    private final RotationPolicy _rotationPolicy;
+    @Nullable
+    private final ZonedDateTime _intervalStart;
+    @Nullable
+    private final Duration _intervalDuration;
+    private final JsonNode _schedules;
+
+    private static final long DEFAULT_SEED = 88;
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright 2014 Groupon.com
+ * Copyright 2026 Inscope Metrics
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -13,22 +13,20 @@
  * See the License for the specific language governing permissions and
  * limitations under the License.
  */
-package com.arpnetworking.metrics.generator.util;
+package com.arpnetworking.metrics.generator.dimension;
 
-import java.io.Serializable;
-import java.util.Comparator;
+import com.arpnetworking.metrics.Metrics;
 
 /**
- * A default ordering for a {@link WorkEntry}.
+ * Generates a dimension (annotation) on a {@link Metrics} object.
  *
- * @author Brandon Arp (barp at groupon dot com)
+ * @author Brandon Arp (brandon dot arp at inscopemetrics dot io)
  */
-class WorkItemOrdering implements Comparator<WorkEntry>, Serializable {
-
-    @Override
-    public int compare(final WorkEntry o1, final WorkEntry o2) {
-        return Long.compare(o1.getCurrentValue(), o2.getCurrentValue());
-    }
-
-    private static final long serialVersionUID = -7812605920313005784L;
+public interface DimensionGenerator {
+    /**
+     * Generates a dimension.
+     *
+     * @param metrics {@link Metrics} on which the dimension will be generated.
+     */
+    void generate(Metrics metrics);
 }
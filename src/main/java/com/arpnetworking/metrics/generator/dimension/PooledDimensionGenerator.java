@@ -0,0 +1,93 @@
+/*
+ * Copyright 2026 Inscope Metrics
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.arpnetworking.metrics.generator.dimension;
+
+import com.arpnetworking.metrics.Metrics;
+import com.arpnetworking.metrics.generator.name.ZipfNameGenerator;
+import com.google.common.collect.Lists;
+import org.apache.commons.math3.random.RandomGenerator;
+
+import java.util.List;
+
+/**
+ * Generates a dimension with a value picked from a pool that is created up
+ * front. The popularity of the values follows a Zipf distribution with the
+ * given exponent; an exponent of 0 picks the values uniformly.
+ *
+ * @author Brandon Arp (brandon dot arp at inscopemetrics dot io)
+ */
+public final class PooledDimensionGenerator implements DimensionGenerator {
+    /**
+     * Public constructor. The pool holds the values {@code key-0} through
+     * {@code key-(cardinality - 1)} ranked in that order.
+     *
+     * @param key The dimension key.
+     * @param cardinality The number of values.
+     * @param exponent The exponent of the value popularity.
+     * @param generator Generator used to pick the values.
+     */
+    public PooledDimensionGenerator(
+            final String key,
+            final int cardinality,
+            final double exponent,
+            final RandomGenerator generator) {
+        this(key, createValues(key, cardinality), exponent, generator);
+    }
+
+    /**
+     * Public constructor. The values are ranked by their order in the list.
+     *
+     * @param key The dimension key.
+     * @param values The values to pick from.
+     * @param exponent The exponent of the value popularity.
+     * @param generator Generator used to pick the values.
+     */
+    public PooledDimensionGenerator(
+            final String key,
+            final List<String> values,
+            final double exponent,
+            final RandomGenerator generator) {
+        if (key.isEmpty() || key.startsWith("_")) {
+            throw new IllegalArgumentException("Dimension keys must not be empty or reserved; key=" + key);
+        }
+        _key = key;
+        _values = new ZipfNameGenerator(values, exponent, generator);
+    }
+
+    @Override
+    public void generate(final Metrics metrics) {
+        metrics.addAnnotation(_key, _values.getName());
+    }
+
+    public String getKey() {
+        return _key;
+    }
+
+    public int getCardinality() {
+        return _values.getCardinality();
+    }
+
+    private static List<String> createValues(final String key, final int cardinality) {
+        final List<String> values = Lists.newArrayListWithCapacity(Math.max(0, cardinality));
+        for (int i = 0; i < cardinality; ++i) {
+            values.add(key + "-" + i);
+        }
+        return values;
+    }
+
+    private final String _key;
+    private final ZipfNameGenerator _values;
+}
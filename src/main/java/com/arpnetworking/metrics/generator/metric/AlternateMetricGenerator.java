@@ -15,17 +15,14 @@
  */
 package com.arpnetworking.metrics.generator.metric;
 
-import com.arpnetworking.metrics.Metrics;
 import com.arpnetworking.metrics.generator.name.NameGenerator;
 
-import java.util.concurrent.TimeUnit;
-
 /**
  * Generates a timer that alternates between a high and a low value.
  *
  * @author Brandon Arp (barp at groupon dot com)
  */
-public class AlternateMetricGenerator implements MetricGenerator {
+public class AlternateMetricGenerator extends SampledMetricGenerator {
     /**
      * Public constructor.
      *
@@ -34,23 +31,20 @@ public class AlternateMetricGenerator implements MetricGenerator {
      * @param nameGenerator The name generator to name the metric created.
      */
     public AlternateMetricGenerator(final double high, final double low, final NameGenerator nameGenerator) {
+        super(nameGenerator);
         _high = high;
         _low = low;
-        _nameGenerator = nameGenerator;
     }
 
     @Override
-    public void generate(final Metrics metrics) {
-        _odd = !_odd;
-        if (_odd) {
-            metrics.setTimer(_nameGenerator.getName(), (long) _high, TimeUnit.MILLISECONDS);
-        } else {
-            metrics.setTimer(_nameGenerator.getName(), (long) _low, TimeUnit.MILLISECONDS);
+    public void fill(final double[] samples, final int count) {
+        for (int i = 0; i < count; ++i) {
+            _odd = !_odd;
+            samples[i] = _odd ? (long) _high : (long) _low;
         }
     }
 
     private boolean _odd = true;
     private final double _high;
     private final double _low;
-    private final NameGenerator _nameGenerator;
 }
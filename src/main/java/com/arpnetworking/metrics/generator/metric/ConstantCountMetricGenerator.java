@@ -36,8 +36,13 @@ public class ConstantCountMetricGenerator implements MetricGenerator {
 
     @Override
     public void generate(final Metrics metrics) {
-        for (int x = 0; x < _count; x++) {
-            _wrapped.generate(metrics);
+        _wrapped.generate(metrics, _count);
+    }
+
+    @Override
+    public void generate(final Metrics metrics, final int count, final long epochNanos) {
+        for (int x = 0; x < count; x++) {
+            _wrapped.generate(metrics, _count, epochNanos);
         }
     }
 
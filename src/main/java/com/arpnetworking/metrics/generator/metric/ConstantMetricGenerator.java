@@ -15,17 +15,16 @@
  */
 package com.arpnetworking.metrics.generator.metric;
 
-import com.arpnetworking.metrics.Metrics;
 import com.arpnetworking.metrics.generator.name.NameGenerator;
 
-import java.util.concurrent.TimeUnit;
+import java.util.Arrays;
 
 /**
  * Generates a metric sample with a constant value.
  *
  * @author Brandon Arp (barp at groupon dot com)
  */
-public class ConstantMetricGenerator implements MetricGenerator {
+public class ConstantMetricGenerator extends SampledMetricGenerator {
     /**
      * Public constructor.
      *
@@ -33,18 +32,14 @@ public class ConstantMetricGenerator implements MetricGenerator {
      * @param nameGenerator The name generator to name the metric created.
      */
     public ConstantMetricGenerator(final long value, final NameGenerator nameGenerator) {
+        super(nameGenerator);
         _value = value;
-        _nameGenerator = nameGenerator;
     }
 
     @Override
-    public void generate(final Metrics metrics) {
-        metrics.setTimer(
-                _nameGenerator.getName(),
-                _value,
-                TimeUnit.MILLISECONDS);
+    public void fill(final double[] samples, final int count) {
+        Arrays.fill(samples, 0, count, _value);
     }
 
     private final long _value;
-    private final NameGenerator _nameGenerator;
 }
@@ -0,0 +1,80 @@
+/*
+ * Copyright 2026 Inscope Metrics
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.arpnetworking.metrics.generator.metric;
+
+import com.arpnetworking.metrics.Metrics;
+import com.arpnetworking.metrics.generator.name.ZipfNameGenerator;
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+import org.apache.commons.math3.random.RandomGenerator;
+
+/**
+ * Generates monotonic counters: each value of a series is the number of
+ * events of a Poisson process since the previous value of the series, so
+ * the running total of every series only grows and does so at the rate on
+ * average however irregularly the series is generated.
+ *
+ * @author Brandon Arp (brandon dot arp at inscopemetrics dot io)
+ */
+public final class CounterMetricGenerator extends SeriesMetricGenerator {
+    /**
+     * Public constructor.
+     *
+     * @param rate The mean number of events per second of each series.
+     * @param names The names of the series.
+     * @param random Source for random
+     */
+    @SuppressFBWarnings(value = "EI_EXPOSE_REP2", justification = "we actually want to be able to control the random")
+    public CounterMetricGenerator(final double rate, final ZipfNameGenerator names, final RandomGenerator random) {
+        super(names);
+        if (rate < 0) {
+            throw new IllegalArgumentException("Rate must not be negative; rate=" + rate);
+        }
+        _rate = rate;
+        _random = random;
+        _sampler = new GaussianSampler(random);
+    }
+
+    @Override
+    protected void sample(
+            final Metrics metrics,
+            final String name,
+            final int series,
+            final double elapsedSeconds,
+            final long epochNanos) {
+        metrics.incrementCounter(name, nextPoisson(_rate * elapsedSeconds));
+    }
+
+    private long nextPoisson(final double mean) {
+        if (mean >= NORMAL_APPROXIMATION_MEAN) {
+            return Math.max(0, Math.round(_sampler.next(mean, Math.sqrt(mean))));
+        }
+        // Knuth: count the uniform draws whose product stays above exp(-mean)
+        final double limit = Math.exp(-mean);
+        long count = 0;
+        double product = _random.nextDouble();
+        while (product > limit) {
+            ++count;
+            product *= _random.nextDouble();
+        }
+        return count;
+    }
+
+    private final double _rate;
+    private final RandomGenerator _random;
+    private final GaussianSampler _sampler;
+
+    private static final double NORMAL_APPROXIMATION_MEAN = 30;
+}
@@ -16,7 +16,6 @@
 package com.arpnetworking.metrics.generator.metric;
 
 import com.arpnetworking.metrics.Metrics;
-import org.apache.commons.math3.random.RandomDataGenerator;
 import org.apache.commons.math3.random.RandomGenerator;
 
 /**
@@ -38,19 +37,23 @@ public class GaussianCountMetricGenerator implements MetricGenerator {
         _mu = mu;
         _sigma = sigma;
         _wrapped = wrapped;
-        _generator = new RandomDataGenerator(random);
+        _sampler = new GaussianSampler(random);
     }
 
     @Override
     public void generate(final Metrics metrics) {
-        final int count = (int) _generator.nextGaussian(_mu, _sigma);
+        _wrapped.generate(metrics, (int) _sampler.next(_mu, _sigma));
+    }
+
+    @Override
+    public void generate(final Metrics metrics, final int count, final long epochNanos) {
         for (int x = 0; x < count; x++) {
-            _wrapped.generate(metrics);
+            _wrapped.generate(metrics, (int) _sampler.next(_mu, _sigma), epochNanos);
         }
     }
 
     private final double _mu;
     private final double _sigma;
     private final MetricGenerator _wrapped;
-    private final RandomDataGenerator _generator;
+    private final GaussianSampler _sampler;
 }
@@ -15,19 +15,15 @@
  */
 package com.arpnetworking.metrics.generator.metric;
 
-import com.arpnetworking.metrics.Metrics;
 import com.arpnetworking.metrics.generator.name.NameGenerator;
-import org.apache.commons.math3.random.RandomDataGenerator;
 import org.apache.commons.math3.random.RandomGenerator;
 
-import java.util.concurrent.TimeUnit;
-
 /**
  * Generates a timer with a Gaussian distribution.
  *
  * @author Brandon Arp (barp at groupon dot com)
  */
-public class GaussianMetricGenerator implements MetricGenerator {
+public class GaussianMetricGenerator extends SampledMetricGenerator {
     /**
      * Public constructor.
      *
@@ -41,22 +37,18 @@ public class GaussianMetricGenerator implements MetricGenerator {
             final double sigma,
             final NameGenerator nameGenerator,
             final RandomGenerator random) {
+        super(nameGenerator);
         _mu = mu;
         _sigma = sigma;
-        _nameGenerator = nameGenerator;
-        _generator = new RandomDataGenerator(random);
+        _sampler = new GaussianSampler(random);
     }
 
     @Override
-    public void generate(final Metrics metrics) {
-        metrics.setTimer(
-                _nameGenerator.getName(),
-                Math.round(_generator.nextGaussian(_mu, _sigma)),
-                TimeUnit.MILLISECONDS);
+    public void fill(final double[] samples, final int count) {
+        _sampler.fill(samples, count, _mu, _sigma);
     }
 
     private final double _mu;
     private final double _sigma;
-    private final NameGenerator _nameGenerator;
-    private final RandomDataGenerator _generator;
+    private final GaussianSampler _sampler;
 }
@@ -0,0 +1,92 @@
+/*
+ * Copyright 2026 Inscope Metrics
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.arpnetworking.metrics.generator.metric;
+
+import com.arpnetworking.metrics.Metrics;
+import com.arpnetworking.metrics.generator.name.ZipfNameGenerator;
+import org.apache.commons.math3.random.RandomGenerator;
+
+import java.time.Duration;
+import java.util.Arrays;
+
+/**
+ * Generates gauges that revert to a mean (an Ornstein-Uhlenbeck process):
+ * the expected distance of a series from the mean halves every half-life
+ * and the values are normally distributed around the mean with the given
+ * standard deviation in the long run. Each step is sampled exactly for the
+ * time since the previous value of the series, so the process is the same
+ * however irregularly the series is generated. The first value of each
+ * series is drawn from the long run distribution.
+ *
+ * @author Brandon Arp (brandon dot arp at inscopemetrics dot io)
+ */
+public final class MeanRevertingMetricGenerator extends SeriesMetricGenerator {
+    /**
+     * Public constructor.
+     *
+     * @param mean The long run mean of the values.
+     * @param stddev The long run standard deviation of the values.
+     * @param halfLife The time for the expected distance from the mean to halve.
+     * @param names The names of the series.
+     * @param random Source for random
+     */
+    public MeanRevertingMetricGenerator(
+            final double mean,
+            final double stddev,
+            final Duration halfLife,
+            final ZipfNameGenerator names,
+            final RandomGenerator random) {
+        super(names);
+        if (halfLife.isNegative() || halfLife.isZero()) {
+            throw new IllegalArgumentException("Half-life must be positive; halfLife=" + halfLife);
+        }
+        _mean = mean;
+        _stddev = stddev;
+        _reversionPerSecond = Math.log(2) * NANOS_PER_SECOND / halfLife.toNanos();
+        _sampler = new GaussianSampler(random);
+        _values = new double[getSeriesCount()];
+        Arrays.fill(_values, Double.NaN);
+    }
+
+    @Override
+    protected void sample(
+            final Metrics metrics,
+            final String name,
+            final int series,
+            final double elapsedSeconds,
+            final long epochNanos) {
+        final double previous = _values[series];
+        final double value;
+        if (Double.isNaN(previous)) {
+            value = _sampler.next(_mean, _stddev);
+        } else if (elapsedSeconds > 0) {
+            final double decay = Math.exp(-_reversionPerSecond * elapsedSeconds);
+            value = _sampler.next(_mean + (previous - _mean) * decay, _stddev * Math.sqrt(1 - decay * decay));
+        } else {
+            value = previous;
+        }
+        _values[series] = value;
+        metrics.setGauge(name, value);
+    }
+
+    private final double _mean;
+    private final double _stddev;
+    private final double _reversionPerSecond;
+    private final GaussianSampler _sampler;
+    private final double[] _values;
+
+    private static final double NANOS_PER_SECOND = Duration.ofSeconds(1).toNanos();
+}
@@ -29,4 +29,30 @@ public interface MetricGenerator {
      * @param metrics {@link Metrics} on which the metric will be generated.
      */
     void generate(Metrics metrics);
+
+    /**
+     * Generates a number of metrics.
+     *
+     * @param metrics {@link Metrics} on which the metrics will be generated.
+     * @param count The number of metrics to generate.
+     */
+    default void generate(final Metrics metrics, final int count) {
+        for (int x = 0; x < count; x++) {
+            generate(metrics);
+        }
+    }
+
+    /**
+     * Generates a number of metrics for a unit of work executed at a time.
+     * Generators whose values depend on the time, like those extending
+     * {@link SeriesMetricGenerator}, override this; by default the time is
+     * ignored.
+     *
+     * @param metrics {@link Metrics} on which the metrics will be generated.
+     * @param count The number of metrics to generate.
+     * @param epochNanos The time of the unit of work in nanoseconds since the epoch.
+     */
+    default void generate(final Metrics metrics, final int count, final long epochNanos) {
+        generate(metrics, count);
+    }
 }
@@ -0,0 +1,91 @@
+/*
+ * Copyright 2026 Inscope Metrics
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.arpnetworking.metrics.generator.metric;
+
+import com.arpnetworking.metrics.Metrics;
+import com.arpnetworking.metrics.generator.name.ZipfNameGenerator;
+import org.apache.commons.math3.random.RandomGenerator;
+
+import java.util.Arrays;
+
+/**
+ * Generates gauges that follow a random walk (Brownian motion): each value
+ * of a series is its previous value plus a Gaussian step whose standard
+ * deviation grows with the square root of the time since then. The walk is
+ * reflected at the optional bounds.
+ *
+ * @author Brandon Arp (brandon dot arp at inscopemetrics dot io)
+ */
+public final class RandomWalkMetricGenerator extends SeriesMetricGenerator {
+    /**
+     * Public constructor.
+     *
+     * @param initial The first value of each series.
+     * @param stddev The standard deviation of the change over one second.
+     * @param min The lower bound of the values.
+     * @param max The upper bound of the values.
+     * @param names The names of the series.
+     * @param random Source for random
+     */
+    public RandomWalkMetricGenerator(
+            final double initial,
+            final double stddev,
+            final double min,
+            final double max,
+            final ZipfNameGenerator names,
+            final RandomGenerator random) {
+        super(names);
+        if (!(min <= initial && initial <= max)) {
+            throw new IllegalArgumentException("Initial value must be within the bounds; initial=" + initial
+                    + ", min=" + min + ", max=" + max);
+        }
+        _stddev = stddev;
+        _min = min;
+        _max = max;
+        _sampler = new GaussianSampler(random);
+        _values = new double[getSeriesCount()];
+        Arrays.fill(_values, initial);
+    }
+
+    @Override
+    protected void sample(
+            final Metrics metrics,
+            final String name,
+            final int series,
+            final double elapsedSeconds,
+            final long epochNanos) {
+        double value = _values[series];
+        if (elapsedSeconds > 0) {
+            value = _sampler.next(value, _stddev * Math.sqrt(elapsedSeconds));
+            if (value > _max) {
+                value = 2 * _max - value;
+            }
+            if (value < _min) {
+                value = 2 * _min - value;
+            }
+            // Steps longer than the range are clamped rather than reflected again
+            value = Math.min(_max, Math.max(_min, value));
+            _values[series] = value;
+        }
+        metrics.setGauge(name, value);
+    }
+
+    private final double _stddev;
+    private final double _min;
+    private final double _max;
+    private final GaussianSampler _sampler;
+    private final double[] _values;
+}
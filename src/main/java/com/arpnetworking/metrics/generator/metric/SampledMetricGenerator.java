@@ -0,0 +1,62 @@
+/*
+ * Copyright 2026 Inscope Metrics
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.arpnetworking.metrics.generator.metric;
+
+import com.arpnetworking.metrics.Metrics;
+import com.arpnetworking.metrics.generator.name.NameGenerator;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Base for metric generators that record timer samples drawn by a
+ * {@link SampleGenerator}. The samples of a call are generated as one batch
+ * into a reused array and then recorded, so subclasses only implement
+ * {@link #fill(double[], int)}.
+ *
+ * @author Brandon Arp (brandon dot arp at inscopemetrics dot io)
+ */
+public abstract class SampledMetricGenerator implements MetricGenerator, SampleGenerator {
+    /**
+     * Protected constructor.
+     *
+     * @param nameGenerator The name generator to name the metric created.
+     */
+    protected SampledMetricGenerator(final NameGenerator nameGenerator) {
+        _nameGenerator = nameGenerator;
+    }
+
+    @Override
+    public void generate(final Metrics metrics) {
+        generate(metrics, 1);
+    }
+
+    @Override
+    public void generate(final Metrics metrics, final int count) {
+        if (count > _samples.length) {
+            _samples = new double[Math.max(count, _samples.length * 2)];
+        }
+        final double[] samples = _samples;
+        fill(samples, count);
+        for (int i = 0; i < count; ++i) {
+            metrics.setTimer(_nameGenerator.getName(), Math.round(samples[i]), TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private final NameGenerator _nameGenerator;
+    private double[] _samples = new double[INITIAL_BATCH_SIZE];
+
+    private static final int INITIAL_BATCH_SIZE = 32;
+}
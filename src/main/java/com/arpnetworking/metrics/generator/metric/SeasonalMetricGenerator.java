@@ -0,0 +1,80 @@
+/*
+ * Copyright 2026 Inscope Metrics
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.arpnetworking.metrics.generator.metric;
+
+import com.arpnetworking.metrics.Metrics;
+import com.arpnetworking.metrics.generator.name.ZipfNameGenerator;
+import org.apache.commons.math3.random.RandomGenerator;
+
+import java.time.Duration;
+
+/**
+ * Generates gauges with a seasonal pattern: a cosine of the time of the
+ * unit of work that peaks at an offset into each period, e.g. a daily
+ * traffic peak, plus Gaussian noise. Every series shares the pattern.
+ *
+ * @author Brandon Arp (brandon dot arp at inscopemetrics dot io)
+ */
+public final class SeasonalMetricGenerator extends SeriesMetricGenerator {
+    /**
+     * Public constructor.
+     *
+     * @param mean The mean of the values over a period.
+     * @param amplitude The distance of the peak from the mean.
+     * @param period The period of the pattern.
+     * @param peak The offset of the peak into the period, from the epoch.
+     * @param stddev The standard deviation of the noise.
+     * @param names The names of the series.
+     * @param random Source for random
+     */
+    public SeasonalMetricGenerator(
+            final double mean,
+            final double amplitude,
+            final Duration period,
+            final Duration peak,
+            final double stddev,
+            final ZipfNameGenerator names,
+            final RandomGenerator random) {
+        super(names);
+        if (period.isNegative() || period.isZero()) {
+            throw new IllegalArgumentException("Period must be positive; period=" + period);
+        }
+        _mean = mean;
+        _amplitude = amplitude;
+        _periodNanos = period.toNanos();
+        _peakNanos = peak.toNanos();
+        _stddev = stddev;
+        _sampler = new GaussianSampler(random);
+    }
+
+    @Override
+    protected void sample(
+            final Metrics metrics,
+            final String name,
+            final int series,
+            final double elapsedSeconds,
+            final long epochNanos) {
+        final double phase = (double) Math.floorMod(epochNanos - _peakNanos, _periodNanos) / _periodNanos;
+        metrics.setGauge(name, _sampler.next(_mean + _amplitude * Math.cos(2 * Math.PI * phase), _stddev));
+    }
+
+    private final double _mean;
+    private final double _amplitude;
+    private final long _periodNanos;
+    private final long _peakNanos;
+    private final double _stddev;
+    private final GaussianSampler _sampler;
+}
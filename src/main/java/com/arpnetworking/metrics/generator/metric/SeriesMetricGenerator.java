@@ -0,0 +1,103 @@
+/*
+ * Copyright 2026 Inscope Metrics
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.arpnetworking.metrics.generator.metric;
+
+import com.arpnetworking.metrics.Metrics;
+import com.arpnetworking.metrics.generator.name.ZipfNameGenerator;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Base for metric generators that model each name as a time series whose
+ * next value depends on its previous one and on the time since then. Every
+ * call picks a series with a {@link ZipfNameGenerator} and generates its
+ * value at the time of the unit of work, so the series evolve in generated
+ * time in both interval and real-time execution.
+ *
+ * The state of the series is kept in primitive arrays indexed by series,
+ * here the time each series was last generated and in subclasses their
+ * values, so millions of series take a few bytes each. The first value of
+ * a series is generated with no time elapsed. Time elapsed is never
+ * negative, even if units of work are executed out of order.
+ *
+ * @author Brandon Arp (brandon dot arp at inscopemetrics dot io)
+ */
+public abstract class SeriesMetricGenerator implements MetricGenerator {
+    /**
+     * Protected constructor.
+     *
+     * @param names The names of the series, picked for each value.
+     */
+    protected SeriesMetricGenerator(final ZipfNameGenerator names) {
+        _names = names;
+        _lastNanos = new long[names.getCardinality()];
+        Arrays.fill(_lastNanos, UNSET);
+    }
+
+    @Override
+    public void generate(final Metrics metrics) {
+        generate(metrics, 1);
+    }
+
+    /**
+     * Generates a number of metrics at the current time.
+     *
+     * @param metrics {@link Metrics} on which the metrics will be generated.
+     * @param count The number of metrics to generate.
+     */
+    @Override
+    public void generate(final Metrics metrics, final int count) {
+        generate(metrics, count, TimeUnit.MILLISECONDS.toNanos(System.currentTimeMillis()));
+    }
+
+    @Override
+    public void generate(final Metrics metrics, final int count, final long epochNanos) {
+        for (int i = 0; i < count; ++i) {
+            final int series = _names.nextIndex();
+            final long last = _lastNanos[series];
+            final double elapsedSeconds = last == UNSET ? 0 : Math.max(0, epochNanos - last) / NANOS_PER_SECOND;
+            _lastNanos[series] = Math.max(last, epochNanos);
+            sample(metrics, _names.getName(series), series, elapsedSeconds, epochNanos);
+        }
+    }
+
+    /**
+     * Gets the number of series.
+     *
+     * @return The number of series.
+     */
+    protected int getSeriesCount() {
+        return _lastNanos.length;
+    }
+
+    /**
+     * Generates the next value of a series.
+     *
+     * @param metrics {@link Metrics} on which the value will be generated.
+     * @param name The name of the series.
+     * @param series The index of the series.
+     * @param elapsedSeconds The time since the previous value of the series in seconds.
+     * @param epochNanos The time of the value in nanoseconds since the epoch.
+     */
+    protected abstract void sample(Metrics metrics, String name, int series, double elapsedSeconds, long epochNanos);
+
+    private final ZipfNameGenerator _names;
+    private final long[] _lastNanos;
+
+    private static final long UNSET = Long.MIN_VALUE;
+    private static final double NANOS_PER_SECOND = TimeUnit.SECONDS.toNanos(1);
+}
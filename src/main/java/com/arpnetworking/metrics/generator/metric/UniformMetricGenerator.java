@@ -15,19 +15,16 @@
  */
 package com.arpnetworking.metrics.generator.metric;
 
-import com.arpnetworking.metrics.Metrics;
 import com.arpnetworking.metrics.generator.name.NameGenerator;
-import org.apache.commons.math3.random.RandomDataGenerator;
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
 import org.apache.commons.math3.random.RandomGenerator;
 
-import java.util.concurrent.TimeUnit;
-
 /**
  * Generates a timer with a uniform distribution.
  *
  * @author Brandon Arp (barp at groupon dot com)
  */
-public class UniformMetricGenerator implements MetricGenerator {
+public class UniformMetricGenerator extends SampledMetricGenerator {
     /**
      * Public constructor.
      *
@@ -36,23 +33,24 @@ public class UniformMetricGenerator implements MetricGenerator {
      * @param nameGenerator The name generator to name the metric created.
      * @param random Source for random
      */
+    @SuppressFBWarnings(value = "EI_EXPOSE_REP2", justification = "we actually want to be able to control the random")
     public UniformMetricGenerator(final double min, final double max, final NameGenerator nameGenerator, final RandomGenerator random) {
+        super(nameGenerator);
         _min = min;
         _max = max;
-        _nameGenerator = nameGenerator;
-        _generator = new RandomDataGenerator(random);
+        _random = random;
     }
 
     @Override
-    public void generate(final Metrics metrics) {
-        metrics.setTimer(
-                _nameGenerator.getName(),
-                Math.round(_generator.nextUniform(_min, _max, true)),
-                TimeUnit.MILLISECONDS);
+    public void fill(final double[] samples, final int count) {
+        // Same as RandomDataGenerator.nextUniform(min, max, true)
+        for (int i = 0; i < count; ++i) {
+            final double u = _random.nextDouble();
+            samples[i] = u * _max + (1.0 - u) * _min;
+        }
     }
 
     private final double _min;
     private final double _max;
-    private final NameGenerator _nameGenerator;
-    private final RandomDataGenerator _generator;
+    private final RandomGenerator _random;
 }
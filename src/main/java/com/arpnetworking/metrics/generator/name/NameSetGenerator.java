@@ -15,12 +15,11 @@
  */
 package com.arpnetworking.metrics.generator.name;
 
-import com.google.common.collect.Lists;
 import com.google.common.collect.Sets;
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
 import org.apache.commons.math3.random.RandomDataGenerator;
 import org.apache.commons.math3.random.RandomGenerator;
 
-import java.util.List;
 import java.util.Set;
 
 /**
@@ -35,13 +34,15 @@ public final class NameSetGenerator implements NameGenerator {
      * @param setSize Number of names in the set.
      * @param generator Generator used to create the name.
      */
+    @SuppressFBWarnings(value = "EI_EXPOSE_REP2", justification = "we actually want to be able to control the random")
     public NameSetGenerator(final int setSize, final RandomGenerator generator) {
         final Set<String> names = Sets.newHashSetWithExpectedSize(setSize);
-        _dataGenerator = new RandomDataGenerator(generator);
+        final RandomDataGenerator dataGenerator = new RandomDataGenerator(generator);
         while (names.size() < setSize) {
-            names.add(_dataGenerator.nextHexString(16));
+            names.add(dataGenerator.nextHexString(16));
         }
-        _names = Lists.newArrayList(names);
+        _random = generator;
+        _names = names.toArray(new String[0]);
     }
 
     /**
@@ -50,16 +51,19 @@ public final class NameSetGenerator implements NameGenerator {
      * @param names The list of names to use.
      * @param generator Generator used to create the name.
      */
+    @SuppressFBWarnings(value = "EI_EXPOSE_REP2", justification = "we actually want to be able to control the random")
     public NameSetGenerator(final Set<String> names, final RandomGenerator generator) {
-        _dataGenerator = new RandomDataGenerator(generator);
-        _names = Lists.newArrayList(names);
+        _random = generator;
+        _names = names.toArray(new String[0]);
     }
 
     @Override
     public String getName() {
-        return _names.get(_dataGenerator.nextInt(0, _names.size() - 1));
+        // Picks the same names as RandomDataGenerator.nextInt(0, size - 1)
+        // without creating a distribution for every pick
+        return _names[_random.nextInt(_names.length)];
     }
 
-    private final List<String> _names;
-    private final RandomDataGenerator _dataGenerator;
+    private final String[] _names;
+    private final RandomGenerator _random;
 }
@@ -0,0 +1,174 @@
+/*
+ * Copyright 2026 Inscope Metrics
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.arpnetworking.metrics.generator.name;
+
+import com.google.common.collect.Sets;
+import org.apache.commons.math3.random.RandomGenerator;
+
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Generates names from a large set where the popularity of the names follows
+ * a Zipf (power law) distribution: the name of rank {@code k} (from 1) is
+ * picked with probability proportional to {@code 1 / k^exponent}.
+ *
+ * The names are created once and every pick returns the same instance. Picks
+ * are constant time through an alias table and take a single random draw.
+ *
+ * @author Brandon Arp (brandon dot arp at inscopemetrics dot io)
+ */
+public final class ZipfNameGenerator implements NameGenerator {
+    /**
+     * Public constructor.
+     *
+     * @param cardinality Number of names in the set.
+     * @param exponent The exponent of the power law; 0 picks uniformly.
+     * @param generator Generator used to create and pick the names.
+     */
+    public ZipfNameGenerator(final int cardinality, final double exponent, final RandomGenerator generator) {
+        this(createNames(checkCardinality(cardinality), generator), exponent, generator);
+    }
+
+    /**
+     * Public constructor. The names are ranked by their order in the list.
+     *
+     * @param names The names to pick from.
+     * @param exponent The exponent of the power law; 0 picks uniformly.
+     * @param generator Generator used to pick the names.
+     */
+    public ZipfNameGenerator(final List<String> names, final double exponent, final RandomGenerator generator) {
+        this(names.toArray(new String[checkCardinality(names.size())]), exponent, generator);
+    }
+
+    private ZipfNameGenerator(final String[] names, final double exponent, final RandomGenerator generator) {
+        if (exponent < 0) {
+            throw new IllegalArgumentException("Exponent must not be negative; exponent=" + exponent);
+        }
+        _random = generator;
+        _names = names;
+        _probability = new double[names.length];
+        _alias = new int[names.length];
+        buildAliasTable(exponent);
+    }
+
+    @Override
+    public String getName() {
+        return _names[nextIndex()];
+    }
+
+    /**
+     * Picks the index of a name. The index is also the popularity rank of
+     * the name counting from 0.
+     *
+     * @return The index of the picked name.
+     */
+    public int nextIndex() {
+        final double scaled = _random.nextDouble() * _names.length;
+        final int column = (int) scaled;
+        return scaled - column < _probability[column] ? column : _alias[column];
+    }
+
+    /**
+     * Gets a name by index.
+     *
+     * @param index The index of the name.
+     * @return The name.
+     */
+    public String getName(final int index) {
+        return _names[index];
+    }
+
+    public int getCardinality() {
+        return _names.length;
+    }
+
+    private static int checkCardinality(final int cardinality) {
+        if (cardinality < 1) {
+            throw new IllegalArgumentException("Cardinality must be positive; cardinality=" + cardinality);
+        }
+        return cardinality;
+    }
+
+    private static String[] createNames(final int cardinality, final RandomGenerator generator) {
+        final Set<String> unique = Sets.newHashSetWithExpectedSize(cardinality);
+        final String[] names = new String[cardinality];
+        final char[] buffer = new char[NAME_LENGTH];
+        int count = 0;
+        while (count < cardinality) {
+            long bits = generator.nextLong();
+            for (int i = 0; i < NAME_LENGTH; ++i) {
+                buffer[i] = HEX_DIGITS[(int) (bits & 0xf)];
+                bits >>>= 4;
+            }
+            final String name = String.valueOf(buffer);
+            if (unique.add(name)) {
+                names[count++] = name;
+            }
+        }
+        return names;
+    }
+
+    private void buildAliasTable(final double exponent) {
+        // See: Vose, "A linear algorithm for generating random numbers with a given distribution"
+        final int size = _names.length;
+        final double[] scaled = new double[size];
+        double total = 0;
+        for (int i = 0; i < size; ++i) {
+            scaled[i] = Math.pow(i + 1, -exponent);
+            total += scaled[i];
+        }
+        final int[] small = new int[size];
+        final int[] large = new int[size];
+        int smallCount = 0;
+        int largeCount = 0;
+        for (int i = 0; i < size; ++i) {
+            scaled[i] = scaled[i] * size / total;
+            if (scaled[i] < 1) {
+                small[smallCount++] = i;
+            } else {
+                large[largeCount++] = i;
+            }
+        }
+        while (smallCount > 0 && largeCount > 0) {
+            final int less = small[--smallCount];
+            final int more = large[--largeCount];
+            _probability[less] = scaled[less];
+            _alias[less] = more;
+            scaled[more] = scaled[more] + scaled[less] - 1;
+            if (scaled[more] < 1) {
+                small[smallCount++] = more;
+            } else {
+                large[largeCount++] = more;
+            }
+        }
+        // The remaining columns are full up to rounding error
+        while (largeCount > 0) {
+            _probability[large[--largeCount]] = 1;
+        }
+        while (smallCount > 0) {
+            _probability[small[--smallCount]] = 1;
+        }
+    }
+
+    private final RandomGenerator _random;
+    private final String[] _names;
+    private final double[] _probability;
+    private final int[] _alias;
+
+    private static final int NAME_LENGTH = 16;
+    private static final char[] HEX_DIGITS = "0123456789abcdef".toCharArray();
+}
@@ -0,0 +1,59 @@
+/*
+ * Copyright 2026 Inscope Metrics
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.arpnetworking.metrics.generator.schedule;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Scheduler that executes at a constant rate which may be changed while it is
+ * being executed. A new rate applies from the next execution scheduled.
+ *
+ * @author Brandon Arp (brandon dot arp at inscopemetrics dot io)
+ */
+public final class AdjustableRateScheduler implements Scheduler {
+
+    /**
+     * Public constructor.
+     *
+     * @param ratePerSecond The initial number of executions per second.
+     */
+    public AdjustableRateScheduler(final double ratePerSecond) {
+        _period = toPeriod(ratePerSecond);
+    }
+
+    /**
+     * Sets the rate. May be called from any thread.
+     *
+     * @param ratePerSecond The number of executions per second.
+     */
+    public void setRate(final double ratePerSecond) {
+        _period = toPeriod(ratePerSecond);
+    }
+
+    @Override
+    public long next(final long previousExecutionTime) {
+        return previousExecutionTime + _period;
+    }
+
+    private static long toPeriod(final double ratePerSecond) {
+        if (!(ratePerSecond > 0)) {
+            throw new IllegalArgumentException("Rate must be positive; rate=" + ratePerSecond);
+        }
+        return Math.max(1, Math.round(TimeUnit.SECONDS.toNanos(1) / ratePerSecond));
+    }
+
+    private volatile long _period;
+}
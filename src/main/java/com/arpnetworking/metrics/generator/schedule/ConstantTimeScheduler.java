@@ -16,7 +16,6 @@
 package com.arpnetworking.metrics.generator.schedule;
 
 import java.time.Duration;
-import java.util.concurrent.TimeUnit;
 
 /**
  * Scheduler that schedules the next at a constant time after the previous.
@@ -31,7 +30,7 @@ public class ConstantTimeScheduler implements Scheduler {
      * @param time The time interval for scheduling.
      */
     public ConstantTimeScheduler(final Duration time) {
-        _time = TimeUnit.NANOSECONDS.convert(time.toMillis(), TimeUnit.MILLISECONDS);
+        _time = time.toNanos();
     }
 
     /**
@@ -0,0 +1,84 @@
+/*
+ * Copyright 2026 Inscope Metrics
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.arpnetworking.metrics.generator.schedule;
+
+import org.apache.commons.math3.random.RandomGenerator;
+
+import java.time.Duration;
+
+/**
+ * Scheduler that models open-loop arrivals whose rate follows a sine wave
+ * over a period, one day by default. The rate at a time is
+ * {@code mean * (1 + amplitude * cos(2 * pi * (time - peak) / period))} so
+ * that it is highest at the peak offset within each period. Periods are
+ * aligned to the epoch (i.e. to midnight UTC for a one day period).
+ *
+ * @author Brandon Arp (brandon dot arp at inscopemetrics dot io)
+ */
+public final class DiurnalScheduler extends VaryingRateScheduler {
+
+    /**
+     * Public constructor for a one day period.
+     *
+     * @param meanRatePerSecond The mean number of executions per second.
+     * @param amplitude The relative amplitude of the rate between 0 and 1.
+     * @param peak The offset from the start of the day of the highest rate.
+     * @param random Source for random
+     */
+    public DiurnalScheduler(
+            final double meanRatePerSecond,
+            final double amplitude,
+            final Duration peak,
+            final RandomGenerator random) {
+        this(meanRatePerSecond, amplitude, peak, Duration.ofDays(1), random);
+    }
+
+    /**
+     * Public constructor.
+     *
+     * @param meanRatePerSecond The mean number of executions per second.
+     * @param amplitude The relative amplitude of the rate between 0 and 1.
+     * @param peak The offset from the start of the period of the highest rate.
+     * @param period The period of the rate.
+     * @param random Source for random
+     */
+    public DiurnalScheduler(
+            final double meanRatePerSecond,
+            final double amplitude,
+            final Duration peak,
+            final Duration period,
+            final RandomGenerator random) {
+        super(checkMaxRate(meanRatePerSecond * (1 + amplitude)), random);
+        if (amplitude < 0 || amplitude > 1) {
+            throw new IllegalArgumentException("Amplitude must be between 0 and 1; amplitude=" + amplitude);
+        }
+        _meanRatePerSecond = meanRatePerSecond;
+        _amplitude = amplitude;
+        _peak = peak.toNanos();
+        _period = period.toNanos();
+    }
+
+    @Override
+    protected double getRate(final long time) {
+        final double phase = Math.floorMod(time - _peak, _period) / (double) _period;
+        return _meanRatePerSecond * (1 + _amplitude * Math.cos(2 * Math.PI * phase));
+    }
+
+    private final double _meanRatePerSecond;
+    private final double _amplitude;
+    private final long _peak;
+    private final long _period;
+}
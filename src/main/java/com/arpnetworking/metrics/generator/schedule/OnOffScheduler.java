@@ -0,0 +1,70 @@
+/*
+ * Copyright 2026 Inscope Metrics
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.arpnetworking.metrics.generator.schedule;
+
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+import org.apache.commons.math3.random.RandomGenerator;
+
+import java.time.Duration;
+
+/**
+ * Scheduler that models bursty open-loop arrivals. Executions arrive at an
+ * average rate during the on part of each cycle and not at all during the
+ * off part. Cycles are aligned to the epoch and start with the on part.
+ *
+ * @author Brandon Arp (brandon dot arp at inscopemetrics dot io)
+ */
+public final class OnOffScheduler implements Scheduler {
+
+    /**
+     * Public constructor.
+     *
+     * @param ratePerSecond The average number of executions per second while on.
+     * @param on The duration of the on part of each cycle.
+     * @param off The duration of the off part of each cycle.
+     * @param random Source for random
+     */
+    @SuppressFBWarnings(value = "EI_EXPOSE_REP2", justification = "we actually want to be able to control the random")
+    public OnOffScheduler(final double ratePerSecond, final Duration on, final Duration off, final RandomGenerator random) {
+        if (!(ratePerSecond > 0)) {
+            throw new IllegalArgumentException("Rate must be positive; rate=" + ratePerSecond);
+        }
+        if (on.isNegative() || on.isZero() || off.isNegative()) {
+            throw new IllegalArgumentException("On must be positive and off must not be negative; on=" + on + ", off=" + off);
+        }
+        _ratePerSecond = ratePerSecond;
+        _on = on.toNanos();
+        _cycle = _on + off.toNanos();
+        _random = random;
+    }
+
+    @Override
+    public long next(final long previousExecutionTime) {
+        long next = previousExecutionTime + PoissonScheduler.nextInterArrival(_random, _ratePerSecond);
+        long position = Math.floorMod(next, _cycle);
+        while (position >= _on) {
+            // Arrivals are memoryless so the wait restarts when the next on part starts
+            next = next - position + _cycle + PoissonScheduler.nextInterArrival(_random, _ratePerSecond);
+            position = Math.floorMod(next, _cycle);
+        }
+        return next;
+    }
+
+    private final double _ratePerSecond;
+    private final long _on;
+    private final long _cycle;
+    private final RandomGenerator _random;
+}
@@ -0,0 +1,67 @@
+/*
+ * Copyright 2026 Inscope Metrics
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.arpnetworking.metrics.generator.schedule;
+
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+import org.apache.commons.math3.random.RandomGenerator;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Scheduler that models open-loop arrivals at a constant average rate. The
+ * time between executions is exponentially distributed.
+ *
+ * @author Brandon Arp (brandon dot arp at inscopemetrics dot io)
+ */
+public final class PoissonScheduler implements Scheduler {
+
+    /**
+     * Public constructor.
+     *
+     * @param ratePerSecond The average number of executions per second.
+     * @param random Source for random
+     */
+    @SuppressFBWarnings(value = "EI_EXPOSE_REP2", justification = "we actually want to be able to control the random")
+    public PoissonScheduler(final double ratePerSecond, final RandomGenerator random) {
+        if (!(ratePerSecond > 0)) {
+            throw new IllegalArgumentException("Rate must be positive; rate=" + ratePerSecond);
+        }
+        _ratePerSecond = ratePerSecond;
+        _random = random;
+    }
+
+    @Override
+    public long next(final long previousExecutionTime) {
+        return previousExecutionTime + nextInterArrival(_random, _ratePerSecond);
+    }
+
+    /**
+     * Draws an exponentially distributed time between arrivals.
+     *
+     * @param random Source for random
+     * @param ratePerSecond The average number of arrivals per second.
+     * @return The time to the next arrival in nanoseconds; at least one.
+     */
+    /* package private */ static long nextInterArrival(final RandomGenerator random, final double ratePerSecond) {
+        final double seconds = -Math.log(1.0 - random.nextDouble()) / ratePerSecond;
+        return Math.max(1, (long) (seconds * NANOS_PER_SECOND));
+    }
+
+    private final double _ratePerSecond;
+    private final RandomGenerator _random;
+
+    private static final double NANOS_PER_SECOND = TimeUnit.SECONDS.toNanos(1);
+}
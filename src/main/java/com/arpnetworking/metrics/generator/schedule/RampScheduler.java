@@ -0,0 +1,104 @@
+/*
+ * Copyright 2026 Inscope Metrics
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.arpnetworking.metrics.generator.schedule;
+
+import org.apache.commons.math3.random.RandomGenerator;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.SortedMap;
+
+/**
+ * Scheduler that models open-loop arrivals whose rate follows a piecewise
+ * linear profile. The profile maps offsets from the first execution time
+ * requested to rates; the rate is interpolated between offsets and held
+ * before the first and after the last offset. Two offsets a nanosecond apart
+ * describe a step. Rates must not be negative; once the rate stays zero
+ * for the rest of the profile no further execution is scheduled and
+ * {@link #next(long)} returns {@link #NEVER}.
+ *
+ * This class is not thread safe.
+ *
+ * @author Brandon Arp (brandon dot arp at inscopemetrics dot io)
+ */
+public final class RampScheduler extends VaryingRateScheduler {
+
+    /**
+     * Public constructor.
+     *
+     * @param profile The executions per second by offset from the start.
+     * @param random Source for random
+     */
+    public RampScheduler(final SortedMap<Duration, Double> profile, final RandomGenerator random) {
+        super(checkMaxRate(profile.values().stream().mapToDouble(Double::doubleValue).max().orElse(0)), random);
+        _offsets = new long[profile.size()];
+        _rates = new double[profile.size()];
+        int i = 0;
+        for (final Map.Entry<Duration, Double> point : profile.entrySet()) {
+            if (!(point.getValue() >= 0)) {
+                throw new IllegalArgumentException("Rate must not be negative; offset=" + point.getKey() + ", rate=" + point.getValue());
+            }
+            _offsets[i] = point.getKey().toNanos();
+            _rates[i] = point.getValue();
+            ++i;
+        }
+    }
+
+    @Override
+    public long next(final long previousExecutionTime) {
+        if (!_started) {
+            _started = true;
+            _start = previousExecutionTime;
+        }
+        return super.next(previousExecutionTime);
+    }
+
+    @Override
+    protected long getNextActiveTime(final long time) {
+        if (getRate(time) > 0) {
+            return time;
+        }
+        // The rate is zero here and up to the next offset with a positive
+        // rate, and positive right after the offset before that one
+        final long offset = time - _start;
+        for (int i = 1; i < _offsets.length; ++i) {
+            if (_offsets[i] > offset && _rates[i] > 0) {
+                return _start + Math.max(offset, _offsets[i - 1]);
+            }
+        }
+        return NEVER;
+    }
+
+    @Override
+    protected double getRate(final long time) {
+        final long offset = time - _start;
+        if (offset <= _offsets[0]) {
+            return _rates[0];
+        }
+        for (int i = 1; i < _offsets.length; ++i) {
+            if (offset < _offsets[i]) {
+                final double fraction = (offset - _offsets[i - 1]) / (double) (_offsets[i] - _offsets[i - 1]);
+                return _rates[i - 1] + fraction * (_rates[i] - _rates[i - 1]);
+            }
+        }
+        return _rates[_rates.length - 1];
+    }
+
+    private boolean _started;
+    private long _start;
+    private final long[] _offsets;
+    private final double[] _rates;
+}
@@ -22,11 +22,17 @@ package com.arpnetworking.metrics.generator.schedule;
  */
 public interface Scheduler {
 
+    /**
+     * The next execution time of a schedule without further executions.
+     */
+    long NEVER = Long.MAX_VALUE;
+
     /**
      * Gets the next time to execute.
      *
      * @param previousExecutionTime Previous execution time in nanoseconds.
-     * @return Next execution time in nanoseconds.
+     * @return Next execution time in nanoseconds, or {@link #NEVER} if there
+     * are no more executions.
      */
     long next(long previousExecutionTime);
 }
@@ -0,0 +1,93 @@
+/*
+ * Copyright 2026 Inscope Metrics
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.arpnetworking.metrics.generator.schedule;
+
+import org.apache.commons.math3.random.RandomGenerator;
+
+/**
+ * Base for schedulers that model open-loop arrivals whose rate varies over
+ * time (a non-homogeneous Poisson process). Arrivals are drawn at the maximum
+ * rate and thinned to the rate at the time of each candidate arrival.
+ * Spans where the rate is zero are skipped, see {@link #getNextActiveTime(long)}.
+ *
+ * @author Brandon Arp (brandon dot arp at inscopemetrics dot io)
+ */
+/* package private */ abstract class VaryingRateScheduler implements Scheduler {
+
+    /**
+     * Protected constructor.
+     *
+     * @param maxRatePerSecond The maximum rate of executions per second; see {@link #checkMaxRate(double)}.
+     * @param random Source for random
+     */
+    protected VaryingRateScheduler(final double maxRatePerSecond, final RandomGenerator random) {
+        _maxRatePerSecond = maxRatePerSecond;
+        _random = random;
+    }
+
+    @Override
+    public long next(final long previousExecutionTime) {
+        long candidate = previousExecutionTime;
+        while (true) {
+            // Arrivals are memoryless so drawing from the end of a span without any is exact
+            candidate = getNextActiveTime(candidate);
+            if (candidate == NEVER) {
+                return NEVER;
+            }
+            candidate += PoissonScheduler.nextInterArrival(_random, _maxRatePerSecond);
+            if (_random.nextDouble() * _maxRatePerSecond < getRate(candidate)) {
+                return candidate;
+            }
+        }
+    }
+
+    /**
+     * Validates the maximum rate before it is passed to the constructor.
+     *
+     * @param maxRatePerSecond The maximum rate of executions per second.
+     * @return The maximum rate.
+     */
+    protected static double checkMaxRate(final double maxRatePerSecond) {
+        if (!(maxRatePerSecond > 0)) {
+            throw new IllegalArgumentException("Maximum rate must be positive; rate=" + maxRatePerSecond);
+        }
+        return maxRatePerSecond;
+    }
+
+    /**
+     * Gets the earliest time from which the rate may be positive again.
+     * Returning the time itself is always correct but thinning then never
+     * ends if the rate stays zero. Defaults to the time itself.
+     *
+     * @param time The time in nanoseconds since the epoch.
+     * @return The time in nanoseconds since the epoch, not before the given
+     * time, or {@link #NEVER} if the rate stays zero forever.
+     */
+    protected long getNextActiveTime(final long time) {
+        return time;
+    }
+
+    /**
+     * Gets the rate at a time.
+     *
+     * @param time The time in nanoseconds since the epoch.
+     * @return The executions per second at the time; at most the maximum rate.
+     */
+    protected abstract double getRate(long time);
+
+    private final double _maxRatePerSecond;
+    private final RandomGenerator _random;
+}
@@ -17,13 +17,17 @@ package com.arpnetworking.metrics.generator.uow;
 
 import com.arpnetworking.metrics.Metrics;
 import com.arpnetworking.metrics.MetricsFactory;
+import com.arpnetworking.metrics.generator.dimension.DimensionGenerator;
 import com.arpnetworking.metrics.generator.metric.MetricGenerator;
 import com.google.common.collect.Lists;
 
+import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.TimeUnit;
 
 /**
- * Generates a unit of work from a {@link List} of {@link MetricGenerator}.
+ * Generates a unit of work from a {@link List} of {@link MetricGenerator}
+ * annotated by a {@link List} of {@link DimensionGenerator}.
  *
  * @author Brandon Arp (barp at groupon dot com)
  */
@@ -34,22 +38,50 @@ public class UnitOfWorkGenerator {
      * @param metricGenerators {@link List} of {@link MetricGenerator} to use to generate the unit of work.
      */
     public UnitOfWorkGenerator(final List<MetricGenerator> metricGenerators) {
+        this(metricGenerators, Collections.emptyList());
+    }
+
+    /**
+     * Public constructor.
+     *
+     * @param metricGenerators {@link List} of {@link MetricGenerator} to use to generate the unit of work.
+     * @param dimensionGenerators {@link List} of {@link DimensionGenerator} to use to annotate the unit of work.
+     */
+    public UnitOfWorkGenerator(
+            final List<MetricGenerator> metricGenerators,
+            final List<DimensionGenerator> dimensionGenerators) {
         _metricGenerators = Lists.newArrayList(metricGenerators);
+        _dimensionGenerators = Lists.newArrayList(dimensionGenerators);
     }
 
     /**
-     * Generates a unit of work.
+     * Generates a unit of work at the current time.
      *
      * @param metricsFactory Metrics factory to generate the unit of work on.
      */
     public void generate(final MetricsFactory metricsFactory) {
+        generate(metricsFactory, TimeUnit.MILLISECONDS.toNanos(System.currentTimeMillis()));
+    }
+
+    /**
+     * Generates a unit of work executed at a time. The time only affects
+     * metric generators that depend on it.
+     *
+     * @param metricsFactory Metrics factory to generate the unit of work on.
+     * @param epochNanos The time of the unit of work in nanoseconds since the epoch.
+     */
+    public void generate(final MetricsFactory metricsFactory, final long epochNanos) {
         try (Metrics metrics = metricsFactory.create()) {
-            for (final MetricGenerator generator : _metricGenerators) {
+            for (final DimensionGenerator generator : _dimensionGenerators) {
                 generator.generate(metrics);
             }
+            for (final MetricGenerator generator : _metricGenerators) {
+                generator.generate(metrics, 1, epochNanos);
+            }
         }
     }
 
     private final List<MetricGenerator> _metricGenerators;
+    private final List<DimensionGenerator> _dimensionGenerators;
 }
 
@@ -0,0 +1,374 @@
+/*
+ * Copyright 2026 Inscope Metrics
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.arpnetworking.metrics.generator.util;
+
+import com.arpnetworking.metrics.Event;
+import com.arpnetworking.metrics.Quantity;
+import com.arpnetworking.metrics.Sink;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.google.common.collect.Maps;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import javax.annotation.Nullable;
+
+/**
+ * Computes the exact aggregates a metrics aggregator is expected to produce
+ * for the events generated by one {@link IntervalExecutor}: the count, sum,
+ * minimum, maximum and the 50th, 90th, 99th and 99.9th percentiles (nearest
+ * rank) of the samples of each metric in each period.
+ *
+ * The executor sets the time of each unit of work before generating it, in
+ * time order, so a period is complete as soon as a unit of work of a later
+ * period is recorded. Complete periods are written to a part file and their
+ * samples released. The first and the last period of the executor are kept
+ * in memory because the executors of adjacent time shards may contribute to
+ * them; {@link #merge(List, Path)} combines them with the neighbouring
+ * shards and concatenates the part files into one aggregates file with one
+ * JSON object per metric and period.
+ *
+ * Samples are buffered in primitive arrays which are periodically sorted and
+ * run-length encoded, so memory grows with the number of distinct values in
+ * a period rather than the number of samples for the integer timers the
+ * generators produce.
+ *
+ * @author Brandon Arp (brandon dot arp at inscopemetrics dot io)
+ */
+/* package private */ final class AggregateOracle implements Sink {
+
+    /* package private */ AggregateOracle(final Duration period, final Path partPath) {
+        _periodNanos = period.toNanos();
+        _partPath = partPath;
+        try {
+            _partWriter = Files.newBufferedWriter(partPath, StandardCharsets.UTF_8);
+        } catch (final IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    /**
+     * Sets the time of the following events.
+     *
+     * @param epochNanos The time in nanoseconds since the epoch.
+     */
+    /* package private */ void setTime(final long epochNanos) {
+        final long start = Math.floorDiv(epochNanos, _periodNanos) * _periodNanos;
+        if (_current == null) {
+            _current = new PeriodAggregates(start);
+        } else if (_current._start != start) {
+            if (_head == null) {
+                _head = _current;
+            } else {
+                write(_partWriter, _current);
+            }
+            _current = new PeriodAggregates(start);
+        }
+    }
+
+    @Override
+    public void record(final Event event) {
+        if (_current == null) {
+            throw new IllegalStateException("Time must be set before recording events");
+        }
+        _current.add(TIMER, event.getTimerSamples());
+        _current.add(COUNTER, event.getCounterSamples());
+        _current.add(GAUGE, event.getGaugeSamples());
+    }
+
+    /**
+     * Completes the part file. The last period is kept for merging.
+     */
+    /* package private */ void close() {
+        if (_head == null) {
+            _head = _current;
+        } else {
+            _tail = _current;
+        }
+        try {
+            _partWriter.close();
+        } catch (final IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    /**
+     * Writes the aggregates of consecutive time shards to one file and
+     * deletes the part files. Periods shared by adjacent shards are combined.
+     *
+     * @param shards The closed oracles of the shards in time order.
+     * @param outputPath The aggregates file.
+     */
+    /* package private */ static void merge(final List<AggregateOracle> shards, final Path outputPath) {
+        try (FileChannel output = FileChannel.open(
+                outputPath,
+                StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            PeriodAggregates pending = null;
+            for (final AggregateOracle shard : shards) {
+                pending = combine(output, pending, shard._head);
+                if (shard._tail != null) {
+                    // The shard spans several periods so the pending period is complete
+                    writeTo(output, pending);
+                    try (FileChannel part = FileChannel.open(shard._partPath, StandardOpenOption.READ)) {
+                        final long size = part.size();
+                        long position = 0;
+                        while (position < size) {
+                            position += part.transferTo(position, size - position, output);
+                        }
+                    }
+                    pending = shard._tail;
+                }
+                Files.delete(shard._partPath);
+            }
+            writeTo(output, pending);
+        } catch (final IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    private static PeriodAggregates combine(
+            final FileChannel output,
+            @Nullable final PeriodAggregates pending,
+            @Nullable final PeriodAggregates next) throws IOException {
+        if (pending == null) {
+            return next;
+        }
+        if (next == null) {
+            return pending;
+        }
+        if (pending._start == next._start) {
+            pending.merge(next);
+            return pending;
+        }
+        writeTo(output, pending);
+        return next;
+    }
+
+    private static void writeTo(final FileChannel output, @Nullable final PeriodAggregates period) throws IOException {
+        if (period != null) {
+            final StringBuilder lines = new StringBuilder();
+            for (final Aggregate aggregate : period._aggregates.values()) {
+                lines.append(aggregate.format(period._start)).append('\n');
+            }
+            output.write(StandardCharsets.UTF_8.encode(lines.toString()));
+        }
+    }
+
+    private static void write(final Writer writer, final PeriodAggregates period) {
+        try {
+            for (final Aggregate aggregate : period._aggregates.values()) {
+                writer.write(aggregate.format(period._start));
+                writer.write('\n');
+            }
+        } catch (final IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    private final long _periodNanos;
+    private final Path _partPath;
+    private final BufferedWriter _partWriter;
+    private PeriodAggregates _current;
+    private PeriodAggregates _head;
+    private PeriodAggregates _tail;
+
+    private static final String TIMER = "timer";
+    private static final String COUNTER = "counter";
+    private static final String GAUGE = "gauge";
+    private static final double[] PERCENTILES = {50, 90, 99, 99.9};
+    private static final String[] PERCENTILE_FIELDS = {"p50", "p90", "p99", "p99.9"};
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    private static final class PeriodAggregates {
+        private PeriodAggregates(final long start) {
+            _start = start;
+        }
+
+        private void add(final String type, final Map<String, List<Quantity>> samples) {
+            for (final Map.Entry<String, List<Quantity>> entry : samples.entrySet()) {
+                final Aggregate aggregate = _aggregates.computeIfAbsent(
+                        type + ':' + entry.getKey(),
+                        key -> new Aggregate(type, entry.getKey()));
+                for (final Quantity quantity : entry.getValue()) {
+                    aggregate.add(quantity.getValue().doubleValue());
+                }
+            }
+        }
+
+        private void merge(final PeriodAggregates other) {
+            for (final Map.Entry<String, Aggregate> entry : other._aggregates.entrySet()) {
+                final Aggregate aggregate = _aggregates.get(entry.getKey());
+                if (aggregate == null) {
+                    _aggregates.put(entry.getKey(), entry.getValue());
+                } else {
+                    aggregate.merge(entry.getValue());
+                }
+            }
+        }
+
+        private final long _start;
+        // Sorted so that the output does not depend on the order of the samples
+        private final Map<String, Aggregate> _aggregates = Maps.newTreeMap();
+    }
+
+    /**
+     * The exact aggregates of one metric in one period.
+     */
+    /* package private */ static final class Aggregate {
+        /* package private */ Aggregate(final String type, final String metric) {
+            _type = type;
+            _metric = metric;
+        }
+
+        /* package private */ void add(final double value) {
+            ++_count;
+            _sum += value;
+            _min = Math.min(_min, value);
+            _max = Math.max(_max, value);
+            if (_pendingSize == _pending.length) {
+                compact();
+            }
+            _pending[_pendingSize++] = value;
+        }
+
+        /* package private */ void merge(final Aggregate other) {
+            other.compact();
+            compact();
+            _count += other._count;
+            _sum += other._sum;
+            _min = Math.min(_min, other._min);
+            _max = Math.max(_max, other._max);
+            mergeRuns(other._values, other._counts, other._distinct);
+        }
+
+        /**
+         * Gets the value at a percentile by nearest rank.
+         *
+         * @param percentile The percentile between 0 and 100.
+         * @return The value or NaN if there are no samples.
+         */
+        /* package private */ double getPercentile(final double percentile) {
+            compact();
+            final long rank = Math.max(1, (long) Math.ceil(_count * percentile / 100.0));
+            long seen = 0;
+            for (int i = 0; i < _distinct; ++i) {
+                seen += _counts[i];
+                if (seen >= rank) {
+                    return _values[i];
+                }
+            }
+            return Double.NaN;
+        }
+
+        /* package private */ long getCount() {
+            return _count;
+        }
+
+        /* package private */ double getSum() {
+            return _sum;
+        }
+
+        private String format(final long start) {
+            final ObjectNode node = OBJECT_MAPPER.createObjectNode()
+                    .put("start", Instant.ofEpochSecond(0, start).toString())
+                    .put("type", _type)
+                    .put("metric", _metric)
+                    .put("count", _count)
+                    .put("sum", _sum)
+                    .put("min", _min)
+                    .put("max", _max);
+            for (int i = 0; i < PERCENTILES.length; ++i) {
+                node.put(PERCENTILE_FIELDS[i], getPercentile(PERCENTILES[i]));
+            }
+            return node.toString();
+        }
+
+        private void compact() {
+            if (_pendingSize == 0) {
+                return;
+            }
+            Arrays.sort(_pending, 0, _pendingSize);
+            final double[] values = new double[_pendingSize];
+            final long[] counts = new long[_pendingSize];
+            int distinct = 0;
+            for (int i = 0; i < _pendingSize; ++i) {
+                if (distinct > 0 && Double.compare(values[distinct - 1], _pending[i]) == 0) {
+                    ++counts[distinct - 1];
+                } else {
+                    values[distinct] = _pending[i];
+                    counts[distinct++] = 1;
+                }
+            }
+            _pendingSize = 0;
+            mergeRuns(values, counts, distinct);
+            // Keep the buffer larger than the runs so compacting stays amortized constant per sample
+            if (_distinct > _pending.length / 2) {
+                _pending = new double[_pending.length * 2];
+            }
+        }
+
+        private void mergeRuns(final double[] values, final long[] counts, final int distinct) {
+            final double[] mergedValues = new double[_distinct + distinct];
+            final long[] mergedCounts = new long[_distinct + distinct];
+            int i = 0;
+            int j = 0;
+            int merged = 0;
+            while (i < _distinct || j < distinct) {
+                final int order = i == _distinct || j == distinct ? 0 : Double.compare(_values[i], values[j]);
+                if (j == distinct || i < _distinct && order < 0) {
+                    mergedValues[merged] = _values[i];
+                    mergedCounts[merged++] = _counts[i++];
+                } else if (i == _distinct || order > 0) {
+                    mergedValues[merged] = values[j];
+                    mergedCounts[merged++] = counts[j++];
+                } else {
+                    mergedValues[merged] = values[j];
+                    mergedCounts[merged++] = _counts[i++] + counts[j++];
+                }
+            }
+            _values = mergedValues;
+            _counts = mergedCounts;
+            _distinct = merged;
+        }
+
+        private final String _type;
+        private final String _metric;
+        private long _count;
+        private double _sum;
+        private double _min = Double.POSITIVE_INFINITY;
+        private double _max = Double.NEGATIVE_INFINITY;
+        private double[] _pending = new double[INITIAL_BUFFER_SIZE];
+        private int _pendingSize;
+        private double[] _values = new double[0];
+        private long[] _counts = new long[0];
+        private int _distinct;
+
+        private static final int INITIAL_BUFFER_SIZE = 64;
+    }
+}
@@ -0,0 +1,90 @@
+/*
+ * Copyright 2026 Inscope Metrics
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.arpnetworking.metrics.generator.util;
+
+import com.arpnetworking.metrics.generator.schedule.Scheduler;
+
+/**
+ * How a real-time executor handles a unit of work that is executed after its
+ * scheduled time.
+ *
+ * @author Brandon Arp (brandon dot arp at inscopemetrics dot io)
+ */
+public enum CatchUpPolicy {
+    /**
+     * Execute every missed unit of work back to back with its scheduled time
+     * until the schedule has caught up.
+     */
+    BURST {
+        @Override
+        /* package private */ long getNextExecution(final Scheduler scheduler, final long scheduled, final long lateness) {
+            return scheduler.next(scheduled);
+        }
+    },
+    /**
+     * Execute the late unit of work with its scheduled time and drop the
+     * executions that are already in the past.
+     */
+    SKIP {
+        @Override
+        /* package private */ long getNextExecution(final Scheduler scheduler, final long scheduled, final long lateness) {
+            final long now = scheduled + lateness;
+            long next = scheduler.next(scheduled);
+            long previous = scheduled;
+            while (next <= now && next > previous) {
+                previous = next;
+                next = scheduler.next(next);
+            }
+            return next;
+        }
+    },
+    /**
+     * Execute the late unit of work with the actual time and continue the
+     * schedule from there, shifting all later executions.
+     */
+    SHIFT {
+        @Override
+        /* package private */ long getEmissionTime(final long scheduled, final long lateness) {
+            return scheduled + lateness;
+        }
+
+        @Override
+        /* package private */ long getNextExecution(final Scheduler scheduler, final long scheduled, final long lateness) {
+            return scheduler.next(scheduled + lateness);
+        }
+    };
+
+    /**
+     * Gets the time to emit a unit of work with.
+     *
+     * @param scheduled The scheduled time in nanoseconds since the epoch.
+     * @param lateness The time in nanoseconds the execution is behind.
+     * @return The emitted time in nanoseconds since the epoch.
+     */
+    /* package private */ long getEmissionTime(final long scheduled, final long lateness) {
+        return scheduled;
+    }
+
+    /**
+     * Gets the time to execute the schedule next.
+     *
+     * @param scheduler The scheduler of the unit of work.
+     * @param scheduled The scheduled time in nanoseconds since the epoch.
+     * @param lateness The time in nanoseconds the execution is behind.
+     * @return The next execution time in nanoseconds since the epoch.
+     */
+    /* package private */ abstract long getNextExecution(Scheduler scheduler, long scheduled, long lateness);
+}
@@ -0,0 +1,330 @@
+/*
+ * Copyright 2026 Inscope Metrics
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.arpnetworking.metrics.generator.util;
+
+import com.arpnetworking.commons.builder.OvalBuilder;
+import com.arpnetworking.steno.Logger;
+import com.arpnetworking.steno.LoggerFactory;
+import com.google.common.collect.Lists;
+import net.sf.oval.constraint.Min;
+import net.sf.oval.constraint.NotEmpty;
+import net.sf.oval.constraint.NotNull;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Generates a real-time workload from several worker processes, e.g. to load
+ * a cluster beyond what one process can generate. The coordinator starts
+ * each worker as a process running the generator with the workload
+ * specification, the index of the worker, the number of workers, a start
+ * time shared by all workers and the duration. Each worker executes its
+ * partition of the schedules (see
+ * {@code WorkloadSpecification#createSchedules(int, int)}) as a
+ * {@link DistributedWorker} and writes its execution statistics to its
+ * standard output, from where the coordinator collects and combines them.
+ *
+ * @author Brandon Arp (brandon dot arp at inscopemetrics dot io)
+ */
+public final class Coordinator {
+
+    private Coordinator(final Builder builder) {
+        _command = Lists.newArrayList(builder._command);
+        _configuration = builder._configuration;
+        _workerCount = builder._workerCount;
+        _startDelay = builder._startDelay;
+        _duration = builder._duration;
+    }
+
+    /**
+     * Starts the workers and blocks until all of them have finished.
+     *
+     * @return The combined execution statistics of the workers.
+     * @throws IOException If a worker cannot be started or fails.
+     * @throws InterruptedException If interrupted while waiting for the workers.
+     */
+    public Summary execute() throws IOException, InterruptedException {
+        final Instant startTime = Instant.now().plus(_startDelay);
+        final List<Process> processes = Lists.newArrayListWithCapacity(_workerCount);
+        // Each worker's output is read on its own thread so that no worker
+        // blocks on a full pipe while the coordinator reads another worker
+        final ExecutorService readers = Executors.newFixedThreadPool(_workerCount);
+        try {
+            final List<Future<List<WorkerReport>>> reports = Lists.newArrayListWithCapacity(_workerCount);
+            for (int worker = 0; worker < _workerCount; ++worker) {
+                final Process process = new ProcessBuilder(createCommand(worker, startTime))
+                        .redirectError(ProcessBuilder.Redirect.INHERIT)
+                        .start();
+                processes.add(process);
+                reports.add(readers.submit(() -> collectReports(process)));
+            }
+            final Summary summary = new Summary(_workerCount, _duration);
+            for (int worker = 0; worker < _workerCount; ++worker) {
+                for (final WorkerReport report : getReports(reports.get(worker))) {
+                    summary.add(report);
+                }
+                final int exitValue = processes.get(worker).waitFor();
+                if (exitValue != 0) {
+                    throw new IOException("Worker " + worker + " exited with " + exitValue);
+                }
+            }
+            LOGGER.info()
+                    .setEvent("CoordinatorStatistics")
+                    .setMessage("Workload execution statistics")
+                    .addData("workers", _workerCount)
+                    .addData("unitsOfWork", summary.getUnitsOfWork())
+                    .addData("unitsOfWorkPerSecond", summary.getUnitsOfWorkPerSecond())
+                    .addData("samples", summary.getSamples())
+                    .addData("bytes", summary.getBytes())
+                    .addData("lagP99Micros", summary.getLagP99Micros())
+                    .addData("lagMaxMicros", summary.getLagMaxMicros())
+                    .log();
+            return summary;
+        } finally {
+            for (final Process process : processes) {
+                process.destroy();
+            }
+            readers.shutdownNow();
+        }
+    }
+
+    private List<String> createCommand(final int worker, final Instant startTime) {
+        final List<String> command = Lists.newArrayList(_command);
+        command.add("--worker");
+        command.add(String.valueOf(worker));
+        command.add("--workers");
+        command.add(String.valueOf(_workerCount));
+        command.add("--config");
+        command.add(_configuration.toString());
+        command.add("--start");
+        command.add(startTime.toString());
+        command.add("--duration");
+        command.add(_duration.toString());
+        return command;
+    }
+
+    private static List<WorkerReport> getReports(final Future<List<WorkerReport>> reports)
+            throws IOException, InterruptedException {
+        try {
+            return reports.get();
+        } catch (final ExecutionException e) {
+            throw new IOException(e.getCause());
+        }
+    }
+
+    private static List<WorkerReport> collectReports(final Process process) throws IOException {
+        final List<WorkerReport> reports = Lists.newArrayList();
+        try (BufferedReader reader = new BufferedReader(
+                new InputStreamReader(process.getInputStream(), StandardCharsets.UTF_8))) {
+            String line = reader.readLine();
+            while (line != null) {
+                final Optional<WorkerReport> report = WorkerReport.parse(line);
+                if (report.isPresent()) {
+                    reports.add(report.get());
+                    LOGGER.info()
+                            .setEvent("WorkerStatistics")
+                            .setMessage("Worker execution statistics")
+                            .addData("worker", report.get().getWorker())
+                            .addData("unitsOfWorkPerSecond", report.get().getUnitsOfWork() / report.get().getElapsedSeconds())
+                            .addData("samplesPerSecond", report.get().getSamples() / report.get().getElapsedSeconds())
+                            .addData("lagP99Micros", report.get().getLagP99Micros())
+                            .addData("lagMaxMicros", report.get().getLagMaxMicros())
+                            .log();
+                }
+                line = reader.readLine();
+            }
+        }
+        return reports;
+    }
+
+    private final List<String> _command;
+    private final Path _configuration;
+    private final int _workerCount;
+    private final Duration _startDelay;
+    private final Duration _duration;
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(Coordinator.class);
+
+    /**
+     * The execution statistics of all workers combined.
+     */
+    public static final class Summary {
+        private Summary(final int workerCount, final Duration duration) {
+            _workerUnitsOfWork = new long[workerCount];
+            _duration = duration;
+        }
+
+        private void add(final WorkerReport report) {
+            if (report.getWorker() >= 0 && report.getWorker() < _workerUnitsOfWork.length) {
+                _workerUnitsOfWork[report.getWorker()] += report.getUnitsOfWork();
+            }
+            _unitsOfWork += report.getUnitsOfWork();
+            _samples += report.getSamples();
+            _bytes += report.getBytes();
+            _lagP99Micros = Math.max(_lagP99Micros, report.getLagP99Micros());
+            _lagMaxMicros = Math.max(_lagMaxMicros, report.getLagMaxMicros());
+        }
+
+        public long getUnitsOfWork() {
+            return _unitsOfWork;
+        }
+
+        /**
+         * Gets the units of work executed by one worker.
+         *
+         * @param worker The index of the worker.
+         * @return The units of work.
+         */
+        public long getUnitsOfWork(final int worker) {
+            return _workerUnitsOfWork[worker];
+        }
+
+        /**
+         * Gets the rate of units of work of all workers over the duration.
+         *
+         * @return The units of work per second.
+         */
+        public double getUnitsOfWorkPerSecond() {
+            return _unitsOfWork / Math.max(1e-3, _duration.toNanos() / 1e9);
+        }
+
+        public long getSamples() {
+            return _samples;
+        }
+
+        public long getBytes() {
+            return _bytes;
+        }
+
+        /**
+         * Gets the largest 99th percentile scheduling lag reported by any
+         * worker for any statistics interval. Percentiles cannot be combined
+         * exactly, so this is an upper bound of the overall percentile.
+         *
+         * @return The lag in microseconds.
+         */
+        public long getLagP99Micros() {
+            return _lagP99Micros;
+        }
+
+        public long getLagMaxMicros() {
+            return _lagMaxMicros;
+        }
+
+        private final long[] _workerUnitsOfWork;
+        private final Duration _duration;
+        private long _unitsOfWork;
+        private long _samples;
+        private long _bytes;
+        private long _lagP99Micros;
+        private long _lagMaxMicros;
+    }
+
+    /**
+     * Builder for a {@link Coordinator}.
+     */
+    public static final class Builder extends OvalBuilder<Coordinator> {
+        /**
+         * Public constructor.
+         */
+        public Builder() {
+            super((Builder builder) -> new Coordinator(builder));
+        }
+
+        /**
+         * Sets the command that runs the generator in a worker process, e.g.
+         * the java executable, the class path and the main class. The worker
+         * arguments are appended to the command.
+         *
+         * @param command The command.
+         * @return This builder.
+         */
+        public Builder setCommand(final List<String> command) {
+            _command = Lists.newArrayList(command);
+            return this;
+        }
+
+        /**
+         * Sets the workload specification file the workers execute.
+         *
+         * @param configuration The workload specification file.
+         * @return This builder.
+         */
+        public Builder setConfiguration(final Path configuration) {
+            _configuration = configuration;
+            return this;
+        }
+
+        /**
+         * Sets the number of worker processes.
+         *
+         * @param workerCount The number of workers.
+         * @return This builder.
+         */
+        public Builder setWorkerCount(final Integer workerCount) {
+            _workerCount = workerCount;
+            return this;
+        }
+
+        /**
+         * Sets the delay between starting the worker processes and the
+         * shared start time, which must cover the startup of the workers.
+         * Optional. Defaults to 5 seconds.
+         *
+         * @param startDelay The start delay.
+         * @return This builder.
+         */
+        public Builder setStartDelay(final Duration startDelay) {
+            _startDelay = startDelay;
+            return this;
+        }
+
+        /**
+         * Sets how long the workers execute after the start time.
+         *
+         * @param duration The duration.
+         * @return This builder.
+         */
+        public Builder setDuration(final Duration duration) {
+            _duration = duration;
+            return this;
+        }
+
+        @NotNull
+        @NotEmpty
+        private List<String> _command;
+        @NotNull
+        private Path _configuration;
+        @NotNull
+        @Min(1)
+        private Integer _workerCount;
+        @NotNull
+        private Duration _startDelay = Duration.ofSeconds(5);
+        @NotNull
+        private Duration _duration;
+    }
+}
@@ -0,0 +1,169 @@
+/*
+ * Copyright 2026 Inscope Metrics
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.arpnetworking.metrics.generator.util;
+
+import com.arpnetworking.commons.builder.OvalBuilder;
+import com.google.common.util.concurrent.Uninterruptibles;
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+import net.sf.oval.constraint.Min;
+import net.sf.oval.constraint.NotNull;
+
+import java.io.PrintStream;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Executes the partition of a workload assigned to one worker process by a
+ * {@link Coordinator}. The worker starts its {@link RealTimeExecutor} at the
+ * start time shared by all workers, stops it after the duration and writes
+ * the execution statistics of every statistics interval to a stream, one
+ * line of JSON per interval, for the coordinator to collect.
+ *
+ * @author Brandon Arp (brandon dot arp at inscopemetrics dot io)
+ */
+public final class DistributedWorker {
+
+    private DistributedWorker(final Builder builder) {
+        _worker = builder._worker;
+        _startTime = builder._startTime;
+        _duration = builder._duration;
+        _reportStream = builder._reportStream;
+        _executor = builder._executor
+                .setStartTime(_startTime)
+                .setStatisticsListener(intervals -> report(WorkerReport.create(_worker, intervals)))
+                .build();
+    }
+
+    /**
+     * Executes the workload partition. Blocks until the duration has elapsed
+     * after the start time or the calling thread is interrupted.
+     */
+    public void execute() {
+        final AtomicReference<Throwable> failure = new AtomicReference<>();
+        final Thread thread = new Thread(_executor::execute, "distributed-worker-" + _worker);
+        thread.setUncaughtExceptionHandler((t, e) -> failure.set(e));
+        thread.start();
+        try {
+            final long remaining = Duration.between(Instant.now(), _startTime.plus(_duration)).toMillis();
+            thread.join(Math.max(1, remaining));
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            // The executor reports the statistics of the final interval when it stops
+            thread.interrupt();
+            Uninterruptibles.joinUninterruptibly(thread);
+        }
+        if (failure.get() != null) {
+            throw new IllegalStateException("Worker " + _worker + " failed", failure.get());
+        }
+    }
+
+    private void report(final WorkerReport report) {
+        synchronized (_reportStream) {
+            _reportStream.println(report.format());
+            _reportStream.flush();
+        }
+    }
+
+    private final int _worker;
+    private final Instant _startTime;
+    private final Duration _duration;
+    private final PrintStream _reportStream;
+    private final RealTimeExecutor _executor;
+
+    /**
+     * Builder for a {@link DistributedWorker}.
+     */
+    public static final class Builder extends OvalBuilder<DistributedWorker> {
+        /**
+         * Public constructor.
+         */
+        public Builder() {
+            super((Builder builder) -> new DistributedWorker(builder));
+        }
+
+        /**
+         * Sets the builder of the executor of the workload partition. The
+         * start time and the statistics listener of the executor are set
+         * by the worker.
+         *
+         * @param executor The executor builder.
+         * @return This builder.
+         */
+        public Builder setExecutor(final RealTimeExecutor.Builder executor) {
+            _executor = executor;
+            return this;
+        }
+
+        /**
+         * Sets the index of the worker.
+         *
+         * @param worker The worker index.
+         * @return This builder.
+         */
+        public Builder setWorker(final Integer worker) {
+            _worker = worker;
+            return this;
+        }
+
+        /**
+         * Sets the wall clock time shared by all workers to start at.
+         *
+         * @param startTime The start time.
+         * @return This builder.
+         */
+        public Builder setStartTime(final Instant startTime) {
+            _startTime = startTime;
+            return this;
+        }
+
+        /**
+         * Sets how long to execute for after the start time.
+         *
+         * @param duration The duration.
+         * @return This builder.
+         */
+        public Builder setDuration(final Duration duration) {
+            _duration = duration;
+            return this;
+        }
+
+        /**
+         * Sets the stream to write the execution statistics to.
+         *
+         * @param reportStream The report stream.
+         * @return This builder.
+         */
+        @SuppressFBWarnings(value = "EI_EXPOSE_REP2", justification = "the stream is shared by design")
+        public Builder setReportStream(final PrintStream reportStream) {
+            _reportStream = reportStream;
+            return this;
+        }
+
+        @NotNull
+        private RealTimeExecutor.Builder _executor;
+        @NotNull
+        @Min(0)
+        private Integer _worker;
+        @NotNull
+        private Instant _startTime;
+        @NotNull
+        private Duration _duration;
+        @NotNull
+        private PrintStream _reportStream;
+    }
+}
@@ -0,0 +1,259 @@
+/*
+ * Copyright 2026 Inscope Metrics
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.arpnetworking.metrics.generator.util;
+
+import com.arpnetworking.metrics.Metrics;
+import com.arpnetworking.metrics.MetricsFactory;
+import com.arpnetworking.steno.Logger;
+import com.arpnetworking.steno.LoggerFactory;
+import com.google.common.collect.Lists;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import javax.annotation.Nullable;
+
+/**
+ * Counts what the executors actually achieved for each unit of work schedule:
+ * units of work, samples and bytes written and the scheduling lag (actual
+ * minus intended execution time). Recording is thread safe and cheap enough
+ * for every execution; {@link #report()} logs the rates since the previous
+ * report and optionally records them through a self-instrumentation
+ * {@link MetricsFactory}.
+ *
+ * @author Brandon Arp (brandon dot arp at inscopemetrics dot io)
+ */
+/* package private */ final class ExecutionStatistics {
+
+    /* package private */ ExecutionStatistics(final int scheduleCount, @Nullable final MetricsFactory metricsFactory) {
+        _metricsFactory = metricsFactory;
+        _schedules = Lists.newArrayListWithCapacity(scheduleCount);
+        for (int i = 0; i < scheduleCount; ++i) {
+            _schedules.add(new ScheduleStatistics());
+        }
+        _lastReport = System.nanoTime();
+    }
+
+    /**
+     * Records the execution of a unit of work.
+     *
+     * @param schedule The index of the schedule.
+     * @param samples The number of samples written.
+     * @param bytes The number of bytes written.
+     */
+    /* package private */ void record(final int schedule, final long samples, final long bytes) {
+        final ScheduleStatistics statistics = _schedules.get(schedule);
+        statistics._unitsOfWork.incrementAndGet();
+        statistics._samples.addAndGet(samples);
+        statistics._bytes.addAndGet(bytes);
+    }
+
+    /**
+     * Records the scheduling lag of a unit of work.
+     *
+     * @param schedule The index of the schedule.
+     * @param lagNanos The actual minus the intended execution time in nanoseconds.
+     */
+    /* package private */ void recordLag(final int schedule, final long lagNanos) {
+        final ScheduleStatistics statistics = _schedules.get(schedule);
+        final long lagMicros = TimeUnit.NANOSECONDS.toMicros(lagNanos);
+        statistics._lag.record(lagMicros);
+        statistics._maxLag.accumulateAndGet(lagMicros, Math::max);
+    }
+
+    /**
+     * Logs and records the statistics of each schedule since the previous
+     * report.
+     *
+     * @return The statistics of each schedule since the previous report.
+     */
+    /* package private */ synchronized List<Interval> report() {
+        final long now = System.nanoTime();
+        final double elapsedSeconds = Math.max(1, now - _lastReport) / (double) TimeUnit.SECONDS.toNanos(1);
+        _lastReport = now;
+        final List<Interval> intervals = Lists.newArrayListWithCapacity(_schedules.size());
+        for (int i = 0; i < _schedules.size(); ++i) {
+            final ScheduleStatistics statistics = _schedules.get(i);
+            final long unitsOfWork = statistics._unitsOfWork.get();
+            final long samples = statistics._samples.get();
+            final long bytes = statistics._bytes.get();
+            final long[] lag = statistics._lag.snapshot();
+            final long[] lagDelta = new long[lag.length];
+            for (int bucket = 0; bucket < lag.length; ++bucket) {
+                lagDelta[bucket] = lag[bucket] - statistics._reportedLag[bucket];
+            }
+
+            final Interval interval = new Interval(
+                    elapsedSeconds,
+                    unitsOfWork - statistics._reportedUnitsOfWork,
+                    samples - statistics._reportedSamples,
+                    bytes - statistics._reportedBytes,
+                    lagDelta,
+                    statistics._maxLag.getAndSet(0));
+            statistics._reportedUnitsOfWork = unitsOfWork;
+            statistics._reportedSamples = samples;
+            statistics._reportedBytes = bytes;
+            statistics._reportedLag = lag;
+            intervals.add(interval);
+
+            log(i, interval);
+            if (_metricsFactory != null) {
+                record(_metricsFactory, i, interval);
+            }
+        }
+        return intervals;
+    }
+
+    private static void log(final int schedule, final Interval interval) {
+        LOGGER.info()
+                .setEvent("ExecutionStatistics")
+                .setMessage("Schedule execution statistics")
+                .addData("schedule", schedule)
+                .addData("unitsOfWork", interval.getUnitsOfWork())
+                .addData("unitsOfWorkPerSecond", interval.getUnitsOfWorkPerSecond())
+                .addData("samplesPerSecond", interval.getSamples() / interval.getElapsedSeconds())
+                .addData("bytesPerSecond", interval.getBytes() / interval.getElapsedSeconds())
+                .addData("lagP50Micros", interval.getLagPercentile(50))
+                .addData("lagP99Micros", interval.getLagPercentile(99))
+                .addData("lagMaxMicros", interval.getLagMax())
+                .log();
+    }
+
+    private static void record(final MetricsFactory metricsFactory, final int schedule, final Interval interval) {
+        try (Metrics metrics = metricsFactory.create()) {
+            metrics.addAnnotation("schedule", String.valueOf(schedule));
+            metrics.incrementCounter("generator/units_of_work", interval.getUnitsOfWork());
+            metrics.incrementCounter("generator/samples", interval.getSamples());
+            metrics.incrementCounter("generator/bytes", interval.getBytes());
+            if (interval.hasLag()) {
+                metrics.setGauge("generator/lag_p50", interval.getLagPercentile(50));
+                metrics.setGauge("generator/lag_p99", interval.getLagPercentile(99));
+                metrics.setGauge("generator/lag_max", interval.getLagMax());
+            }
+        }
+    }
+
+    @Nullable
+    private final MetricsFactory _metricsFactory;
+    private final List<ScheduleStatistics> _schedules;
+    private long _lastReport;
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ExecutionStatistics.class);
+
+    private static final class ScheduleStatistics {
+        private final AtomicLong _unitsOfWork = new AtomicLong();
+        private final AtomicLong _samples = new AtomicLong();
+        private final AtomicLong _bytes = new AtomicLong();
+        private final AtomicLong _maxLag = new AtomicLong();
+        private final LogLinearHistogram _lag = new LogLinearHistogram();
+
+        // Totals at the previous report; only accessed while reporting
+        private long _reportedUnitsOfWork;
+        private long _reportedSamples;
+        private long _reportedBytes;
+        private long[] _reportedLag = new LogLinearHistogram().snapshot();
+    }
+
+    /**
+     * The statistics of one schedule between two reports.
+     */
+    /* package private */ static final class Interval {
+        private Interval(
+                final double elapsedSeconds,
+                final long unitsOfWork,
+                final long samples,
+                final long bytes,
+                final long[] lag,
+                final long lagMax) {
+            _elapsedSeconds = elapsedSeconds;
+            _unitsOfWork = unitsOfWork;
+            _samples = samples;
+            _bytes = bytes;
+            _lag = lag;
+            _lagMax = lagMax;
+        }
+
+        /**
+         * Combines the statistics of several schedules over the same period.
+         *
+         * @param intervals The statistics of the schedules.
+         * @return The combined statistics.
+         */
+        /* package private */ static Interval combine(final List<Interval> intervals) {
+            double elapsedSeconds = 0;
+            long unitsOfWork = 0;
+            long samples = 0;
+            long bytes = 0;
+            final long[] lag = new LogLinearHistogram().snapshot();
+            long lagMax = 0;
+            for (final Interval interval : intervals) {
+                elapsedSeconds = Math.max(elapsedSeconds, interval._elapsedSeconds);
+                unitsOfWork += interval._unitsOfWork;
+                samples += interval._samples;
+                bytes += interval._bytes;
+                for (int bucket = 0; bucket < lag.length; ++bucket) {
+                    lag[bucket] += interval._lag[bucket];
+                }
+                lagMax = Math.max(lagMax, interval._lagMax);
+            }
+            return new Interval(elapsedSeconds, unitsOfWork, samples, bytes, lag, lagMax);
+        }
+
+        /* package private */ double getElapsedSeconds() {
+            return _elapsedSeconds;
+        }
+
+        /* package private */ long getUnitsOfWork() {
+            return _unitsOfWork;
+        }
+
+        /* package private */ double getUnitsOfWorkPerSecond() {
+            return _unitsOfWork / _elapsedSeconds;
+        }
+
+        /* package private */ long getSamples() {
+            return _samples;
+        }
+
+        /* package private */ long getBytes() {
+            return _bytes;
+        }
+
+        /* package private */ boolean hasLag() {
+            for (final long count : _lag) {
+                if (count > 0) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        /* package private */ long getLagPercentile(final double percentile) {
+            return LogLinearHistogram.getPercentile(_lag, percentile);
+        }
+
+        /* package private */ long getLagMax() {
+            return _lagMax;
+        }
+
+        private final double _elapsedSeconds;
+        private final long _unitsOfWork;
+        private final long _samples;
+        private final long _bytes;
+        private final long[] _lag;
+        private final long _lagMax;
+    }
+}
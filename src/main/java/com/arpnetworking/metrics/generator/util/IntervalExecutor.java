@@ -15,19 +15,28 @@
  */
 package com.arpnetworking.metrics.generator.util;
 
+import com.arpnetworking.commons.builder.OvalBuilder;
+import com.arpnetworking.commons.uuidfactory.UuidFactory;
 import com.arpnetworking.metrics.MetricsFactory;
 import com.arpnetworking.metrics.generator.client.GeneratorSink;
+import com.arpnetworking.metrics.generator.client.HistogramSink;
+import com.arpnetworking.metrics.generator.client.OutputEncoding;
+import com.arpnetworking.metrics.generator.client.RotationPolicy;
+import com.arpnetworking.metrics.generator.client.TimeReplacingSink;
+import com.arpnetworking.metrics.generator.schedule.Scheduler;
 import com.arpnetworking.metrics.generator.uow.UnitOfWorkSchedule;
 import com.arpnetworking.metrics.impl.TsdMetricsFactory;
+import com.google.common.collect.Lists;
+import net.sf.oval.constraint.NotEmpty;
+import net.sf.oval.constraint.NotNull;
 
 import java.nio.file.Path;
 import java.time.Instant;
-import java.time.ZoneOffset;
 import java.time.ZonedDateTime;
 import java.util.Collections;
 import java.util.List;
-import java.util.PriorityQueue;
 import java.util.concurrent.TimeUnit;
+import javax.annotation.Nullable;
 
 /**
  * Generates metrics for a given interval.
@@ -53,46 +62,261 @@ public class IntervalExecutor {
             final Path outputPath,
             final String clusterName,
             final String serviceName) {
-        final long nanoStart = TimeUnit.NANOSECONDS.convert(start.toInstant().toEpochMilli(), TimeUnit.MILLISECONDS);
-        _nanoEnd = TimeUnit.NANOSECONDS.convert(end.toInstant().toEpochMilli(), TimeUnit.MILLISECONDS);
-        _workEntries = new PriorityQueue<>(generators.size(), new WorkItemOrdering());
-        for (final UnitOfWorkSchedule generator : generators) {
-            final long unitStart = generator.getScheduler().next(nanoStart);
-            _workEntries.add(new WorkEntry(generator, unitStart));
-        }
-        _modifyingSink = new GeneratorSink(outputPath, start);
-        _metricsFactory = new TsdMetricsFactory.Builder()
+        this(new Builder()
+                .setStart(start)
+                .setEnd(end)
+                .setSchedules(generators)
+                .setOutputPath(outputPath)
                 .setClusterName(clusterName)
-                .setServiceName(serviceName)
-                .setSinks(Collections.singletonList(_modifyingSink))
-                .build();
+                .setServiceName(serviceName));
+    }
+
+    private IntervalExecutor(final Builder builder) {
+        final long nanoStart = toEpochNanos(builder._start);
+        _nanoEnd = toEpochNanos(builder._end);
+        _schedules = builder._schedules;
+        _queue = new ScheduleQueue(_schedules.size());
+        for (int i = 0; i < _schedules.size(); ++i) {
+            final long next = _schedules.get(i).getScheduler().next(nanoStart);
+            if (next != Scheduler.NEVER) {
+                _queue.add(i, next);
+            }
+        }
+        _statistics = new ExecutionStatistics(builder._schedules.size(), builder._statisticsMetricsFactory);
+        final GeneratorSink sink = new GeneratorSink(builder._outputPath, builder._start, builder._outputEncoding, builder._rotationPolicy);
+        _modifyingSink = builder._histogramSink == null ? sink : builder._histogramSink.setSink(sink).build();
+        _aggregateOracle = builder._aggregateOracle;
+        final TsdMetricsFactory.Builder metricsFactoryBuilder = new TsdMetricsFactory.Builder()
+                .setClusterName(builder._clusterName)
+                .setServiceName(builder._serviceName)
+                .setSinks(_aggregateOracle == null
+                        ? Collections.singletonList(_modifyingSink)
+                        : Lists.newArrayList(_modifyingSink, _aggregateOracle));
+        if (builder._uuidFactory != null) {
+            metricsFactoryBuilder.setUuidFactory(builder._uuidFactory);
+        }
+        _metricsFactory = metricsFactoryBuilder.build();
     }
 
     /**
-     * Generates the data for the metrics interval.
+     * Generates the data for the metrics interval. The units of work, samples
+     * and bytes written for each schedule are logged when complete.
      */
     public void execute() {
-        while (!_workEntries.isEmpty()) {
-            final WorkEntry entry = _workEntries.poll();
-            _modifyingSink.setTime(
-                    ZonedDateTime.ofInstant(
-                            Instant.ofEpochMilli(TimeUnit.MILLISECONDS.convert(entry.getCurrentValue(), TimeUnit.NANOSECONDS)),
-                            ZoneOffset.UTC));
-            entry.getSchedule().getGenerator().generate(_metricsFactory);
-            final WorkEntry newEntry = new WorkEntry(
-                    entry.getSchedule(),
-                    entry.getSchedule().getScheduler().next(entry.getCurrentValue()));
+        while (!_queue.isEmpty()) {
+            final int index = _queue.peekSchedule();
+            final long time = _queue.peekTime();
+            final UnitOfWorkSchedule schedule = _schedules.get(index);
+            _modifyingSink.setTime(time);
+            if (_aggregateOracle != null) {
+                _aggregateOracle.setTime(time);
+            }
+            final long samples = _modifyingSink.getSamplesWritten();
+            final long bytes = _modifyingSink.getBytesWritten();
+            schedule.getGenerator().generate(_metricsFactory, time);
+            _statistics.record(
+                    index,
+                    _modifyingSink.getSamplesWritten() - samples,
+                    _modifyingSink.getBytesWritten() - bytes);
+            final long next = schedule.getScheduler().next(time);
             // If the current execution time is within the bounds, enqueue the next
             // This makes sure that each generator is run once outside of the period to close it's period.
-            if (entry.getCurrentValue() <= _nanoEnd) {
-                _workEntries.add(newEntry);
+            if (time <= _nanoEnd && next != Scheduler.NEVER) {
+                _queue.updateTop(next);
+            } else {
+                _queue.removeTop();
             }
         }
-        _modifyingSink.flush();
+        _modifyingSink.close();
+        if (_aggregateOracle != null) {
+            _aggregateOracle.close();
+        }
+        _statistics.report();
+    }
+
+    private static long toEpochNanos(final ZonedDateTime time) {
+        final Instant instant = time.toInstant();
+        return TimeUnit.SECONDS.toNanos(instant.getEpochSecond()) + instant.getNano();
     }
 
     private final long _nanoEnd;
-    private final PriorityQueue<WorkEntry> _workEntries;
+    private final List<UnitOfWorkSchedule> _schedules;
+    private final ScheduleQueue _queue;
     private final MetricsFactory _metricsFactory;
-    private final GeneratorSink _modifyingSink;
+    private final TimeReplacingSink _modifyingSink;
+    @Nullable
+    private final AggregateOracle _aggregateOracle;
+    private final ExecutionStatistics _statistics;
+
+    /**
+     * Builder for an {@link IntervalExecutor}.
+     */
+    public static class Builder extends OvalBuilder<IntervalExecutor> {
+        /**
+         * Public constructor.
+         */
+        public Builder() {
+            super((Builder builder) -> new IntervalExecutor(builder));
+        }
+
+        /**
+         * Sets the interval start time.
+         *
+         * @param start The interval start time.
+         * @return This builder.
+         */
+        public Builder setStart(final ZonedDateTime start) {
+            _start = start;
+            return this;
+        }
+
+        /**
+         * Sets the interval end time.
+         *
+         * @param end The interval end time.
+         * @return This builder.
+         */
+        public Builder setEnd(final ZonedDateTime end) {
+            _end = end;
+            return this;
+        }
+
+        /**
+         * Sets the unit of work schedules.
+         *
+         * @param schedules The unit of work schedules.
+         * @return This builder.
+         */
+        public Builder setSchedules(final List<UnitOfWorkSchedule> schedules) {
+            _schedules = Lists.newArrayList(schedules);
+            return this;
+        }
+
+        /**
+         * Sets the output path.
+         *
+         * @param outputPath The file to write metrics to.
+         * @return This builder.
+         */
+        public Builder setOutputPath(final Path outputPath) {
+            _outputPath = outputPath;
+            return this;
+        }
+
+        /**
+         * Sets the encoding to write events in. Optional. Defaults to
+         * {@link OutputEncoding#JSON}.
+         *
+         * @param outputEncoding The output encoding.
+         * @return This builder.
+         */
+        public Builder setOutputEncoding(final OutputEncoding outputEncoding) {
+            _outputEncoding = outputEncoding;
+            return this;
+        }
+
+        /**
+         * Sets the policy to rotate the output file with. Optional. Defaults
+         * to never rotating the output file.
+         *
+         * @param rotationPolicy The rotation policy.
+         * @return This builder.
+         */
+        public Builder setRotationPolicy(@Nullable final RotationPolicy rotationPolicy) {
+            _rotationPolicy = rotationPolicy;
+            return this;
+        }
+
+        /**
+         * Sets the sink to aggregate the timer samples into histograms with.
+         * Optional. Defaults to writing the samples.
+         *
+         * @param histogramSink The histogram sink builder.
+         * @return This builder.
+         */
+        public Builder setHistogramSink(@Nullable final HistogramSink.Builder histogramSink) {
+            _histogramSink = histogramSink;
+            return this;
+        }
+
+        /**
+         * Sets the cluster name.
+         *
+         * @param clusterName The cluster name.
+         * @return This builder.
+         */
+        public Builder setClusterName(final String clusterName) {
+            _clusterName = clusterName;
+            return this;
+        }
+
+        /**
+         * Sets the service name.
+         *
+         * @param serviceName The service name.
+         * @return This builder.
+         */
+        public Builder setServiceName(final String serviceName) {
+            _serviceName = serviceName;
+            return this;
+        }
+
+        /**
+         * Sets the factory for unit of work identifiers. Optional. Defaults
+         * to the metrics client's random identifiers.
+         *
+         * @param uuidFactory The unit of work identifier factory.
+         * @return This builder.
+         */
+        public Builder setUuidFactory(@Nullable final UuidFactory uuidFactory) {
+            _uuidFactory = uuidFactory;
+            return this;
+        }
+
+        /**
+         * Sets the factory to record the execution statistics of the
+         * executor with. Optional. Defaults to only logging the statistics.
+         *
+         * @param statisticsMetricsFactory The self-instrumentation metrics factory.
+         * @return This builder.
+         */
+        public Builder setStatisticsMetricsFactory(@Nullable final MetricsFactory statisticsMetricsFactory) {
+            _statisticsMetricsFactory = statisticsMetricsFactory;
+            return this;
+        }
+
+        /**
+         * Sets the oracle to compute the expected aggregates of the
+         * generated samples with. Optional. Defaults to none.
+         *
+         * @param aggregateOracle The aggregate oracle.
+         * @return This builder.
+         */
+        /* package private */ Builder setAggregateOracle(@Nullable final AggregateOracle aggregateOracle) {
+            _aggregateOracle = aggregateOracle;
+            return this;
+        }
+
+        @NotNull
+        private ZonedDateTime _start;
+        @NotNull
+        private ZonedDateTime _end;
+        @NotNull
+        private List<UnitOfWorkSchedule> _schedules;
+        @NotNull
+        private Path _outputPath;
+        @NotNull
+        private OutputEncoding _outputEncoding = OutputEncoding.JSON;
+        private RotationPolicy _rotationPolicy;
+        private HistogramSink.Builder _histogramSink;
+        @NotNull
+        @NotEmpty
+        private String _clusterName;
+        @NotNull
+        @NotEmpty
+        private String _serviceName;
+        private UuidFactory _uuidFactory;
+        private MetricsFactory _statisticsMetricsFactory;
+        private AggregateOracle _aggregateOracle;
+    }
 }
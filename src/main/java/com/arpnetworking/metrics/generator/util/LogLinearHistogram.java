@@ -0,0 +1,97 @@
+/*
+ * Copyright 2026 Inscope Metrics
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.arpnetworking.metrics.generator.util;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Thread safe histogram of non-negative values with buckets that are linear
+ * below 16 and log-linear (16 buckets per power of two) above, which bounds
+ * the relative error of a reported value to 1/16.
+ *
+ * @author Brandon Arp (brandon dot arp at inscopemetrics dot io)
+ */
+/* package private */ final class LogLinearHistogram {
+
+    /**
+     * Records a value. Negative values are recorded as zero.
+     *
+     * @param value The value to record.
+     */
+    /* package private */ void record(final long value) {
+        _counts.incrementAndGet(getBucket(Math.max(0, value)));
+    }
+
+    /**
+     * Copies the current bucket counts.
+     *
+     * @return The bucket counts.
+     */
+    /* package private */ long[] snapshot() {
+        final long[] counts = new long[BUCKET_COUNT];
+        for (int i = 0; i < BUCKET_COUNT; ++i) {
+            counts[i] = _counts.get(i);
+        }
+        return counts;
+    }
+
+    /**
+     * Gets the value at a percentile of the bucket counts. The lower bound
+     * of the bucket containing the percentile is returned.
+     *
+     * @param counts The bucket counts.
+     * @param percentile The percentile between 0 and 100.
+     * @return The value at the percentile or zero if there are no values.
+     */
+    /* package private */ static long getPercentile(final long[] counts, final double percentile) {
+        long total = 0;
+        for (final long count : counts) {
+            total += count;
+        }
+        final long rank = (long) Math.ceil(total * percentile / 100.0);
+        long seen = 0;
+        for (int i = 0; i < counts.length; ++i) {
+            seen += counts[i];
+            if (seen >= rank && seen > 0) {
+                return getLowerBound(i);
+            }
+        }
+        return 0;
+    }
+
+    /* package private */ static int getBucket(final long value) {
+        if (value < SUB_BUCKETS) {
+            return (int) value;
+        }
+        final int exponent = 63 - Long.numberOfLeadingZeros(value);
+        final int subBucket = (int) (value >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1);
+        return (exponent - SUB_BUCKET_BITS + 1) * SUB_BUCKETS + subBucket;
+    }
+
+    /* package private */ static long getLowerBound(final int bucket) {
+        if (bucket < SUB_BUCKETS) {
+            return bucket;
+        }
+        final int exponent = bucket / SUB_BUCKETS + SUB_BUCKET_BITS - 1;
+        return ((long) SUB_BUCKETS + bucket % SUB_BUCKETS) << (exponent - SUB_BUCKET_BITS);
+    }
+
+    private final AtomicLongArray _counts = new AtomicLongArray(BUCKET_COUNT);
+
+    private static final int SUB_BUCKET_BITS = 4;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    private static final int BUCKET_COUNT = getBucket(Long.MAX_VALUE) + 1;
+}
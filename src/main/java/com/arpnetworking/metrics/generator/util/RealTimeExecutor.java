@@ -15,24 +15,51 @@
  */
 package com.arpnetworking.metrics.generator.util;
 
+import com.arpnetworking.commons.builder.OvalBuilder;
 import com.arpnetworking.metrics.MetricsFactory;
+import com.arpnetworking.metrics.generator.client.AsyncSink;
 import com.arpnetworking.metrics.generator.client.GeneratorSink;
+import com.arpnetworking.metrics.generator.client.HistogramSink;
+import com.arpnetworking.metrics.generator.client.NetworkSink;
+import com.arpnetworking.metrics.generator.client.OutputEncoding;
+import com.arpnetworking.metrics.generator.client.RotationPolicy;
+import com.arpnetworking.metrics.generator.client.TimeReplacingSink;
 import com.arpnetworking.metrics.generator.uow.UnitOfWorkSchedule;
-import com.arpnetworking.metrics.impl.TsdMetricsFactory;
 import com.google.common.collect.Lists;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+import net.sf.oval.constraint.Min;
+import net.sf.oval.constraint.NotEmpty;
+import net.sf.oval.constraint.NotNull;
+import net.sf.oval.constraint.ValidateWithMethod;
 
 import java.nio.file.Path;
+import java.time.Duration;
 import java.time.Instant;
-import java.time.ZoneOffset;
 import java.time.ZonedDateTime;
 import java.util.Collections;
 import java.util.List;
-import java.util.PriorityQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import javax.annotation.Nullable;
 
 /**
  * Executes a scheduler in real-time.
  *
+ * The schedules may be partitioned across several worker threads. Each worker
+ * owns its schedules, its work queue, its metrics factory and its output file
+ * so the workers never contend with each other. Schedules executed on
+ * different workers must not share generators or random sources.
+ *
+ * Alternatively each schedule runs on its own thread, a virtual thread on
+ * Java 21 or later, and all schedules write through one {@link AsyncSink}.
+ * See {@link Builder#setThreadPerSchedule(Boolean)}.
+ *
  * @author Brandon Arp (barp at groupon dot com)
  */
 public class RealTimeExecutor {
@@ -49,57 +76,418 @@ public class RealTimeExecutor {
             final Path outputPath,
             final String clusterName,
             final String serviceName) {
-        _generators = Lists.newArrayList(generators);
-        _workEntries = new PriorityQueue<>(generators.size(), new WorkItemOrdering());
-        _modifyingSink = new GeneratorSink(outputPath, ZonedDateTime.now());
-
-        _metricsFactory = new TsdMetricsFactory.Builder()
+        this(new Builder()
+                .setSchedules(generators)
+                .setOutputPath(outputPath)
                 .setClusterName(clusterName)
-                .setServiceName(serviceName)
-                .setSinks(Collections.singletonList(_modifyingSink))
-                .build();
+                .setServiceName(serviceName));
+    }
+
+    private RealTimeExecutor(final Builder builder) {
+        _startTime = builder._startTime;
+        _statistics = new ExecutionStatistics(builder._schedules.size(), builder._statisticsMetricsFactory);
+        _statisticsInterval = builder._statisticsInterval;
+        _statisticsListener = builder._statisticsListener;
+        if (builder._threadPerSchedule) {
+            final AsyncSink.Builder asyncSink = builder._asyncSink == null ? new AsyncSink.Builder() : builder._asyncSink;
+            _workers = Collections.singletonList(new ThreadPerScheduleRunner(
+                    builder._schedules,
+                    asyncSink.setSink(createSink(builder, 1, 0)).build(),
+                    builder._clusterName,
+                    builder._serviceName,
+                    builder._catchUpPolicy,
+                    _statistics));
+            return;
+        }
+
+        final int threadCount = Math.min(builder._threadCount, Math.max(1, builder._schedules.size()));
+        final List<List<UnitOfWorkSchedule>> partitions = Lists.newArrayListWithCapacity(threadCount);
+        final List<List<Integer>> partitionIndices = Lists.newArrayListWithCapacity(threadCount);
+        for (int i = 0; i < threadCount; ++i) {
+            partitions.add(Lists.newArrayList());
+            partitionIndices.add(Lists.newArrayList());
+        }
+        for (int i = 0; i < builder._schedules.size(); ++i) {
+            partitions.get(i % threadCount).add(builder._schedules.get(i));
+            partitionIndices.get(i % threadCount).add(i);
+        }
+        _workers = Lists.newArrayListWithCapacity(threadCount);
+        for (int i = 0; i < threadCount; ++i) {
+            final TimeReplacingSink sink = createSink(builder, threadCount, i);
+            _workers.add(new RealTimeWorker(
+                    partitions.get(i),
+                    partitionIndices.get(i),
+                    builder._asyncSink == null ? sink : builder._asyncSink.setSink(sink).build(),
+                    builder._clusterName,
+                    builder._serviceName,
+                    builder._catchUpPolicy,
+                    _statistics));
+        }
+    }
+
+    private static TimeReplacingSink createSink(final Builder builder, final int threadCount, final int worker) {
+        final TimeReplacingSink sink;
+        if (builder._networkSink != null) {
+            sink = builder._networkSink.build();
+        } else {
+            final Path workerPath = threadCount == 1 ? builder._outputPath : getWorkerPath(builder._outputPath, worker);
+            sink = new GeneratorSink(workerPath, ZonedDateTime.now(), builder._outputEncoding, builder._rotationPolicy);
+        }
+        return builder._histogramSink == null ? sink : builder._histogramSink.setSink(sink).build();
     }
 
     /**
-     * Generates metrics.
+     * Generates metrics. Blocks until the calling thread is interrupted or no
+     * schedule has further executions. The
+     * achieved rates and the scheduling lag of each schedule are logged
+     * periodically while executing. If a start time is set, waits until the
+     * start time before executing anything.
      */
     public void execute() {
-        for (final UnitOfWorkSchedule generator : _generators) {
-            final long unitStart = generator.getScheduler().next(
-                    TimeUnit.NANOSECONDS.convert(ZonedDateTime.now().toInstant().toEpochMilli(), TimeUnit.MILLISECONDS));
-            _workEntries.add(new WorkEntry(generator, unitStart));
-        }
-        while (true) {
-            if (_workEntries.isEmpty()) {
-                break;
+        if (!awaitStart()) {
+            return;
+        }
+        final ScheduledExecutorService reporter = Executors.newSingleThreadScheduledExecutor(
+                new ThreadFactoryBuilder().setNameFormat("real-time-executor-statistics").setDaemon(true).build());
+        final long interval = _statisticsInterval.toNanos();
+        reporter.scheduleAtFixedRate(this::reportStatistics, interval, interval, TimeUnit.NANOSECONDS);
+        try {
+            if (_workers.size() == 1) {
+                _workers.get(0).run();
+            } else {
+                executeWorkers();
+            }
+        } finally {
+            reporter.shutdownNow();
+            reportStatistics();
+        }
+    }
+
+    private boolean awaitStart() {
+        if (_startTime == null) {
+            return true;
+        }
+        final long delay = Duration.between(Instant.now(), _startTime).toMillis();
+        if (delay > 0) {
+            try {
+                Thread.sleep(delay);
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return false;
             }
-            final WorkEntry entry = _workEntries.peek();
-            final ZonedDateTime executeTime = ZonedDateTime.ofInstant(
-                    Instant.ofEpochMilli(TimeUnit.MILLISECONDS.convert(entry.getCurrentValue(), TimeUnit.NANOSECONDS)),
-                    ZoneOffset.UTC);
-            if (executeTime.isAfter(ZonedDateTime.now())) {
-                try {
-                    Thread.sleep(10);
-                } catch (final InterruptedException ignored) {
-                    Thread.interrupted();
-                    return;
-                }
-                continue;
+        }
+        return true;
+    }
+
+    private void reportStatistics() {
+        _statisticsListener.accept(_statistics.report());
+    }
+
+    private void executeWorkers() {
+        final ExecutorService executor = Executors.newFixedThreadPool(
+                _workers.size(),
+                new ThreadFactoryBuilder().setNameFormat("real-time-executor-%d").build());
+        final List<Future<?>> futures = Lists.newArrayListWithCapacity(_workers.size());
+        for (final Runnable worker : _workers) {
+            futures.add(executor.submit(worker));
+        }
+        try {
+            for (final Future<?> future : futures) {
+                future.get();
             }
-            _workEntries.poll();
-            _modifyingSink.setTime(ZonedDateTime.ofInstant(
-                    Instant.ofEpochMilli(TimeUnit.MILLISECONDS.convert(entry.getCurrentValue(), TimeUnit.NANOSECONDS)),
-                    ZoneOffset.UTC));
-            entry.getSchedule().getGenerator().generate(_metricsFactory);
-            final WorkEntry newEntry = new WorkEntry(
-                    entry.getSchedule(),
-                    entry.getSchedule().getScheduler().next(entry.getCurrentValue()));
-            _workEntries.add(newEntry);
+        } catch (final InterruptedException e) {
+            // Stop the workers; each one closes its own sink on interrupt
+            executor.shutdownNow();
+            awaitTermination(executor);
+            Thread.currentThread().interrupt();
+        } catch (final ExecutionException e) {
+            executor.shutdownNow();
+            throw new RuntimeException(e.getCause());
+        } finally {
+            executor.shutdown();
         }
     }
 
-    private final GeneratorSink _modifyingSink;
-    private final MetricsFactory _metricsFactory;
-    private final PriorityQueue<WorkEntry> _workEntries;
-    private final List<UnitOfWorkSchedule> _generators;
+    /**
+     * Resolves the output file of a worker by inserting the worker index
+     * before the file extension (e.g. query.log becomes query-1.log).
+     *
+     * @param outputPath The configured output file.
+     * @param index The worker index.
+     * @return The output file of the worker.
+     */
+    public static Path getWorkerPath(final Path outputPath, final int index) {
+        final String fileName = String.valueOf(outputPath.getFileName());
+        final int extension = fileName.lastIndexOf('.');
+        if (extension > 0) {
+            return outputPath.resolveSibling(fileName.substring(0, extension) + "-" + index + fileName.substring(extension));
+        }
+        return outputPath.resolveSibling(fileName + "-" + index);
+    }
+
+    private static void awaitTermination(final ExecutorService executor) {
+        try {
+            executor.awaitTermination(SHUTDOWN_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        } catch (final InterruptedException ignored) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Nullable
+    private final Instant _startTime;
+    private final List<Runnable> _workers;
+    private final ExecutionStatistics _statistics;
+    private final Duration _statisticsInterval;
+    private final Consumer<List<ExecutionStatistics.Interval>> _statisticsListener;
+
+    private static final long SHUTDOWN_TIMEOUT_SECONDS = 10;
+
+    /**
+     * Builder for a {@link RealTimeExecutor}.
+     */
+    public static class Builder extends OvalBuilder<RealTimeExecutor> {
+        /**
+         * Public constructor.
+         */
+        public Builder() {
+            super((Builder builder) -> new RealTimeExecutor(builder));
+        }
+
+        /**
+         * Sets the unit of work schedules.
+         *
+         * @param schedules The unit of work schedules.
+         * @return This builder.
+         */
+        public Builder setSchedules(final List<UnitOfWorkSchedule> schedules) {
+            _schedules = Lists.newArrayList(schedules);
+            return this;
+        }
+
+        /**
+         * Sets the output path. With more than one thread each worker writes
+         * to its own file with the worker index inserted before the extension.
+         *
+         * @param outputPath The file to write metrics to.
+         * @return This builder.
+         */
+        public Builder setOutputPath(@Nullable final Path outputPath) {
+            _outputPath = outputPath;
+            return this;
+        }
+
+        /**
+         * Sets the network sink to send events to instead of writing files.
+         * Each worker builds its own sink, and so its own connection, with
+         * the builder. Exactly one of the output path and the network sink
+         * must be set.
+         *
+         * @param networkSink The network sink builder.
+         * @return This builder.
+         */
+        public Builder setNetworkSink(@Nullable final NetworkSink.Builder networkSink) {
+            _networkSink = networkSink;
+            return this;
+        }
+
+        /**
+         * Sets the encoding to write events in. Optional. Defaults to
+         * {@link OutputEncoding#JSON}.
+         *
+         * @param outputEncoding The output encoding.
+         * @return This builder.
+         */
+        public Builder setOutputEncoding(final OutputEncoding outputEncoding) {
+            _outputEncoding = outputEncoding;
+            return this;
+        }
+
+        /**
+         * Sets the policy to rotate the output file with. Optional. Defaults
+         * to never rotating the output file.
+         *
+         * @param rotationPolicy The rotation policy.
+         * @return This builder.
+         */
+        public Builder setRotationPolicy(@Nullable final RotationPolicy rotationPolicy) {
+            _rotationPolicy = rotationPolicy;
+            return this;
+        }
+
+        /**
+         * Sets the queue to decouple each worker from writing its output
+         * with. Each worker writes through its own {@link AsyncSink} built
+         * with the builder. Optional. Defaults to writing on the worker
+         * thread.
+         *
+         * @param asyncSink The async sink builder.
+         * @return This builder.
+         */
+        public Builder setAsyncSink(@Nullable final AsyncSink.Builder asyncSink) {
+            _asyncSink = asyncSink;
+            return this;
+        }
+
+        /**
+         * Sets the sink to aggregate the timer samples of each worker into
+         * histograms with. Each worker aggregates its own samples with a
+         * {@link HistogramSink} built with the builder, beneath the async
+         * sink if one is set. Optional. Defaults to writing the samples.
+         *
+         * @param histogramSink The histogram sink builder.
+         * @return This builder.
+         */
+        public Builder setHistogramSink(@Nullable final HistogramSink.Builder histogramSink) {
+            _histogramSink = histogramSink;
+            return this;
+        }
+
+        /**
+         * Sets whether each schedule runs on its own thread instead of the
+         * schedules being partitioned across the worker threads. The
+         * threads are virtual on Java 21 or later and share one output
+         * written through an {@link AsyncSink}, built with the async sink
+         * builder if one is set, so the thread count and the worker file
+         * names do not apply. Schedules must not share generators or random
+         * sources. The bytes written are not attributed to schedules.
+         * Optional. Defaults to false.
+         *
+         * @param threadPerSchedule Whether to run a thread per schedule.
+         * @return This builder.
+         */
+        public Builder setThreadPerSchedule(final Boolean threadPerSchedule) {
+            _threadPerSchedule = threadPerSchedule;
+            return this;
+        }
+
+        /**
+         * Sets the cluster name.
+         *
+         * @param clusterName The cluster name.
+         * @return This builder.
+         */
+        public Builder setClusterName(final String clusterName) {
+            _clusterName = clusterName;
+            return this;
+        }
+
+        /**
+         * Sets the service name.
+         *
+         * @param serviceName The service name.
+         * @return This builder.
+         */
+        public Builder setServiceName(final String serviceName) {
+            _serviceName = serviceName;
+            return this;
+        }
+
+        /**
+         * Sets the number of worker threads. The schedules are assigned to
+         * the workers round robin. Optional. Defaults to 1.
+         *
+         * @param threadCount The number of worker threads.
+         * @return This builder.
+         */
+        public Builder setThreadCount(final Integer threadCount) {
+            _threadCount = threadCount;
+            return this;
+        }
+
+        /**
+         * Sets how units of work are executed when a worker falls behind its
+         * schedule. Optional. Defaults to {@link CatchUpPolicy#BURST}.
+         *
+         * @param catchUpPolicy The catch up policy.
+         * @return This builder.
+         */
+        public Builder setCatchUpPolicy(final CatchUpPolicy catchUpPolicy) {
+            _catchUpPolicy = catchUpPolicy;
+            return this;
+        }
+
+        /**
+         * Sets the wall clock time to start executing at, e.g. to start the
+         * executors of several processes together. Optional. Defaults to
+         * starting immediately.
+         *
+         * @param startTime The start time.
+         * @return This builder.
+         */
+        public Builder setStartTime(@Nullable final Instant startTime) {
+            _startTime = startTime;
+            return this;
+        }
+
+        /**
+         * Sets the interval to log the execution statistics at. Optional.
+         * Defaults to 10 seconds.
+         *
+         * @param statisticsInterval The statistics interval.
+         * @return This builder.
+         */
+        public Builder setStatisticsInterval(final Duration statisticsInterval) {
+            _statisticsInterval = statisticsInterval;
+            return this;
+        }
+
+        /**
+         * Sets the factory to record the execution statistics of the
+         * executor with. Optional. Defaults to only logging the statistics.
+         *
+         * @param statisticsMetricsFactory The self-instrumentation metrics factory.
+         * @return This builder.
+         */
+        public Builder setStatisticsMetricsFactory(@Nullable final MetricsFactory statisticsMetricsFactory) {
+            _statisticsMetricsFactory = statisticsMetricsFactory;
+            return this;
+        }
+
+        /**
+         * Sets the listener for the execution statistics of each statistics
+         * interval. Optional. Defaults to none.
+         *
+         * @param statisticsListener The statistics listener.
+         * @return This builder.
+         */
+        /* package private */ Builder setStatisticsListener(final Consumer<List<ExecutionStatistics.Interval>> statisticsListener) {
+            _statisticsListener = statisticsListener;
+            return this;
+        }
+
+        @SuppressFBWarnings(value = "UPM_UNCALLED_PRIVATE_METHOD", justification = "invoked by oval")
+        private boolean validateOutputPath(@Nullable final Path outputPath) {
+            return outputPath == null ^ _networkSink == null;
+        }
+
+        @NotNull
+        private List<UnitOfWorkSchedule> _schedules;
+        @ValidateWithMethod(methodName = "validateOutputPath", parameterType = Path.class, ignoreIfNull = false)
+        private Path _outputPath;
+        private NetworkSink.Builder _networkSink;
+        private HistogramSink.Builder _histogramSink;
+        @NotNull
+        private OutputEncoding _outputEncoding = OutputEncoding.JSON;
+        private RotationPolicy _rotationPolicy;
+        private AsyncSink.Builder _asyncSink;
+        @NotNull
+        private Boolean _threadPerSchedule = false;
+        @NotNull
+        @NotEmpty
+        private String _clusterName;
+        @NotNull
+        @NotEmpty
+        private String _serviceName;
+        @NotNull
+        @Min(1)
+        private Integer _threadCount = 1;
+        @NotNull
+        private CatchUpPolicy _catchUpPolicy = CatchUpPolicy.BURST;
+        private Instant _startTime;
+        @NotNull
+        private Duration _statisticsInterval = Duration.ofSeconds(10);
+        private MetricsFactory _statisticsMetricsFactory;
+        @NotNull
+        private Consumer<List<ExecutionStatistics.Interval>> _statisticsListener = intervals -> { };
+    }
 }
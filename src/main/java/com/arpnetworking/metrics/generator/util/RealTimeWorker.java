@@ -0,0 +1,139 @@
+/*
+ * Copyright 2026 Inscope Metrics
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.arpnetworking.metrics.generator.util;
+
+import com.arpnetworking.metrics.MetricsFactory;
+import com.arpnetworking.metrics.generator.client.TimeReplacingSink;
+import com.arpnetworking.metrics.generator.schedule.Scheduler;
+import com.arpnetworking.metrics.generator.uow.UnitOfWorkSchedule;
+import com.arpnetworking.metrics.impl.TsdMetricsFactory;
+
+import java.time.Instant;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Executes a partition of the schedules of a {@link RealTimeExecutor} on one
+ * thread until the thread is interrupted.
+ *
+ * Execution times are nanoseconds since the epoch. They are mapped onto
+ * {@code System.nanoTime()} once at start so that waiting for the next
+ * deadline neither reads the wall clock nor allocates. The worker parks until
+ * shortly before a deadline and spins for the remainder. Output is flushed
+ * whenever the next deadline is far enough away.
+ *
+ * @author Brandon Arp (brandon dot arp at inscopemetrics dot io)
+ */
+/* package private */ final class RealTimeWorker implements Runnable {
+
+    /* package private */ RealTimeWorker(
+            final List<UnitOfWorkSchedule> schedules,
+            final List<Integer> indices,
+            final TimeReplacingSink sink,
+            final String clusterName,
+            final String serviceName,
+            final CatchUpPolicy catchUpPolicy,
+            final ExecutionStatistics statistics) {
+        _schedules = schedules;
+        _indices = indices.stream().mapToInt(Integer::intValue).toArray();
+        _catchUpPolicy = catchUpPolicy;
+        _statistics = statistics;
+        _queue = new ScheduleQueue(schedules.size());
+        _modifyingSink = sink;
+        _metricsFactory = new TsdMetricsFactory.Builder()
+                .setClusterName(clusterName)
+                .setServiceName(serviceName)
+                .setSinks(Collections.singletonList(_modifyingSink))
+                .build();
+    }
+
+    @Override
+    public void run() {
+        final Instant now = Instant.now();
+        final long epochStart = TimeUnit.SECONDS.toNanos(now.getEpochSecond()) + now.getNano();
+        final long epochOffset = epochStart - System.nanoTime();
+        for (int i = 0; i < _schedules.size(); ++i) {
+            final long next = _schedules.get(i).getScheduler().next(epochStart);
+            if (next != Scheduler.NEVER) {
+                _queue.add(i, next);
+            }
+        }
+        boolean unflushed = false;
+        try {
+            while (!_queue.isEmpty() && !Thread.currentThread().isInterrupted()) {
+                final long lateness = System.nanoTime() + epochOffset - _queue.peekTime();
+                if (lateness < 0) {
+                    unflushed = awaitDeadline(-lateness, unflushed);
+                    continue;
+                }
+                final int schedule = _queue.peekSchedule();
+                _statistics.recordLag(_indices[schedule], lateness);
+                execute(schedule, lateness > LATE_THRESHOLD_NANOS ? lateness : 0);
+                unflushed = true;
+            }
+        } finally {
+            _modifyingSink.close();
+        }
+    }
+
+    private void execute(final int index, final long lateness) {
+        final UnitOfWorkSchedule schedule = _schedules.get(index);
+        final long scheduled = _queue.peekTime();
+        final long emissionTime = _catchUpPolicy.getEmissionTime(scheduled, lateness);
+        _modifyingSink.setTime(emissionTime);
+        final long samples = _modifyingSink.getSamplesWritten();
+        final long bytes = _modifyingSink.getBytesWritten();
+        schedule.getGenerator().generate(_metricsFactory, emissionTime);
+        _statistics.record(
+                _indices[index],
+                _modifyingSink.getSamplesWritten() - samples,
+                _modifyingSink.getBytesWritten() - bytes);
+        final long next = _catchUpPolicy.getNextExecution(schedule.getScheduler(), scheduled, lateness);
+        if (next == Scheduler.NEVER) {
+            _queue.removeTop();
+        } else {
+            _queue.updateTop(next);
+        }
+    }
+
+    private boolean awaitDeadline(final long remaining, final boolean unflushed) {
+        if (unflushed && remaining > FLUSH_THRESHOLD_NANOS) {
+            // Nothing is due for a while so write out what has been generated so far
+            _modifyingSink.flush();
+            return false;
+        }
+        if (remaining > SPIN_THRESHOLD_NANOS) {
+            LockSupport.parkNanos(this, remaining - SPIN_THRESHOLD_NANOS);
+        } else {
+            Thread.onSpinWait();
+        }
+        return unflushed;
+    }
+
+    private final List<UnitOfWorkSchedule> _schedules;
+    private final int[] _indices;
+    private final CatchUpPolicy _catchUpPolicy;
+    private final ExecutionStatistics _statistics;
+    private final TimeReplacingSink _modifyingSink;
+    private final MetricsFactory _metricsFactory;
+    private final ScheduleQueue _queue;
+
+    private static final long FLUSH_THRESHOLD_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+    private static final long SPIN_THRESHOLD_NANOS = TimeUnit.MICROSECONDS.toNanos(50);
+    private static final long LATE_THRESHOLD_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+}
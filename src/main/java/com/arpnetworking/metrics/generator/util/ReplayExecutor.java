@@ -0,0 +1,221 @@
+/*
+ * Copyright 2026 Inscope Metrics
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.arpnetworking.metrics.generator.util;
+
+import com.arpnetworking.commons.builder.OvalBuilder;
+import com.arpnetworking.metrics.generator.client.RecordReplayer;
+import com.arpnetworking.steno.Logger;
+import com.arpnetworking.steno.LoggerFactory;
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+import net.sf.oval.constraint.Min;
+import net.sf.oval.constraint.NotNull;
+import net.sf.oval.constraint.ValidateWithMethod;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import javax.annotation.Nullable;
+
+/**
+ * Replays a file written by the other executors to a file, named pipe or TCP
+ * socket with the time of every record replaced by the time it is replayed
+ * at. Records are copied from the memory mapped file without being
+ * generated or parsed again, so the payloads are identical across runs and
+ * much cheaper to produce. See {@link RecordReplayer}.
+ *
+ * Records are replayed at a constant rate or, if no rate is set, as fast as
+ * the output accepts them. Replay stops at the end of the file or when the
+ * calling thread is interrupted.
+ *
+ * @author Brandon Arp (brandon dot arp at inscopemetrics dot io)
+ */
+public final class ReplayExecutor {
+
+    private ReplayExecutor(final Builder builder) {
+        _inputPath = builder._inputPath;
+        _outputPath = builder._outputPath;
+        _outputAddress = builder._outputAddress;
+        _periodNanos = builder._rate == null ? 0 : Math.max(1, Math.round(TimeUnit.SECONDS.toNanos(1) / builder._rate));
+    }
+
+    /**
+     * Replays the file. Blocks until the file has been replayed or the calling
+     * thread is interrupted.
+     *
+     * @return The number of records replayed.
+     */
+    public long execute() {
+        final Instant now = Instant.now();
+        final long epochStart = TimeUnit.SECONDS.toNanos(now.getEpochSecond()) + now.getNano();
+        final long nanoStart = System.nanoTime();
+        final long epochOffset = epochStart - nanoStart;
+        try (RecordReplayer replayer = new RecordReplayer(_inputPath, openOutput())) {
+            boolean unflushed = false;
+            long next = epochStart;
+            while (!Thread.currentThread().isInterrupted()) {
+                if (_periodNanos > 0) {
+                    final long remaining = next - (System.nanoTime() + epochOffset);
+                    if (remaining > 0) {
+                        unflushed = awaitDeadline(replayer, remaining, unflushed);
+                        continue;
+                    }
+                } else {
+                    next = System.nanoTime() + epochOffset;
+                }
+                if (!replayer.replay(next)) {
+                    break;
+                }
+                unflushed = true;
+                next += _periodNanos;
+            }
+            replayer.flush();
+
+            final double elapsedSeconds = Math.max(1, System.nanoTime() - nanoStart) / (double) TimeUnit.SECONDS.toNanos(1);
+            LOGGER.info()
+                    .setEvent("ReplayCompleted")
+                    .setMessage("Replay completed")
+                    .addData("input", _inputPath)
+                    .addData("records", replayer.getRecordsWritten())
+                    .addData("recordsPerSecond", replayer.getRecordsWritten() / elapsedSeconds)
+                    .addData("bytesPerSecond", replayer.getBytesWritten() / elapsedSeconds)
+                    .log();
+            return replayer.getRecordsWritten();
+        } catch (final IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    private OutputStream openOutput() throws IOException {
+        if (_outputAddress != null) {
+            final Socket socket = new Socket();
+            try {
+                socket.connect(_outputAddress);
+                return new BufferedOutputStream(socket.getOutputStream(), OUTPUT_BUFFER_SIZE);
+            } catch (final IOException e) {
+                socket.close();
+                throw e;
+            }
+        }
+        return new BufferedOutputStream(Files.newOutputStream(_outputPath), OUTPUT_BUFFER_SIZE);
+    }
+
+    private boolean awaitDeadline(final RecordReplayer replayer, final long remaining, final boolean unflushed)
+            throws IOException {
+        if (unflushed && remaining > FLUSH_THRESHOLD_NANOS) {
+            // Nothing is due for a while so write out what has been replayed so far
+            replayer.flush();
+            return false;
+        }
+        if (remaining > SPIN_THRESHOLD_NANOS) {
+            LockSupport.parkNanos(this, remaining - SPIN_THRESHOLD_NANOS);
+        } else {
+            Thread.onSpinWait();
+        }
+        return unflushed;
+    }
+
+    private final Path _inputPath;
+    @Nullable
+    private final Path _outputPath;
+    @Nullable
+    private final InetSocketAddress _outputAddress;
+    private final long _periodNanos;
+
+    private static final int OUTPUT_BUFFER_SIZE = 64 * 1024;
+    private static final long FLUSH_THRESHOLD_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+    private static final long SPIN_THRESHOLD_NANOS = TimeUnit.MICROSECONDS.toNanos(50);
+    private static final Logger LOGGER = LoggerFactory.getLogger(ReplayExecutor.class);
+
+    /**
+     * Builder for a {@link ReplayExecutor}.
+     */
+    public static final class Builder extends OvalBuilder<ReplayExecutor> {
+        /**
+         * Public constructor.
+         */
+        public Builder() {
+            super((Builder builder) -> new ReplayExecutor(builder));
+        }
+
+        /**
+         * Sets the file to replay. It must be written with the JSON or binary
+         * encoding.
+         *
+         * @param inputPath The file to replay.
+         * @return This builder.
+         */
+        public Builder setInputPath(final Path inputPath) {
+            _inputPath = inputPath;
+            return this;
+        }
+
+        /**
+         * Sets the file or named pipe to replay to. Exactly one of the output
+         * path and the output address must be set.
+         *
+         * @param outputPath The file to replay to.
+         * @return This builder.
+         */
+        public Builder setOutputPath(@Nullable final Path outputPath) {
+            _outputPath = outputPath;
+            return this;
+        }
+
+        /**
+         * Sets the TCP address to replay to. Exactly one of the output path
+         * and the output address must be set.
+         *
+         * @param outputAddress The address to replay to.
+         * @return This builder.
+         */
+        public Builder setOutputAddress(@Nullable final InetSocketAddress outputAddress) {
+            _outputAddress = outputAddress;
+            return this;
+        }
+
+        /**
+         * Sets the records per second to replay at. Optional. Defaults to
+         * replaying as fast as possible.
+         *
+         * @param rate The rate.
+         * @return This builder.
+         */
+        public Builder setRate(@Nullable final Double rate) {
+            _rate = rate;
+            return this;
+        }
+
+        @SuppressFBWarnings(value = "UPM_UNCALLED_PRIVATE_METHOD", justification = "invoked by oval")
+        private boolean validateOutputPath(@Nullable final Path outputPath) {
+            return outputPath == null ^ _outputAddress == null;
+        }
+
+        @NotNull
+        private Path _inputPath;
+        @ValidateWithMethod(methodName = "validateOutputPath", parameterType = Path.class, ignoreIfNull = false)
+        private Path _outputPath;
+        private InetSocketAddress _outputAddress;
+        @Min(value = 0, inclusive = false)
+        private Double _rate;
+    }
+}
@@ -0,0 +1,151 @@
+/*
+ * Copyright 2026 Inscope Metrics
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.arpnetworking.metrics.generator.util;
+
+import java.util.Arrays;
+
+/**
+ * Priority queue of schedules by their next execution time. A 4-ary
+ * min-heap over parallel arrays of execution times and schedule indices
+ * replaces a {@code PriorityQueue} of entry objects, so that scheduling an
+ * execution neither allocates nor chases pointers. The next execution of the
+ * earliest schedule replaces its time in place with
+ * {@link #updateTop(long)}. Schedules with the same execution time are
+ * ordered by index.
+ *
+ * This class is not thread safe.
+ *
+ * @author Brandon Arp (brandon dot arp at inscopemetrics dot io)
+ */
+/* package private */ final class ScheduleQueue {
+
+    /* package private */ ScheduleQueue(final int capacity) {
+        _times = new long[Math.max(1, capacity)];
+        _schedules = new int[_times.length];
+    }
+
+    /**
+     * Adds a schedule.
+     *
+     * @param schedule The index of the schedule.
+     * @param time The next execution time of the schedule.
+     */
+    /* package private */ void add(final int schedule, final long time) {
+        if (_size == _times.length) {
+            _times = Arrays.copyOf(_times, _size * 2);
+            _schedules = Arrays.copyOf(_schedules, _size * 2);
+        }
+        siftUp(_size++, schedule, time);
+    }
+
+    /* package private */ boolean isEmpty() {
+        return _size == 0;
+    }
+
+    /* package private */ int size() {
+        return _size;
+    }
+
+    /**
+     * Gets the index of the schedule with the earliest execution time. The
+     * queue must not be empty.
+     *
+     * @return The index of the schedule.
+     */
+    /* package private */ int peekSchedule() {
+        return _schedules[0];
+    }
+
+    /**
+     * Gets the earliest execution time. The queue must not be empty.
+     *
+     * @return The execution time.
+     */
+    /* package private */ long peekTime() {
+        return _times[0];
+    }
+
+    /**
+     * Replaces the execution time of the earliest schedule, typically with
+     * its next execution time.
+     *
+     * @param time The new execution time.
+     */
+    /* package private */ void updateTop(final long time) {
+        siftDown(0, _schedules[0], time);
+    }
+
+    /**
+     * Removes the earliest schedule.
+     */
+    /* package private */ void removeTop() {
+        --_size;
+        if (_size > 0) {
+            siftDown(0, _schedules[_size], _times[_size]);
+        }
+    }
+
+    private void siftUp(final int position, final int schedule, final long time) {
+        int current = position;
+        while (current > 0) {
+            final int parent = (current - 1) >>> ARITY_BITS;
+            if (!isBefore(time, schedule, _times[parent], _schedules[parent])) {
+                break;
+            }
+            _times[current] = _times[parent];
+            _schedules[current] = _schedules[parent];
+            current = parent;
+        }
+        _times[current] = time;
+        _schedules[current] = schedule;
+    }
+
+    private void siftDown(final int position, final int schedule, final long time) {
+        int current = position;
+        while (true) {
+            final int first = (current << ARITY_BITS) + 1;
+            if (first >= _size) {
+                break;
+            }
+            int child = first;
+            final int last = Math.min(first + ARITY, _size);
+            for (int sibling = first + 1; sibling < last; ++sibling) {
+                if (isBefore(_times[sibling], _schedules[sibling], _times[child], _schedules[child])) {
+                    child = sibling;
+                }
+            }
+            if (!isBefore(_times[child], _schedules[child], time, schedule)) {
+                break;
+            }
+            _times[current] = _times[child];
+            _schedules[current] = _schedules[child];
+            current = child;
+        }
+        _times[current] = time;
+        _schedules[current] = schedule;
+    }
+
+    private static boolean isBefore(final long time, final int schedule, final long otherTime, final int otherSchedule) {
+        return time < otherTime || time == otherTime && schedule < otherSchedule;
+    }
+
+    private long[] _times;
+    private int[] _schedules;
+    private int _size;
+
+    private static final int ARITY_BITS = 2;
+    private static final int ARITY = 1 << ARITY_BITS;
+}
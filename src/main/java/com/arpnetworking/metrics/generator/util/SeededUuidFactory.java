@@ -0,0 +1,54 @@
+/*
+ * Copyright 2026 Inscope Metrics
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.arpnetworking.metrics.generator.util;
+
+import com.arpnetworking.commons.uuidfactory.UuidFactory;
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+import org.apache.commons.math3.random.RandomGenerator;
+
+import java.util.UUID;
+
+/**
+ * Creates version 4 (random) {@link UUID} instances from a supplied random
+ * generator so that unit of work identifiers are reproducible for a seed.
+ *
+ * @author Brandon Arp (brandon dot arp at inscopemetrics dot io)
+ */
+public final class SeededUuidFactory implements UuidFactory {
+    /**
+     * Public constructor.
+     *
+     * @param random Source for random
+     */
+    @SuppressFBWarnings(value = "EI_EXPOSE_REP2", justification = "we actually want to be able to control the random")
+    public SeededUuidFactory(final RandomGenerator random) {
+        _random = random;
+    }
+
+    @Override
+    public UUID create() {
+        final long mostSignificant = (_random.nextLong() & ~VERSION_MASK) | VERSION_4;
+        final long leastSignificant = (_random.nextLong() & ~VARIANT_MASK) | VARIANT_IETF;
+        return new UUID(mostSignificant, leastSignificant);
+    }
+
+    private final RandomGenerator _random;
+
+    private static final long VERSION_MASK = 0x000000000000f000L;
+    private static final long VERSION_4 = 0x0000000000004000L;
+    private static final long VARIANT_MASK = 0xc000000000000000L;
+    private static final long VARIANT_IETF = 0x8000000000000000L;
+}
@@ -0,0 +1,379 @@
+/*
+ * Copyright 2026 Inscope Metrics
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.arpnetworking.metrics.generator.util;
+
+import com.arpnetworking.commons.builder.OvalBuilder;
+import com.arpnetworking.metrics.generator.client.OutputEncoding;
+import com.arpnetworking.metrics.generator.schedule.AdjustableRateScheduler;
+import com.arpnetworking.metrics.generator.uow.UnitOfWorkGenerator;
+import com.arpnetworking.metrics.generator.uow.UnitOfWorkSchedule;
+import com.arpnetworking.steno.Logger;
+import com.arpnetworking.steno.LoggerFactory;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Lists;
+import net.sf.oval.constraint.Min;
+import net.sf.oval.constraint.NotEmpty;
+import net.sf.oval.constraint.NotNull;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Finds the rate at which the system under test saturates in one run. Units
+ * of work are generated in real-time at a rate that is multiplied at the end
+ * of every step until the scheduling lag exceeds a threshold or the maximum
+ * number of steps is reached. The achieved rate and lag of every step are
+ * logged and returned.
+ *
+ * The rate is shared evenly by one schedule per unit of work generator, so
+ * each worker thread should be given its own generators.
+ *
+ * @author Brandon Arp (brandon dot arp at inscopemetrics dot io)
+ */
+public final class StepLoadRunner {
+
+    private StepLoadRunner(final Builder builder) {
+        _rate = builder._initialRate;
+        _rateMultiplier = builder._rateMultiplier;
+        _maxSteps = builder._maxSteps;
+        _lagThresholdMicros = TimeUnit.NANOSECONDS.toMicros(builder._lagThreshold.toNanos());
+        _stopOnSaturation = builder._stopOnSaturation;
+        _schedulers = Lists.newArrayListWithCapacity(builder._generators.size());
+        final List<UnitOfWorkSchedule> schedules = Lists.newArrayListWithCapacity(builder._generators.size());
+        for (final UnitOfWorkGenerator generator : builder._generators) {
+            final AdjustableRateScheduler scheduler = new AdjustableRateScheduler(_rate / builder._generators.size());
+            _schedulers.add(scheduler);
+            schedules.add(new UnitOfWorkSchedule(generator, scheduler));
+        }
+        _executor = new RealTimeExecutor.Builder()
+                .setSchedules(schedules)
+                .setOutputPath(builder._outputPath)
+                .setOutputEncoding(builder._outputEncoding)
+                .setClusterName(builder._clusterName)
+                .setServiceName(builder._serviceName)
+                .setThreadCount(builder._threadCount)
+                .setStatisticsInterval(builder._stepDuration)
+                .setStatisticsListener(this::onStep)
+                .build();
+    }
+
+    /**
+     * Executes the steps. Blocks until the last step completes or the calling
+     * thread is interrupted.
+     *
+     * @return The result of each completed step.
+     */
+    public List<StepResult> run() {
+        synchronized (this) {
+            _thread = Thread.currentThread();
+        }
+        _executor.execute();
+        synchronized (this) {
+            if (_finished) {
+                // Clear the interrupt used to stop the executor
+                Thread.interrupted();
+            }
+            _finished = true;
+            return ImmutableList.copyOf(_results);
+        }
+    }
+
+    private synchronized void onStep(final List<ExecutionStatistics.Interval> intervals) {
+        if (_finished) {
+            return;
+        }
+        long unitsOfWork = 0;
+        long lagP99 = 0;
+        for (final ExecutionStatistics.Interval interval : intervals) {
+            unitsOfWork += interval.getUnitsOfWork();
+            lagP99 = Math.max(lagP99, interval.getLagPercentile(99));
+        }
+        final double achievedRate = unitsOfWork / intervals.get(0).getElapsedSeconds();
+        final boolean saturated = lagP99 > _lagThresholdMicros;
+        _results.add(new StepResult(_results.size(), _rate, achievedRate, lagP99, saturated));
+        LOGGER.info()
+                .setEvent("StepLoadStep")
+                .setMessage(saturated ? "Step exceeded lag threshold" : "Step completed")
+                .addData("step", _results.size() - 1)
+                .addData("targetRate", _rate)
+                .addData("achievedRate", achievedRate)
+                .addData("lagP99Micros", lagP99)
+                .addData("saturated", saturated)
+                .log();
+
+        if (saturated && _stopOnSaturation || _results.size() >= _maxSteps) {
+            _finished = true;
+            if (_thread != null) {
+                _thread.interrupt();
+            }
+            return;
+        }
+        _rate *= _rateMultiplier;
+        for (final AdjustableRateScheduler scheduler : _schedulers) {
+            scheduler.setRate(_rate / _schedulers.size());
+        }
+    }
+
+    private double _rate;
+    private boolean _finished;
+    private Thread _thread;
+    private final List<StepResult> _results = Lists.newArrayList();
+    private final double _rateMultiplier;
+    private final int _maxSteps;
+    private final long _lagThresholdMicros;
+    private final boolean _stopOnSaturation;
+    private final List<AdjustableRateScheduler> _schedulers;
+    private final RealTimeExecutor _executor;
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(StepLoadRunner.class);
+
+    /**
+     * The outcome of one step.
+     */
+    public static final class StepResult {
+        private StepResult(
+                final int step,
+                final double targetRate,
+                final double achievedRate,
+                final long lagP99Micros,
+                final boolean saturated) {
+            _step = step;
+            _targetRate = targetRate;
+            _achievedRate = achievedRate;
+            _lagP99Micros = lagP99Micros;
+            _saturated = saturated;
+        }
+
+        public int getStep() {
+            return _step;
+        }
+
+        public double getTargetRate() {
+            return _targetRate;
+        }
+
+        public double getAchievedRate() {
+            return _achievedRate;
+        }
+
+        public long getLagP99Micros() {
+            return _lagP99Micros;
+        }
+
+        public boolean isSaturated() {
+            return _saturated;
+        }
+
+        @Override
+        public String toString() {
+            return "StepResult{step=" + _step
+                    + ", targetRate=" + _targetRate
+                    + ", achievedRate=" + _achievedRate
+                    + ", lagP99Micros=" + _lagP99Micros
+                    + ", saturated=" + _saturated
+                    + "}";
+        }
+
+        private final int _step;
+        private final double _targetRate;
+        private final double _achievedRate;
+        private final long _lagP99Micros;
+        private final boolean _saturated;
+    }
+
+    /**
+     * Builder for a {@link StepLoadRunner}.
+     */
+    public static final class Builder extends OvalBuilder<StepLoadRunner> {
+        /**
+         * Public constructor.
+         */
+        public Builder() {
+            super((Builder builder) -> new StepLoadRunner(builder));
+        }
+
+        /**
+         * Sets the unit of work generators. Each generator is executed on
+         * its own schedule at an even share of the rate.
+         *
+         * @param generators The unit of work generators.
+         * @return This builder.
+         */
+        public Builder setGenerators(final List<UnitOfWorkGenerator> generators) {
+            _generators = Lists.newArrayList(generators);
+            return this;
+        }
+
+        /**
+         * Sets the units of work per second of the first step.
+         *
+         * @param initialRate The initial rate.
+         * @return This builder.
+         */
+        public Builder setInitialRate(final Double initialRate) {
+            _initialRate = initialRate;
+            return this;
+        }
+
+        /**
+         * Sets the factor to multiply the rate by after each step. Optional.
+         * Defaults to 2.
+         *
+         * @param rateMultiplier The rate multiplier.
+         * @return This builder.
+         */
+        public Builder setRateMultiplier(final Double rateMultiplier) {
+            _rateMultiplier = rateMultiplier;
+            return this;
+        }
+
+        /**
+         * Sets the duration of each step. Optional. Defaults to 30 seconds.
+         *
+         * @param stepDuration The step duration.
+         * @return This builder.
+         */
+        public Builder setStepDuration(final Duration stepDuration) {
+            _stepDuration = stepDuration;
+            return this;
+        }
+
+        /**
+         * Sets the maximum number of steps. Optional. Defaults to 10.
+         *
+         * @param maxSteps The maximum number of steps.
+         * @return This builder.
+         */
+        public Builder setMaxSteps(final Integer maxSteps) {
+            _maxSteps = maxSteps;
+            return this;
+        }
+
+        /**
+         * Sets the 99th percentile scheduling lag above which a step is
+         * saturated. Optional. Defaults to 100 milliseconds.
+         *
+         * @param lagThreshold The lag threshold.
+         * @return This builder.
+         */
+        public Builder setLagThreshold(final Duration lagThreshold) {
+            _lagThreshold = lagThreshold;
+            return this;
+        }
+
+        /**
+         * Sets whether to stop after the first saturated step or only flag it
+         * and continue. Optional. Defaults to true.
+         *
+         * @param stopOnSaturation Whether to stop on saturation.
+         * @return This builder.
+         */
+        public Builder setStopOnSaturation(final Boolean stopOnSaturation) {
+            _stopOnSaturation = stopOnSaturation;
+            return this;
+        }
+
+        /**
+         * Sets the output path.
+         *
+         * @param outputPath The file to write metrics to.
+         * @return This builder.
+         */
+        public Builder setOutputPath(final Path outputPath) {
+            _outputPath = outputPath;
+            return this;
+        }
+
+        /**
+         * Sets the encoding to write events in. Optional. Defaults to
+         * {@link OutputEncoding#JSON}.
+         *
+         * @param outputEncoding The output encoding.
+         * @return This builder.
+         */
+        public Builder setOutputEncoding(final OutputEncoding outputEncoding) {
+            _outputEncoding = outputEncoding;
+            return this;
+        }
+
+        /**
+         * Sets the cluster name.
+         *
+         * @param clusterName The cluster name.
+         * @return This builder.
+         */
+        public Builder setClusterName(final String clusterName) {
+            _clusterName = clusterName;
+            return this;
+        }
+
+        /**
+         * Sets the service name.
+         *
+         * @param serviceName The service name.
+         * @return This builder.
+         */
+        public Builder setServiceName(final String serviceName) {
+            _serviceName = serviceName;
+            return this;
+        }
+
+        /**
+         * Sets the number of worker threads. Optional. Defaults to 1.
+         *
+         * @param threadCount The number of worker threads.
+         * @return This builder.
+         */
+        public Builder setThreadCount(final Integer threadCount) {
+            _threadCount = threadCount;
+            return this;
+        }
+
+        @NotNull
+        @NotEmpty
+        private List<UnitOfWorkGenerator> _generators;
+        @NotNull
+        @Min(value = 0, inclusive = false)
+        private Double _initialRate;
+        @NotNull
+        @Min(value = 1, inclusive = false)
+        private Double _rateMultiplier = 2.0;
+        @NotNull
+        private Duration _stepDuration = Duration.ofSeconds(30);
+        @NotNull
+        @Min(1)
+        private Integer _maxSteps = 10;
+        @NotNull
+        private Duration _lagThreshold = Duration.ofMillis(100);
+        @NotNull
+        private Boolean _stopOnSaturation = true;
+        @NotNull
+        private Path _outputPath;
+        @NotNull
+        private OutputEncoding _outputEncoding = OutputEncoding.JSON;
+        @NotNull
+        @NotEmpty
+        private String _clusterName;
+        @NotNull
+        @NotEmpty
+        private String _serviceName;
+        @NotNull
+        @Min(1)
+        private Integer _threadCount = 1;
+    }
+}
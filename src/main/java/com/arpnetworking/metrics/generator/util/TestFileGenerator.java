@@ -16,6 +16,7 @@
 package com.arpnetworking.metrics.generator.util;
 
 import com.arpnetworking.commons.builder.OvalBuilder;
+import com.arpnetworking.metrics.generator.client.OutputEncoding;
 import com.arpnetworking.metrics.generator.metric.ConstantCountMetricGenerator;
 import com.arpnetworking.metrics.generator.metric.ConstantMetricGenerator;
 import com.arpnetworking.metrics.generator.metric.GaussianMetricGenerator;
@@ -35,14 +36,23 @@ import net.sf.oval.constraint.NotNull;
 import org.apache.commons.math3.random.RandomGenerator;
 
 import java.io.IOException;
+import java.nio.channels.FileChannel;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
 import java.nio.file.attribute.BasicFileAttributes;
 import java.time.Duration;
 import java.time.ZonedDateTime;
 import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.concurrent.TimeUnit;
+import javax.annotation.Nullable;
 
 /**
  * Helper class to generate a file for use in performance testing.
@@ -58,14 +68,42 @@ public final class TestFileGenerator {
         _startTime = builder._startTime;
         _endTime = builder._endTime;
         _fileName = builder._fileName;
+        _outputEncoding = builder._outputEncoding;
         _clusterName = builder._clusterName;
         _serviceName = builder._serviceName;
+        _shardCount = builder._shardCount;
+        _parallelism = builder._parallelism;
+        _aggregatePeriod = builder._aggregatePeriod;
     }
 
     /**
-     * Generates the test file.
+     * Generates the test file. The shards are generated on up to the
+     * configured parallelism of threads.
      */
     public void generate() {
+        final ExecutorService executor = Executors.newFixedThreadPool(Math.max(1, Math.min(_parallelism, _shardCount)));
+        try {
+            generate(executor).get();
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException(e);
+        } catch (final ExecutionException e) {
+            throw new RuntimeException(e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Generates the test file with its shards executed by an executor, e.g.
+     * one shared by the generation of several files. The shards are merged
+     * by the thread completing the last shard, so no thread of the executor
+     * waits for another task. The configured parallelism does not apply.
+     *
+     * @param executor The executor to generate the shards on.
+     * @return A future completed once the file is complete.
+     */
+    public CompletableFuture<Void> generate(final Executor executor) {
         try {
             Files.deleteIfExists(_fileName);
         } catch (final IOException e) {
@@ -73,44 +111,47 @@ public final class TestFileGenerator {
         }
 
         final long totalSampleCount = ((long) _uowCount) * _namesCount * _samplesCount;
+        final int shardCount = Math.min(_shardCount, _uowCount);
         LOGGER.info()
                 .setEvent("GeneratingFile")
                 .setMessage("Starting file generation")
                 .addData("file", _fileName.toAbsolutePath())
                 .addData("expectedSamples", totalSampleCount)
+                .addData("shards", shardCount)
                 .log();
 
-        final Duration duration = Duration.between(_startTime, _endTime);
-
-        final List<MetricGenerator> metricGenerators = Lists.newArrayList();
+        // Draw everything shared from the root random up front and in a fixed
+        // order so that the output depends only on the seed and shard count
+        final List<String> names = Lists.newArrayListWithCapacity(_namesCount);
         for (int x = 0; x < _namesCount; ++x) {
-            final GaussianMetricGenerator gaussian = new GaussianMetricGenerator(
-                    50d, 8d, new SingleNameGenerator(_random), _random);
-            final ConstantCountMetricGenerator sampleGenerator = new ConstantCountMetricGenerator(_samplesCount, gaussian);
-            metricGenerators.add(sampleGenerator);
+            names.add(new SingleNameGenerator(_random).getName());
+        }
+        final long[] seeds = new long[shardCount];
+        for (int x = 0; x < shardCount; ++x) {
+            seeds[x] = _random.nextLong();
         }
-        final UnitOfWorkGenerator uowGenerator = new UnitOfWorkGenerator(metricGenerators);
-
-        final List<UnitOfWorkSchedule> schedules = Lists.newArrayList();
-        final long durationInNanos = TimeUnit.NANOSECONDS.convert(duration.toMillis(), TimeUnit.MILLISECONDS);
-        final long periodInNanos = durationInNanos / _uowCount;
-        schedules.add(new UnitOfWorkSchedule(uowGenerator, new ConstantTimeScheduler(periodInNanos)));
 
-        final MetricGenerator canary = new ConstantMetricGenerator(5, new SpecifiedName(CANARY));
+        final List<AggregateOracle> oracles = Lists.newArrayListWithCapacity(shardCount);
+        if (_aggregatePeriod != null) {
+            for (int x = 0; x < shardCount; ++x) {
+                oracles.add(new AggregateOracle(_aggregatePeriod, Paths.get(getAggregatesPath(_fileName) + ".shard-" + x)));
+            }
+        }
+        final CompletableFuture<Void> shards;
+        if (shardCount == 1) {
+            final AggregateOracle oracle = oracles.isEmpty() ? null : oracles.get(0);
+            shards = CompletableFuture.runAsync(() -> generateShard(0, 1, seeds[0], names, _fileName, oracle), executor);
+        } else {
+            shards = generateShards(seeds, names, oracles, executor);
+        }
+        return shards.thenRun(() -> complete(oracles));
+    }
 
-        // Special canary unit of work schedulers
-        // Each UOW generator is guaranteed to be executed once
-        final UnitOfWorkGenerator canaryUOW = new UnitOfWorkGenerator(Collections.singletonList(canary));
-        schedules.add(new UnitOfWorkSchedule(canaryUOW, new ConstantTimeScheduler(durationInNanos + periodInNanos)));
+    private void complete(final List<AggregateOracle> oracles) {
+        if (!oracles.isEmpty()) {
+            AggregateOracle.merge(oracles, getAggregatesPath(_fileName));
+        }
 
-        final IntervalExecutor executor = new IntervalExecutor(
-                _startTime,
-                _endTime,
-                schedules,
-                _fileName,
-                _clusterName,
-                _serviceName);
-        executor.execute();
         try {
             final BasicFileAttributes attributes = Files.readAttributes(_fileName, BasicFileAttributes.class);
             LOGGER.info()
@@ -127,11 +168,121 @@ public final class TestFileGenerator {
         }
     }
 
+    /**
+     * Resolves the file the expected aggregates of a test file are written to.
+     *
+     * @param fileName The test file.
+     * @return The aggregates file.
+     */
+    public static Path getAggregatesPath(final Path fileName) {
+        return Paths.get(fileName + AGGREGATES_SUFFIX);
+    }
+
+    private CompletableFuture<Void> generateShards(
+            final long[] seeds,
+            final List<String> names,
+            final List<AggregateOracle> oracles,
+            final Executor executor) {
+        final int shardCount = seeds.length;
+        final List<Path> shardFiles = Lists.newArrayListWithCapacity(shardCount);
+        final CompletableFuture<?>[] futures = new CompletableFuture<?>[shardCount];
+        for (int x = 0; x < shardCount; ++x) {
+            final int shard = x;
+            final Path shardFile = Paths.get(_fileName.toString() + ".shard-" + shard);
+            shardFiles.add(shardFile);
+            final AggregateOracle oracle = oracles.isEmpty() ? null : oracles.get(shard);
+            futures[shard] = CompletableFuture.runAsync(
+                    () -> generateShard(shard, shardCount, seeds[shard], names, shardFile, oracle),
+                    executor);
+        }
+        return CompletableFuture.allOf(futures).thenRun(() -> mergeShards(shardFiles));
+    }
+
+    private void generateShard(
+            final int shard,
+            final int shardCount,
+            final long seed,
+            final List<String> names,
+            final Path outputPath,
+            @Nullable final AggregateOracle oracle) {
+        final Xoshiro256PlusPlus random = new Xoshiro256PlusPlus(seed);
+        final List<MetricGenerator> metricGenerators = Lists.newArrayList();
+        for (final String name : names) {
+            final GaussianMetricGenerator gaussian = new GaussianMetricGenerator(
+                    50d, 8d, new SpecifiedName(name), random.split());
+            final ConstantCountMetricGenerator sampleGenerator = new ConstantCountMetricGenerator(_samplesCount, gaussian);
+            metricGenerators.add(sampleGenerator);
+        }
+        final UnitOfWorkGenerator uowGenerator = new UnitOfWorkGenerator(metricGenerators);
+
+        // Each shard owns a contiguous range of unit of work executions; the
+        // executor emits the execution after its end so the end is set one
+        // period before the first execution owned by the next shard.
+        final long durationInNanos = TimeUnit.NANOSECONDS.convert(
+                Duration.between(_startTime, _endTime).toMillis(),
+                TimeUnit.MILLISECONDS);
+        final long periodInNanos = durationInNanos / _uowCount;
+        final long firstExecution = (long) _uowCount * shard / shardCount;
+        final long nextShardExecution = (long) _uowCount * (shard + 1) / shardCount;
+        final boolean isLastShard = shard == shardCount - 1;
+        final ZonedDateTime shardStart = _startTime.plusNanos(firstExecution * periodInNanos);
+        final ZonedDateTime shardEnd = isLastShard ? _endTime : _startTime.plusNanos((nextShardExecution - 1) * periodInNanos);
+
+        final List<UnitOfWorkSchedule> schedules = Lists.newArrayList();
+        schedules.add(new UnitOfWorkSchedule(uowGenerator, new ConstantTimeScheduler(periodInNanos)));
+
+        if (isLastShard) {
+            final MetricGenerator canary = new ConstantMetricGenerator(5, new SpecifiedName(CANARY));
+
+            // Special canary unit of work schedulers
+            // Each UOW generator is guaranteed to be executed once
+            final UnitOfWorkGenerator canaryUOW = new UnitOfWorkGenerator(Collections.singletonList(canary));
+            final long canaryOffset = durationInNanos + periodInNanos - firstExecution * periodInNanos;
+            schedules.add(new UnitOfWorkSchedule(canaryUOW, new ConstantTimeScheduler(canaryOffset)));
+        }
+
+        final IntervalExecutor executor = new IntervalExecutor.Builder()
+                .setStart(shardStart)
+                .setEnd(shardEnd)
+                .setSchedules(schedules)
+                .setOutputPath(outputPath)
+                .setOutputEncoding(_outputEncoding)
+                .setClusterName(_clusterName)
+                .setServiceName(_serviceName)
+                .setUuidFactory(new SeededUuidFactory(random.split()))
+                .setAggregateOracle(oracle)
+                .build();
+        executor.execute();
+    }
+
+    private void mergeShards(final List<Path> shardFiles) {
+        try (FileChannel output = FileChannel.open(
+                _fileName,
+                StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            for (final Path shardFile : shardFiles) {
+                try (FileChannel input = FileChannel.open(shardFile, StandardOpenOption.READ)) {
+                    final long size = input.size();
+                    long position = 0;
+                    while (position < size) {
+                        position += input.transferTo(position, size - position, output);
+                    }
+                }
+                Files.delete(shardFile);
+            }
+        } catch (final IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
     /**
      * Name of the ending canary metric.
      */
     public static final String CANARY = "endCanary";
 
+    private static final String AGGREGATES_SUFFIX = ".aggregates";
+
     private final RandomGenerator _random;
     private final Integer _uowCount;
     private final Integer _namesCount;
@@ -139,8 +290,13 @@ public final class TestFileGenerator {
     private final ZonedDateTime _startTime;
     private final ZonedDateTime _endTime;
     private final Path _fileName;
+    private final OutputEncoding _outputEncoding;
     private final String _clusterName;
     private final String _serviceName;
+    private final Integer _shardCount;
+    private final Integer _parallelism;
+    @Nullable
+    private final Duration _aggregatePeriod;
 
     private static final Logger LOGGER = LoggerFactory.getLogger(TestFileGenerator.class);
 
@@ -233,6 +389,19 @@ public final class TestFileGenerator {
             return this;
         }
 
+        /**
+         * Sets the encoding to write events in. The shards of every encoding
+         * are concatenated into a valid file. Optional. Defaults to
+         * {@link OutputEncoding#JSON}.
+         *
+         * @param outputEncoding The output encoding.
+         * @return This builder.
+         */
+        public Builder setOutputEncoding(final OutputEncoding outputEncoding) {
+            _outputEncoding = outputEncoding;
+            return this;
+        }
+
         /**
          * Sets the cluster name.
          *
@@ -255,6 +424,52 @@ public final class TestFileGenerator {
             return this;
         }
 
+        /**
+         * Sets the number of time shards to split the interval into. Each
+         * shard is generated with its own executor and random generator
+         * seeded from the root random, and the shards are concatenated in
+         * order into the output file. The output is deterministic for a
+         * given seed and shard count. Optional. Defaults to 1.
+         *
+         * @param shardCount The number of shards
+         * @return This builder.
+         */
+        public Builder setShardCount(final Integer shardCount) {
+            _shardCount = shardCount;
+            return this;
+        }
+
+        /**
+         * Sets the maximum number of shards to generate concurrently with
+         * {@link TestFileGenerator#generate()}. This does not affect the
+         * output. Optional. Defaults to 1.
+         *
+         * @param parallelism The maximum number of concurrent shards
+         * @return This builder.
+         */
+        public Builder setParallelism(final Integer parallelism) {
+            _parallelism = parallelism;
+            return this;
+        }
+
+        /**
+         * Sets the period to compute the expected aggregates of the samples
+         * of each metric for. The exact count, sum, minimum, maximum and
+         * percentiles of every metric in every period are written as one
+         * JSON object per line to the file returned by
+         * {@link TestFileGenerator#getAggregatesPath(Path)} while the test
+         * file is generated, so aggregators can be checked without reading
+         * the test file again. Optional. Defaults to not computing the
+         * aggregates.
+         *
+         * @param aggregatePeriod The aggregation period.
+         * @return This builder.
+         */
+        public Builder setAggregatePeriod(@Nullable final Duration aggregatePeriod) {
+            _aggregatePeriod = aggregatePeriod;
+            return this;
+        }
+
         /**
          * Build the {@link TestFileGenerator}.
          *
@@ -280,10 +495,17 @@ public final class TestFileGenerator {
         @NotNull
         private Path _fileName;
         @NotNull
+        private OutputEncoding _outputEncoding = OutputEncoding.JSON;
+        @NotNull
         @NotEmpty
         private String _clusterName;
         @NotNull
         @NotEmpty
         private String _serviceName;
+        @Min(1)
+        private Integer _shardCount = 1;
+        @Min(1)
+        private Integer _parallelism = 1;
+        private Duration _aggregatePeriod;
     }
 }
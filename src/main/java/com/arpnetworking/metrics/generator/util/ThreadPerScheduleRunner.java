@@ -0,0 +1,165 @@
+/*
+ * Copyright 2026 Inscope Metrics
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.arpnetworking.metrics.generator.util;
+
+import com.arpnetworking.metrics.MetricsFactory;
+import com.arpnetworking.metrics.generator.client.AsyncSink;
+import com.arpnetworking.metrics.generator.client.TimeReplacingSink;
+import com.arpnetworking.metrics.generator.schedule.Scheduler;
+import com.arpnetworking.metrics.generator.uow.UnitOfWorkSchedule;
+import com.arpnetworking.metrics.impl.TsdMetricsFactory;
+import com.arpnetworking.steno.Logger;
+import com.arpnetworking.steno.LoggerFactory;
+import com.google.common.collect.Lists;
+
+import java.time.Instant;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Executes each schedule of a {@link RealTimeExecutor} on its own thread
+ * until the calling thread is interrupted. The threads are virtual where the
+ * runtime supports them, so thousands of schedules, for example one per
+ * simulated service instance, need neither a thread nor a work queue entry
+ * each. Every schedule thread sleeps until its next deadline and records
+ * its units of work into a shared {@link AsyncSink} whose writer thread
+ * batches them to the output.
+ *
+ * Unlike {@link RealTimeWorker} the schedule threads do not spin before a
+ * deadline, which would occupy the carrier threads, so deadlines are met
+ * with the precision of the platform's timed park.
+ *
+ * @author Brandon Arp (brandon dot arp at inscopemetrics dot io)
+ */
+/* package private */ final class ThreadPerScheduleRunner implements Runnable {
+
+    /* package private */ ThreadPerScheduleRunner(
+            final List<UnitOfWorkSchedule> schedules,
+            final AsyncSink sink,
+            final String clusterName,
+            final String serviceName,
+            final CatchUpPolicy catchUpPolicy,
+            final ExecutionStatistics statistics) {
+        _schedules = schedules;
+        _sink = sink;
+        _clusterName = clusterName;
+        _serviceName = serviceName;
+        _catchUpPolicy = catchUpPolicy;
+        _statistics = statistics;
+    }
+
+    @Override
+    public void run() {
+        final Instant now = Instant.now();
+        final long epochStart = TimeUnit.SECONDS.toNanos(now.getEpochSecond()) + now.getNano();
+        final long epochOffset = epochStart - System.nanoTime();
+        final Thread runner = Thread.currentThread();
+        final AtomicReference<Throwable> failure = new AtomicReference<>();
+        final ThreadFactory threadFactory = VirtualThreads.newThreadFactory("schedule-");
+        final List<Thread> threads = Lists.newArrayListWithCapacity(_schedules.size());
+        LOGGER.info()
+                .setMessage("Starting schedule threads")
+                .addData("schedules", _schedules.size())
+                .addData("virtual", VirtualThreads.isSupported())
+                .log();
+        try {
+            for (int i = 0; i < _schedules.size(); ++i) {
+                final int index = i;
+                final Thread thread = threadFactory.newThread(() -> execute(index, epochStart, epochOffset));
+                thread.setUncaughtExceptionHandler((failed, throwable) -> {
+                    // Stop all schedules on the first failure
+                    if (failure.compareAndSet(null, throwable)) {
+                        runner.interrupt();
+                    }
+                });
+                thread.start();
+                threads.add(thread);
+            }
+            for (final Thread thread : threads) {
+                thread.join();
+            }
+        } catch (final InterruptedException e) {
+            stop(threads);
+            if (failure.get() != null) {
+                throw new IllegalStateException("Schedule failed", failure.get());
+            }
+            Thread.currentThread().interrupt();
+        } finally {
+            _sink.close();
+        }
+    }
+
+    private void execute(final int index, final long epochStart, final long epochOffset) {
+        final UnitOfWorkSchedule schedule = _schedules.get(index);
+        final Scheduler scheduler = schedule.getScheduler();
+        final TimeReplacingSink sink = _sink.createProducer();
+        final MetricsFactory metricsFactory = new TsdMetricsFactory.Builder()
+                .setClusterName(_clusterName)
+                .setServiceName(_serviceName)
+                .setSinks(Collections.singletonList(sink))
+                .build();
+        long scheduled = scheduler.next(epochStart);
+        // The thread of a schedule without further executions ends
+        while (scheduled != Scheduler.NEVER && !Thread.currentThread().isInterrupted()) {
+            final long lateness = System.nanoTime() + epochOffset - scheduled;
+            if (lateness < 0) {
+                LockSupport.parkNanos(this, -lateness);
+                continue;
+            }
+            _statistics.recordLag(index, lateness);
+            final long catchUpLateness = lateness > LATE_THRESHOLD_NANOS ? lateness : 0;
+            final long emissionTime = _catchUpPolicy.getEmissionTime(scheduled, catchUpLateness);
+            sink.setTime(emissionTime);
+            final long samples = sink.getSamplesWritten();
+            schedule.getGenerator().generate(metricsFactory, emissionTime);
+            _statistics.record(index, sink.getSamplesWritten() - samples, 0);
+            scheduled = _catchUpPolicy.getNextExecution(scheduler, scheduled, catchUpLateness);
+        }
+    }
+
+    private static void stop(final List<Thread> threads) {
+        for (final Thread thread : threads) {
+            thread.interrupt();
+        }
+        boolean interrupted = false;
+        for (final Thread thread : threads) {
+            while (thread.isAlive()) {
+                try {
+                    thread.join();
+                } catch (final InterruptedException e) {
+                    interrupted = true;
+                }
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private final List<UnitOfWorkSchedule> _schedules;
+    private final AsyncSink _sink;
+    private final String _clusterName;
+    private final String _serviceName;
+    private final CatchUpPolicy _catchUpPolicy;
+    private final ExecutionStatistics _statistics;
+
+    private static final long LATE_THRESHOLD_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+    private static final Logger LOGGER = LoggerFactory.getLogger(ThreadPerScheduleRunner.class);
+}
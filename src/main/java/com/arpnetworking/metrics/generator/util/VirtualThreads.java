@@ -0,0 +1,78 @@
+/*
+ * Copyright 2026 Inscope Metrics
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.arpnetworking.metrics.generator.util;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ThreadFactory;
+import javax.annotation.Nullable;
+
+/**
+ * Creates virtual threads when the runtime supports them (Java 21 or later)
+ * and daemon platform threads otherwise. The generator is compiled for
+ * Java 17, so the virtual thread API is looked up reflectively.
+ *
+ * @author Brandon Arp (brandon dot arp at inscopemetrics dot io)
+ */
+/* package private */ final class VirtualThreads {
+
+    /**
+     * Whether threads from {@link #newThreadFactory(String)} are virtual.
+     *
+     * @return True if the runtime supports virtual threads.
+     */
+    /* package private */ static boolean isSupported() {
+        return OF_VIRTUAL != null;
+    }
+
+    /**
+     * Creates a factory of threads named with a prefix and a sequence
+     * number.
+     *
+     * @param prefix The prefix of the thread names.
+     * @return The thread factory.
+     */
+    /* package private */ static ThreadFactory newThreadFactory(final String prefix) {
+        if (OF_VIRTUAL != null && NAME != null && FACTORY != null) {
+            try {
+                final Object builder = NAME.invoke(OF_VIRTUAL.invoke(null), prefix, 0L);
+                return (ThreadFactory) FACTORY.invoke(builder);
+            } catch (final ReflectiveOperationException e) {
+                throw new IllegalStateException("Unable to create virtual threads", e);
+            }
+        }
+        return new ThreadFactoryBuilder().setNameFormat(prefix + "%d").setDaemon(true).build();
+    }
+
+    @Nullable
+    private static Method findMethod(final String className, final String name, final Class<?>... parameterTypes) {
+        try {
+            return Class.forName(className).getMethod(name, parameterTypes);
+        } catch (final ClassNotFoundException | NoSuchMethodException e) {
+            return null;
+        }
+    }
+
+    @Nullable
+    private static final Method OF_VIRTUAL = findMethod("java.lang.Thread", "ofVirtual");
+    @Nullable
+    private static final Method NAME = findMethod("java.lang.Thread$Builder", "name", String.class, long.class);
+    @Nullable
+    private static final Method FACTORY = findMethod("java.lang.Thread$Builder", "factory");
+
+    private VirtualThreads() { }
+}
@@ -0,0 +1,159 @@
+/*
+ * Copyright 2026 Inscope Metrics
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.arpnetworking.metrics.generator.util;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * The execution statistics of all schedules of a {@link DistributedWorker}
+ * for one statistics interval, written by the worker process as a single
+ * line of JSON and read back by the {@link Coordinator}.
+ *
+ * @author Brandon Arp (brandon dot arp at inscopemetrics dot io)
+ */
+/* package private */ final class WorkerReport {
+
+    /* package private */ WorkerReport(
+            final int worker,
+            final double elapsedSeconds,
+            final long unitsOfWork,
+            final long samples,
+            final long bytes,
+            final long lagP99Micros,
+            final long lagMaxMicros) {
+        _worker = worker;
+        _elapsedSeconds = elapsedSeconds;
+        _unitsOfWork = unitsOfWork;
+        _samples = samples;
+        _bytes = bytes;
+        _lagP99Micros = lagP99Micros;
+        _lagMaxMicros = lagMaxMicros;
+    }
+
+    /**
+     * Creates the report of a worker from the statistics of its schedules.
+     *
+     * @param worker The index of the worker.
+     * @param intervals The statistics of each schedule of the worker.
+     * @return The report.
+     */
+    /* package private */ static WorkerReport create(final int worker, final List<ExecutionStatistics.Interval> intervals) {
+        final ExecutionStatistics.Interval interval = ExecutionStatistics.Interval.combine(intervals);
+        return new WorkerReport(
+                worker,
+                interval.getElapsedSeconds(),
+                interval.getUnitsOfWork(),
+                interval.getSamples(),
+                interval.getBytes(),
+                interval.getLagPercentile(99),
+                interval.getLagMax());
+    }
+
+    /**
+     * Parses a line written by a worker process. Lines that are not reports
+     * are ignored.
+     *
+     * @param line The line.
+     * @return The report or empty if the line is not a report.
+     */
+    /* package private */ static Optional<WorkerReport> parse(final String line) {
+        final JsonNode node;
+        try {
+            node = OBJECT_MAPPER.readTree(line);
+        } catch (final IOException e) {
+            return Optional.empty();
+        }
+        if (node == null || !node.has(WORKER) || !node.has(UNITS_OF_WORK)) {
+            return Optional.empty();
+        }
+        return Optional.of(new WorkerReport(
+                node.get(WORKER).asInt(),
+                node.path(ELAPSED_SECONDS).asDouble(),
+                node.get(UNITS_OF_WORK).asLong(),
+                node.path(SAMPLES).asLong(),
+                node.path(BYTES).asLong(),
+                node.path(LAG_P99_MICROS).asLong(),
+                node.path(LAG_MAX_MICROS).asLong()));
+    }
+
+    /**
+     * Formats the report as a single line of JSON.
+     *
+     * @return The line.
+     */
+    /* package private */ String format() {
+        final ObjectNode node = OBJECT_MAPPER.createObjectNode()
+                .put(WORKER, _worker)
+                .put(ELAPSED_SECONDS, _elapsedSeconds)
+                .put(UNITS_OF_WORK, _unitsOfWork)
+                .put(SAMPLES, _samples)
+                .put(BYTES, _bytes)
+                .put(LAG_P99_MICROS, _lagP99Micros)
+                .put(LAG_MAX_MICROS, _lagMaxMicros);
+        return node.toString();
+    }
+
+    /* package private */ int getWorker() {
+        return _worker;
+    }
+
+    /* package private */ double getElapsedSeconds() {
+        return _elapsedSeconds;
+    }
+
+    /* package private */ long getUnitsOfWork() {
+        return _unitsOfWork;
+    }
+
+    /* package private */ long getSamples() {
+        return _samples;
+    }
+
+    /* package private */ long getBytes() {
+        return _bytes;
+    }
+
+    /* package private */ long getLagP99Micros() {
+        return _lagP99Micros;
+    }
+
+    /* package private */ long getLagMaxMicros() {
+        return _lagMaxMicros;
+    }
+
+    private final int _worker;
+    private final double _elapsedSeconds;
+    private final long _unitsOfWork;
+    private final long _samples;
+    private final long _bytes;
+    private final long _lagP99Micros;
+    private final long _lagMaxMicros;
+
+    private static final String WORKER = "worker";
+    private static final String ELAPSED_SECONDS = "elapsedSeconds";
+    private static final String UNITS_OF_WORK = "unitsOfWork";
+    private static final String SAMPLES = "samples";
+    private static final String BYTES = "bytes";
+    private static final String LAG_P99_MICROS = "lagP99Micros";
+    private static final String LAG_MAX_MICROS = "lagMaxMicros";
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+}
@@ -0,0 +1,146 @@
+/*
+ * Copyright 2026 Inscope Metrics
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.arpnetworking.metrics.generator.util;
+
+import org.apache.commons.math3.random.BitsStreamGenerator;
+
+/**
+ * Fast, small-state random generator (xoshiro256++ by Blackman and Vigna)
+ * that can be split into independent child generators. The state is
+ * initialized from a seed with SplitMix64, and {@link #split()} seeds a
+ * child from the next value of its parent the same way, so a tree of
+ * generators derived from one root seed is fully determined by that seed
+ * and by the order of the splits, but not by which threads later use the
+ * children. Use one generator per component and per thread; instances are
+ * not thread safe.
+ *
+ * @author Brandon Arp (brandon dot arp at inscopemetrics dot io)
+ */
+public final class Xoshiro256PlusPlus extends BitsStreamGenerator {
+    /**
+     * Public constructor.
+     *
+     * @param seed The seed.
+     */
+    public Xoshiro256PlusPlus(final long seed) {
+        setSeed(seed);
+    }
+
+    /**
+     * Package private constructor from a state, e.g. to compare the outputs
+     * with those of the reference implementation. The state must not be all
+     * zeros.
+     *
+     * @param s0 The first word of the state.
+     * @param s1 The second word of the state.
+     * @param s2 The third word of the state.
+     * @param s3 The fourth word of the state.
+     */
+    /* package private */ Xoshiro256PlusPlus(final long s0, final long s1, final long s2, final long s3) {
+        _s0 = s0;
+        _s1 = s1;
+        _s2 = s2;
+        _s3 = s3;
+    }
+
+    /**
+     * Creates a child generator with its own stream. The parent advances by
+     * one value.
+     *
+     * @return The child generator.
+     */
+    public Xoshiro256PlusPlus split() {
+        return new Xoshiro256PlusPlus(nextLong());
+    }
+
+    @Override
+    public void setSeed(final int seed) {
+        setSeed((long) seed);
+    }
+
+    @Override
+    public void setSeed(final int[] seed) {
+        long combined = 0;
+        for (final int value : seed) {
+            combined = splitMix64(combined ^ value);
+        }
+        setSeed(combined);
+    }
+
+    @Override
+    public void setSeed(final long seed) {
+        long state = seed;
+        state += SPLIT_MIX_INCREMENT;
+        _s0 = splitMix64(state);
+        state += SPLIT_MIX_INCREMENT;
+        _s1 = splitMix64(state);
+        state += SPLIT_MIX_INCREMENT;
+        _s2 = splitMix64(state);
+        state += SPLIT_MIX_INCREMENT;
+        _s3 = splitMix64(state);
+        clear();
+    }
+
+    @Override
+    public long nextLong() {
+        final long result = Long.rotateLeft(_s0 + _s3, 23) + _s0;
+        final long t = _s1 << 17;
+        _s2 ^= _s0;
+        _s3 ^= _s1;
+        _s1 ^= _s2;
+        _s0 ^= _s3;
+        _s2 ^= t;
+        _s3 = Long.rotateLeft(_s3, 45);
+        return result;
+    }
+
+    @Override
+    public int nextInt() {
+        return (int) (nextLong() >>> 32);
+    }
+
+    @Override
+    public double nextDouble() {
+        return (nextLong() >>> 11) * DOUBLE_UNIT;
+    }
+
+    @Override
+    protected int next(final int bits) {
+        return (int) (nextLong() >>> (64 - bits));
+    }
+
+    /**
+     * The SplitMix64 output function of a state.
+     *
+     * @param state The state.
+     * @return The mixed value.
+     */
+    /* package private */ static long splitMix64(final long state) {
+        long z = state;
+        z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+        z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+        return z ^ (z >>> 31);
+    }
+
+    private long _s0;
+    private long _s1;
+    private long _s2;
+    private long _s3;
+
+    private static final long SPLIT_MIX_INCREMENT = 0x9e3779b97f4a7c15L;
+    private static final double DOUBLE_UNIT = 0x1.0p-53;
+    private static final long serialVersionUID = 1L;
+}
@@ -0,0 +1,62 @@
+/*
+ * Copyright 2026 Inscope Metrics
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.arpnetworking.metrics.generator.benchmark;
+
+import com.arpnetworking.metrics.impl.NoOpMetrics;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A {@link com.arpnetworking.metrics.Metrics} that only counts the samples
+ * recorded on it so that metric generators can be measured in isolation.
+ *
+ * @author Brandon Arp (brandon dot arp at inscopemetrics dot io)
+ */
+public final class CountingMetrics extends NoOpMetrics {
+
+    @Override
+    public void setTimer(final String name, final long duration, final TimeUnit unit) {
+        ++_samples;
+    }
+
+    @Override
+    public void setGauge(final String name, final double value) {
+        ++_samples;
+    }
+
+    @Override
+    public void setGauge(final String name, final long value) {
+        ++_samples;
+    }
+
+    @Override
+    public void incrementCounter(final String name, final long value) {
+        ++_samples;
+    }
+
+    /**
+     * Returns and resets the number of samples recorded.
+     *
+     * @return The number of samples recorded since the last call.
+     */
+    public long drainSamples() {
+        final long samples = _samples;
+        _samples = 0;
+        return samples;
+    }
+
+    private long _samples;
+}
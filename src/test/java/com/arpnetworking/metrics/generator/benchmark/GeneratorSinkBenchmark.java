@@ -0,0 +1,131 @@
+/*
+ * Copyright 2026 Inscope Metrics
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.arpnetworking.metrics.generator.benchmark;
+
+import com.arpnetworking.metrics.Event;
+import com.arpnetworking.metrics.Metrics;
+import com.arpnetworking.metrics.MetricsFactory;
+import com.arpnetworking.metrics.generator.client.GeneratorSink;
+import com.arpnetworking.metrics.impl.TsdMetricsFactory;
+import com.google.common.io.CountingOutputStream;
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+import org.apache.commons.math3.random.MersenneTwister;
+import org.apache.commons.math3.random.RandomGenerator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.OutputStream;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Measures {@link GeneratorSink#record(Event)} serializing a fixed event to
+ * a discarding stream while advancing the replacement time.
+ *
+ * @author Brandon Arp (brandon dot arp at inscopemetrics dot io)
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@SuppressFBWarnings(value = "AT_NONATOMIC_64BIT_PRIMITIVE", justification = "thread scoped benchmark state")
+public class GeneratorSinkBenchmark {
+
+    /**
+     * Captures a fixed event and measures its serialized size.
+     */
+    @Setup
+    public void setUp() {
+        _event = createEvent(_names, _samples);
+        final CountingOutputStream sizer = new CountingOutputStream(OutputStream.nullOutputStream());
+        try (GeneratorSink sink = new GeneratorSink(sizer, START)) {
+            sink.record(_event);
+        }
+        _bytesPerEvent = sizer.getCount();
+        _samplesPerEvent = (long) _names * _samples;
+        _sink = new GeneratorSink(OutputStream.nullOutputStream(), START);
+    }
+
+    /**
+     * Closes the sink.
+     */
+    @TearDown
+    public void tearDown() {
+        _sink.close();
+    }
+
+    /**
+     * Records one event.
+     *
+     * @param throughput The secondary counters.
+     */
+    @Benchmark
+    public void record(final Throughput throughput) {
+        _time += PERIOD_NANOS;
+        _sink.setTime(_time);
+        _sink.record(_event);
+        throughput.addSamples(_samplesPerEvent);
+        throughput.addBytes(_bytesPerEvent);
+    }
+
+    private static Event createEvent(final int names, final int samples) {
+        final AtomicReference<Event> captured = new AtomicReference<>();
+        final MetricsFactory metricsFactory = new TsdMetricsFactory.Builder()
+                .setClusterName("benchmark_cluster")
+                .setServiceName("benchmark_service")
+                .setSinks(Collections.singletonList(captured::set))
+                .build();
+        final RandomGenerator random = new MersenneTwister(SEED);
+        try (Metrics metrics = metricsFactory.create()) {
+            for (int x = 0; x < names; ++x) {
+                for (int y = 0; y < samples; ++y) {
+                    metrics.setTimer("metric_" + x, random.nextInt(100), TimeUnit.MILLISECONDS);
+                }
+            }
+        }
+        return captured.get();
+    }
+
+    @Param({"1", "10", "100"})
+    private int _names;
+    @Param({"1", "5", "25"})
+    private int _samples;
+
+    private Event _event;
+    private GeneratorSink _sink;
+    private long _bytesPerEvent;
+    private long _samplesPerEvent;
+    private long _time = TimeUnit.SECONDS.toNanos(START.toEpochSecond());
+
+    private static final long SEED = 1298;
+    private static final long PERIOD_NANOS = TimeUnit.MICROSECONDS.toNanos(2400);
+    private static final ZonedDateTime START = ZonedDateTime.of(2017, 1, 1, 0, 0, 0, 0, ZoneOffset.UTC);
+}
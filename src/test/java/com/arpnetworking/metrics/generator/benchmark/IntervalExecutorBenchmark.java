@@ -0,0 +1,141 @@
+/*
+ * Copyright 2026 Inscope Metrics
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.arpnetworking.metrics.generator.benchmark;
+
+import com.arpnetworking.metrics.generator.metric.ConstantCountMetricGenerator;
+import com.arpnetworking.metrics.generator.metric.GaussianMetricGenerator;
+import com.arpnetworking.metrics.generator.metric.MetricGenerator;
+import com.arpnetworking.metrics.generator.name.SingleNameGenerator;
+import com.arpnetworking.metrics.generator.schedule.ConstantTimeScheduler;
+import com.arpnetworking.metrics.generator.uow.UnitOfWorkGenerator;
+import com.arpnetworking.metrics.generator.uow.UnitOfWorkSchedule;
+import com.arpnetworking.metrics.generator.util.IntervalExecutor;
+import com.arpnetworking.metrics.generator.util.SeededUuidFactory;
+import com.google.common.collect.Lists;
+import org.apache.commons.math3.random.MersenneTwister;
+import org.apache.commons.math3.random.RandomGenerator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures a complete {@link IntervalExecutor#execute()} of a ten minute
+ * interval from a fixed seed, including writing the file.
+ *
+ * @author Brandon Arp (brandon dot arp at inscopemetrics dot io)
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Warmup(iterations = 3, batchSize = 1)
+@Measurement(iterations = 10, batchSize = 1)
+public class IntervalExecutorBenchmark {
+
+    /**
+     * Creates the output directory.
+     *
+     * @throws IOException if the directory cannot be created.
+     */
+    @Setup(Level.Trial)
+    public void setUpTrial() throws IOException {
+        _directory = Files.createTempDirectory("IntervalExecutorBenchmark");
+        _file = _directory.resolve("interval.log");
+    }
+
+    /**
+     * Creates the executor from a fixed seed.
+     */
+    @Setup(Level.Invocation)
+    public void setUp() {
+        final RandomGenerator random = new MersenneTwister(SEED);
+        final List<MetricGenerator> metricGenerators = Lists.newArrayList();
+        for (int x = 0; x < _names; ++x) {
+            metricGenerators.add(
+                    new ConstantCountMetricGenerator(
+                            _samples,
+                            new GaussianMetricGenerator(50d, 8d, new SingleNameGenerator(random), random)));
+        }
+        final long periodInNanos = TimeUnit.MINUTES.toNanos(10) / _uowCount;
+        _executor = new IntervalExecutor.Builder()
+                .setStart(START)
+                .setEnd(START.plusMinutes(10))
+                .setSchedules(Collections.singletonList(
+                        new UnitOfWorkSchedule(new UnitOfWorkGenerator(metricGenerators), new ConstantTimeScheduler(periodInNanos))))
+                .setOutputPath(_file)
+                .setClusterName("benchmark_cluster")
+                .setServiceName("benchmark_service")
+                .setUuidFactory(new SeededUuidFactory(random))
+                .build();
+    }
+
+    /**
+     * Removes the output directory.
+     *
+     * @throws IOException if the directory cannot be removed.
+     */
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(_file);
+        Files.deleteIfExists(_directory);
+    }
+
+    /**
+     * Executes the interval.
+     *
+     * @param throughput The secondary counters.
+     * @throws IOException if the size of the output cannot be read.
+     */
+    @Benchmark
+    public void execute(final Throughput throughput) throws IOException {
+        _executor.execute();
+        throughput.addSamples((_uowCount + 1L) * _names * _samples);
+        throughput.addBytes(Files.size(_file));
+    }
+
+    @Param({"10000"})
+    private int _uowCount;
+    @Param({"10"})
+    private int _names;
+    @Param({"5"})
+    private int _samples;
+
+    private Path _directory;
+    private Path _file;
+    private IntervalExecutor _executor;
+
+    private static final long SEED = 1298;
+    private static final ZonedDateTime START = ZonedDateTime.of(2017, 1, 1, 0, 0, 0, 0, ZoneOffset.UTC);
+}
@@ -0,0 +1,105 @@
+/*
+ * Copyright 2026 Inscope Metrics
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.arpnetworking.metrics.generator.benchmark;
+
+import com.arpnetworking.metrics.generator.metric.AlternateMetricGenerator;
+import com.arpnetworking.metrics.generator.metric.ConstantCountMetricGenerator;
+import com.arpnetworking.metrics.generator.metric.ConstantMetricGenerator;
+import com.arpnetworking.metrics.generator.metric.GaussianCountMetricGenerator;
+import com.arpnetworking.metrics.generator.metric.GaussianMetricGenerator;
+import com.arpnetworking.metrics.generator.metric.MetricGenerator;
+import com.arpnetworking.metrics.generator.metric.UniformMetricGenerator;
+import com.arpnetworking.metrics.generator.name.SpecifiedName;
+import org.apache.commons.math3.random.MersenneTwister;
+import org.apache.commons.math3.random.RandomGenerator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures each {@link MetricGenerator} implementation against a
+ * {@link CountingMetrics} instance.
+ *
+ * @author Brandon Arp (brandon dot arp at inscopemetrics dot io)
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class MetricGeneratorBenchmark {
+
+    /**
+     * Creates the generator under test from a fixed seed.
+     */
+    @Setup
+    public void setUp() {
+        final RandomGenerator random = new MersenneTwister(SEED);
+        final SpecifiedName name = new SpecifiedName("metric");
+        switch (_type) {
+            case "gaussian":
+                _generator = new GaussianMetricGenerator(50d, 8d, name, random);
+                break;
+            case "uniform":
+                _generator = new UniformMetricGenerator(0d, 100d, name, random);
+                break;
+            case "alternate":
+                _generator = new AlternateMetricGenerator(100d, 1d, name);
+                break;
+            case "constant":
+                _generator = new ConstantMetricGenerator(5, name);
+                break;
+            case "constantCount":
+                _generator = new ConstantCountMetricGenerator(25, new GaussianMetricGenerator(50d, 8d, name, random));
+                break;
+            case "gaussianCount":
+                _generator = new GaussianCountMetricGenerator(25d, 5d, new GaussianMetricGenerator(50d, 8d, name, random), random);
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown generator type: " + _type);
+        }
+    }
+
+    /**
+     * Generates one invocation of the metric generator.
+     *
+     * @param throughput The secondary counters.
+     */
+    @Benchmark
+    public void generate(final Throughput throughput) {
+        _generator.generate(_metrics);
+        throughput.addSamples(_metrics.drainSamples());
+    }
+
+    @Param({"gaussian", "uniform", "alternate", "constant", "constantCount", "gaussianCount"})
+    private String _type;
+
+    private MetricGenerator _generator;
+    private final CountingMetrics _metrics = new CountingMetrics();
+
+    private static final long SEED = 1298;
+}
@@ -0,0 +1,81 @@
+/*
+ * Copyright 2026 Inscope Metrics
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.arpnetworking.metrics.generator.benchmark;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Secondary counters reported alongside the operation rate of a benchmark
+ * as samples per second and bytes per second.
+ *
+ * @author Brandon Arp (brandon dot arp at inscopemetrics dot io)
+ */
+@State(Scope.Thread)
+@AuxCounters(AuxCounters.Type.OPERATIONS)
+public class Throughput {
+
+    /**
+     * Resets the counters at the start of each iteration.
+     */
+    @Setup(Level.Iteration)
+    public void reset() {
+        _samples = 0;
+        _bytes = 0;
+    }
+
+    /**
+     * The number of samples generated.
+     *
+     * @return The number of samples generated.
+     */
+    public long samples() {
+        return _samples;
+    }
+
+    /**
+     * The number of bytes written.
+     *
+     * @return The number of bytes written.
+     */
+    public long bytes() {
+        return _bytes;
+    }
+
+    /**
+     * Adds generated samples.
+     *
+     * @param samples The number of samples generated.
+     */
+    public void addSamples(final long samples) {
+        _samples += samples;
+    }
+
+    /**
+     * Adds written bytes.
+     *
+     * @param bytes The number of bytes written.
+     */
+    public void addBytes(final long bytes) {
+        _bytes += bytes;
+    }
+
+    private long _samples;
+    private long _bytes;
+}
@@ -0,0 +1,117 @@
+/*
+ * Copyright 2026 Inscope Metrics
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.arpnetworking.metrics.generator.benchmark;
+
+import com.arpnetworking.metrics.Event;
+import com.arpnetworking.metrics.MetricsFactory;
+import com.arpnetworking.metrics.Sink;
+import com.arpnetworking.metrics.generator.metric.ConstantCountMetricGenerator;
+import com.arpnetworking.metrics.generator.metric.GaussianMetricGenerator;
+import com.arpnetworking.metrics.generator.metric.MetricGenerator;
+import com.arpnetworking.metrics.generator.name.SingleNameGenerator;
+import com.arpnetworking.metrics.generator.uow.UnitOfWorkGenerator;
+import com.arpnetworking.metrics.impl.TsdMetricsFactory;
+import com.google.common.collect.Lists;
+import org.apache.commons.math3.random.MersenneTwister;
+import org.apache.commons.math3.random.RandomGenerator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures {@link UnitOfWorkGenerator#generate(MetricsFactory)} including the
+ * metrics client, with a sink that only counts the samples it receives.
+ *
+ * @author Brandon Arp (brandon dot arp at inscopemetrics dot io)
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class UnitOfWorkGeneratorBenchmark {
+
+    /**
+     * Creates the unit of work generator from a fixed seed.
+     */
+    @Setup
+    public void setUp() {
+        final RandomGenerator random = new MersenneTwister(SEED);
+        final List<MetricGenerator> metricGenerators = Lists.newArrayList();
+        for (int x = 0; x < _names; ++x) {
+            metricGenerators.add(
+                    new ConstantCountMetricGenerator(
+                            _samples,
+                            new GaussianMetricGenerator(50d, 8d, new SingleNameGenerator(random), random)));
+        }
+        _generator = new UnitOfWorkGenerator(metricGenerators);
+        _metricsFactory = new TsdMetricsFactory.Builder()
+                .setClusterName("benchmark_cluster")
+                .setServiceName("benchmark_service")
+                .setSinks(Collections.singletonList(_sink))
+                .build();
+    }
+
+    /**
+     * Generates one unit of work.
+     *
+     * @param throughput The secondary counters.
+     */
+    @Benchmark
+    public void generate(final Throughput throughput) {
+        _generator.generate(_metricsFactory);
+        throughput.addSamples(_sink.drainSamples());
+    }
+
+    @Param({"1", "10", "100"})
+    private int _names;
+    @Param({"1", "5", "25"})
+    private int _samples;
+
+    private UnitOfWorkGenerator _generator;
+    private MetricsFactory _metricsFactory;
+    private final CountingSink _sink = new CountingSink();
+
+    private static final long SEED = 1298;
+
+    private static final class CountingSink implements Sink {
+        @Override
+        public void record(final Event event) {
+            _samples += event.getTimerSamples().values().stream().mapToLong(List::size).sum();
+        }
+
+        long drainSamples() {
+            final long samples = _samples;
+            _samples = 0;
+            return samples;
+        }
+
+        private long _samples;
+    }
+}
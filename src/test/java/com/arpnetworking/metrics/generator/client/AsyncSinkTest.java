@@ -0,0 +1,283 @@
+/*
+ * Copyright 2026 Inscope Metrics
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.arpnetworking.metrics.generator.client;
+
+import com.arpnetworking.metrics.Event;
+import com.arpnetworking.metrics.Metrics;
+import com.arpnetworking.metrics.MetricsFactory;
+import com.arpnetworking.metrics.impl.TsdMetricsFactory;
+import com.google.common.collect.Lists;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import javax.annotation.Nullable;
+
+/**
+ * Tests for the {@link AsyncSink} and {@link EventRingBuffer} classes.
+ *
+ * @author Brandon Arp (brandon dot arp at inscopemetrics dot io)
+ */
+public final class AsyncSinkTest {
+
+    @Test
+    public void testRingBuffer() {
+        final List<Event> events = createEvents(3);
+        final EventRingBuffer buffer = new EventRingBuffer(2);
+        Assert.assertEquals(2, buffer.capacity());
+        Assert.assertEquals(8, new EventRingBuffer(5).capacity());
+        Assert.assertTrue(buffer.isEmpty());
+        Assert.assertFalse(buffer.discardOldest());
+        Assert.assertTrue(buffer.offer(events.get(0), 0));
+        Assert.assertTrue(buffer.offer(events.get(1), 1));
+        Assert.assertFalse(buffer.offer(events.get(2), 2));
+        Assert.assertTrue(buffer.discardOldest());
+        Assert.assertTrue(buffer.offer(events.get(2), 2));
+
+        final List<Long> times = Lists.newArrayList();
+        Assert.assertEquals(1, buffer.drain((event, time) -> times.add(time), 1));
+        Assert.assertEquals(1, buffer.drain((event, time) -> times.add(time), 10));
+        Assert.assertEquals(0, buffer.drain((event, time) -> times.add(time), 10));
+        Assert.assertEquals(Lists.newArrayList(1L, 2L), times);
+        Assert.assertTrue(buffer.isEmpty());
+    }
+
+    @Test
+    public void testWritesEventsInOrder() {
+        final List<Event> events = createEvents(10000);
+        final RecordingSink recordingSink = new RecordingSink(null);
+        final AsyncSink sink = new AsyncSink.Builder()
+                .setSink(recordingSink)
+                .setCapacity(16)
+                .setBatchSize(4)
+                .build();
+        for (int i = 0; i < events.size(); ++i) {
+            sink.setTime(i);
+            sink.record(events.get(i));
+        }
+        sink.close();
+
+        Assert.assertTrue(recordingSink._closed);
+        Assert.assertEquals(events, recordingSink._events);
+        for (int i = 0; i < events.size(); ++i) {
+            Assert.assertEquals(i, recordingSink._times.get(i).longValue());
+        }
+        Assert.assertEquals(0, sink.getEventsDropped());
+        Assert.assertEquals(events.size() * SAMPLES_PER_EVENT, sink.getSamplesWritten());
+    }
+
+    @Test
+    public void testProducers() throws InterruptedException {
+        final List<Event> events = createEvents(4000);
+        final RecordingSink recordingSink = new RecordingSink(null);
+        final AsyncSink sink = new AsyncSink.Builder()
+                .setSink(recordingSink)
+                .setCapacity(64)
+                .build();
+        final List<Thread> threads = Lists.newArrayList();
+        for (int producer = 0; producer < 4; ++producer) {
+            final int first = producer * 1000;
+            final TimeReplacingSink producerSink = sink.createProducer();
+            threads.add(new Thread(() -> {
+                for (int i = first; i < first + 1000; ++i) {
+                    producerSink.setTime(i);
+                    producerSink.record(events.get(i));
+                }
+                Assert.assertEquals(1000 * SAMPLES_PER_EVENT, producerSink.getSamplesWritten());
+            }));
+        }
+        for (final Thread thread : threads) {
+            thread.start();
+        }
+        for (final Thread thread : threads) {
+            thread.join();
+        }
+        sink.close();
+
+        // All events are written with their times and in order for each producer
+        Assert.assertEquals(events.size(), recordingSink._events.size());
+        final long[] previous = {-1, -1, -1, -1};
+        for (int i = 0; i < events.size(); ++i) {
+            final int time = recordingSink._times.get(i).intValue();
+            Assert.assertSame(events.get(time), recordingSink._events.get(i));
+            Assert.assertTrue(time > previous[time / 1000]);
+            previous[time / 1000] = time;
+        }
+    }
+
+    @Test
+    public void testBlock() throws InterruptedException {
+        final List<Event> events = createEvents(20);
+        final CountDownLatch release = new CountDownLatch(1);
+        final RecordingSink recordingSink = new RecordingSink(release);
+        final AsyncSink sink = new AsyncSink.Builder()
+                .setSink(recordingSink)
+                .setCapacity(4)
+                .build();
+        final Thread releaser = new Thread(() -> {
+            try {
+                Thread.sleep(50);
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            release.countDown();
+        });
+        releaser.start();
+        for (final Event event : events) {
+            sink.record(event);
+        }
+        sink.close();
+        releaser.join();
+
+        Assert.assertEquals(events, recordingSink._events);
+        Assert.assertEquals(0, sink.getEventsDropped());
+        Assert.assertTrue(sink.getBackpressureNanos() >= TimeUnit.MILLISECONDS.toNanos(10));
+    }
+
+    @Test
+    public void testDropNewest() {
+        final List<Event> written = writeOverflowing(OverflowPolicy.DROP_NEWEST, 20);
+        // The writer holds at most one event and the queue the next four
+        Assert.assertTrue(written.size() <= 5);
+        Assert.assertEquals(_createdEvents.subList(0, written.size()), written);
+    }
+
+    @Test
+    public void testDropOldest() {
+        final List<Event> written = writeOverflowing(OverflowPolicy.DROP_OLDEST, 20);
+        Assert.assertTrue(written.size() <= 5);
+        Assert.assertEquals(_createdEvents.subList(16, 20), written.subList(written.size() - 4, written.size()));
+    }
+
+    @Test
+    public void testCount() {
+        final List<Event> written = writeOverflowing(OverflowPolicy.COUNT, 20);
+        Assert.assertEquals((20 - written.size()) * SAMPLES_PER_EVENT, _overflowingSink.getSamplesDropped());
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testWriterFailure() {
+        final TimeReplacingSink failingSink = new RecordingSink(null) {
+            @Override
+            public void record(final Event event) {
+                throw new IllegalArgumentException("Failed");
+            }
+        };
+        final AsyncSink sink = new AsyncSink.Builder()
+                .setSink(failingSink)
+                .build();
+        sink.record(createEvents(1).get(0));
+        sink.close();
+    }
+
+    private List<Event> writeOverflowing(final OverflowPolicy policy, final int count) {
+        final CountDownLatch release = new CountDownLatch(1);
+        final RecordingSink recordingSink = new RecordingSink(release);
+        _overflowingSink = new AsyncSink.Builder()
+                .setSink(recordingSink)
+                .setCapacity(4)
+                .setOverflowPolicy(policy)
+                .build();
+        _createdEvents = createEvents(count);
+        for (final Event event : _createdEvents) {
+            _overflowingSink.record(event);
+        }
+        release.countDown();
+        _overflowingSink.close();
+
+        Assert.assertEquals(count - recordingSink._events.size(), _overflowingSink.getEventsDropped());
+        Assert.assertTrue(_overflowingSink.getEventsDropped() >= count - 5);
+        Assert.assertEquals(0, _overflowingSink.getBackpressureNanos());
+        return recordingSink._events;
+    }
+
+    private static List<Event> createEvents(final int count) {
+        final List<Event> events = Lists.newArrayList();
+        final MetricsFactory metricsFactory = new TsdMetricsFactory.Builder()
+                .setClusterName("test_cluster")
+                .setServiceName("test_service")
+                .setSinks(Collections.singletonList(events::add))
+                .build();
+        for (int i = 0; i < count; ++i) {
+            try (Metrics metrics = metricsFactory.create()) {
+                metrics.incrementCounter("requests", i);
+                metrics.setTimer("latency", i, TimeUnit.MILLISECONDS);
+            }
+        }
+        return events;
+    }
+
+    private AsyncSink _overflowingSink;
+    private List<Event> _createdEvents;
+
+    private static final long SAMPLES_PER_EVENT = 2;
+
+    private static class RecordingSink implements TimeReplacingSink {
+
+        RecordingSink(@Nullable final CountDownLatch release) {
+            _release = release;
+        }
+
+        @Override
+        public void setTime(final long epochNanos) {
+            _time = epochNanos;
+        }
+
+        @Override
+        public void record(final Event event) {
+            if (_release != null) {
+                try {
+                    _release.await();
+                } catch (final InterruptedException e) {
+                    throw new RuntimeException(e);
+                }
+            }
+            _events.add(event);
+            _times.add(_time);
+            _samples += GeneratorSink.countSamples(event);
+        }
+
+        @Override
+        public long getSamplesWritten() {
+            return _samples;
+        }
+
+        @Override
+        public long getBytesWritten() {
+            return 0;
+        }
+
+        @Override
+        public void flush() {
+        }
+
+        @Override
+        public void close() {
+            _closed = true;
+        }
+
+        private long _time;
+        private long _samples;
+        private boolean _closed;
+        @Nullable
+        private final CountDownLatch _release;
+        private final List<Event> _events = Lists.newArrayList();
+        private final List<Long> _times = Lists.newArrayList();
+    }
+}
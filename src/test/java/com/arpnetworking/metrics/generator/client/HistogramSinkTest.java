@@ -0,0 +1,189 @@
+/*
+ * Copyright 2026 Inscope Metrics
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.arpnetworking.metrics.generator.client;
+
+import com.arpnetworking.metrics.Event;
+import com.arpnetworking.metrics.Metrics;
+import com.arpnetworking.metrics.MetricsFactory;
+import com.arpnetworking.metrics.generator.util.SeededUuidFactory;
+import com.arpnetworking.metrics.impl.TsdMetricsFactory;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.common.collect.Lists;
+import org.apache.commons.math3.random.MersenneTwister;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Tests for the {@link HistogramSink} class.
+ *
+ * @author Brandon Arp (brandon dot arp at inscopemetrics dot io)
+ */
+public final class HistogramSinkTest {
+
+    @Test
+    public void testPerUnitOfWork() throws IOException {
+        final List<JsonNode> lines = readJson(write(OutputEncoding.JSON, new HistogramSink.Builder()));
+        Assert.assertEquals(EVENT_COUNT, lines.size());
+        for (int i = 0; i < EVENT_COUNT; ++i) {
+            final JsonNode line = lines.get(i);
+            Assert.assertFalse(line.has("timers"));
+            Assert.assertEquals(i, line.get("counters").get("requests").get("values").get(0).get("value").asLong());
+            final JsonNode latency = line.get("histograms").get("latency");
+            Assert.assertEquals(7, latency.get("precision").asInt());
+            Assert.assertEquals(10 + i, latency.get("min").asDouble(), 0);
+            Assert.assertEquals(20 + i, latency.get("max").asDouble(), 0);
+            Assert.assertEquals(30 + 2 * i, latency.get("sum").asDouble(), 0);
+            Assert.assertEquals(2, countSamples(latency));
+        }
+    }
+
+    @Test
+    public void testTimeBuckets() throws IOException {
+        final List<JsonNode> lines = readJson(write(
+                OutputEncoding.JSON,
+                new HistogramSink.Builder().setBucketDuration(Duration.ofSeconds(10))));
+        // One event for each host in each of the five buckets
+        Assert.assertEquals(15, lines.size());
+        long samples = 0;
+        for (final JsonNode line : lines) {
+            final ZonedDateTime start = ZonedDateTime.parse(line.get("annotations").get("_start").asText());
+            Assert.assertEquals(0, start.getSecond() % 10);
+            Assert.assertFalse(line.get("annotations").has("_id"));
+            final int first = (int) Duration.between(START, start).getSeconds();
+            final int host = Integer.parseInt(line.get("annotations").get("host").asText().substring("host-".length()));
+            final JsonNode latency = line.get("histograms").get("latency");
+            final int firstOfHost = first + Math.floorMod(host - first, 3);
+            Assert.assertEquals(10 + firstOfHost, latency.get("min").asDouble(), 0);
+            Assert.assertEquals(line.get("counters").get("requests").get("values").size() * 2, countSamples(latency));
+            samples += countSamples(latency);
+        }
+        Assert.assertEquals(EVENT_COUNT * 2, samples);
+    }
+
+    @Test
+    public void testBinaryEncoding() throws IOException {
+        for (final Duration bucket : Lists.newArrayList(null, Duration.ofSeconds(10))) {
+            final HistogramSink.Builder builder = new HistogramSink.Builder().setBucketDuration(bucket);
+            final byte[] json = write(OutputEncoding.JSON, builder);
+            final byte[] binary = write(OutputEncoding.BINARY, builder);
+            Assert.assertTrue(binary.length * 2 < json.length);
+            Assert.assertEquals(readJson(json), readJson(toJson(binary)));
+        }
+    }
+
+    @Test
+    public void testPrecision() throws IOException {
+        final ByteArrayOutputStream stream = new ByteArrayOutputStream();
+        final HistogramSink sink = new HistogramSink.Builder()
+                .setSink(new GeneratorSink(stream, START))
+                .setPrecision(3)
+                .build();
+        final MetricsFactory metricsFactory = new TsdMetricsFactory.Builder()
+                .setClusterName("test_cluster")
+                .setServiceName("test_service")
+                .setSinks(Collections.singletonList(sink))
+                .build();
+        try (Metrics metrics = metricsFactory.create()) {
+            for (int value = 128; value < 256; ++value) {
+                metrics.setTimer("latency", value, TimeUnit.SECONDS);
+            }
+        }
+        sink.close();
+        Assert.assertEquals(128, sink.getSamplesWritten());
+        Assert.assertEquals(stream.size(), sink.getBytesWritten());
+
+        final JsonNode latency = readJson(stream.toByteArray()).get(0).get("histograms").get("latency");
+        Assert.assertEquals(128, countSamples(latency));
+        // Three mantissa bits give eight buckets of 16 samples between 128 and 256
+        Assert.assertEquals(8, latency.get("buckets").size());
+        for (final JsonNode bucket : latency.get("buckets")) {
+            Assert.assertEquals(0, (int) bucket.get("bucket").asDouble() % 16);
+            Assert.assertEquals(16, bucket.get("count").asLong());
+        }
+    }
+
+    private static byte[] write(final OutputEncoding encoding, final HistogramSink.Builder builder) {
+        final ByteArrayOutputStream stream = new ByteArrayOutputStream();
+        try (HistogramSink sink = builder.setSink(new GeneratorSink(stream, START, encoding)).build()) {
+            generate(sink);
+        }
+        return stream.toByteArray();
+    }
+
+    private static void generate(final HistogramSink sink) {
+        final MetricsFactory metricsFactory = new TsdMetricsFactory.Builder()
+                .setClusterName("test_cluster")
+                .setServiceName("test_service")
+                .setUuidFactory(new SeededUuidFactory(new MersenneTwister(1)))
+                .setSinks(Collections.singletonList(sink))
+                .build();
+        for (int i = 0; i < EVENT_COUNT; ++i) {
+            sink.setTime(TimeUnit.SECONDS.toNanos(START.plusSeconds(i).toEpochSecond()));
+            try (Metrics metrics = metricsFactory.create()) {
+                metrics.addAnnotation("host", "host-" + i % 3);
+                metrics.incrementCounter("requests", i);
+                metrics.setTimer("latency", 10 + i, TimeUnit.SECONDS);
+                metrics.setTimer("latency", 20 + i, TimeUnit.SECONDS);
+            }
+        }
+    }
+
+    private static long countSamples(final JsonNode histogram) {
+        long count = 0;
+        for (final JsonNode bucket : histogram.get("buckets")) {
+            count += bucket.get("count").asLong();
+        }
+        return count;
+    }
+
+    private static byte[] toJson(final byte[] binary) {
+        final ByteArrayOutputStream stream = new ByteArrayOutputStream();
+        final BinaryEventReader reader = new BinaryEventReader(ByteBuffer.wrap(binary));
+        try (GeneratorSink sink = new GeneratorSink(stream, START)) {
+            Event event = reader.next();
+            while (event != null) {
+                sink.setTime(TimeUnit.MILLISECONDS.toNanos(reader.getTime()));
+                sink.record(event);
+                event = reader.next();
+            }
+        }
+        return stream.toByteArray();
+    }
+
+    private static List<JsonNode> readJson(final byte[] bytes) throws IOException {
+        final List<JsonNode> lines = Lists.newArrayList();
+        for (final String line : StandardCharsets.UTF_8.decode(ByteBuffer.wrap(bytes)).toString().split("\n")) {
+            lines.add(OBJECT_MAPPER.readTree(line));
+        }
+        return lines;
+    }
+
+    private static final int EVENT_COUNT = 50;
+    private static final ZonedDateTime START = ZonedDateTime.of(2017, 1, 1, 0, 0, 0, 0, ZoneOffset.UTC);
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+}
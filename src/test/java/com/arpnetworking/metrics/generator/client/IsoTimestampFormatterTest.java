@@ -0,0 +1,76 @@
+/*
+ * Copyright 2026 Inscope Metrics
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.arpnetworking.metrics.generator.client;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Tests for the {@link IsoTimestampFormatter} class.
+ *
+ * @author Brandon Arp (brandon dot arp at inscopemetrics dot io)
+ */
+public final class IsoTimestampFormatterTest {
+
+    @Test
+    public void testMatchesZonedDateTime() {
+        final IsoTimestampFormatter formatter = new IsoTimestampFormatter();
+        final SplittableRandom random = new SplittableRandom(1298);
+        final long min = TimeUnit.SECONDS.toNanos(Instant.parse("1900-01-01T00:00:00Z").getEpochSecond());
+        final long max = TimeUnit.SECONDS.toNanos(Instant.parse("2200-01-01T00:00:00Z").getEpochSecond());
+        for (int x = 0; x < 10000; ++x) {
+            long nanos = random.nextLong(min, max);
+            // Exercise the shortened forms as well
+            if (x % 3 == 0) {
+                nanos -= Math.floorMod(nanos, TimeUnit.MINUTES.toNanos(1));
+            } else if (x % 3 == 1) {
+                nanos -= Math.floorMod(nanos, TimeUnit.SECONDS.toNanos(1));
+            }
+            formatter.setTime(nanos);
+            Assert.assertEquals(expected(nanos), formatter.toString());
+        }
+    }
+
+    @Test
+    public void testOutsideFourDigitYears() {
+        final IsoTimestampFormatter formatter = new IsoTimestampFormatter();
+        final long nanos = TimeUnit.SECONDS.toNanos(Instant.parse("+12345-06-07T08:09:10Z").getEpochSecond());
+        formatter.setTime(nanos);
+        Assert.assertEquals(expected(nanos), formatter.toString());
+    }
+
+    @Test
+    public void testCachedWithinMillisecond() {
+        final IsoTimestampFormatter formatter = new IsoTimestampFormatter();
+        formatter.setTime(TimeUnit.MILLISECONDS.toNanos(1250));
+        formatter.setTime(TimeUnit.MILLISECONDS.toNanos(1250) + 999_999);
+        Assert.assertEquals("1970-01-01T00:00:01.250Z", formatter.toString());
+        formatter.setTime(0);
+        Assert.assertEquals("1970-01-01T00:00Z", formatter.toString());
+    }
+
+    private static String expected(final long epochNanos) {
+        return ZonedDateTime.ofInstant(
+                Instant.ofEpochMilli(Math.floorDiv(epochNanos, TimeUnit.MILLISECONDS.toNanos(1))),
+                ZoneOffset.UTC).toString();
+    }
+}
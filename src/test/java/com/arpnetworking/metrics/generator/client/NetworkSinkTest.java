@@ -0,0 +1,267 @@
+/*
+ * Copyright 2026 Inscope Metrics
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.arpnetworking.metrics.generator.client;
+
+import com.arpnetworking.metrics.Metrics;
+import com.arpnetworking.metrics.MetricsFactory;
+import com.arpnetworking.metrics.impl.TsdMetricsFactory;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.common.collect.Lists;
+import net.sf.oval.exception.ConstraintsViolatedException;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.net.DatagramPacket;
+import java.net.DatagramSocket;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketTimeoutException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.annotation.Nullable;
+
+/**
+ * Tests for the {@link NetworkSink} class against loopback listeners.
+ *
+ * @author Brandon Arp (brandon dot arp at inscopemetrics dot io)
+ */
+public final class NetworkSinkTest {
+
+    @Test
+    public void testTcp() throws IOException, InterruptedException, ExecutionException, TimeoutException {
+        try (ServerSocket server = new ServerSocket(0, 1, InetAddress.getLoopbackAddress())) {
+            final CompletableFuture<List<String>> lines = CompletableFuture.supplyAsync(() -> readLines(server));
+            final NetworkSink sink = new NetworkSink.Builder()
+                    .setAddress(getAddress(server.getLocalPort()))
+                    .build();
+            generate(sink, EVENT_COUNT);
+            sink.close();
+
+            assertJsonLines(lines.get(10, TimeUnit.SECONDS), EVENT_COUNT);
+            Assert.assertEquals(EVENT_COUNT, sink.getRecordsWritten());
+            Assert.assertEquals(sink.getBytesWritten(), sink.getBytesSent());
+            Assert.assertEquals(0, sink.getRecordsDropped());
+        }
+    }
+
+    @Test
+    public void testUdp() throws IOException {
+        try (DatagramSocket server = new DatagramSocket(0, InetAddress.getLoopbackAddress())) {
+            server.setReceiveBufferSize(1 << 20);
+            server.setSoTimeout(1000);
+            final NetworkSink sink = new NetworkSink.Builder()
+                    .setAddress(getAddress(server.getLocalPort()))
+                    .setProtocol(NetworkProtocol.UDP)
+                    .setMaxDatagramBytes(1024)
+                    .build();
+            generate(sink, EVENT_COUNT);
+            sink.close();
+
+            final List<String> lines = Lists.newArrayList();
+            final DatagramPacket packet = new DatagramPacket(new byte[2048], 2048);
+            int datagrams = 0;
+            try {
+                while (true) {
+                    server.receive(packet);
+                    Assert.assertTrue(packet.getLength() <= 1024);
+                    final String payload = StandardCharsets.UTF_8.decode(
+                            ByteBuffer.wrap(packet.getData(), 0, packet.getLength())).toString();
+                    // Datagrams only contain whole records
+                    Assert.assertTrue(payload.endsWith("\n"));
+                    Collections.addAll(lines, payload.split("\n"));
+                    ++datagrams;
+                }
+            } catch (final SocketTimeoutException e) {
+                // All datagrams received
+            }
+            assertJsonLines(lines, EVENT_COUNT);
+            Assert.assertTrue(datagrams > 1 && datagrams < EVENT_COUNT);
+        }
+    }
+
+    @Test
+    public void testHttp() throws IOException, InterruptedException, ExecutionException, TimeoutException {
+        try (ServerSocket server = new ServerSocket(0, 1, InetAddress.getLoopbackAddress())) {
+            final AtomicInteger requests = new AtomicInteger();
+            final CompletableFuture<List<String>> lines = CompletableFuture.supplyAsync(
+                    () -> serveHttp(server, requests, 200));
+            final NetworkSink sink = new NetworkSink.Builder()
+                    .setAddress(getAddress(server.getLocalPort()))
+                    .setProtocol(NetworkProtocol.HTTP)
+                    .setHttpPath("/metrics")
+                    .setMaxBatchBytes(4096)
+                    .setMaxInFlightRequests(2)
+                    .build();
+            generate(sink, EVENT_COUNT);
+            sink.close();
+
+            assertJsonLines(lines.get(10, TimeUnit.SECONDS), EVENT_COUNT);
+            Assert.assertTrue(requests.get() > 1);
+            Assert.assertEquals(0, sink.getFailedResponses());
+            Assert.assertEquals(0, sink.getRecordsDropped());
+        }
+    }
+
+    @Test
+    public void testHttpFailedResponses() throws IOException, InterruptedException, ExecutionException, TimeoutException {
+        try (ServerSocket server = new ServerSocket(0, 1, InetAddress.getLoopbackAddress())) {
+            final AtomicInteger requests = new AtomicInteger();
+            final CompletableFuture<List<String>> lines = CompletableFuture.supplyAsync(
+                    () -> serveHttp(server, requests, 503));
+            final NetworkSink sink = new NetworkSink.Builder()
+                    .setAddress(getAddress(server.getLocalPort()))
+                    .setProtocol(NetworkProtocol.HTTP)
+                    .setMaxBatchBytes(4096)
+                    .build();
+            generate(sink, EVENT_COUNT);
+            sink.close();
+
+            lines.get(10, TimeUnit.SECONDS);
+            Assert.assertEquals(requests.get(), sink.getFailedResponses());
+        }
+    }
+
+    @Test
+    public void testDropOnBackpressure() throws IOException, InterruptedException, ExecutionException, TimeoutException {
+        try (ServerSocket server = new ServerSocket(0, 1, InetAddress.getLoopbackAddress())) {
+            final NetworkSink sink = new NetworkSink.Builder()
+                    .setAddress(getAddress(server.getLocalPort()))
+                    .setMaxBufferedBytes(4096)
+                    .setDropOnBackpressure(true)
+                    .build();
+            // Nothing is read until the records are written
+            final int count = 20000;
+            generate(sink, count);
+            Assert.assertTrue(sink.getRecordsDropped() > 0);
+            Assert.assertEquals(0, sink.getBackpressureNanos());
+
+            final CompletableFuture<List<String>> lines = CompletableFuture.supplyAsync(() -> readLines(server));
+            sink.close();
+            assertJsonLines(lines.get(10, TimeUnit.SECONDS), count - (int) sink.getRecordsDropped());
+        }
+    }
+
+    @Test(expected = ConstraintsViolatedException.class)
+    public void testBinaryOnlyOverTcp() {
+        new NetworkSink.Builder()
+                .setAddress(getAddress(1))
+                .setProtocol(NetworkProtocol.UDP)
+                .setEncoding(OutputEncoding.BINARY)
+                .build();
+    }
+
+    private static InetSocketAddress getAddress(final int port) {
+        return new InetSocketAddress(InetAddress.getLoopbackAddress(), port);
+    }
+
+    private static void generate(final NetworkSink sink, final int count) {
+        final MetricsFactory metricsFactory = new TsdMetricsFactory.Builder()
+                .setClusterName("test_cluster")
+                .setServiceName("test_service")
+                .setSinks(Collections.singletonList(sink))
+                .build();
+        for (int i = 0; i < count; ++i) {
+            try (Metrics metrics = metricsFactory.create()) {
+                metrics.incrementCounter("requests", i);
+                metrics.setTimer("latency", 10 + i, TimeUnit.MILLISECONDS);
+            }
+        }
+    }
+
+    private static void assertJsonLines(final List<String> lines, final int expected) throws IOException {
+        Assert.assertEquals(expected, lines.size());
+        for (final String line : lines) {
+            Assert.assertTrue(OBJECT_MAPPER.readTree(line).has("counters"));
+        }
+    }
+
+    private static List<String> readLines(final ServerSocket server) {
+        final List<String> lines = Lists.newArrayList();
+        try (Socket socket = server.accept();
+             BufferedReader reader = new BufferedReader(
+                     new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8))) {
+            String line = reader.readLine();
+            while (line != null) {
+                lines.add(line);
+                line = reader.readLine();
+            }
+        } catch (final IOException e) {
+            throw new RuntimeException(e);
+        }
+        return lines;
+    }
+
+    private static List<String> serveHttp(final ServerSocket server, final AtomicInteger requests, final int status) {
+        final List<String> lines = Lists.newArrayList();
+        try (Socket socket = server.accept()) {
+            final InputStream input = socket.getInputStream();
+            final OutputStream output = socket.getOutputStream();
+            String requestLine = readHeaderLine(input);
+            while (requestLine != null) {
+                Assert.assertTrue(requestLine.startsWith("POST /"));
+                int contentLength = 0;
+                String header = readHeaderLine(input);
+                while (header != null && !header.isEmpty()) {
+                    if (header.toLowerCase(Locale.ROOT).startsWith("content-length:")) {
+                        contentLength = Integer.parseInt(header.substring("content-length:".length()).trim());
+                    }
+                    header = readHeaderLine(input);
+                }
+                final byte[] body = input.readNBytes(contentLength);
+                Collections.addAll(lines, StandardCharsets.UTF_8.decode(ByteBuffer.wrap(body)).toString().split("\n"));
+                requests.incrementAndGet();
+                output.write(("HTTP/1.1 " + status + " Status\r\nContent-Length: 2\r\n\r\nok")
+                        .getBytes(StandardCharsets.UTF_8));
+                output.flush();
+                requestLine = readHeaderLine(input);
+            }
+        } catch (final IOException e) {
+            throw new RuntimeException(e);
+        }
+        return lines;
+    }
+
+    @Nullable
+    private static String readHeaderLine(final InputStream input) throws IOException {
+        final StringBuilder line = new StringBuilder();
+        int b = input.read();
+        while (b != -1 && b != '\n') {
+            if (b != '\r') {
+                line.append((char) b);
+            }
+            b = input.read();
+        }
+        return b == -1 && line.length() == 0 ? null : line.toString();
+    }
+
+    private static final int EVENT_COUNT = 200;
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+}
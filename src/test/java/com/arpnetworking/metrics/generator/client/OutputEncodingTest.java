@@ -0,0 +1,160 @@
+/*
+ * Copyright 2026 Inscope Metrics
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.arpnetworking.metrics.generator.client;
+
+import com.arpnetworking.metrics.Event;
+import com.arpnetworking.metrics.Metrics;
+import com.arpnetworking.metrics.MetricsFactory;
+import com.arpnetworking.metrics.generator.util.SeededUuidFactory;
+import com.arpnetworking.metrics.impl.TsdMetricsFactory;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.luben.zstd.ZstdInputStream;
+import com.google.common.collect.Lists;
+import com.google.common.io.ByteStreams;
+import org.apache.commons.math3.random.MersenneTwister;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * Tests for the {@link OutputEncoding} class and the binary encoding.
+ *
+ * @author Brandon Arp (brandon dot arp at inscopemetrics dot io)
+ */
+public final class OutputEncodingTest {
+
+    @Test
+    public void testCompressedEncodings() throws IOException {
+        final List<JsonNode> expected = readJson(write(OutputEncoding.JSON));
+        Assert.assertEquals(EVENT_COUNT, expected.size());
+        Assert.assertEquals(expected, readJson(decompress(new GZIPInputStream(new ByteArrayInputStream(write(OutputEncoding.GZIP))))));
+        Assert.assertEquals(expected, readJson(decompress(new ZstdInputStream(new ByteArrayInputStream(write(OutputEncoding.ZSTD))))));
+    }
+
+    @Test
+    public void testBinaryEncoding() throws IOException {
+        final byte[] json = write(OutputEncoding.JSON);
+        final byte[] binary = write(OutputEncoding.BINARY);
+        Assert.assertTrue(binary.length + " binary bytes for " + json.length + " JSON bytes", binary.length * 3 < json.length);
+        Assert.assertEquals(readJson(json), readJson(toJson(binary)));
+    }
+
+    @Test
+    public void testConcatenatedBinaryStreams() throws IOException {
+        final byte[] binary = write(OutputEncoding.BINARY);
+        final ByteArrayOutputStream concatenated = new ByteArrayOutputStream();
+        concatenated.write(binary);
+        concatenated.write(binary);
+
+        final List<JsonNode> expected = Lists.newArrayList(readJson(write(OutputEncoding.JSON)));
+        expected.addAll(expected);
+        Assert.assertEquals(expected, readJson(toJson(concatenated.toByteArray())));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testTruncatedBinaryStream() {
+        final byte[] binary = write(OutputEncoding.BINARY);
+        final BinaryEventReader reader = new BinaryEventReader(ByteBuffer.wrap(binary, 0, binary.length - 1));
+        while (reader.next() != null) {
+            // Read until the truncated record
+        }
+    }
+
+    @Test
+    public void testBytesWritten() {
+        for (final OutputEncoding encoding : OutputEncoding.values()) {
+            final ByteArrayOutputStream stream = new ByteArrayOutputStream();
+            final GeneratorSink sink = new GeneratorSink(stream, START, encoding);
+            generate(sink);
+            final long samples = sink.getSamplesWritten();
+            sink.close();
+            Assert.assertEquals(encoding.name(), EVENT_COUNT * 4, samples);
+            Assert.assertEquals(encoding.name(), stream.size(), sink.getBytesWritten());
+        }
+    }
+
+    private static byte[] write(final OutputEncoding encoding) {
+        final ByteArrayOutputStream stream = new ByteArrayOutputStream();
+        try (GeneratorSink sink = new GeneratorSink(stream, START, encoding)) {
+            generate(sink);
+        }
+        return stream.toByteArray();
+    }
+
+    private static void generate(final GeneratorSink sink) {
+        final MetricsFactory metricsFactory = new TsdMetricsFactory.Builder()
+                .setClusterName("test_cluster")
+                .setServiceName("test_service")
+                .setUuidFactory(new SeededUuidFactory(new MersenneTwister(1)))
+                .setSinks(Collections.singletonList(sink))
+                .build();
+        for (int i = 0; i < EVENT_COUNT; ++i) {
+            sink.setTime(START.plusSeconds(i));
+            try (Metrics metrics = metricsFactory.create()) {
+                metrics.addAnnotation("host", "host-" + i % 3);
+                metrics.incrementCounter("requests", i);
+                metrics.setGauge("queue_depth", i * 0.5);
+                metrics.setTimer("latency", 10 + i, TimeUnit.MILLISECONDS);
+                metrics.setTimer("latency", 20 + i, TimeUnit.MILLISECONDS);
+            }
+        }
+    }
+
+    private static byte[] toJson(final byte[] binary) {
+        final ByteArrayOutputStream stream = new ByteArrayOutputStream();
+        final BinaryEventReader reader = new BinaryEventReader(ByteBuffer.wrap(binary));
+        try (GeneratorSink sink = new GeneratorSink(stream, START)) {
+            Event event = reader.next();
+            while (event != null) {
+                sink.setTime(TimeUnit.MILLISECONDS.toNanos(reader.getTime()));
+                sink.record(event);
+                event = reader.next();
+            }
+        }
+        return stream.toByteArray();
+    }
+
+    private static byte[] decompress(final InputStream stream) throws IOException {
+        try (InputStream input = stream) {
+            return ByteStreams.toByteArray(input);
+        }
+    }
+
+    private static List<JsonNode> readJson(final byte[] bytes) throws IOException {
+        final List<JsonNode> lines = Lists.newArrayList();
+        for (final String line : StandardCharsets.UTF_8.decode(ByteBuffer.wrap(bytes)).toString().split("\n")) {
+            lines.add(OBJECT_MAPPER.readTree(line));
+        }
+        return lines;
+    }
+
+    private static final int EVENT_COUNT = 50;
+    private static final ZonedDateTime START = ZonedDateTime.of(2017, 1, 1, 0, 0, 0, 0, ZoneOffset.UTC);
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+}
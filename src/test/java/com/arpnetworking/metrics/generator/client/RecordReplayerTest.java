@@ -0,0 +1,179 @@
+/*
+ * Copyright 2026 Inscope Metrics
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.arpnetworking.metrics.generator.client;
+
+import com.arpnetworking.metrics.Event;
+import com.arpnetworking.metrics.Metrics;
+import com.arpnetworking.metrics.MetricsFactory;
+import com.arpnetworking.metrics.impl.TsdMetricsFactory;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.google.common.collect.Lists;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Tests for the {@link RecordReplayer} class.
+ *
+ * @author Brandon Arp (brandon dot arp at inscopemetrics dot io)
+ */
+public final class RecordReplayerTest {
+
+    @Test
+    public void testJson() throws IOException {
+        final Path file = write(OutputEncoding.JSON, 1);
+        final List<String> expected = Files.readAllLines(file);
+        final String[] replayed = toString(replay(file, WINDOW_SIZE, expected.size())).split("\n");
+
+        Assert.assertEquals(expected.size(), replayed.length);
+        for (int i = 0; i < replayed.length; ++i) {
+            final JsonNode line = OBJECT_MAPPER.readTree(replayed[i]);
+            final ObjectNode annotations = (ObjectNode) OBJECT_MAPPER.readTree(expected.get(i)).get("annotations");
+            Assert.assertEquals(getTime(i).toString(), line.get("annotations").get("_start").asText());
+            Assert.assertEquals(getTime(i).toString(), line.get("annotations").get("_end").asText());
+            annotations.put("_start", getTime(i).toString());
+            annotations.put("_end", getTime(i).toString());
+            Assert.assertEquals(annotations, line.get("annotations"));
+            Assert.assertEquals(OBJECT_MAPPER.readTree(expected.get(i)).get("timers"), line.get("timers"));
+        }
+    }
+
+    @Test
+    public void testBinary() throws IOException {
+        // Two segments with a separate string table each
+        final Path file = write(OutputEncoding.BINARY, 2);
+        final List<Event> expected = read(Files.readAllBytes(file));
+        final byte[] replayed = replay(file, WINDOW_SIZE, expected.size());
+
+        final BinaryEventReader reader = new BinaryEventReader(ByteBuffer.wrap(replayed));
+        for (int i = 0; i < expected.size(); ++i) {
+            final Event event = reader.next();
+            Assert.assertNotNull(event);
+            Assert.assertEquals(getTime(i).toInstant().toEpochMilli(), reader.getTime());
+            Assert.assertEquals(expected.get(i).getAnnotations().get("host"), event.getAnnotations().get("host"));
+            Assert.assertEquals(
+                    expected.get(i).getTimerSamples().get("latency").get(1).getValue(),
+                    event.getTimerSamples().get("latency").get(1).getValue());
+        }
+        Assert.assertNull(reader.next());
+    }
+
+    @Test
+    public void testCompressed() throws IOException {
+        for (final OutputEncoding encoding : Lists.newArrayList(OutputEncoding.GZIP, OutputEncoding.ZSTD)) {
+            final ByteArrayOutputStream stream = new ByteArrayOutputStream();
+            try (RecordReplayer replayer = new RecordReplayer(write(encoding, 1), stream)) {
+                Assert.fail("Replayed a " + encoding + " file as " + replayer.getRecordsWritten() + " records");
+            } catch (final IllegalArgumentException e) {
+                Assert.assertTrue(e.getMessage(), e.getMessage().contains("Compressed"));
+            }
+            Assert.assertEquals(0, stream.size());
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testRecordLargerThanWindow() throws IOException {
+        replay(write(OutputEncoding.BINARY, 1), 16, EVENT_COUNT);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testTruncatedBinary() throws IOException {
+        final Path file = write(OutputEncoding.BINARY, 1);
+        final byte[] bytes = Files.readAllBytes(file);
+        Files.write(file, Arrays.copyOf(bytes, bytes.length - 1));
+        replay(file, WINDOW_SIZE, EVENT_COUNT);
+    }
+
+    private static byte[] replay(final Path file, final int windowSize, final int expectedRecords) throws IOException {
+        final ByteArrayOutputStream stream = new ByteArrayOutputStream();
+        try (RecordReplayer replayer = new RecordReplayer(file, stream, windowSize)) {
+            int records = 0;
+            while (replayer.replay(TimeUnit.MILLISECONDS.toNanos(getTime(records).toInstant().toEpochMilli()))) {
+                ++records;
+            }
+            Assert.assertEquals(expectedRecords, records);
+            Assert.assertEquals(expectedRecords, replayer.getRecordsWritten());
+            Assert.assertFalse(replayer.replay(0));
+            replayer.flush();
+            Assert.assertEquals(stream.size(), replayer.getBytesWritten());
+        }
+        return stream.toByteArray();
+    }
+
+    private static Path write(final OutputEncoding encoding, final int segments) throws IOException {
+        final Path file = Files.createTempFile("RecordReplayerTest", encoding.getExtension());
+        final ByteArrayOutputStream stream = new ByteArrayOutputStream();
+        for (int segment = 0; segment < segments; ++segment) {
+            final GeneratorSink sink = new GeneratorSink(stream, START, encoding);
+            final MetricsFactory metricsFactory = new TsdMetricsFactory.Builder()
+                    .setClusterName("test_cluster")
+                    .setServiceName("test_service")
+                    .setSinks(Collections.singletonList(sink))
+                    .build();
+            for (int i = 0; i < EVENT_COUNT; ++i) {
+                sink.setTime(START.plusSeconds(i));
+                try (Metrics metrics = metricsFactory.create()) {
+                    metrics.addAnnotation("host", "host-" + i % 3);
+                    metrics.incrementCounter("requests", i);
+                    metrics.setTimer("latency", 10 + i, TimeUnit.MILLISECONDS);
+                    metrics.setTimer("latency", 20 + i, TimeUnit.MILLISECONDS);
+                }
+            }
+            sink.flush();
+        }
+        Files.write(file, stream.toByteArray());
+        return file;
+    }
+
+    private static List<Event> read(final byte[] binary) {
+        final List<Event> events = Lists.newArrayList();
+        final BinaryEventReader reader = new BinaryEventReader(ByteBuffer.wrap(binary));
+        Event event = reader.next();
+        while (event != null) {
+            events.add(event);
+            event = reader.next();
+        }
+        return events;
+    }
+
+    private static ZonedDateTime getTime(final int record) {
+        return REPLAY_START.plusNanos(TimeUnit.MILLISECONDS.toNanos(250L * record));
+    }
+
+    private static String toString(final byte[] bytes) {
+        return StandardCharsets.UTF_8.decode(ByteBuffer.wrap(bytes)).toString();
+    }
+
+    private static final int EVENT_COUNT = 40;
+    private static final int WINDOW_SIZE = 1000;
+    private static final ZonedDateTime START = ZonedDateTime.of(2017, 1, 1, 0, 0, 0, 0, ZoneOffset.UTC);
+    private static final ZonedDateTime REPLAY_START = ZonedDateTime.of(2020, 6, 1, 12, 0, 0, 0, ZoneOffset.UTC);
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+}
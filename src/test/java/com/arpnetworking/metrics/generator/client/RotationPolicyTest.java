@@ -0,0 +1,158 @@
+/*
+ * Copyright 2026 Inscope Metrics
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.arpnetworking.metrics.generator.client;
+
+import com.arpnetworking.metrics.Event;
+import com.arpnetworking.metrics.Metrics;
+import com.arpnetworking.metrics.MetricsFactory;
+import com.arpnetworking.metrics.impl.TsdMetricsFactory;
+import com.google.common.collect.Lists;
+import net.sf.oval.exception.ConstraintsViolatedException;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Tests for the {@link RotationPolicy} class and rotation of a {@link GeneratorSink}.
+ *
+ * @author Brandon Arp (brandon dot arp at inscopemetrics dot io)
+ */
+public final class RotationPolicyTest {
+
+    @Test
+    public void testFileNames() {
+        final long time = TimeUnit.SECONDS.toNanos(START.toEpochSecond());
+        final RotationPolicy defaultPattern = new RotationPolicy.Builder().setMaxBytes(1L).build();
+        Assert.assertEquals("query.log.2017-01-01-10-20-30", defaultPattern.getRotatedFileName("query.log", time, 0));
+        Assert.assertEquals("query.log.2017-01-01-10-20-30.2", defaultPattern.getRotatedFileName("query.log", time, 2));
+
+        final RotationPolicy pattern = new RotationPolicy.Builder()
+                .setInterval(Duration.ofHours(1))
+                .setFileNamePattern("query.%d{yyyyMMdd}.%d{HH}.%i.log")
+                .build();
+        Assert.assertEquals("query.20170101.10.0.log", pattern.getRotatedFileName("query.log", time, 0));
+        Assert.assertEquals(
+                TimeUnit.SECONDS.toNanos(START.withMinute(0).withSecond(0).toEpochSecond()),
+                pattern.getPeriodStart(time));
+    }
+
+    @Test(expected = ConstraintsViolatedException.class)
+    public void testRequiresSizeOrInterval() {
+        new RotationPolicy.Builder().build();
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidFileNamePattern() {
+        new RotationPolicy.Builder().setMaxBytes(1L).setFileNamePattern("query.%d{yyyy-MM-dd-bb}").build();
+    }
+
+    @Test
+    public void testSizeRotation() throws IOException {
+        final Path directory = Files.createTempDirectory("RotationPolicyTest");
+        final Path file = directory.resolve("query.log");
+        final GeneratorSink sink = new GeneratorSink(
+                file,
+                START,
+                OutputEncoding.JSON,
+                new RotationPolicy.Builder().setMaxBytes(4096L).setFileNamePattern("query.%i.log").build());
+        write(sink, 100, Duration.ZERO);
+        final long bytes = sink.getBytesWritten();
+        sink.close();
+
+        final List<Path> files = list(directory);
+        Assert.assertTrue(files.toString(), files.size() > 5);
+        long totalBytes = 0;
+        int lines = 0;
+        for (final Path path : files) {
+            Assert.assertTrue(path.toString(), Files.size(path) < 4096 + 512);
+            totalBytes += Files.size(path);
+            lines += Files.readAllLines(path).size();
+        }
+        Assert.assertEquals(100, lines);
+        Assert.assertEquals(bytes, totalBytes);
+        Assert.assertTrue(Files.exists(directory.resolve("query.0.log")));
+        Assert.assertFalse(Files.exists(directory.resolve(".query.log.next")));
+    }
+
+    @Test
+    public void testIntervalRotation() throws IOException {
+        final Path directory = Files.createTempDirectory("RotationPolicyTest");
+        final GeneratorSink sink = new GeneratorSink(
+                directory.resolve("query.log.bin"),
+                START,
+                OutputEncoding.BINARY,
+                new RotationPolicy.Builder()
+                        .setInterval(Duration.ofMinutes(1))
+                        .setFileNamePattern("query.%d{HH-mm}.bin")
+                        .setSyncInterval(Duration.ZERO)
+                        .build());
+        write(sink, 30, Duration.ofSeconds(10));
+        sink.close();
+
+        // Events from 10:20:30 to 10:25:20 are split by minute and each file is a complete stream
+        Assert.assertEquals(
+                Lists.newArrayList("query.10-20.bin", "query.10-21.bin", "query.10-22.bin", "query.10-23.bin",
+                        "query.10-24.bin", "query.log.bin"),
+                list(directory).stream().map(path -> String.valueOf(path.getFileName())).collect(Collectors.toList()));
+        Assert.assertEquals(3, read(directory.resolve("query.10-20.bin")).size());
+        Assert.assertEquals(6, read(directory.resolve("query.10-21.bin")).size());
+        Assert.assertEquals(3, read(directory.resolve("query.log.bin")).size());
+    }
+
+    private static void write(final GeneratorSink sink, final int count, final Duration step) {
+        final MetricsFactory metricsFactory = new TsdMetricsFactory.Builder()
+                .setClusterName("test_cluster")
+                .setServiceName("test_service")
+                .setSinks(Collections.singletonList(sink))
+                .build();
+        for (int i = 0; i < count; ++i) {
+            sink.setTime(START.plus(step.multipliedBy(i)));
+            try (Metrics metrics = metricsFactory.create()) {
+                metrics.setTimer("latency", i, TimeUnit.MILLISECONDS);
+                metrics.incrementCounter("requests");
+            }
+        }
+    }
+
+    private static List<Event> read(final Path file) throws IOException {
+        final List<Event> events = Lists.newArrayList();
+        final BinaryEventReader reader = new BinaryEventReader(ByteBuffer.wrap(Files.readAllBytes(file)));
+        for (Event event = reader.next(); event != null; event = reader.next()) {
+            events.add(event);
+        }
+        return events;
+    }
+
+    private static List<Path> list(final Path directory) throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.sorted().collect(Collectors.toList());
+        }
+    }
+
+    private static final ZonedDateTime START = ZonedDateTime.of(2017, 1, 1, 10, 20, 30, 0, ZoneOffset.UTC);
+}
@@ -0,0 +1,288 @@
+/*
+ * Copyright 2026 Inscope Metrics
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.arpnetworking.metrics.generator.config;
+
+import com.arpnetworking.metrics.generator.uow.UnitOfWorkSchedule;
+import com.arpnetworking.metrics.generator.util.CatchUpPolicy;
+import com.arpnetworking.metrics.generator.util.IntervalExecutor;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.List;
+
+/**
+ * Tests for the {@link WorkloadSpecification} class.
+ *
+ * @author Brandon Arp (brandon dot arp at inscopemetrics dot io)
+ */
+public final class WorkloadSpecificationTest {
+
+    @Test
+    public void testParse() throws IOException {
+        final WorkloadSpecification specification = WorkloadSpecification.parse(readWorkload());
+        Assert.assertEquals("test_cluster", specification.getClusterName());
+        Assert.assertEquals("test_service", specification.getServiceName());
+        Assert.assertEquals(2, specification.getThreads());
+        Assert.assertEquals(CatchUpPolicy.SKIP, specification.getCatchUpPolicy());
+        Assert.assertEquals(Paths.get("target/workload-query.log"), specification.getOutputPath());
+        Assert.assertEquals(ZonedDateTime.of(2017, 1, 1, 0, 0, 0, 0, ZoneOffset.UTC), specification.getIntervalStart());
+        Assert.assertEquals(Duration.ofMinutes(1), specification.getIntervalDuration());
+        Assert.assertEquals(6, specification.createSchedules().size());
+    }
+
+    @Test
+    public void testPartition() throws IOException {
+        final WorkloadSpecification specification = WorkloadSpecification.parse(readWorkload());
+        int total = 0;
+        for (int worker = 0; worker < 4; ++worker) {
+            final int size = specification.createSchedules(worker, 4).size();
+            Assert.assertEquals(worker < 2 ? 2 : 1, size);
+            total += size;
+        }
+        Assert.assertEquals(specification.createSchedules().size(), total);
+    }
+
+    @Test
+    public void testPartitionKeepsRandomStreams() throws IOException {
+        final WorkloadSpecification specification = WorkloadSpecification.parse(readWorkload());
+        final List<UnitOfWorkSchedule> schedules = specification.createSchedules();
+        for (int worker = 0; worker < 2; ++worker) {
+            final List<UnitOfWorkSchedule> partition = specification.createSchedules(worker, 2);
+            for (int i = 0; i < partition.size(); ++i) {
+                // Each schedule of a partition is the schedule the single worker executes
+                long expected = 0;
+                long actual = 0;
+                for (int execution = 0; execution < 20; ++execution) {
+                    expected = schedules.get(i * 2 + worker).getScheduler().next(expected);
+                    actual = partition.get(i).getScheduler().next(actual);
+                    Assert.assertEquals(expected, actual);
+                }
+            }
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testPartitionWorkerOutOfRange() throws IOException {
+        WorkloadSpecification.parse(readWorkload()).createSchedules(2, 2);
+    }
+
+    @Test
+    public void testGenerateIsReproducible() throws IOException {
+        final WorkloadSpecification specification = WorkloadSpecification.parse(readWorkload());
+        final Path directory = Files.createTempDirectory("WorkloadSpecificationTest");
+        final Path first = directory.resolve("first.log");
+        final Path second = directory.resolve("second.log");
+        generate(specification, first);
+        generate(specification, second);
+
+        final List<String> lines = Files.readAllLines(first);
+        Assert.assertTrue(lines.size() > 120);
+        for (final String line : lines) {
+            OBJECT_MAPPER.readTree(line);
+        }
+        // Only the random unit of work identifiers differ
+        final List<String> otherLines = Files.readAllLines(second);
+        Assert.assertEquals(lines.size(), otherLines.size());
+        for (int i = 0; i < lines.size(); ++i) {
+            final ObjectNode line = (ObjectNode) OBJECT_MAPPER.readTree(lines.get(i));
+            final ObjectNode otherLine = (ObjectNode) OBJECT_MAPPER.readTree(otherLines.get(i));
+            ((ObjectNode) line.get("annotations")).remove("_id");
+            ((ObjectNode) otherLine.get("annotations")).remove("_id");
+            Assert.assertEquals(line, otherLine);
+        }
+    }
+
+    @Test
+    public void testDimensions() throws IOException {
+        final Path file = Files.createTempDirectory("WorkloadSpecificationTest").resolve("query.log");
+        generate(WorkloadSpecification.parse(readWorkload()), file);
+
+        int annotated = 0;
+        for (final String line : Files.readAllLines(file)) {
+            final JsonNode root = OBJECT_MAPPER.readTree(line);
+            final JsonNode annotations = root.get("annotations");
+            if (root.get("timers").has("burst")) {
+                ++annotated;
+                Assert.assertTrue(annotations.get("host").asText().startsWith("host-"));
+                Assert.assertTrue(annotations.get("region").asText().endsWith("-east")
+                        || annotations.get("region").asText().endsWith("-west"));
+                Assert.assertEquals("test", annotations.get("tier").asText());
+            } else {
+                Assert.assertFalse(annotations.has("host"));
+            }
+        }
+        Assert.assertTrue(annotated > 0);
+    }
+
+    @Test
+    public void testSeriesMetrics() throws IOException {
+        final JsonNode root = readWorkload();
+        final ArrayNode schedules = ((ObjectNode) root).putArray("schedules");
+        schedules.add(OBJECT_MAPPER.readTree("{\"scheduler\": {\"type\": \"constant\", \"period\": \"PT1S\"}, \"metrics\": ["
+                + "{\"type\": \"counter\", \"rate\": 10, \"name\": {\"type\": \"specified\", \"name\": \"requests\"}},"
+                + "{\"type\": \"randomWalk\", \"initial\": 50, \"stddev\": 1, \"min\": 0, \"max\": 100,"
+                + " \"name\": {\"type\": \"set\", \"size\": 5}},"
+                + "{\"type\": \"meanReverting\", \"mean\": 20, \"stddev\": 2, \"halfLife\": \"PT10S\","
+                + " \"name\": {\"type\": \"zipf\", \"cardinality\": 100}},"
+                + "{\"type\": \"seasonal\", \"mean\": 10, \"amplitude\": 5, \"period\": \"PT1M\", \"peak\": \"PT30S\","
+                + " \"name\": {\"type\": \"specified\", \"name\": \"seasonal\"}}]}"));
+        final Path file = Files.createTempDirectory("WorkloadSpecificationTest").resolve("query.log");
+        generate(WorkloadSpecification.parse(root), file);
+
+        long requests = 0;
+        int peaks = 0;
+        for (final String line : Files.readAllLines(file)) {
+            final JsonNode event = OBJECT_MAPPER.readTree(line);
+            requests += event.get("counters").get("requests").get("values").get(0).get("value").asLong();
+            Assert.assertEquals(3, event.get("gauges").size());
+            final double seasonal = event.get("gauges").get("seasonal").get("values").get(0).get("value").asDouble();
+            Assert.assertTrue(seasonal >= 5 && seasonal <= 15);
+            if (ZonedDateTime.parse(event.get("annotations").get("_start").asText()).getSecond() == 30) {
+                ++peaks;
+                Assert.assertEquals(15, seasonal, 1e-9);
+            }
+        }
+        // Ten requests per second of generated time
+        Assert.assertEquals(600, requests, 100);
+        Assert.assertEquals(1, peaks);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testUnknownMetricType() throws IOException {
+        final JsonNode root = readWorkload();
+        ((ObjectNode) root.get("schedules").get(0).get("metrics").get(0)).put("type", "unknown");
+        WorkloadSpecification.parse(root);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testMissingField() throws IOException {
+        final JsonNode root = readWorkload();
+        ((ObjectNode) root.get("schedules").get(1).get("scheduler")).remove("rate");
+        WorkloadSpecification.parse(root);
+    }
+
+    @Test
+    public void testRotation() throws IOException {
+        final JsonNode root = readWorkload();
+        Assert.assertNull(WorkloadSpecification.parse(root).getRotationPolicy());
+        ((ObjectNode) root.get("sink")).putObject("rotation").put("interval", "PT10S");
+        final WorkloadSpecification specification = WorkloadSpecification.parse(root);
+        Assert.assertNotNull(specification.getRotationPolicy());
+
+        final Path file = Files.createTempDirectory("WorkloadSpecificationTest").resolve("query.log");
+        new IntervalExecutor.Builder()
+                .setStart(specification.getIntervalStart())
+                .setEnd(specification.getIntervalStart().plus(specification.getIntervalDuration()))
+                .setSchedules(specification.createSchedules())
+                .setOutputPath(file)
+                .setRotationPolicy(specification.getRotationPolicy())
+                .setClusterName(specification.getClusterName())
+                .setServiceName(specification.getServiceName())
+                .build()
+                .execute();
+        // One minute of event time is split into six files
+        Assert.assertTrue(Files.exists(file.resolveSibling("query.log.2017-01-01-00-00-00")));
+        Assert.assertTrue(Files.exists(file.resolveSibling("query.log.2017-01-01-00-00-40")));
+        Assert.assertTrue(Files.exists(file));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidRotation() throws IOException {
+        final JsonNode root = readWorkload();
+        ((ObjectNode) root.get("sink")).putObject("rotation").put("fileNamePattern", "query.%i");
+        WorkloadSpecification.parse(root);
+    }
+
+    @Test
+    public void testNetworkSink() throws IOException {
+        final JsonNode root = readWorkload();
+        ((ObjectNode) root).remove("interval");
+        ((ObjectNode) root).putObject("sink").put("type", "udp").put("address", "localhost:8125");
+        final WorkloadSpecification specification = WorkloadSpecification.parse(root);
+        Assert.assertNull(specification.getOutputPath());
+        Assert.assertNotNull(specification.getNetworkSink());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testIntervalNetworkSink() throws IOException {
+        final JsonNode root = readWorkload();
+        ((ObjectNode) root).putObject("sink").put("type", "tcp").put("address", "localhost:7090");
+        WorkloadSpecification.parse(root);
+    }
+
+    @Test
+    public void testAsyncSink() throws IOException {
+        final JsonNode root = readWorkload();
+        ((ObjectNode) root.get("sink")).putObject("async").put("capacity", 1024).put("overflowPolicy", "drop_oldest");
+        try {
+            WorkloadSpecification.parse(root);
+            Assert.fail("Expected async sink with an interval to be rejected");
+        } catch (final IllegalArgumentException e) {
+            // Expected
+        }
+        ((ObjectNode) root).remove("interval");
+        Assert.assertNotNull(WorkloadSpecification.parse(root).getAsyncSink());
+    }
+
+    @Test
+    public void testHistogramSink() throws IOException {
+        final JsonNode root = readWorkload();
+        Assert.assertNull(WorkloadSpecification.parse(root).getHistogramSink());
+        ((ObjectNode) root.get("sink")).putObject("histograms").put("bucket", "PT1S").put("precision", 5);
+        Assert.assertNotNull(WorkloadSpecification.parse(root).getHistogramSink());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testIntervalThreadPerSchedule() throws IOException {
+        final JsonNode root = readWorkload();
+        Assert.assertFalse(WorkloadSpecification.parse(root).isThreadPerSchedule());
+        ((ObjectNode) root).put("threadPerSchedule", true);
+        WorkloadSpecification.parse(root);
+    }
+
+    private static void generate(final WorkloadSpecification specification, final Path file) {
+        final List<UnitOfWorkSchedule> schedules = specification.createSchedules();
+        new IntervalExecutor.Builder()
+                .setStart(specification.getIntervalStart())
+                .setEnd(specification.getIntervalStart().plus(specification.getIntervalDuration()))
+                .setSchedules(schedules)
+                .setOutputPath(file)
+                .setClusterName(specification.getClusterName())
+                .setServiceName(specification.getServiceName())
+                .build()
+                .execute();
+    }
+
+    private static JsonNode readWorkload() throws IOException {
+        try (InputStream stream = WorkloadSpecificationTest.class.getResourceAsStream("/config/workload.json")) {
+            return OBJECT_MAPPER.readTree(stream);
+        }
+    }
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+}
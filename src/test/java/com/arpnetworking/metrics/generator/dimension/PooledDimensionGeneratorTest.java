@@ -0,0 +1,75 @@
+/*
+ * Copyright 2026 Inscope Metrics
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.arpnetworking.metrics.generator.dimension;
+
+import com.arpnetworking.metrics.Event;
+import com.arpnetworking.metrics.MetricsFactory;
+import com.arpnetworking.metrics.generator.metric.ConstantMetricGenerator;
+import com.arpnetworking.metrics.generator.name.SpecifiedName;
+import com.arpnetworking.metrics.generator.uow.UnitOfWorkGenerator;
+import com.arpnetworking.metrics.impl.TsdMetricsFactory;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import org.apache.commons.math3.random.MersenneTwister;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Tests for the {@link PooledDimensionGenerator} class.
+ *
+ * @author Brandon Arp (brandon dot arp at inscopemetrics dot io)
+ */
+public final class PooledDimensionGeneratorTest {
+
+    @Test
+    public void testAnnotatesUnitsOfWork() {
+        final List<Event> events = Lists.newArrayList();
+        final MetricsFactory metricsFactory = new TsdMetricsFactory.Builder()
+                .setClusterName("test_cluster")
+                .setServiceName("test_service")
+                .setSinks(Collections.singletonList(events::add))
+                .build();
+        final UnitOfWorkGenerator generator = new UnitOfWorkGenerator(
+                Collections.singletonList(new ConstantMetricGenerator(1, new SpecifiedName("metric"))),
+                Arrays.asList(
+                        new PooledDimensionGenerator("host", 20, 1.0, new MersenneTwister(1298)),
+                        new PooledDimensionGenerator("region", Arrays.asList("a", "b"), 0, new MersenneTwister(1298))));
+        for (int i = 0; i < 2000; ++i) {
+            generator.generate(metricsFactory);
+        }
+
+        final Map<String, Integer> hosts = Maps.newHashMap();
+        final Map<String, Integer> regions = Maps.newHashMap();
+        for (final Event event : events) {
+            hosts.merge(event.getAnnotations().get("host"), 1, Integer::sum);
+            regions.merge(event.getAnnotations().get("region"), 1, Integer::sum);
+        }
+        Assert.assertEquals(20, hosts.size());
+        Assert.assertTrue(hosts.get("host-0") > hosts.get("host-19") * 10);
+        Assert.assertEquals(2, regions.size());
+        Assert.assertEquals(1000, regions.get("a"), 100);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testReservedKey() {
+        new PooledDimensionGenerator("_start", 10, 0, new MersenneTwister(1298));
+    }
+}
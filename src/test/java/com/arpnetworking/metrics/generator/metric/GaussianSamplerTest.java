@@ -0,0 +1,68 @@
+/*
+ * Copyright 2026 Inscope Metrics
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.arpnetworking.metrics.generator.metric;
+
+import org.apache.commons.math3.distribution.NormalDistribution;
+import org.apache.commons.math3.random.MersenneTwister;
+import org.apache.commons.math3.stat.descriptive.DescriptiveStatistics;
+import org.apache.commons.math3.stat.inference.KolmogorovSmirnovTest;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Tests for the {@link GaussianSampler} class.
+ *
+ * @author Brandon Arp (brandon dot arp at inscopemetrics dot io)
+ */
+public final class GaussianSamplerTest {
+
+    @Test
+    public void testDistribution() {
+        final GaussianSampler sampler = new GaussianSampler(new MersenneTwister(1298));
+        final double[] samples = new double[100000];
+        sampler.fill(samples, samples.length, 50, 8);
+
+        final DescriptiveStatistics statistics = new DescriptiveStatistics(samples);
+        Assert.assertEquals(50, statistics.getMean(), 0.1);
+        Assert.assertEquals(8, statistics.getStandardDeviation(), 0.1);
+        Assert.assertEquals(0, statistics.getSkewness(), 0.05);
+        Assert.assertEquals(0, statistics.getKurtosis(), 0.1);
+        final double pValue = new KolmogorovSmirnovTest().kolmogorovSmirnovTest(new NormalDistribution(50, 8), samples);
+        Assert.assertTrue("p-value " + pValue, pValue > 0.001);
+    }
+
+    @Test
+    public void testTail() {
+        final GaussianSampler sampler = new GaussianSampler(new MersenneTwister(1298));
+        int beyondTail = 0;
+        for (int i = 0; i < 1000000; ++i) {
+            if (Math.abs(sampler.next(0, 1)) > 3.442619855899) {
+                ++beyondTail;
+            }
+        }
+        // P(|x| > 3.4426) is about 5.76e-4
+        Assert.assertEquals(576, beyondTail, 100);
+    }
+
+    @Test
+    public void testReproducible() {
+        final double[] first = new double[100];
+        final double[] second = new double[100];
+        new GaussianSampler(new MersenneTwister(1298)).fill(first, first.length, 0, 1);
+        new GaussianSampler(new MersenneTwister(1298)).fill(second, second.length, 0, 1);
+        Assert.assertArrayEquals(first, second, 0);
+    }
+}
@@ -0,0 +1,91 @@
+/*
+ * Copyright 2026 Inscope Metrics
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.arpnetworking.metrics.generator.metric;
+
+import com.arpnetworking.metrics.Event;
+import com.arpnetworking.metrics.Metrics;
+import com.arpnetworking.metrics.MetricsFactory;
+import com.arpnetworking.metrics.generator.name.SpecifiedName;
+import com.arpnetworking.metrics.impl.TsdMetricsFactory;
+import com.google.common.collect.Lists;
+import org.apache.commons.math3.random.MersenneTwister;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Tests for the {@link SampledMetricGenerator} class and its subclasses.
+ *
+ * @author Brandon Arp (brandon dot arp at inscopemetrics dot io)
+ */
+public final class SampledMetricGeneratorTest {
+
+    @Test
+    public void testBatchGrowsBeyondInitialSize() {
+        final long[] samples = generate(new ConstantCountMetricGenerator(100, new ConstantMetricGenerator(7, NAME)));
+        Assert.assertEquals(100, samples.length);
+        for (final long sample : samples) {
+            Assert.assertEquals(7L, sample);
+        }
+    }
+
+    @Test
+    public void testAlternate() {
+        final long[] samples = generate(new ConstantCountMetricGenerator(5, new AlternateMetricGenerator(10, 1, NAME)));
+        Assert.assertArrayEquals(new long[] {1, 10, 1, 10, 1}, samples);
+    }
+
+    @Test
+    public void testUniform() {
+        final long[] samples = generate(
+                new ConstantCountMetricGenerator(1000, new UniformMetricGenerator(10, 20, NAME, new MersenneTwister(1298))));
+        for (final long sample : samples) {
+            Assert.assertTrue(sample >= 10);
+            Assert.assertTrue(sample <= 20);
+        }
+    }
+
+    @Test
+    public void testGaussianCount() {
+        final long[] samples = generate(
+                new GaussianCountMetricGenerator(
+                        1000,
+                        1,
+                        new GaussianMetricGenerator(50, 8, NAME, new MersenneTwister(1298)),
+                        new MersenneTwister(1298)));
+        Assert.assertEquals(1000, samples.length, 5);
+    }
+
+    private static long[] generate(final MetricGenerator generator) {
+        final List<Event> events = Lists.newArrayList();
+        final MetricsFactory metricsFactory = new TsdMetricsFactory.Builder()
+                .setClusterName("test_cluster")
+                .setServiceName("test_service")
+                .setSinks(Collections.singletonList(events::add))
+                .build();
+        try (Metrics metrics = metricsFactory.create()) {
+            generator.generate(metrics);
+        }
+        // Timer samples are recorded in seconds
+        return events.get(0).getTimerSamples().get("metric").stream()
+                .mapToLong(sample -> Math.round(sample.getValue().doubleValue() * 1000))
+                .toArray();
+    }
+
+    private static final SpecifiedName NAME = new SpecifiedName("metric");
+}
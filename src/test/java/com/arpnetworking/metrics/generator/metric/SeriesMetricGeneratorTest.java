@@ -0,0 +1,154 @@
+/*
+ * Copyright 2026 Inscope Metrics
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.arpnetworking.metrics.generator.metric;
+
+import com.arpnetworking.metrics.Event;
+import com.arpnetworking.metrics.MetricsFactory;
+import com.arpnetworking.metrics.Quantity;
+import com.arpnetworking.metrics.generator.name.ZipfNameGenerator;
+import com.arpnetworking.metrics.generator.uow.UnitOfWorkGenerator;
+import com.arpnetworking.metrics.impl.TsdMetricsFactory;
+import com.google.common.collect.Lists;
+import org.apache.commons.math3.random.MersenneTwister;
+import org.apache.commons.math3.stat.descriptive.SummaryStatistics;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Tests for the {@link SeriesMetricGenerator} class and its subclasses.
+ *
+ * @author Brandon Arp (brandon dot arp at inscopemetrics dot io)
+ */
+public final class SeriesMetricGeneratorTest {
+
+    @Test
+    public void testCounterRate() {
+        for (final double rate : new double[] {2, 100}) {
+            final List<Event> events = generate(
+                    new CounterMetricGenerator(rate, names(1), new MersenneTwister(1298)),
+                    1000,
+                    Duration.ofMillis(500));
+            // The first value of the series has no time elapsed
+            Assert.assertEquals(0, getValue(events.get(0).getCounterSamples()), 0);
+            final SummaryStatistics statistics = getValues(events, Event::getCounterSamples);
+            Assert.assertTrue(statistics.getMin() >= 0);
+            Assert.assertEquals(rate * 999 * 0.5, statistics.getSum(), rate * 999 * 0.5 * 0.05);
+        }
+    }
+
+    @Test
+    public void testCounterSeriesElapsedTime() {
+        // Each of two series is generated every other second on average, but
+        // each increment covers the time since the same series was generated
+        // so both series count at the full rate
+        final List<Event> events = generate(
+                new ConstantCountMetricGenerator(1, new CounterMetricGenerator(100, names(2), new MersenneTwister(1298))),
+                2000,
+                Duration.ofSeconds(1));
+        final SummaryStatistics statistics = getValues(events, Event::getCounterSamples);
+        Assert.assertEquals(2 * 100 * 1999, statistics.getSum(), 2 * 100 * 1999 * 0.02);
+    }
+
+    @Test
+    public void testRandomWalkBounds() {
+        final List<Event> events = generate(
+                new RandomWalkMetricGenerator(5, 5, 0, 10, names(3), new MersenneTwister(1298)),
+                1000,
+                Duration.ofSeconds(1));
+        final SummaryStatistics statistics = getValues(events, Event::getGaugeSamples);
+        Assert.assertTrue(statistics.getMin() >= 0);
+        Assert.assertTrue(statistics.getMax() <= 10);
+        Assert.assertTrue(statistics.getStandardDeviation() > 1);
+    }
+
+    @Test
+    public void testMeanReverting() {
+        final List<Event> events = generate(
+                new MeanRevertingMetricGenerator(100, 10, Duration.ofSeconds(10), names(1), new MersenneTwister(1298)),
+                20000,
+                Duration.ofSeconds(1));
+        final SummaryStatistics statistics = getValues(events, Event::getGaugeSamples);
+        Assert.assertEquals(100, statistics.getMean(), 2);
+        Assert.assertEquals(10, statistics.getStandardDeviation(), 1);
+
+        // Consecutive values are correlated by the reversion over one second
+        double change = 0;
+        for (int i = 1; i < events.size(); ++i) {
+            change += Math.abs(getValue(events.get(i).getGaugeSamples()) - getValue(events.get(i - 1).getGaugeSamples()));
+        }
+        Assert.assertTrue(change / (events.size() - 1) < 5);
+    }
+
+    @Test
+    public void testSeasonal() {
+        final List<Event> events = generate(
+                new SeasonalMetricGenerator(
+                        50,
+                        10,
+                        Duration.ofHours(1),
+                        Duration.ofMinutes(15),
+                        0,
+                        names(1),
+                        new MersenneTwister(1298)),
+                4,
+                Duration.ofMinutes(15));
+        Assert.assertEquals(50, getValue(events.get(0).getGaugeSamples()), 1e-9);
+        Assert.assertEquals(60, getValue(events.get(1).getGaugeSamples()), 1e-9);
+        Assert.assertEquals(50, getValue(events.get(2).getGaugeSamples()), 1e-9);
+        Assert.assertEquals(40, getValue(events.get(3).getGaugeSamples()), 1e-9);
+    }
+
+    private static List<Event> generate(final MetricGenerator generator, final int count, final Duration step) {
+        final List<Event> events = Lists.newArrayList();
+        final MetricsFactory metricsFactory = new TsdMetricsFactory.Builder()
+                .setClusterName("test_cluster")
+                .setServiceName("test_service")
+                .setSinks(Collections.singletonList(events::add))
+                .build();
+        final UnitOfWorkGenerator unitOfWork = new UnitOfWorkGenerator(Collections.singletonList(generator));
+        for (int i = 0; i < count; ++i) {
+            unitOfWork.generate(metricsFactory, TimeUnit.SECONDS.toNanos(START_SECONDS) + step.toNanos() * i);
+        }
+        return events;
+    }
+
+    private static SummaryStatistics getValues(
+            final List<Event> events,
+            final Function<Event, Map<String, List<Quantity>>> samples) {
+        final SummaryStatistics statistics = new SummaryStatistics();
+        for (final Event event : events) {
+            statistics.addValue(getValue(samples.apply(event)));
+        }
+        return statistics;
+    }
+
+    private static double getValue(final Map<String, List<Quantity>> samples) {
+        return samples.values().iterator().next().get(0).getValue().doubleValue();
+    }
+
+    private static ZipfNameGenerator names(final int cardinality) {
+        return new ZipfNameGenerator(cardinality, 0, new MersenneTwister(1298));
+    }
+
+    private static final long START_SECONDS = 1483228800;
+}
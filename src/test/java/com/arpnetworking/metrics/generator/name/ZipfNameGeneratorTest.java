@@ -0,0 +1,93 @@
+/*
+ * Copyright 2026 Inscope Metrics
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.arpnetworking.metrics.generator.name;
+
+import com.google.common.collect.Sets;
+import org.apache.commons.math3.random.MersenneTwister;
+import org.apache.commons.math3.random.RandomDataGenerator;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Set;
+
+/**
+ * Tests for the {@link ZipfNameGenerator} class.
+ *
+ * @author Brandon Arp (brandon dot arp at inscopemetrics dot io)
+ */
+public final class ZipfNameGeneratorTest {
+
+    @Test
+    public void testNames() {
+        final ZipfNameGenerator generator = new ZipfNameGenerator(1000, 1.0, new MersenneTwister(1298));
+        final Set<String> names = Sets.newHashSet();
+        for (int i = 0; i < generator.getCardinality(); ++i) {
+            final String name = generator.getName(i);
+            Assert.assertEquals(16, name.length());
+            names.add(name);
+        }
+        Assert.assertEquals(1000, names.size());
+    }
+
+    @Test
+    public void testZipfianPopularity() {
+        final int cardinality = 100;
+        final double exponent = 1.2;
+        final ZipfNameGenerator generator = new ZipfNameGenerator(cardinality, exponent, new MersenneTwister(1298));
+        final int draws = 200000;
+        final int[] counts = new int[cardinality];
+        for (int i = 0; i < draws; ++i) {
+            ++counts[generator.nextIndex()];
+        }
+        double total = 0;
+        for (int rank = 1; rank <= cardinality; ++rank) {
+            total += Math.pow(rank, -exponent);
+        }
+        for (final int rank : Arrays.asList(1, 2, 10, 100)) {
+            final double expected = Math.pow(rank, -exponent) / total;
+            Assert.assertEquals("rank " + rank, expected, counts[rank - 1] / (double) draws, 0.1 * expected + 0.001);
+        }
+    }
+
+    @Test
+    public void testUniform() {
+        final ZipfNameGenerator generator = new ZipfNameGenerator(4, 0, new MersenneTwister(1298));
+        final int[] counts = new int[4];
+        for (int i = 0; i < 40000; ++i) {
+            ++counts[generator.nextIndex()];
+        }
+        for (final int count : counts) {
+            Assert.assertEquals(10000, count, 500);
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidCardinality() {
+        new ZipfNameGenerator(0, 1.0, new MersenneTwister(1298));
+    }
+
+    @Test
+    public void testNameSetMatchesRandomDataGenerator() {
+        final Set<String> names = Sets.newLinkedHashSet(Arrays.asList("a", "b", "c", "d", "e"));
+        final NameSetGenerator generator = new NameSetGenerator(names, new MersenneTwister(1298));
+        final RandomDataGenerator expected = new RandomDataGenerator(new MersenneTwister(1298));
+        final String[] array = names.toArray(new String[0]);
+        for (int i = 0; i < 1000; ++i) {
+            Assert.assertEquals(array[expected.nextInt(0, array.length - 1)], generator.getName());
+        }
+    }
+}
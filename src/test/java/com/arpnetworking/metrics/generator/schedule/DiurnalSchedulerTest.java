@@ -0,0 +1,66 @@
+/*
+ * Copyright 2026 Inscope Metrics
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.arpnetworking.metrics.generator.schedule;
+
+import org.apache.commons.math3.random.MersenneTwister;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Tests for the {@link DiurnalScheduler} class.
+ *
+ * @author Brandon Arp (brandon dot arp at inscopemetrics dot io)
+ */
+public final class DiurnalSchedulerTest {
+
+    @Test
+    public void testRateFollowsPeriod() {
+        final DiurnalScheduler scheduler = new DiurnalScheduler(
+                100,
+                0.5,
+                Duration.ofSeconds(25),
+                Duration.ofSeconds(100),
+                new MersenneTwister(SEED));
+        final long second = TimeUnit.SECONDS.toNanos(1);
+        Assert.assertEquals(150, scheduler.getRate(25 * second), 0.001);
+        Assert.assertEquals(50, scheduler.getRate(75 * second), 0.001);
+        Assert.assertEquals(100, scheduler.getRate(0), 0.001);
+
+        // Count executions around the peak and the trough over 10 periods
+        final int[] executions = new int[2];
+        long time = 0;
+        while (time < 1000 * second) {
+            time = scheduler.next(time);
+            final long position = time % (100 * second);
+            if (position >= 15 * second && position < 35 * second) {
+                ++executions[0];
+            } else if (position >= 65 * second && position < 85 * second) {
+                ++executions[1];
+            }
+        }
+        Assert.assertTrue(executions[0] > 2 * executions[1]);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidAmplitude() {
+        new DiurnalScheduler(100, 2, Duration.ZERO, new MersenneTwister(SEED));
+    }
+
+    private static final long SEED = 1298;
+}
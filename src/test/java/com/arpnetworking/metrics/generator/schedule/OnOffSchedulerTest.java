@@ -0,0 +1,52 @@
+/*
+ * Copyright 2026 Inscope Metrics
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.arpnetworking.metrics.generator.schedule;
+
+import org.apache.commons.math3.random.MersenneTwister;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Tests for the {@link OnOffScheduler} class.
+ *
+ * @author Brandon Arp (brandon dot arp at inscopemetrics dot io)
+ */
+public final class OnOffSchedulerTest {
+
+    @Test
+    public void testOnlyExecutesWhileOn() {
+        final Scheduler scheduler = new OnOffScheduler(
+                1000,
+                Duration.ofSeconds(1),
+                Duration.ofSeconds(3),
+                new MersenneTwister(SEED));
+        final long second = TimeUnit.SECONDS.toNanos(1);
+        long time = 0;
+        int executions = 0;
+        while (time < 100 * second) {
+            time = scheduler.next(time);
+            Assert.assertTrue(time % (4 * second) < second);
+            ++executions;
+        }
+        // 25 cycles of 1 second on at 1000 per second
+        Assert.assertEquals(25000, executions, 1000);
+    }
+
+    private static final long SEED = 1298;
+}
@@ -0,0 +1,62 @@
+/*
+ * Copyright 2026 Inscope Metrics
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.arpnetworking.metrics.generator.schedule;
+
+import org.apache.commons.math3.random.MersenneTwister;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Tests for the {@link PoissonScheduler} class.
+ *
+ * @author Brandon Arp (brandon dot arp at inscopemetrics dot io)
+ */
+public final class PoissonSchedulerTest {
+
+    @Test
+    public void testMeanRate() {
+        final Scheduler scheduler = new PoissonScheduler(1000, new MersenneTwister(SEED));
+        long time = 0;
+        for (int i = 0; i < 100000; ++i) {
+            final long next = scheduler.next(time);
+            Assert.assertTrue(next > time);
+            time = next;
+        }
+        // 100000 executions at 1000 per second take about 100 seconds
+        Assert.assertEquals(100, time / (double) TimeUnit.SECONDS.toNanos(1), 1);
+    }
+
+    @Test
+    public void testReproducible() {
+        final Scheduler first = new PoissonScheduler(10, new MersenneTwister(SEED));
+        final Scheduler second = new PoissonScheduler(10, new MersenneTwister(SEED));
+        long time = 0;
+        for (int i = 0; i < 100; ++i) {
+            final long next = first.next(time);
+            Assert.assertEquals(next, second.next(time));
+            time = next;
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidRate() {
+        new PoissonScheduler(0, new MersenneTwister(SEED));
+    }
+
+    private static final long SEED = 1298;
+}
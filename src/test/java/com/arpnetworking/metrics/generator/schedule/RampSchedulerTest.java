@@ -0,0 +1,102 @@
+/*
+ * Copyright 2026 Inscope Metrics
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.arpnetworking.metrics.generator.schedule;
+
+import com.google.common.collect.ImmutableSortedMap;
+import org.apache.commons.math3.random.MersenneTwister;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Tests for the {@link RampScheduler} class.
+ *
+ * @author Brandon Arp (brandon dot arp at inscopemetrics dot io)
+ */
+public final class RampSchedulerTest {
+
+    @Test
+    public void testRampFromFirstExecution() {
+        final RampScheduler scheduler = new RampScheduler(
+                ImmutableSortedMap.of(
+                        Duration.ZERO, 100.0,
+                        Duration.ofSeconds(10), 1000.0),
+                new MersenneTwister(SEED));
+        final long start = TimeUnit.DAYS.toNanos(1);
+        final long second = TimeUnit.SECONDS.toNanos(1);
+        final int[] executions = new int[20];
+        long time = start;
+        while (time < start + 20 * second) {
+            time = scheduler.next(time);
+            if (time < start + 20 * second) {
+                ++executions[(int) ((time - start) / second)];
+            }
+        }
+        Assert.assertEquals(100, scheduler.getRate(start), 0.001);
+        Assert.assertEquals(550, scheduler.getRate(start + 5 * second), 0.001);
+        Assert.assertEquals(1000, scheduler.getRate(start + 15 * second), 0.001);
+        // The first second averages 145 per second and the rate is held after 10 seconds
+        Assert.assertEquals(145, executions[0], 50);
+        Assert.assertEquals(1000, executions[15], 150);
+    }
+
+    @Test
+    public void testRampToZero() {
+        final RampScheduler scheduler = new RampScheduler(
+                ImmutableSortedMap.of(
+                        Duration.ZERO, 100.0,
+                        Duration.ofSeconds(10), 0.0),
+                new MersenneTwister(SEED));
+        final long start = TimeUnit.DAYS.toNanos(1);
+        int executions = 0;
+        long time = scheduler.next(start);
+        while (time != Scheduler.NEVER) {
+            Assert.assertTrue(time < start + TimeUnit.SECONDS.toNanos(10));
+            ++executions;
+            time = scheduler.next(time);
+        }
+        // The rate averages 50 per second over the ramp
+        Assert.assertEquals(500, executions, 75);
+        Assert.assertEquals(Scheduler.NEVER, scheduler.next(start + TimeUnit.SECONDS.toNanos(20)));
+    }
+
+    @Test
+    public void testSkipsZeroRate() {
+        final RampScheduler scheduler = new RampScheduler(
+                ImmutableSortedMap.of(
+                        Duration.ZERO, 0.0,
+                        Duration.ofSeconds(5), 0.0,
+                        Duration.ofSeconds(5).plusNanos(1), 100.0),
+                new MersenneTwister(SEED));
+        final long start = TimeUnit.DAYS.toNanos(1);
+        final long first = scheduler.next(start);
+        Assert.assertTrue(first > start + TimeUnit.SECONDS.toNanos(5));
+        Assert.assertTrue(first < start + TimeUnit.SECONDS.toNanos(6));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testNegativeRate() {
+        new RampScheduler(
+                ImmutableSortedMap.of(
+                        Duration.ZERO, 100.0,
+                        Duration.ofSeconds(10), -1.0),
+                new MersenneTwister(SEED));
+    }
+
+    private static final long SEED = 1298;
+}
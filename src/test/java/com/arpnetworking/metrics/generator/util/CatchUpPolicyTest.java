@@ -0,0 +1,50 @@
+/*
+ * Copyright 2026 Inscope Metrics
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.arpnetworking.metrics.generator.util;
+
+import com.arpnetworking.metrics.generator.schedule.ConstantTimeScheduler;
+import com.arpnetworking.metrics.generator.schedule.Scheduler;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Tests for the {@link CatchUpPolicy} class.
+ *
+ * @author Brandon Arp (brandon dot arp at inscopemetrics dot io)
+ */
+public final class CatchUpPolicyTest {
+
+    @Test
+    public void testBurst() {
+        Assert.assertEquals(1000, CatchUpPolicy.BURST.getEmissionTime(1000, 350));
+        Assert.assertEquals(1100, CatchUpPolicy.BURST.getNextExecution(SCHEDULER, 1000, 350));
+    }
+
+    @Test
+    public void testSkip() {
+        Assert.assertEquals(1000, CatchUpPolicy.SKIP.getEmissionTime(1000, 350));
+        Assert.assertEquals(1400, CatchUpPolicy.SKIP.getNextExecution(SCHEDULER, 1000, 350));
+        Assert.assertEquals(1100, CatchUpPolicy.SKIP.getNextExecution(SCHEDULER, 1000, 0));
+    }
+
+    @Test
+    public void testShift() {
+        Assert.assertEquals(1350, CatchUpPolicy.SHIFT.getEmissionTime(1000, 350));
+        Assert.assertEquals(1450, CatchUpPolicy.SHIFT.getNextExecution(SCHEDULER, 1000, 350));
+    }
+
+    private static final Scheduler SCHEDULER = new ConstantTimeScheduler(100);
+}
@@ -0,0 +1,96 @@
+/*
+ * Copyright 2026 Inscope Metrics
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.arpnetworking.metrics.generator.util;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Sets;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZonedDateTime;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Tests for the {@link Coordinator} class.
+ *
+ * @author Brandon Arp (brandon dot arp at inscopemetrics dot io)
+ */
+public final class CoordinatorTest {
+
+    @Test
+    public void testWorkerProcesses() throws IOException, InterruptedException {
+        final Path directory = Files.createTempDirectory("CoordinatorTest");
+        final Path configuration = directory.resolve("workload.json");
+        Files.write(configuration, String.format(
+                "{\"cluster\": \"test_cluster\", \"service\": \"test_service\", \"seed\": 7,"
+                        + " \"sink\": {\"type\": \"file\", \"path\": \"%s\"},"
+                        + " \"schedules\": [{\"count\": 4, \"scheduler\": {\"type\": \"constant\", \"period\": \"PT0.05S\"},"
+                        + " \"metrics\": [{\"type\": \"constant\", \"value\": 1, \"name\": {\"type\": \"single\"}}]}]}",
+                directory.resolve("query.log")).getBytes(StandardCharsets.UTF_8));
+
+        final Coordinator.Summary summary = new Coordinator.Builder()
+                .setCommand(Lists.newArrayList(
+                        Paths.get(System.getProperty("java.home"), "bin", "java").toString(),
+                        "-cp",
+                        System.getProperty("java.class.path"),
+                        "com.arpnetworking.metrics.generator.Generator"))
+                .setConfiguration(configuration)
+                .setWorkerCount(2)
+                .setStartDelay(Duration.ofSeconds(5))
+                .setDuration(Duration.ofSeconds(1))
+                .build()
+                .execute();
+
+        final Set<String> names = Sets.newHashSet();
+        final List<Instant> firstStarts = Lists.newArrayList();
+        long lines = 0;
+        for (int worker = 0; worker < 2; ++worker) {
+            final List<String> workerLines = Files.readAllLines(directory.resolve("query-" + worker + ".log"));
+            Assert.assertFalse(workerLines.isEmpty());
+            Assert.assertEquals(workerLines.size(), summary.getUnitsOfWork(worker));
+            final Set<String> workerNames = Sets.newHashSet();
+            for (final String line : workerLines) {
+                workerNames.add(OBJECT_MAPPER.readTree(line).get("timers").fieldNames().next());
+            }
+            // Each worker executes its own half of the schedules
+            Assert.assertEquals(2, workerNames.size());
+            Assert.assertTrue(Sets.intersection(names, workerNames).isEmpty());
+            names.addAll(workerNames);
+            firstStarts.add(getStart(OBJECT_MAPPER.readTree(workerLines.get(0))));
+            lines += workerLines.size();
+        }
+        Assert.assertEquals(lines, summary.getUnitsOfWork());
+        Assert.assertEquals(lines, summary.getSamples());
+        // The workers start at the shared start time
+        Assert.assertTrue(firstStarts.toString(), Duration.between(firstStarts.get(0), firstStarts.get(1)).abs().toMillis() < 500);
+    }
+
+    private static Instant getStart(final JsonNode line) {
+        return ZonedDateTime.parse(line.get("annotations").get("_start").asText()).toInstant();
+    }
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+}
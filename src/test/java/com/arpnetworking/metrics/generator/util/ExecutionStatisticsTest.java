@@ -0,0 +1,92 @@
+/*
+ * Copyright 2026 Inscope Metrics
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.arpnetworking.metrics.generator.util;
+
+import com.arpnetworking.metrics.Event;
+import com.arpnetworking.metrics.impl.TsdMetricsFactory;
+import com.google.common.collect.Lists;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Tests for the {@link ExecutionStatistics} and {@link LogLinearHistogram} classes.
+ *
+ * @author Brandon Arp (brandon dot arp at inscopemetrics dot io)
+ */
+public final class ExecutionStatisticsTest {
+
+    @Test
+    public void testHistogramBuckets() {
+        for (long value = 0; value < 100000; ++value) {
+            final long lowerBound = LogLinearHistogram.getLowerBound(LogLinearHistogram.getBucket(value));
+            Assert.assertTrue(lowerBound <= value);
+            Assert.assertTrue(value - lowerBound <= value / 16);
+        }
+        Assert.assertEquals(
+                LogLinearHistogram.getBucket(Long.MAX_VALUE),
+                LogLinearHistogram.getBucket(LogLinearHistogram.getLowerBound(LogLinearHistogram.getBucket(Long.MAX_VALUE))));
+    }
+
+    @Test
+    public void testHistogramPercentile() {
+        final LogLinearHistogram histogram = new LogLinearHistogram();
+        Assert.assertEquals(0, LogLinearHistogram.getPercentile(histogram.snapshot(), 99));
+        for (int value = 1; value <= 100; ++value) {
+            histogram.record(value);
+        }
+        Assert.assertEquals(50, LogLinearHistogram.getPercentile(histogram.snapshot(), 50));
+        Assert.assertEquals(96, LogLinearHistogram.getPercentile(histogram.snapshot(), 99));
+    }
+
+    @Test
+    public void testReportsIntervals() {
+        final List<Event> events = Lists.newArrayList();
+        final ExecutionStatistics statistics = new ExecutionStatistics(
+                2,
+                new TsdMetricsFactory.Builder()
+                        .setClusterName("test_cluster")
+                        .setServiceName("test_service")
+                        .setSinks(Collections.singletonList(events::add))
+                        .build());
+        statistics.record(0, 5, 100);
+        statistics.record(0, 5, 100);
+        statistics.recordLag(0, TimeUnit.MICROSECONDS.toNanos(7));
+        statistics.record(1, 1, 20);
+        statistics.report();
+        statistics.record(0, 5, 100);
+        statistics.report();
+
+        Assert.assertEquals(4, events.size());
+        assertCounter(events.get(0), "generator/units_of_work", 2);
+        assertCounter(events.get(0), "generator/samples", 10);
+        assertCounter(events.get(0), "generator/bytes", 200);
+        Assert.assertEquals(7L, events.get(0).getGaugeSamples().get("generator/lag_max").get(0).getValue().longValue());
+        assertCounter(events.get(1), "generator/units_of_work", 1);
+        Assert.assertFalse(events.get(1).getGaugeSamples().containsKey("generator/lag_max"));
+        assertCounter(events.get(2), "generator/units_of_work", 1);
+        assertCounter(events.get(3), "generator/units_of_work", 0);
+    }
+
+    private static void assertCounter(final Event event, final String name, final long expected) {
+        Assert.assertEquals("schedule " + event.getAnnotations().get("schedule") + " " + name,
+                expected,
+                event.getCounterSamples().get(name).get(0).getValue().longValue());
+    }
+}
@@ -0,0 +1,89 @@
+/*
+ * Copyright 2026 Inscope Metrics
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.arpnetworking.metrics.generator.util;
+
+import com.arpnetworking.metrics.generator.metric.ConstantMetricGenerator;
+import com.arpnetworking.metrics.generator.name.SpecifiedName;
+import com.arpnetworking.metrics.generator.schedule.ConstantTimeScheduler;
+import com.arpnetworking.metrics.generator.schedule.RampScheduler;
+import com.arpnetworking.metrics.generator.uow.UnitOfWorkGenerator;
+import com.arpnetworking.metrics.generator.uow.UnitOfWorkSchedule;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.common.collect.ImmutableSortedMap;
+import com.google.common.collect.Lists;
+import org.apache.commons.math3.random.MersenneTwister;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Tests for the {@link IntervalExecutor} class.
+ *
+ * @author Brandon Arp (brandon dot arp at inscopemetrics dot io)
+ */
+public final class IntervalExecutorTest {
+
+    @Test
+    public void testScheduleEnds() throws IOException {
+        final Path file = Files.createTempDirectory("IntervalExecutorTest").resolve("query.log");
+        final List<UnitOfWorkSchedule> schedules = Lists.newArrayList(
+                new UnitOfWorkSchedule(
+                        new UnitOfWorkGenerator(Collections.singletonList(new ConstantMetricGenerator(1, new SpecifiedName("ramp")))),
+                        new RampScheduler(
+                                ImmutableSortedMap.of(Duration.ZERO, 10.0, Duration.ofSeconds(5), 0.0),
+                                new MersenneTwister(1298))),
+                new UnitOfWorkSchedule(
+                        new UnitOfWorkGenerator(Collections.singletonList(new ConstantMetricGenerator(1, new SpecifiedName("constant")))),
+                        new ConstantTimeScheduler(Duration.ofSeconds(1))));
+        new IntervalExecutor.Builder()
+                .setStart(START)
+                .setEnd(START.plusSeconds(5))
+                .setSchedules(schedules)
+                .setOutputPath(file)
+                .setClusterName("test_cluster")
+                .setServiceName("test_service")
+                .build()
+                .execute();
+
+        // The ramp ends within the interval and the other schedule still runs to its end
+        int rampCount = 0;
+        int constantCount = 0;
+        for (final String line : Files.readAllLines(file)) {
+            final ZonedDateTime time = ZonedDateTime.parse(OBJECT_MAPPER.readTree(line).get("annotations").get("_start").asText());
+            Assert.assertFalse(line, time.isAfter(START.plusSeconds(6)));
+            if (OBJECT_MAPPER.readTree(line).get("timers").has("ramp")) {
+                Assert.assertTrue(line, time.isBefore(START.plusSeconds(5)));
+                ++rampCount;
+            } else {
+                ++constantCount;
+            }
+        }
+        // The rate averages 5 per second over the ramp
+        Assert.assertEquals(25, rampCount, 15);
+        Assert.assertEquals(6, constantCount);
+    }
+
+    private static final ZonedDateTime START = ZonedDateTime.of(2017, 1, 1, 0, 0, 0, 0, ZoneOffset.UTC);
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+}
@@ -0,0 +1,164 @@
+/*
+ * Copyright 2026 Inscope Metrics
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.arpnetworking.metrics.generator.util;
+
+import com.arpnetworking.metrics.generator.metric.ConstantMetricGenerator;
+import com.arpnetworking.metrics.generator.name.SpecifiedName;
+import com.arpnetworking.metrics.generator.schedule.ConstantTimeScheduler;
+import com.arpnetworking.metrics.generator.uow.UnitOfWorkGenerator;
+import com.arpnetworking.metrics.generator.uow.UnitOfWorkSchedule;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Sets;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZonedDateTime;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Tests for the {@link RealTimeExecutor} class.
+ *
+ * @author Brandon Arp (brandon dot arp at inscopemetrics dot io)
+ */
+public final class RealTimeExecutorTest {
+
+    @Test
+    public void testWorkerPath() {
+        Assert.assertEquals(Paths.get("logs/query-2.log"), RealTimeExecutor.getWorkerPath(Paths.get("logs/query.log"), 2));
+        Assert.assertEquals(Paths.get("logs/query-0"), RealTimeExecutor.getWorkerPath(Paths.get("logs/query"), 0));
+    }
+
+    @Test
+    public void testMultipleThreads() throws IOException, InterruptedException {
+        final Path tempDir = Files.createTempDirectory("RealTimeExecutorTest");
+        final List<UnitOfWorkSchedule> schedules = Lists.newArrayList();
+        for (int i = 0; i < 4; ++i) {
+            final UnitOfWorkGenerator generator = new UnitOfWorkGenerator(
+                    Collections.singletonList(new ConstantMetricGenerator(i, new SpecifiedName("metric_" + i))));
+            schedules.add(new UnitOfWorkSchedule(generator, new ConstantTimeScheduler(Duration.ofMillis(5))));
+        }
+        final RealTimeExecutor executor = new RealTimeExecutor.Builder()
+                .setSchedules(schedules)
+                .setOutputPath(tempDir.resolve("query.log"))
+                .setClusterName("test_cluster")
+                .setServiceName("test_service")
+                .setThreadCount(2)
+                .build();
+
+        final Thread thread = new Thread(executor::execute);
+        thread.start();
+        Thread.sleep(250);
+        thread.interrupt();
+        thread.join(10000);
+        Assert.assertFalse(thread.isAlive());
+
+        for (int worker = 0; worker < 2; ++worker) {
+            final List<String> lines = Files.readAllLines(tempDir.resolve("query-" + worker + ".log"));
+            Assert.assertFalse(lines.isEmpty());
+            for (final String line : lines) {
+                // Each worker executes every other schedule
+                final String name = OBJECT_MAPPER.readTree(line).get("timers").fieldNames().next();
+                Assert.assertEquals(worker, Integer.parseInt(name.substring("metric_".length())) % 2);
+            }
+        }
+    }
+
+    @Test
+    public void testSubMillisecondSchedule() throws IOException, InterruptedException {
+        final Path tempFile = Files.createTempDirectory("RealTimeExecutorTest").resolve("query.log");
+        final UnitOfWorkGenerator generator = new UnitOfWorkGenerator(
+                Collections.singletonList(new ConstantMetricGenerator(1, new SpecifiedName("metric"))));
+        final List<ExecutionStatistics.Interval> intervals = Collections.synchronizedList(Lists.newArrayList());
+        final RealTimeExecutor executor = new RealTimeExecutor.Builder()
+                .setSchedules(Collections.singletonList(
+                        new UnitOfWorkSchedule(generator, new ConstantTimeScheduler(Duration.ofNanos(100000)))))
+                .setOutputPath(tempFile)
+                .setClusterName("test_cluster")
+                .setServiceName("test_service")
+                .setCatchUpPolicy(CatchUpPolicy.SKIP)
+                .setStatisticsListener(intervals::addAll)
+                .build();
+
+        final Thread thread = new Thread(executor::execute);
+        thread.start();
+        Thread.sleep(500);
+        thread.interrupt();
+        thread.join(10000);
+
+        // A millisecond resolution scheduler would release the units of work of each
+        // millisecond together, so half of them would lag by half a millisecond or more
+        final ExecutionStatistics.Interval statistics = ExecutionStatistics.Interval.combine(intervals);
+        Assert.assertTrue(statistics.getUnitsOfWork() > 100);
+        final long lagP50Micros = statistics.getLagPercentile(50);
+        Assert.assertTrue("lag p50 " + lagP50Micros + "us", lagP50Micros < 500);
+
+        // Several units of work are emitted in each millisecond
+        final List<String> lines = Files.readAllLines(tempFile);
+        final Set<Instant> milliseconds = Sets.newHashSet();
+        for (final String line : lines) {
+            milliseconds.add(getStart(line));
+        }
+        Assert.assertTrue(lines.size() + " lines in " + milliseconds.size() + " ms", lines.size() >= 5 * milliseconds.size());
+    }
+
+    @Test
+    public void testThreadPerSchedule() throws IOException, InterruptedException {
+        final Path tempFile = Files.createTempDirectory("RealTimeExecutorTest").resolve("query.log");
+        final List<UnitOfWorkSchedule> schedules = Lists.newArrayList();
+        for (int i = 0; i < 200; ++i) {
+            final UnitOfWorkGenerator generator = new UnitOfWorkGenerator(
+                    Collections.singletonList(new ConstantMetricGenerator(i, new SpecifiedName("metric_" + i))));
+            schedules.add(new UnitOfWorkSchedule(generator, new ConstantTimeScheduler(Duration.ofMillis(100))));
+        }
+        final RealTimeExecutor executor = new RealTimeExecutor.Builder()
+                .setSchedules(schedules)
+                .setOutputPath(tempFile)
+                .setClusterName("test_cluster")
+                .setServiceName("test_service")
+                .setThreadPerSchedule(true)
+                .build();
+
+        final Thread thread = new Thread(executor::execute);
+        thread.start();
+        Thread.sleep(500);
+        thread.interrupt();
+        thread.join(10000);
+        Assert.assertFalse(thread.isAlive());
+
+        // Every schedule ran on its own thread and wrote to the shared file
+        final Set<String> names = Sets.newHashSet();
+        for (final String line : Files.readAllLines(tempFile)) {
+            names.add(OBJECT_MAPPER.readTree(line).get("timers").fieldNames().next());
+        }
+        Assert.assertEquals(200, names.size());
+        Assert.assertEquals(Runtime.version().feature() >= 21, VirtualThreads.isSupported());
+    }
+
+    private static Instant getStart(final String line) throws IOException {
+        return ZonedDateTime.parse(OBJECT_MAPPER.readTree(line).get("annotations").get("_start").asText()).toInstant();
+    }
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+}
@@ -0,0 +1,127 @@
+/*
+ * Copyright 2026 Inscope Metrics
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.arpnetworking.metrics.generator.util;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import net.sf.oval.exception.ConstraintsViolatedException;
+import org.apache.commons.math3.random.MersenneTwister;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZonedDateTime;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.stream.Collectors;
+
+/**
+ * Tests for the {@link ReplayExecutor} class.
+ *
+ * @author Brandon Arp (brandon dot arp at inscopemetrics dot io)
+ */
+public final class ReplayExecutorTest {
+
+    @Test
+    public void testRate() throws IOException {
+        final Path tempDir = Files.createTempDirectory("ReplayExecutorTest");
+        final Path input = generate(tempDir);
+        final Path output = tempDir.resolve("replayed.log");
+        final long records = new ReplayExecutor.Builder()
+                .setInputPath(input)
+                .setOutputPath(output)
+                .setRate(500.0)
+                .build()
+                .execute();
+
+        final List<String> lines = Files.readAllLines(output);
+        Assert.assertEquals(Files.readAllLines(input).size(), lines.size());
+        Assert.assertEquals(lines.size(), records);
+        // Consecutive records are stamped two milliseconds apart
+        for (int i = 1; i < lines.size(); ++i) {
+            Assert.assertEquals(Duration.ofMillis(2), Duration.between(getStart(lines.get(i - 1)), getStart(lines.get(i))));
+        }
+    }
+
+    @Test
+    public void testSocket() throws IOException, InterruptedException, ExecutionException {
+        final Path input = generate(Files.createTempDirectory("ReplayExecutorTest"));
+        try (ServerSocket server = new ServerSocket(0)) {
+            final CompletableFuture<List<String>> received = CompletableFuture.supplyAsync(() -> {
+                try (Socket socket = server.accept();
+                     BufferedReader reader = new BufferedReader(
+                             new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8))) {
+                    return reader.lines().collect(Collectors.toList());
+                } catch (final IOException e) {
+                    throw new RuntimeException(e);
+                }
+            });
+            final Instant before = Instant.now().minusSeconds(1);
+            new ReplayExecutor.Builder()
+                    .setInputPath(input)
+                    .setOutputAddress(new InetSocketAddress("localhost", server.getLocalPort()))
+                    .build()
+                    .execute();
+
+            final List<String> lines = received.get();
+            Assert.assertEquals(Files.readAllLines(input).size(), lines.size());
+            for (final String line : lines) {
+                Assert.assertTrue(getStart(line).isAfter(before));
+            }
+        }
+    }
+
+    @Test(expected = ConstraintsViolatedException.class)
+    public void testRequiresOneOutput() {
+        new ReplayExecutor.Builder()
+                .setInputPath(Path.of("query.log"))
+                .build();
+    }
+
+    private static Path generate(final Path directory) {
+        final Path file = directory.resolve("query.log");
+        final ZonedDateTime start = ZonedDateTime.parse("2017-01-01T00:00:00Z");
+        new TestFileGenerator.Builder()
+                .setRandom(new MersenneTwister(1))
+                .setUnitOfWorkCount(100)
+                .setNamesCount(2)
+                .setSamplesCount(3)
+                .setStartTime(start)
+                .setEndTime(start.plusMinutes(1))
+                .setFileName(file)
+                .setClusterName("test_cluster")
+                .setServiceName("test_service")
+                .build()
+                .generate();
+        return file;
+    }
+
+    private static Instant getStart(final String line) throws IOException {
+        return ZonedDateTime.parse(OBJECT_MAPPER.readTree(line).get("annotations").get("_start").asText()).toInstant();
+    }
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+}
@@ -0,0 +1,73 @@
+/*
+ * Copyright 2026 Inscope Metrics
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.arpnetworking.metrics.generator.util;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Comparator;
+import java.util.PriorityQueue;
+import java.util.Random;
+
+/**
+ * Tests for the {@link ScheduleQueue} class.
+ *
+ * @author Brandon Arp (brandon dot arp at inscopemetrics dot io)
+ */
+public final class ScheduleQueueTest {
+
+    @Test
+    public void testMatchesPriorityQueue() {
+        final Random random = new Random(42);
+        final ScheduleQueue queue = new ScheduleQueue(1);
+        final PriorityQueue<long[]> expected = new PriorityQueue<>(
+                Comparator.<long[]>comparingLong(entry -> entry[0]).thenComparingLong(entry -> entry[1]));
+        for (int schedule = 0; schedule < 100; ++schedule) {
+            final long time = random.nextInt(1000);
+            queue.add(schedule, time);
+            expected.add(new long[]{time, schedule});
+        }
+        for (int i = 0; i < 10000; ++i) {
+            final long[] top = expected.poll();
+            Assert.assertEquals(top[0], queue.peekTime());
+            Assert.assertEquals(top[1], queue.peekSchedule());
+            if (random.nextInt(10) == 0) {
+                queue.removeTop();
+            } else {
+                final long time = top[0] + random.nextInt(1000);
+                queue.updateTop(time);
+                expected.add(new long[]{time, top[1]});
+            }
+            Assert.assertEquals(expected.size(), queue.size());
+            if (expected.isEmpty()) {
+                break;
+            }
+        }
+    }
+
+    @Test
+    public void testTiesOrderedBySchedule() {
+        final ScheduleQueue queue = new ScheduleQueue(4);
+        for (int schedule = 9; schedule >= 0; --schedule) {
+            queue.add(schedule, 100);
+        }
+        for (int schedule = 0; schedule < 10; ++schedule) {
+            Assert.assertEquals(schedule, queue.peekSchedule());
+            queue.removeTop();
+        }
+        Assert.assertTrue(queue.isEmpty());
+    }
+}
@@ -0,0 +1,83 @@
+/*
+ * Copyright 2026 Inscope Metrics
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.arpnetworking.metrics.generator.util;
+
+import com.arpnetworking.metrics.generator.metric.ConstantMetricGenerator;
+import com.arpnetworking.metrics.generator.name.SpecifiedName;
+import com.arpnetworking.metrics.generator.uow.UnitOfWorkGenerator;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Tests for the {@link StepLoadRunner} class.
+ *
+ * @author Brandon Arp (brandon dot arp at inscopemetrics dot io)
+ */
+public final class StepLoadRunnerTest {
+
+    @Test
+    public void testStepsMultiplyRate() throws IOException {
+        final List<StepLoadRunner.StepResult> results = createBuilder()
+                .setInitialRate(100.0)
+                .setMaxSteps(3)
+                .setLagThreshold(Duration.ofDays(1))
+                .build()
+                .run();
+
+        Assert.assertFalse(Thread.currentThread().isInterrupted());
+        Assert.assertEquals(3, results.size());
+        for (int step = 0; step < results.size(); ++step) {
+            final StepLoadRunner.StepResult result = results.get(step);
+            Assert.assertEquals(step, result.getStep());
+            Assert.assertEquals(100.0 * (1 << step), result.getTargetRate(), 0.001);
+            Assert.assertTrue(result.getAchievedRate() > 0);
+            Assert.assertFalse(result.isSaturated());
+        }
+    }
+
+    @Test
+    public void testStopsOnSaturation() throws IOException {
+        final List<StepLoadRunner.StepResult> results = createBuilder()
+                .setInitialRate(100000000.0)
+                .setMaxSteps(3)
+                .setLagThreshold(Duration.ofMillis(1))
+                .build()
+                .run();
+
+        Assert.assertFalse(Thread.currentThread().isInterrupted());
+        Assert.assertEquals(1, results.size());
+        Assert.assertTrue(results.get(0).isSaturated());
+        Assert.assertTrue(results.get(0).getAchievedRate() < results.get(0).getTargetRate());
+    }
+
+    private static StepLoadRunner.Builder createBuilder() throws IOException {
+        final Path tempFile = Files.createTempDirectory("StepLoadRunnerTest").resolve("query.log");
+        return new StepLoadRunner.Builder()
+                .setGenerators(Collections.singletonList(new UnitOfWorkGenerator(
+                        Collections.singletonList(new ConstantMetricGenerator(1, new SpecifiedName("metric"))))))
+                .setStepDuration(Duration.ofMillis(200))
+                .setOutputPath(tempFile)
+                .setClusterName("test_cluster")
+                .setServiceName("test_service");
+    }
+}
@@ -15,17 +15,33 @@
  */
 package com.arpnetworking.metrics.generator.util;
 
+import com.arpnetworking.metrics.Event;
+import com.arpnetworking.metrics.generator.client.BinaryEventReader;
+import com.arpnetworking.metrics.generator.client.OutputEncoding;
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
 import org.apache.commons.math3.random.MersenneTwister;
 import org.apache.commons.math3.random.RandomGenerator;
 import org.junit.Assert;
 import org.junit.Test;
 
 import java.io.IOException;
+import java.nio.ByteBuffer;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
 import java.time.ZonedDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Collections;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+import javax.annotation.Nullable;
 
 /**
  * Tests for the {@code FileGenerator} class.
@@ -65,6 +81,130 @@ public final class TestFileGeneratorTest {
         }
     }
 
+    @Test
+    public void testShardedIsDeterministic() throws IOException {
+        final Path tempDir = Files.createTempDirectory("TestFileGeneratorTest");
+        final Path serialFile = tempDir.resolve("serial.log");
+        final Path parallelFile = tempDir.resolve("parallel.log");
+
+        generateSharded(serialFile, 1);
+        generateSharded(parallelFile, 4);
+
+        final List<String> lines = Files.readAllLines(parallelFile);
+        Assert.assertEquals(102, lines.size());
+        ZonedDateTime previousStart = ZonedDateTime.of(2017, 1, 1, 0, 0, 0, 0, ZoneOffset.UTC);
+        for (final String line : lines) {
+            final ZonedDateTime start = ZonedDateTime.parse(
+                    OBJECT_MAPPER.readTree(line).get("annotations").get("_start").asText());
+            Assert.assertFalse(start.isBefore(previousStart));
+            previousStart = start;
+        }
+        Assert.assertArrayEquals(Files.readAllBytes(serialFile), Files.readAllBytes(parallelFile));
+        try (Stream<Path> files = Files.list(tempDir)) {
+            Assert.assertEquals(2, files.count());
+        }
+    }
+
+    @Test
+    public void testShardedBinary() throws IOException {
+        final Path tempDir = Files.createTempDirectory("TestFileGeneratorTest");
+        final Path jsonFile = tempDir.resolve("query.log");
+        final Path binaryFile = tempDir.resolve("query.log.bin");
+        generateSharded(jsonFile, 4, OutputEncoding.JSON);
+        generateSharded(binaryFile, 4, OutputEncoding.BINARY);
+
+        final List<String> lines = Files.readAllLines(jsonFile);
+        final BinaryEventReader reader = new BinaryEventReader(ByteBuffer.wrap(Files.readAllBytes(binaryFile)));
+        for (final String line : lines) {
+            final Event event = reader.next();
+            Assert.assertNotNull(event);
+            final JsonNode expected = OBJECT_MAPPER.readTree(line);
+            Assert.assertEquals(expected.get("annotations").get("_id").asText(), event.getAnnotations().get("_id"));
+            Assert.assertEquals(expected.get("annotations").get("_start").asText(), event.getAnnotations().get("_start"));
+            Assert.assertEquals(expected.get("timers").size(), event.getTimerSamples().size());
+        }
+        Assert.assertNull(reader.next());
+    }
+
+    @Test
+    public void testAggregates() throws IOException {
+        final Path tempDir = Files.createTempDirectory("TestFileGeneratorTest");
+        final Path serialFile = tempDir.resolve("serial.log");
+        final Path parallelFile = tempDir.resolve("parallel.log");
+        generateSharded(serialFile, 1, OutputEncoding.JSON, Duration.ofMinutes(1));
+        generateSharded(parallelFile, 4, OutputEncoding.JSON, Duration.ofMinutes(1));
+        Assert.assertArrayEquals(
+                Files.readAllBytes(TestFileGenerator.getAggregatesPath(serialFile)),
+                Files.readAllBytes(TestFileGenerator.getAggregatesPath(parallelFile)));
+
+        // Aggregate the generated file independently; the shards split minutes 2 and 7
+        final Map<String, List<Double>> expected = Maps.newTreeMap();
+        for (final String line : Files.readAllLines(parallelFile)) {
+            final JsonNode root = OBJECT_MAPPER.readTree(line);
+            final Instant start = ZonedDateTime.parse(root.get("annotations").get("_start").asText()).toInstant();
+            final Instant period = start.truncatedTo(ChronoUnit.MINUTES);
+            final Iterator<String> names = root.get("timers").fieldNames();
+            while (names.hasNext()) {
+                final String name = names.next();
+                for (final JsonNode value : root.get("timers").get(name).get("values")) {
+                    expected.computeIfAbsent(period + " " + name, key -> Lists.newArrayList())
+                            .add(value.get("value").asDouble());
+                }
+            }
+        }
+
+        final List<String> aggregates = Files.readAllLines(TestFileGenerator.getAggregatesPath(parallelFile));
+        Assert.assertEquals(expected.size(), aggregates.size());
+        for (final String line : aggregates) {
+            final JsonNode aggregate = OBJECT_MAPPER.readTree(line);
+            Assert.assertEquals("timer", aggregate.get("type").asText());
+            final List<Double> values = expected.get(aggregate.get("start").asText() + " " + aggregate.get("metric").asText());
+            Assert.assertNotNull(line, values);
+            Collections.sort(values);
+            Assert.assertEquals(values.size(), aggregate.get("count").asLong());
+            Assert.assertEquals(values.stream().mapToDouble(Double::doubleValue).sum(), aggregate.get("sum").asDouble(), 1e-6);
+            Assert.assertEquals(values.get(0), aggregate.get("min").asDouble(), 0);
+            Assert.assertEquals(values.get(values.size() - 1), aggregate.get("max").asDouble(), 0);
+            Assert.assertEquals(values.get((int) Math.ceil(values.size() * 0.5) - 1), aggregate.get("p50").asDouble(), 0);
+            Assert.assertEquals(values.get((int) Math.ceil(values.size() * 0.99) - 1), aggregate.get("p99").asDouble(), 0);
+        }
+        try (Stream<Path> files = Files.list(tempDir)) {
+            Assert.assertEquals(4, files.count());
+        }
+    }
+
+    private static void generateSharded(final Path file, final int parallelism) {
+        generateSharded(file, parallelism, OutputEncoding.JSON);
+    }
+
+    private static void generateSharded(final Path file, final int parallelism, final OutputEncoding encoding) {
+        generateSharded(file, parallelism, encoding, null);
+    }
+
+    private static void generateSharded(
+            final Path file,
+            final int parallelism,
+            final OutputEncoding encoding,
+            @Nullable final Duration aggregatePeriod) {
+        final ZonedDateTime start = ZonedDateTime.of(2017, 1, 1, 0, 0, 0, 0, ZoneOffset.UTC);
+        new TestFileGenerator.Builder()
+                .setRandom(new MersenneTwister(1298))
+                .setUnitOfWorkCount(100)
+                .setNamesCount(2)
+                .setSamplesCount(3)
+                .setStartTime(start)
+                .setEndTime(start.plusMinutes(10))
+                .setFileName(file)
+                .setOutputEncoding(encoding)
+                .setClusterName("test_cluster")
+                .setServiceName("test_service")
+                .setShardCount(4)
+                .setParallelism(parallelism)
+                .setAggregatePeriod(aggregatePeriod)
+                .build()
+                .generate();
+    }
+
     private static final RandomGenerator RANDOM = new MersenneTwister(1298);
     private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
 }
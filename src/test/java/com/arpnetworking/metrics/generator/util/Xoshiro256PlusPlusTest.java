@@ -0,0 +1,117 @@
+/*
+ * Copyright 2026 Inscope Metrics
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.arpnetworking.metrics.generator.util;
+
+import com.google.common.collect.Sets;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Set;
+
+/**
+ * Tests for the {@link Xoshiro256PlusPlus} class.
+ *
+ * @author Brandon Arp (brandon dot arp at inscopemetrics dot io)
+ */
+public final class Xoshiro256PlusPlusTest {
+
+    @Test
+    public void testSplitMix64() {
+        // Outputs of the SplitMix64 reference implementation seeded with 0
+        final long[] expected = {0xe220a8397b1dcdafL, 0x6e789e6aa1b965f4L, 0x06c45d188009454fL, 0xf88bb8a8724c81ecL};
+        long state = 0;
+        for (final long value : expected) {
+            state += 0x9e3779b97f4a7c15L;
+            Assert.assertEquals(value, Xoshiro256PlusPlus.splitMix64(state));
+        }
+    }
+
+    @Test
+    public void testReferenceOutputs() {
+        // Outputs of the xoshiro256++ reference implementation from the state {1, 2, 3, 4}
+        final Xoshiro256PlusPlus random = new Xoshiro256PlusPlus(1, 2, 3, 4);
+        Assert.assertEquals(0x0000000002800001L, random.nextLong());
+        Assert.assertEquals(0x0000000003800067L, random.nextLong());
+        Assert.assertEquals(0x000cc00003800067L, random.nextLong());
+        Assert.assertEquals(0x000cc201994400b2L, random.nextLong());
+    }
+
+    @Test
+    public void testSeededReferenceOutputs() {
+        // Outputs of the xoshiro256++ reference implementation from the state of
+        // the first four outputs of the SplitMix64 reference implementation seeded with 0
+        final Xoshiro256PlusPlus random = new Xoshiro256PlusPlus(0);
+        Assert.assertEquals(0x53175d61490b23dfL, random.nextLong());
+        Assert.assertEquals(0x61da6f3dc380d507L, random.nextLong());
+        Assert.assertEquals(0x5c0fdf91ec9a7bfcL, random.nextLong());
+        Assert.assertEquals(0x02eebf8c3bbe5e1aL, random.nextLong());
+    }
+
+    @Test
+    public void testReproducible() {
+        final Xoshiro256PlusPlus first = new Xoshiro256PlusPlus(88);
+        final Xoshiro256PlusPlus second = new Xoshiro256PlusPlus(88);
+        for (int i = 0; i < 1000; ++i) {
+            Assert.assertEquals(first.nextLong(), second.nextLong());
+        }
+        second.setSeed(88);
+        final Xoshiro256PlusPlus third = new Xoshiro256PlusPlus(88);
+        Assert.assertEquals(third.nextLong(), second.nextLong());
+    }
+
+    @Test
+    public void testSplit() {
+        final Xoshiro256PlusPlus root = new Xoshiro256PlusPlus(88);
+        final Xoshiro256PlusPlus child = root.split();
+        final Xoshiro256PlusPlus grandchild = child.split();
+        final Xoshiro256PlusPlus sibling = root.split();
+        final Set<Long> values = Sets.newHashSet();
+        for (int i = 0; i < 1000; ++i) {
+            values.add(root.nextLong());
+            values.add(child.nextLong());
+            values.add(grandchild.nextLong());
+            values.add(sibling.nextLong());
+        }
+        Assert.assertEquals(4000, values.size());
+
+        // Splitting again from the same seed yields the same children
+        final Xoshiro256PlusPlus otherRoot = new Xoshiro256PlusPlus(88);
+        final Xoshiro256PlusPlus otherChild = otherRoot.split();
+        Assert.assertEquals(new Xoshiro256PlusPlus(88).split().split().nextLong(), otherChild.split().nextLong());
+    }
+
+    @Test
+    public void testDistributions() {
+        final Xoshiro256PlusPlus random = new Xoshiro256PlusPlus(1298);
+        double doubleSum = 0;
+        double gaussianSum = 0;
+        double gaussianSquares = 0;
+        final int count = 100000;
+        for (int i = 0; i < count; ++i) {
+            final double value = random.nextDouble();
+            Assert.assertTrue(value >= 0 && value < 1);
+            doubleSum += value;
+            final int bounded = random.nextInt(7);
+            Assert.assertTrue(bounded >= 0 && bounded < 7);
+            final double gaussian = random.nextGaussian();
+            gaussianSum += gaussian;
+            gaussianSquares += gaussian * gaussian;
+        }
+        Assert.assertEquals(0.5, doubleSum / count, 0.01);
+        Assert.assertEquals(0, gaussianSum / count, 0.02);
+        Assert.assertEquals(1, gaussianSquares / count, 0.02);
+    }
+}